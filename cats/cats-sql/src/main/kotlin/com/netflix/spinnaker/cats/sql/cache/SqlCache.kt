@@ -7,11 +7,13 @@ import com.netflix.spinnaker.cats.cache.DefaultJsonCacheData
 import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.sql.SqlUtil
+import com.netflix.spinnaker.cats.sql.routing.SqlReadRouter
 import com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.ON_DEMAND
 import com.netflix.spinnaker.config.SqlConstraints
 import com.netflix.spinnaker.config.coroutineThreadPrefix
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
+import com.netflix.spinnaker.kork.sql.routing.withPool
 import de.huxhorn.sulky.ulid.ULID
 import io.github.resilience4j.retry.Retry
 import io.github.resilience4j.retry.RetryConfig
@@ -34,6 +36,7 @@ import kotlinx.coroutines.Job
 import kotlinx.coroutines.async
 import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.slf4j.MDCContext
 import org.jooq.Condition
 import org.jooq.DSLContext
 import org.jooq.SQLDialect
@@ -58,7 +61,8 @@ class SqlCache(
   tableNamespace: String?,
   private val cacheMetrics: SqlCacheMetrics,
   private val dynamicConfigService: DynamicConfigService,
-  private val sqlConstraints: SqlConstraints
+  private val sqlConstraints: SqlConstraints,
+  private val readRouter: SqlReadRouter? = null
 ) : WriteableCache {
 
   companion object {
@@ -342,7 +346,7 @@ class SqlCache(
    */
   override fun getIdentifiers(type: String): MutableCollection<String> {
     val ids = try {
-      withRetry(RetryCategory.READ) {
+      withRoutedRead(type) {
         jooq.select(field("id"))
           .from(table(sqlNames.resourceTableName(type)))
           .fetch()
@@ -441,7 +445,7 @@ class SqlCache(
     }
 
     val ids = try {
-      withRetry(RetryCategory.READ) {
+      withRoutedRead(type) {
         sql
           .fetch(field("id"), String::class.java)
       }
@@ -972,7 +976,7 @@ class SqlCache(
 
     try {
       if (ids.isEmpty()) {
-        withRetry(RetryCategory.READ) {
+        withRoutedRead(type) {
           cacheData.addAll(
             jooq.select(field("body"))
               .from(table(sqlNames.resourceTableName(type)))
@@ -1034,7 +1038,7 @@ class SqlCache(
     var selectQueries = 0
 
     try {
-      withRetry(RetryCategory.READ) {
+      withRoutedRead(type) {
         cacheData.addAll(
           jooq.select(field("body"))
             .from(table(sqlNames.resourceTableName(type)))
@@ -1088,7 +1092,7 @@ class SqlCache(
     val relWhere = getRelWhere(relationshipPrefixes, field("r.application").eq(application))
 
     try {
-      val resultSet = withRetry(RetryCategory.READ) {
+      val resultSet = withRoutedRead(type) {
         jooq
           .select(
             field("body").`as`("body"),
@@ -1173,7 +1177,7 @@ class SqlCache(
 
         val relWhere = getRelWhere(relationshipPrefixes)
 
-        val resultSet = withRetry(RetryCategory.READ) {
+        val resultSet = withRoutedRead(type) {
           jooq
             .select(
               field("body").`as`("body"),
@@ -1250,7 +1254,7 @@ class SqlCache(
   }
 
   private fun selectBodies(type: String, ids: List<String>): Collection<CacheData> {
-    return withRetry(RetryCategory.READ) {
+    return withRoutedRead(type) {
       jooq.select(field("body"))
         .from(table(sqlNames.resourceTableName(type)))
         .where(field("ID").`in`(*ids.toTypedArray()))
@@ -1270,7 +1274,7 @@ class SqlCache(
 
     val relWhere = getRelWhere(relationshipPrefixes, where)
 
-    return withRetry(RetryCategory.READ) {
+    return withRoutedRead(type) {
       jooq
         .select(
           field("body").`as`("body"),
@@ -1296,7 +1300,7 @@ class SqlCache(
   }
 
   private fun selectIdentifiers(type: String, ids: List<String>): MutableCollection<String> {
-    return withRetry(RetryCategory.READ) {
+    return withRoutedRead(type) {
       jooq.select(field("id"))
         .from(table(sqlNames.resourceTableName(type)))
         .where(field("id").`in`(*ids.toTypedArray()))
@@ -1458,7 +1462,21 @@ class SqlCache(
     WRITE, READ
   }
 
+  /**
+   * Runs a read made on behalf of the callers of the cache's get/getAll/identifier methods, which may be
+   * served by a read replica. Reads made while writing (e.g. of the current hashes) go to the primary.
+   */
+  private fun <T> withRoutedRead(type: String, action: () -> T): T {
+    return withRetry(RetryCategory.READ, readRouter?.readPool(type), action)
+  }
+
   private fun <T> withRetry(category: RetryCategory, action: () -> T): T {
+    return withRetry(category, readRouter?.primaryPool, action)
+  }
+
+  private fun <T> withRetry(category: RetryCategory, pool: String?, action: () -> T): T {
+    val routedAction: () -> T = if (pool == null) action else { { withPool(pool, action) } }
+
     return if (category == RetryCategory.WRITE) {
       val retry = Retry.of(
         "sqlWrite",
@@ -1469,7 +1487,7 @@ class SqlCache(
           .build()
       )
 
-      Try.ofSupplier(Retry.decorateSupplier(retry, action)).get()
+      Try.ofSupplier(Retry.decorateSupplier(retry, routedAction)).get()
     } else {
       val retry = Retry.of(
         "sqlRead",
@@ -1480,7 +1498,7 @@ class SqlCache(
           .build()
       )
 
-      Try.ofSupplier(Retry.decorateSupplier(retry, action)).get()
+      Try.ofSupplier(Retry.decorateSupplier(retry, routedAction)).get()
     }
   }
 
@@ -1586,7 +1604,8 @@ fun CoroutineContext?.useAsync(useAsync: () -> Boolean): Boolean {
 }
 
 class CatsCoroutineScope(context: CoroutineContext) : CoroutineScope {
-  override val coroutineContext = context
+  // captures the MDC of the creating thread, e.g. the read routing scope of the current request
+  override val coroutineContext = context + MDCContext()
   private val jobs = Job()
 
   @PreDestroy
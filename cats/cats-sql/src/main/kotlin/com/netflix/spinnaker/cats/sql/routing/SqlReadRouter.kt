@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.routing
+
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.ON_DEMAND
+import com.netflix.spinnaker.config.SqlReadRoutingProperties
+import java.time.Duration
+
+/**
+ * Picks the connection pool of cache reads.
+ *
+ * Reads go to the replica pool only when made in a [SqlReadScope.REPLICA] scope, for a type other
+ * than on demand entries (which are polled to find out whether an on demand update completed), and
+ * while the replica lag is known and within the configured bound. Everything else, including all
+ * writes, goes to the primary pool.
+ */
+class SqlReadRouter(
+  private val properties: SqlReadRoutingProperties,
+  private val replicaLag: () -> Duration?,
+  private val registry: Registry
+) {
+
+  private val readsId = registry.createId("cats.sqlCache.readRouting.reads")
+
+  val primaryPool: String
+    get() = properties.primaryPool
+
+  fun readPool(type: String): String {
+    val scope = SqlReadScope.current()
+    val reason = when {
+      scope == null -> "outsideRequest"
+      scope == SqlReadScope.READ_YOUR_WRITES -> "readYourWrites"
+      type == ON_DEMAND.ns -> "onDemand"
+      !isReplicaCurrent() -> "replicaLag"
+      else -> "replica"
+    }
+
+    val pool = if (reason == "replica") properties.replicaPool else properties.primaryPool
+    registry.counter(readsId.withTags("pool", pool, "reason", reason)).increment()
+    return pool
+  }
+
+  private fun isReplicaCurrent(): Boolean {
+    val lag = replicaLag() ?: return false
+    return lag <= properties.maxReplicaLag
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.routing
+
+import com.netflix.spinnaker.config.SqlReadRoutingProperties
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.springframework.web.filter.OncePerRequestFilter
+
+/**
+ * Lets the cache reads of GET (and HEAD) requests, i.e. view providers and search, go to a read
+ * replica. Other requests, such as operations and on demand cache updates, stay on the primary.
+ */
+class SqlReadRoutingFilter(
+  private val properties: SqlReadRoutingProperties
+) : OncePerRequestFilter() {
+
+  override fun doFilterInternal(request: HttpServletRequest, response: HttpServletResponse, chain: FilterChain) {
+    if (request.method != "GET" && request.method != "HEAD") {
+      chain.doFilter(request, response)
+      return
+    }
+
+    val scope = if (request.getHeader(properties.readYourWritesHeader)?.toBoolean() == true) {
+      SqlReadScope.READ_YOUR_WRITES
+    } else {
+      SqlReadScope.REPLICA
+    }
+
+    SqlReadScope.withScope(scope) {
+      chain.doFilter(request, response)
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.routing
+
+import org.slf4j.MDC
+
+/**
+ * Which cache reads of the current request may be served by a read replica.
+ *
+ * The scope is kept in the MDC rather than a plain thread local, so it follows the request to the
+ * threads it's propagated to (AuthenticatedRequest.propagate, MDCContext). Reads made outside of a
+ * scope, e.g. by caching agents, go to the primary.
+ */
+enum class SqlReadScope {
+  /** Reads may go to a replica that is within the staleness bound. */
+  REPLICA,
+
+  /** Reads go to the primary, so the request sees its own (or a preceding) on demand update. */
+  READ_YOUR_WRITES;
+
+  companion object {
+    const val MDC_KEY = "sqlReadScope"
+
+    fun current(): SqlReadScope? =
+      MDC.get(MDC_KEY)?.let { value -> values().firstOrNull { it.name == value } }
+
+    fun <T> withScope(scope: SqlReadScope, fn: () -> T): T {
+      val previous = MDC.get(MDC_KEY)
+      MDC.put(MDC_KEY, scope.name)
+      try {
+        return fn()
+      } finally {
+        if (previous == null) {
+          MDC.remove(MDC_KEY)
+        } else {
+          MDC.put(MDC_KEY, previous)
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.routing
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.config.SqlReadRoutingProperties
+import com.netflix.spinnaker.kork.sql.routing.withPool
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import javax.annotation.PostConstruct
+import javax.annotation.PreDestroy
+import org.jooq.DSLContext
+import org.jooq.Field
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL.field
+import org.jooq.impl.DSL.table
+import org.slf4j.LoggerFactory
+
+/**
+ * Measures how far the replica pool is behind the primary.
+ *
+ * Instances that aren't read-only stamp a heartbeat row on the primary with the primary's own
+ * time, and every instance reads it back from both the replica and the primary: how far the
+ * replicated heartbeat is behind the primary's is the lag. Every heartbeat comes from the
+ * database's clock, so the clocks of the instances writing them don't matter.
+ *
+ * While the lag is unknown [lag] is null and reads stay on the primary. That's the case when the
+ * replica or the primary can't be read, and when no instance has written a heartbeat for
+ * [STALE_HEARTBEAT_INTERVALS] heartbeat intervals: the replica would catch up with the last
+ * heartbeat and report no lag however far behind it falls afterwards.
+ */
+class SqlReplicaLagMonitor(
+  private val jooq: DSLContext,
+  private val registry: Registry,
+  private val properties: SqlReadRoutingProperties,
+  private val readOnly: Boolean
+) : Runnable {
+
+  companion object {
+    private const val HEARTBEAT_ID = "primary"
+
+    /**
+     * How many heartbeat intervals the primary's heartbeat may be behind the primary's clock
+     * before the lag is unknown.
+     */
+    const val STALE_HEARTBEAT_INTERVALS = 5L
+
+    private val heartbeatTable = table("cats_replica_heartbeat")
+    private val idField = field("id", String::class.java)
+    private val heartbeatAtField = field("heartbeat_at", Long::class.javaObjectType)
+
+    private val log = LoggerFactory.getLogger(SqlReplicaLagMonitor::class.java)
+  }
+
+  private val lagId = registry.createId("cats.sqlCache.readRouting.replicaLag")
+
+  private val executor = Executors.newSingleThreadScheduledExecutor(
+    ThreadFactoryBuilder()
+      .setNameFormat(SqlReplicaLagMonitor::class.java.simpleName + "-%d")
+      .setDaemon(true)
+      .build()
+  )
+
+  @Volatile
+  var lag: Duration? = null
+    private set
+
+  @PostConstruct
+  fun start() {
+    executor.scheduleWithFixedDelay(
+      this,
+      0,
+      properties.heartbeatInterval.toMillis(),
+      TimeUnit.MILLISECONDS
+    )
+  }
+
+  @PreDestroy
+  fun stop() {
+    executor.shutdownNow()
+  }
+
+  override fun run() {
+    lag = try {
+      if (!readOnly) {
+        writeHeartbeat()
+      }
+      // the replica is read first, so a heartbeat written in between can only overstate the lag
+      val replicaHeartbeat = readReplicaHeartbeat()
+      val primary = readPrimaryHeartbeat()
+      when {
+        replicaHeartbeat == null || primary == null -> null
+        primary.age > properties.heartbeatInterval.multipliedBy(STALE_HEARTBEAT_INTERVALS) -> {
+          log.debug("The last heartbeat on the primary is ${primary.age} old, replica lag is unknown")
+          null
+        }
+        else -> Duration.ofMillis(maxOf(0, primary.heartbeatAt - replicaHeartbeat))
+      }
+    } catch (e: Exception) {
+      log.warn("Unable to determine the lag of replica pool ${properties.replicaPool}", e)
+      null
+    }
+
+    registry.gauge(lagId).set(lag?.toMillis()?.toDouble() ?: Double.NaN)
+  }
+
+  private fun writeHeartbeat() {
+    withPool(properties.primaryPool) {
+      val updated = jooq.update(heartbeatTable)
+        .set(heartbeatAtField, databaseMillis())
+        .where(idField.eq(HEARTBEAT_ID))
+        .execute()
+
+      if (updated == 0) {
+        jooq.insertInto(heartbeatTable)
+          .set(idField, HEARTBEAT_ID)
+          .set(heartbeatAtField, databaseMillis())
+          .onDuplicateKeyIgnore()
+          .execute()
+      }
+    }
+  }
+
+  private fun readReplicaHeartbeat(): Long? {
+    return withPool(properties.replicaPool) {
+      jooq.select(heartbeatAtField)
+        .from(heartbeatTable)
+        .where(idField.eq(HEARTBEAT_ID))
+        .fetchOne(heartbeatAtField)
+    }
+  }
+
+  private fun readPrimaryHeartbeat(): PrimaryHeartbeat? {
+    return withPool(properties.primaryPool) {
+      val now = databaseMillis().`as`("now")
+      jooq.select(heartbeatAtField, now)
+        .from(heartbeatTable)
+        .where(idField.eq(HEARTBEAT_ID))
+        .fetchOne()
+        ?.let {
+          val heartbeatAt = it.get(heartbeatAtField)
+          PrimaryHeartbeat(heartbeatAt, Duration.ofMillis(it.get(now) - heartbeatAt))
+        }
+    }
+  }
+
+  /**
+   * The current time of the database in epoch milliseconds.
+   */
+  private fun databaseMillis(): Field<Long> =
+    when (jooq.dialect()) {
+      SQLDialect.POSTGRES ->
+        field("round(extract(epoch from current_timestamp(3)) * 1000)", Long::class.javaObjectType)
+      else ->
+        field("round(unix_timestamp(current_timestamp(3)) * 1000)", Long::class.javaObjectType)
+    }
+
+  private data class PrimaryHeartbeat(
+    val heartbeatAt: Long,
+    val age: Duration
+  )
+}
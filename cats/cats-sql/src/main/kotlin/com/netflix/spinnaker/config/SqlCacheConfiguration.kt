@@ -18,6 +18,9 @@ import com.netflix.spinnaker.cats.sql.cache.SqlNamedCacheFactory
 import com.netflix.spinnaker.cats.sql.cache.SqlNames
 import com.netflix.spinnaker.cats.sql.cache.SqlTableMetricsAgent
 import com.netflix.spinnaker.cats.sql.cache.SqlUnknownAgentCleanupAgent
+import com.netflix.spinnaker.cats.sql.routing.SqlReadRouter
+import com.netflix.spinnaker.cats.sql.routing.SqlReadRoutingFilter
+import com.netflix.spinnaker.cats.sql.routing.SqlReplicaLagMonitor
 import com.netflix.spinnaker.clouddriver.cache.CustomSchedulableAgentIntervalProvider
 import com.netflix.spinnaker.clouddriver.cache.DiscoveryStatusNodeStatusProvider
 import com.netflix.spinnaker.clouddriver.sql.SqlAgent
@@ -39,11 +42,13 @@ import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.boot.context.properties.EnableConfigurationProperties
+import org.springframework.boot.web.servlet.FilterRegistrationBean
 import org.springframework.context.ApplicationContext
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.ComponentScan
 import org.springframework.context.annotation.Configuration
 import org.springframework.context.annotation.Import
+import org.springframework.core.Ordered
 
 const val coroutineThreadPrefix = "catsSql"
 
@@ -51,7 +56,11 @@ const val coroutineThreadPrefix = "catsSql"
 @Configuration
 @ConditionalOnProperty("sql.cache.enabled")
 @Import(DefaultSqlConfiguration::class)
-@EnableConfigurationProperties(SqlAgentProperties::class, SqlConstraintsProperties::class)
+@EnableConfigurationProperties(
+  SqlAgentProperties::class,
+  SqlConstraintsProperties::class,
+  SqlReadRoutingProperties::class
+)
 @ComponentScan("com.netflix.spinnaker.cats.sql.controllers")
 class SqlCacheConfiguration {
 
@@ -92,6 +101,9 @@ class SqlCacheConfiguration {
    * sql.tableNamespace: Name spaces data tables, as well as the agent lock table if using the SqlAgentScheduler.
    * Table namespacing allows flipping to new/empty data tables within the same master if necessary to rebuild
    * the cache from scratch, such as after disabling caching agents for an account/region.
+   *
+   * sql.cache.read-routing.enabled: Send the cache reads of GET requests to a read replica, see
+   * [SqlReadRoutingProperties].
    */
   @ObsoleteCoroutinesApi
   @Bean
@@ -104,7 +116,8 @@ class SqlCacheConfiguration {
     sqlConstraints: SqlConstraints,
     mapper: ObjectMapper,
     @Value("\${sql.cache.async-pool-size:0}") poolSize: Int,
-    @Value("\${sql.table-namespace:#{null}}") tableNamespace: String?
+    @Value("\${sql.table-namespace:#{null}}") tableNamespace: String?,
+    readRouter: ObjectProvider<SqlReadRouter>
   ): NamedCacheFactory {
     if (tableNamespace != null && !tableNamespace.matches("""^\w+$""".toRegex())) {
       throw IllegalArgumentException("tableNamespace can only contain characters [a-z, A-Z, 0-9, _]")
@@ -136,10 +149,39 @@ class SqlCacheConfiguration {
       tableNamespace,
       cacheMetrics,
       dynamicConfigService,
-      sqlConstraints
+      sqlConstraints,
+      readRouter.ifAvailable
     )
   }
 
+  @Bean
+  @ConditionalOnProperty("sql.cache.read-routing.enabled")
+  fun sqlReplicaLagMonitor(
+    jooq: DSLContext,
+    registry: Registry,
+    properties: SqlReadRoutingProperties,
+    @Value("\${sql.read-only:false}") readOnly: Boolean
+  ): SqlReplicaLagMonitor =
+    SqlReplicaLagMonitor(jooq, registry, properties, readOnly)
+
+  @Bean
+  @ConditionalOnProperty("sql.cache.read-routing.enabled")
+  fun sqlReadRouter(
+    properties: SqlReadRoutingProperties,
+    sqlReplicaLagMonitor: SqlReplicaLagMonitor,
+    registry: Registry
+  ): SqlReadRouter =
+    SqlReadRouter(properties, sqlReplicaLagMonitor::lag, registry)
+
+  @Bean
+  @ConditionalOnProperty("sql.cache.read-routing.enabled")
+  fun sqlReadRoutingFilter(properties: SqlReadRoutingProperties): FilterRegistrationBean<SqlReadRoutingFilter> {
+    // right after the AuthenticatedRequestFilter, which is ordered first
+    val frb = FilterRegistrationBean(SqlReadRoutingFilter(properties))
+    frb.order = Ordered.HIGHEST_PRECEDENCE + 1
+    return frb
+  }
+
   @Bean
   fun agentIntervalProvider(sqlAgentProperties: SqlAgentProperties): AgentIntervalProvider {
     return CustomSchedulableAgentIntervalProvider(
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.config
+
+import java.time.Duration
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+@ConfigurationProperties("sql.cache.read-routing")
+class SqlReadRoutingProperties {
+  /**
+   * Send the cache reads of GET requests to [replicaPool], while the replica is no more than
+   * [maxReplicaLag] behind. Caching agents, on demand updates and tasks always use the primary.
+   */
+  var enabled: Boolean = false
+
+  /**
+   * The connection pool of the primary, used for all writes. Falls back to the default pool if it
+   * isn't configured in sql.connection-pools.
+   */
+  var primaryPool: String = ConnectionPools.CACHE_WRITER.value
+
+  /**
+   * The connection pool of the read replica(s).
+   */
+  var replicaPool: String = ConnectionPools.CACHE_READER.value
+
+  /**
+   * How stale replica reads may be. Measured as how far the heartbeat replicated to the replica is
+   * behind the primary's, so it should be well above [heartbeatInterval].
+   */
+  var maxReplicaLag: Duration = Duration.ofSeconds(10)
+
+  var heartbeatInterval: Duration = Duration.ofSeconds(1)
+
+  /**
+   * Requests with this header set to true read from the primary, e.g. to see the result of an on
+   * demand cache update right away.
+   */
+  var readYourWritesHeader: String = "X-Spinnaker-Read-Your-Writes"
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.routing
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.config.SqlReadRoutingProperties
+import dev.minutest.junit.JUnit5Minutests
+import dev.minutest.rootContext
+import java.time.Duration
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+
+class SqlReadRouterTest : JUnit5Minutests {
+
+  fun tests() = rootContext<Fixture> {
+    fixture { Fixture() }
+
+    test("reads outside of a request go to the primary") {
+      expectThat(subject.readPool("serverGroups")).isEqualTo("cacheWriter")
+      expectThat(reads("cacheWriter", "outsideRequest")).isEqualTo(1)
+    }
+
+    test("reads of requests go to the replica") {
+      SqlReadScope.withScope(SqlReadScope.REPLICA) {
+        expectThat(subject.readPool("serverGroups")).isEqualTo("cacheReader")
+      }
+      expectThat(reads("cacheReader", "replica")).isEqualTo(1)
+      expectThat(SqlReadScope.current()).isNull()
+    }
+
+    test("reads of requests asking to read their writes go to the primary") {
+      SqlReadScope.withScope(SqlReadScope.READ_YOUR_WRITES) {
+        expectThat(subject.readPool("serverGroups")).isEqualTo("cacheWriter")
+      }
+      expectThat(reads("cacheWriter", "readYourWrites")).isEqualTo(1)
+    }
+
+    test("reads of on demand entries go to the primary") {
+      SqlReadScope.withScope(SqlReadScope.REPLICA) {
+        expectThat(subject.readPool("onDemand")).isEqualTo("cacheWriter")
+      }
+      expectThat(reads("cacheWriter", "onDemand")).isEqualTo(1)
+    }
+
+    test("reads go to the primary while the replica lags behind") {
+      lag = Duration.ofMinutes(1)
+      SqlReadScope.withScope(SqlReadScope.REPLICA) {
+        expectThat(subject.readPool("serverGroups")).isEqualTo("cacheWriter")
+      }
+
+      lag = null
+      SqlReadScope.withScope(SqlReadScope.REPLICA) {
+        expectThat(subject.readPool("serverGroups")).isEqualTo("cacheWriter")
+      }
+      expectThat(reads("cacheWriter", "replicaLag")).isEqualTo(2)
+    }
+  }
+
+  private class Fixture {
+    val registry = DefaultRegistry()
+    val properties = SqlReadRoutingProperties().apply {
+      enabled = true
+      maxReplicaLag = Duration.ofSeconds(10)
+    }
+    var lag: Duration? = Duration.ofSeconds(1)
+
+    val subject = SqlReadRouter(properties, { lag }, registry)
+
+    fun reads(pool: String, reason: String): Long =
+      registry.counter("cats.sqlCache.readRouting.reads", "pool", pool, "reason", reason).count()
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.routing
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.config.SqlReadRoutingProperties
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
+import dev.minutest.junit.JUnit5Minutests
+import dev.minutest.rootContext
+import java.time.Duration
+import org.jooq.impl.DSL.field
+import org.jooq.impl.DSL.table
+import strikt.api.expectThat
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNull
+import strikt.assertions.isTrue
+
+class SqlReplicaLagMonitorTest : JUnit5Minutests {
+
+  fun tests() = rootContext<Fixture> {
+    fixture { Fixture() }
+
+    after {
+      SqlTestUtil.cleanupDb(database.context)
+    }
+
+    test("lag is unknown until a heartbeat has been written") {
+      readOnlySubject.run()
+
+      expectThat(readOnlySubject.lag).isNull()
+      expectThat(lagGauge().isNaN()).isTrue()
+    }
+
+    test("lag is how far the replica's heartbeat is behind the primary's") {
+      // both pools point at the same database here, so the replica is never behind
+      subject.run()
+      readOnlySubject.run()
+
+      expectThat(subject.lag).isEqualTo(Duration.ZERO)
+      expectThat(readOnlySubject.lag).isEqualTo(Duration.ZERO)
+      expectThat(lagGauge()).isEqualTo(0.0)
+    }
+
+    test("lag is unknown once heartbeats stop being written") {
+      subject.run()
+
+      // the last heartbeat was written well before the primary's current time
+      database.context.update(table("cats_replica_heartbeat"))
+        .set(field("heartbeat_at", Long::class.java), field("heartbeat_at", Long::class.java).minus(60_000))
+        .execute()
+      readOnlySubject.run()
+
+      expectThat(readOnlySubject.lag).isNull()
+    }
+  }
+
+  private class Fixture {
+    val database = SqlTestUtil.initTcMysqlDatabase()!!
+    val registry = DefaultRegistry()
+    val properties = SqlReadRoutingProperties().apply {
+      enabled = true
+      heartbeatInterval = Duration.ofSeconds(1)
+    }
+
+    val subject = SqlReplicaLagMonitor(database.context, registry, properties, false)
+    val readOnlySubject = SqlReplicaLagMonitor(database.context, registry, properties, true)
+
+    fun lagGauge(): Double =
+      registry.gauge("cats.sqlCache.readRouting.replicaLag").value()
+  }
+}
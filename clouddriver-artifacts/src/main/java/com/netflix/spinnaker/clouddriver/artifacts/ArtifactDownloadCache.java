@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import com.netflix.spinnaker.kork.artifacts.model.Artifact;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Caches downloaded artifacts on disk, keyed by account, type, reference and version or digest.
+ *
+ * <p>Concurrent requests for the same artifact share a single download. Cached artifacts are handed
+ * out as open {@link FileChannel}s, so a response can be served from any position without reading
+ * what precedes it, and are evicted by {@link DiskLru} once their total size exceeds the max.
+ */
+@NonnullByDefault
+@Slf4j
+public class ArtifactDownloadCache {
+  private static final String ARTIFACT_SUFFIX = ".artifact";
+
+  private final Path directory;
+  private final DiskLru lru;
+  private final Set<String> types;
+  private final Registry registry;
+  private final Id requestsId;
+  private final Id bytesSavedId;
+
+  private final ConcurrentMap<Path, CompletableFuture<Path>> downloads = new ConcurrentHashMap<>();
+
+  public ArtifactDownloadCache(
+      Path directory, long maxBytes, List<String> types, Registry registry) throws IOException {
+    this.directory = directory;
+    this.lru = new DiskLru(directory, ARTIFACT_SUFFIX, maxBytes);
+    this.types = new HashSet<>(types);
+    this.registry = registry;
+    this.requestsId = registry.createId("artifacts.downloadCache.requests");
+    this.bytesSavedId = registry.createId("artifacts.downloadCache.bytesSaved");
+
+    FileUtils.forceMkdir(directory.toFile());
+  }
+
+  /** @return whether {@code artifact} is of a cached type and pinned to a version or digest */
+  public boolean isCacheable(Artifact artifact) {
+    if (artifact.getType() == null || !types.contains(artifact.getType())) {
+      return false;
+    }
+    return !Strings.isNullOrEmpty(artifact.getVersion())
+        || !Strings.isNullOrEmpty(digest(artifact));
+  }
+
+  /** @return the cached contents of {@code artifact}, if it has been downloaded before */
+  public Optional<FileChannel> getIfPresent(Artifact artifact) throws IOException {
+    if (!isCacheable(artifact)) {
+      return Optional.empty();
+    }
+    return open(artifact, path(artifact));
+  }
+
+  /**
+   * @return the cached contents of {@code artifact}, downloading it with {@code downloader} if it
+   *     isn't cached yet, or waiting for the download of another request for it to complete
+   */
+  public FileChannel get(Artifact artifact, Downloader downloader) throws IOException {
+    Path path = path(artifact);
+    Optional<FileChannel> cached = open(artifact, path);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    CompletableFuture<Path> download = new CompletableFuture<>();
+    CompletableFuture<Path> inProgress = downloads.putIfAbsent(path, download);
+    if (inProgress != null) {
+      await(inProgress);
+      // if the artifact was evicted in the meantime it's downloaded again
+      return get(artifact, downloader);
+    }
+
+    try {
+      // another request may have completed its download since the lookup above
+      cached = open(artifact, path);
+      if (cached.isPresent()) {
+        download.complete(path);
+        return cached.get();
+      }
+
+      log.info("Caching {} artifact {}", artifact.getType(), reference(artifact));
+      Path stagingPath = Files.createTempFile(directory, "staging", ".tmp");
+      try {
+        try (InputStream in = downloader.download(artifact)) {
+          Files.copy(in, stagingPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(stagingPath, path, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(stagingPath);
+      }
+      registry
+          .counter(requestsId.withTags("type", artifact.getType(), "result", "miss"))
+          .increment();
+
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+      download.complete(path);
+      lru.evict();
+      return channel;
+    } catch (IOException | RuntimeException e) {
+      download.completeExceptionally(e);
+      throw e;
+    } finally {
+      downloads.remove(path, download);
+    }
+  }
+
+  private Optional<FileChannel> open(Artifact artifact, Path path) throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.READ);
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+
+    log.debug("Using cached {} artifact {}", artifact.getType(), reference(artifact));
+    DiskLru.touch(path);
+    registry.counter(requestsId.withTags("type", artifact.getType(), "result", "hit")).increment();
+    registry.counter(bytesSavedId.withTag("type", artifact.getType())).increment(channel.size());
+    return Optional.of(channel);
+  }
+
+  private static void await(CompletableFuture<Path> download) throws IOException {
+    try {
+      download.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private Path path(Artifact artifact) {
+    String key =
+        String.join(
+            "\n",
+            Strings.nullToEmpty(artifact.getArtifactAccount()),
+            artifact.getType(),
+            Strings.nullToEmpty(artifact.getReference()),
+            Strings.nullToEmpty(artifact.getVersion()),
+            Strings.nullToEmpty(digest(artifact)));
+    return directory.resolve(Hashing.sha256().hashString(key, UTF_8).toString() + ARTIFACT_SUFFIX);
+  }
+
+  private static String reference(Artifact artifact) {
+    return Objects.toString(artifact.getReference(), artifact.getName());
+  }
+
+  @Nullable
+  private static String digest(Artifact artifact) {
+    Object digest = artifact.getMetadata("digest");
+    return digest != null ? digest.toString() : null;
+  }
+
+  @FunctionalInterface
+  public interface Downloader {
+    InputStream download(Artifact artifact) throws IOException;
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("artifacts.download-cache")
+public class ArtifactDownloadCacheProperties {
+  /** Keep downloaded artifacts on disk, so the same artifact version is only downloaded once. */
+  private boolean enabled = false;
+
+  /** The directory downloaded artifacts are stored in. */
+  private String directory =
+      Paths.get(System.getProperty("java.io.tmpdir"), "artifact-cache").toString();
+
+  /** The max size of the cached artifacts, least recently used ones are removed. */
+  private long maxBytes = 1024L * 1024 * 1024;
+
+  /**
+   * The artifact types to cache. Only types whose version (or digest) always refers to the same
+   * content should be listed, e.g. helm/chart; artifacts without a version or digest are never
+   * cached.
+   */
+  private List<String> types = new ArrayList<>();
+}
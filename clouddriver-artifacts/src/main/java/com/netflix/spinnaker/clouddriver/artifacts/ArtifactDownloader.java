@@ -22,15 +22,57 @@ import com.netflix.spinnaker.kork.exceptions.MissingCredentialsException;
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import lombok.RequiredArgsConstructor;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class ArtifactDownloader {
   private final ArtifactCredentialsRepository artifactCredentialsRepository;
+  private final ArtifactDownloadCache artifactDownloadCache;
+
+  public ArtifactDownloader(ArtifactCredentialsRepository artifactCredentialsRepository) {
+    this(artifactCredentialsRepository, Optional.empty());
+  }
+
+  @Autowired
+  public ArtifactDownloader(
+      ArtifactCredentialsRepository artifactCredentialsRepository,
+      Optional<ArtifactDownloadCache> artifactDownloadCache) {
+    this.artifactCredentialsRepository = artifactCredentialsRepository;
+    this.artifactDownloadCache = artifactDownloadCache.orElse(null);
+  }
 
   public InputStream download(Artifact artifact) throws IOException {
+    Optional<FileChannel> cached = downloadCached(artifact);
+    if (cached.isPresent()) {
+      return Channels.newInputStream(cached.get());
+    }
+    return downloadUncached(artifact);
+  }
+
+  /**
+   * @return the contents of {@code artifact} from the download cache, downloading it into the cache
+   *     if needed, or empty if the cache is disabled or doesn't cache {@code artifact}
+   */
+  public Optional<FileChannel> downloadCached(Artifact artifact) throws IOException {
+    if (artifactDownloadCache == null || !artifactDownloadCache.isCacheable(artifact)) {
+      return Optional.empty();
+    }
+    return Optional.of(artifactDownloadCache.get(artifact, this::downloadUncached));
+  }
+
+  /** @return the contents of {@code artifact} if it's in the download cache, without downloading */
+  public Optional<FileChannel> getCached(Artifact artifact) throws IOException {
+    if (artifactDownloadCache == null) {
+      return Optional.empty();
+    }
+    return artifactDownloadCache.getIfPresent(artifact);
+  }
+
+  private InputStream downloadUncached(Artifact artifact) throws IOException {
     try {
       return artifactCredentialsRepository
           .getCredentialsForType(artifact.getArtifactAccount(), artifact.getType())
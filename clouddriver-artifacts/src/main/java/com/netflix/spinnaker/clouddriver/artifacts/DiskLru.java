@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts the least recently used files of a directory once their total size exceeds a max.
+ *
+ * <p>A file's last modified time is its last use, so files should be {@link #touch touched}
+ * whenever they are read. Files that are open when they're evicted can still be read on the file
+ * systems we run on, so open a file before calling {@link #evict} if it must survive the call.
+ */
+@NonnullByDefault
+@Slf4j
+public class DiskLru {
+  private final Path directory;
+  private final String suffix;
+  private final long maxBytes;
+
+  /** Only the files of {@code directory} whose name ends with {@code suffix} are evicted. */
+  public DiskLru(Path directory, String suffix, long maxBytes) {
+    this.directory = directory;
+    this.suffix = suffix;
+    this.maxBytes = maxBytes;
+  }
+
+  public synchronized void evict() {
+    List<File> files =
+        leastRecentlyUsed(directory).stream()
+            .filter(it -> it.getName().endsWith(suffix))
+            .collect(Collectors.toList());
+
+    long size = files.stream().mapToLong(File::length).sum();
+    for (File file : files) {
+      if (size <= maxBytes) {
+        break;
+      }
+      long length = file.length();
+      if (file.delete()) {
+        log.debug("Evicted {}", file);
+        size -= length;
+      }
+    }
+  }
+
+  /** @return the entries of {@code directory}, least recently used first */
+  public static List<File> leastRecentlyUsed(Path directory) {
+    File[] files = directory.toFile().listFiles();
+    if (files == null) {
+      return List.of();
+    }
+    return Arrays.stream(files)
+        .sorted(Comparator.comparingLong(File::lastModified))
+        .collect(Collectors.toList());
+  }
+
+  public static void touch(Path path) {
+    try {
+      Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      log.debug("Failed to update last modified time of {}", path, e);
+    }
+  }
+}
@@ -19,7 +19,9 @@ package com.netflix.spinnaker.clouddriver.artifacts.config;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.squareup.okhttp.*;
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -83,4 +85,35 @@ public abstract class BaseHttpArtifactCredentials<T extends ArtifactAccount> {
     }
     return downloadResponse.body();
   }
+
+  /**
+   * Fetches {@code url} with a conditional request, if any of its validators are known.
+   *
+   * @param etag The ETag of the last response from {@code url}
+   * @param lastModified The Last-Modified date of the last response from {@code url}
+   * @return The response; its status is 304 (and its body closed) if {@code url} is unchanged
+   */
+  protected Response fetchUrlIfModified(
+      String url, @Nullable String etag, @Nullable String lastModified) throws IOException {
+    HttpUrl httpUrl = parseUrl(url);
+    Request.Builder request = new Request.Builder().headers(headers).url(httpUrl);
+    if (etag != null) {
+      request.header("If-None-Match", etag);
+    }
+    if (lastModified != null) {
+      request.header("If-Modified-Since", lastModified);
+    }
+
+    Response response = okHttpClient.newCall(request.build()).execute();
+    if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+      response.body().close();
+      return response;
+    }
+    if (!response.isSuccessful()) {
+      response.body().close();
+      throw new IOException(
+          String.format("Received %d status code from %s", response.code(), httpUrl.host()));
+    }
+    return response;
+  }
 }
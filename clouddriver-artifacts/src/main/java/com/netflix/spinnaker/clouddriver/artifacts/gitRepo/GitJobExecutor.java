@@ -110,12 +110,78 @@ public class GitJobExecutor {
     }
   }
 
+  /**
+   * Creates or updates a bare mirror of the branches and tags of {@code repoUrl}. Only objects that
+   * are missing from the mirror are fetched; credentials are passed on each fetch rather than being
+   * stored in the mirror.
+   */
+  public void fetchMirror(String repoUrl, Path mirror) throws IOException {
+    if (!isValidReference(repoUrl)) {
+      throw new IllegalArgumentException(
+          "Git reference \""
+              + repoUrl
+              + "\" is invalid for credentials with auth type "
+              + authType);
+    }
+
+    if (!mirror.resolve("HEAD").toFile().exists()) {
+      FileUtils.deleteDirectory(mirror.toFile());
+      FileUtils.forceMkdir(mirror.toFile());
+      log.info("Creating mirror of git/repo {} in {}", repoUrl, mirror);
+      runGit(Arrays.asList(gitExecutable, "init", "--bare", "--quiet"), mirror, "initialize");
+    }
+
+    log.info("Fetching git/repo {} into mirror {}", repoUrl, mirror);
+    List<String> command =
+        cmdToList(
+            Arrays.asList(
+                gitExecutable,
+                "fetch",
+                "--prune",
+                "--force",
+                "--tags",
+                repoUrlWithAuth(repoUrl),
+                "+refs/heads/*:refs/heads/*"));
+    log.debug("Executing command: \"{}\"", String.join(" ", command));
+
+    JobResult<String> result =
+        jobExecutor.runJob(new JobRequest(command, addEnvVars(System.getenv()), mirror.toFile()));
+
+    if (result.getResult() != JobResult.Result.SUCCESS) {
+      throw new IOException(
+          "Failed to fetch repository "
+              + repoUrl
+              + " into "
+              + mirror
+              + ". Error: "
+              + result.getError()
+              + " Output: "
+              + result.getOutput());
+    }
+  }
+
+  /** @return the commit that {@code ref} (a branch, tag or commit) points to in {@code localRepo} */
+  public String resolveCommit(Path localRepo, String ref) throws IOException {
+    return runGit(
+            Arrays.asList(gitExecutable, "rev-parse", "--verify", "--quiet", ref + "^{commit}"),
+            localRepo,
+            "resolve " + ref + " in")
+        .trim();
+  }
+
   public void archive(Path localClone, String branch, String subDir, Path outputFile)
       throws IOException {
 
     List<String> command =
-        Arrays.asList(
-            gitExecutable, "archive", "--format", "tgz", "--output", outputFile.toString(), branch);
+        new ArrayList<>(
+            Arrays.asList(
+                gitExecutable,
+                "archive",
+                "--format",
+                "tgz",
+                "--output",
+                outputFile.toString(),
+                branch));
     if (!StringUtils.isEmpty(subDir)) {
       command.add(subDir);
     }
@@ -135,6 +201,25 @@ public class GitJobExecutor {
     }
   }
 
+  private String runGit(List<String> command, Path localRepo, String action) throws IOException {
+    log.debug("Executing command: \"{}\"", String.join(" ", command));
+
+    JobResult<String> result = jobExecutor.runJob(new JobRequest(command, localRepo.toFile()));
+
+    if (result.getResult() != JobResult.Result.SUCCESS) {
+      throw new IOException(
+          "Failed to "
+              + action
+              + " repository "
+              + localRepo
+              + ". Error: "
+              + result.getError()
+              + " Output: "
+              + result.getOutput());
+    }
+    return result.getOutput();
+  }
+
   /**
    * For SSH authentication if the private key is password protected, SSH_ASKPASS binary is used to
    * supply the password. https://git-scm.com/docs/gitcredentials#_requesting_credentials
@@ -202,6 +287,20 @@ public class GitJobExecutor {
     return cmdList;
   }
 
+  private List<String> cmdToList(List<String> args) {
+    switch (authType) {
+      case USER_PASS:
+      case TOKEN:
+        // quoted so that environment variables are expanded, but wildcards (e.g. in refspecs) are not
+        StringJoiner cmd = new StringJoiner(" ");
+        args.forEach(arg -> cmd.add("\"" + arg + "\""));
+        return Arrays.asList("sh", "-c", cmd.toString());
+      case SSH:
+      default:
+        return args;
+    }
+  }
+
   private String repoUrlWithAuth(String repoUrl) {
     if (authType != AuthType.USER_PASS && authType != AuthType.TOKEN) {
       return repoUrl;
@@ -19,6 +19,7 @@ package com.netflix.spinnaker.clouddriver.artifacts.gitRepo;
 import com.netflix.spinnaker.clouddriver.jobs.JobExecutor;
 import com.netflix.spinnaker.credentials.CredentialsTypeProperties;
 import java.io.IOException;
+import java.nio.file.Paths;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -39,7 +40,17 @@ class GitRepoArtifactConfiguration {
   public CredentialsTypeProperties<GitRepoArtifactCredentials, GitRepoArtifactAccount>
       gitCredentialsProperties(
           @Value("${artifacts.git-repo.git-executable:git}") String gitExecutable,
-          JobExecutor jobExecutor) {
+          JobExecutor jobExecutor)
+          throws IOException {
+    GitRepoArtifactProviderProperties.Cache cache = gitRepoArtifactProviderProperties.getCache();
+    GitRepoMirrorCache mirrorCache =
+        cache.isEnabled()
+            ? new GitRepoMirrorCache(
+                Paths.get(cache.getDirectory()),
+                cache.getMaxRepositories(),
+                cache.getMaxArchiveBytes())
+            : null;
+
     return CredentialsTypeProperties.<GitRepoArtifactCredentials, GitRepoArtifactAccount>builder()
         .type(GitRepoArtifactCredentials.CREDENTIALS_TYPE)
         .credentialsClass(GitRepoArtifactCredentials.class)
@@ -49,7 +60,7 @@ class GitRepoArtifactConfiguration {
             a -> {
               try {
                 return new GitRepoArtifactCredentials(
-                    new GitJobExecutor(a, jobExecutor, gitExecutable));
+                    new GitJobExecutor(a, jobExecutor, gitExecutable), mirrorCache);
               } catch (IOException e) {
                 log.warn("Failure instantiating git artifact account {}: ", a, e);
                 return null;
@@ -30,6 +30,7 @@ import java.nio.file.Paths;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
@@ -44,9 +45,16 @@ public class GitRepoArtifactCredentials implements ArtifactCredentials {
   @Getter private final String name;
 
   private final GitJobExecutor executor;
+  @Nullable private final GitRepoMirrorCache mirrorCache;
 
   public GitRepoArtifactCredentials(GitJobExecutor executor) {
+    this(executor, null);
+  }
+
+  public GitRepoArtifactCredentials(
+      GitJobExecutor executor, @Nullable GitRepoMirrorCache mirrorCache) {
     this.executor = executor;
+    this.mirrorCache = mirrorCache;
     this.name = this.executor.getAccount().getName();
   }
 
@@ -60,6 +68,10 @@ public class GitRepoArtifactCredentials implements ArtifactCredentials {
     String repoReference = artifact.getReference();
     String subPath = artifactSubPath(artifact);
     String remoteRef = artifactVersion(artifact);
+    if (mirrorCache != null) {
+      return mirrorCache.download(executor, repoReference, remoteRef, subPath);
+    }
+
     Path stagingPath =
         Paths.get(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
     String repoBasename = getRepoBasename(repoReference);
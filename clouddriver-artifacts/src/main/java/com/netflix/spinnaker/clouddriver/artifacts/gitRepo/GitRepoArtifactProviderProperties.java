@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.clouddriver.artifacts.gitRepo;
 
 import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactProvider;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
@@ -27,4 +28,24 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 final class GitRepoArtifactProviderProperties implements ArtifactProvider<GitRepoArtifactAccount> {
   private boolean enabled;
   private List<GitRepoArtifactAccount> accounts = new ArrayList<>();
+  private Cache cache = new Cache();
+
+  @Data
+  static class Cache {
+    /**
+     * Keep a mirror of downloaded repositories on disk, so later downloads only fetch new commits,
+     * and reuse the archives created from them.
+     */
+    private boolean enabled = false;
+
+    /** The directory mirrors and archives are kept in, under "mirrors" and "archives". */
+    private String directory =
+        Paths.get(System.getProperty("java.io.tmpdir"), "gitrepo-cache").toString();
+
+    /** The max number of repositories to keep a mirror of, least recently used ones are removed. */
+    private int maxRepositories = 20;
+
+    /** The max size of the cached archives, least recently used ones are removed. */
+    private long maxArchiveBytes = 1024L * 1024 * 1024;
+  }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts.gitRepo;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hashing;
+import com.netflix.spinnaker.clouddriver.artifacts.DiskLru;
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Caches git/repo downloads on disk.
+ *
+ * <p>Each repository is kept as a bare mirror (per account, so that accounts never see each
+ * other's repositories) which is updated with incremental fetches. Archives are created from the
+ * mirror and kept by repository, commit and sub path. Both are evicted least recently used first:
+ * mirrors by count, archives by total size.
+ */
+@NonnullByDefault
+@Slf4j
+public class GitRepoMirrorCache {
+  private static final Pattern COMMIT_PATTERN = Pattern.compile("^[0-9a-f]{40}$");
+  private static final String ARCHIVE_SUFFIX = ".tgz";
+
+  private final Path mirrorsPath;
+  private final Path archivesPath;
+  private final int maxRepositories;
+  private final DiskLru archivesLru;
+
+  private final ConcurrentMap<Path, ReentrantLock> mirrorLocks = new ConcurrentHashMap<>();
+
+  public GitRepoMirrorCache(Path directory, int maxRepositories, long maxArchiveBytes)
+      throws IOException {
+    this.mirrorsPath = directory.resolve("mirrors");
+    this.archivesPath = directory.resolve("archives");
+    this.maxRepositories = maxRepositories;
+    this.archivesLru = new DiskLru(archivesPath, ARCHIVE_SUFFIX, maxArchiveBytes);
+
+    FileUtils.forceMkdir(mirrorsPath.toFile());
+    FileUtils.forceMkdir(archivesPath.toFile());
+  }
+
+  /** @return a gzipped tarball of {@code subPath} of {@code repoUrl} at {@code ref} */
+  public InputStream download(GitJobExecutor executor, String repoUrl, String ref, String subPath)
+      throws IOException {
+    String account = executor.getAccount().getName();
+    Path mirror = mirrorsPath.resolve(hash(account, repoUrl));
+
+    InputStream archive;
+    ReentrantLock lock = mirrorLocks.computeIfAbsent(mirror, m -> new ReentrantLock());
+    lock.lock();
+    try {
+      // a commit that was fetched before can't have changed, so there's no need to fetch again
+      String commit =
+          COMMIT_PATTERN.matcher(ref).matches() ? maybeResolve(executor, mirror, ref) : null;
+      if (commit == null) {
+        executor.fetchMirror(repoUrl, mirror);
+        commit = executor.resolveCommit(mirror, ref);
+      }
+      DiskLru.touch(mirror);
+
+      Path archivePath =
+          archivesPath.resolve(hash(account, repoUrl, commit, subPath) + ARCHIVE_SUFFIX);
+      if (archivePath.toFile().exists()) {
+        log.debug("Using cached archive of git/repo {} at {}", repoUrl, commit);
+      } else {
+        log.info("Creating archive for git/repo {} at {}", repoUrl, commit);
+        Path stagingPath = Files.createTempFile(archivesPath, "staging", ".tmp");
+        try {
+          executor.archive(mirror, commit, subPath, stagingPath);
+          Files.move(stagingPath, archivePath, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+          Files.deleteIfExists(stagingPath);
+        }
+      }
+      DiskLru.touch(archivePath);
+
+      archive = new FileInputStream(archivePath.toFile());
+    } finally {
+      lock.unlock();
+    }
+
+    evictMirrors();
+    archivesLru.evict();
+    return archive;
+  }
+
+  @Nullable
+  private static String maybeResolve(GitJobExecutor executor, Path mirror, String ref) {
+    if (!mirror.resolve("HEAD").toFile().exists()) {
+      return null;
+    }
+    try {
+      return executor.resolveCommit(mirror, ref);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private void evictMirrors() {
+    List<File> mirrors = DiskLru.leastRecentlyUsed(mirrorsPath);
+    for (int i = 0; i < mirrors.size() - maxRepositories; i++) {
+      Path mirror = mirrors.get(i).toPath();
+      ReentrantLock lock = mirrorLocks.computeIfAbsent(mirror, m -> new ReentrantLock());
+      // mirrors that are in use are evicted on a later download instead
+      if (lock.tryLock()) {
+        try {
+          log.info("Evicting git/repo mirror {}", mirror);
+          FileUtils.deleteDirectory(mirror.toFile());
+        } catch (IOException e) {
+          log.warn("Failed to evict git/repo mirror {}", mirror, e);
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+
+  private static String hash(String... parts) {
+    return Hashing.sha256().hashString(String.join("\n", parts), UTF_8).toString();
+  }
+}
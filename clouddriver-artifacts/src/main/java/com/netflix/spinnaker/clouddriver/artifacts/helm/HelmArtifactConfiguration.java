@@ -45,7 +45,8 @@ class HelmArtifactConfiguration {
         .credentialsParser(
             a -> {
               try {
-                return new HelmArtifactCredentials(a, okHttpClient);
+                return new HelmArtifactCredentials(
+                    a, okHttpClient, helmArtifactProviderProperties.getIndexCacheTtl());
               } catch (Exception e) {
                 log.warn("Failure instantiating Helm artifact account {}: ", a, e);
                 return null;
@@ -26,22 +26,43 @@ import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException;
 import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Response;
 import com.squareup.okhttp.ResponseBody;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import javax.annotation.Nullable;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Artifact credentials for a Helm chart repository.
+ *
+ * <p>The repository's index is cached, parsed, for {@code indexCacheTtl}; after that it is
+ * revalidated with a conditional request, so that it's only downloaded and parsed again if it
+ * changed.
+ */
 @NonnullByDefault
 @Slf4j
 public class HelmArtifactCredentials extends BaseHttpArtifactCredentials<HelmArtifactAccount>
     implements ArtifactCredentials {
   public static final String CREDENTIALS_TYPE = "artifacts-helm";
+  static final Duration DEFAULT_INDEX_CACHE_TTL = Duration.ofMinutes(1);
+
   @Getter private final String name;
   @Getter private final ImmutableList<String> types = ImmutableList.of("helm/chart", "helm/index");
 
   @JsonIgnore private final IndexParser indexParser;
+  @JsonIgnore private final Duration indexCacheTtl;
+  @JsonIgnore private final Clock clock;
+  @JsonIgnore private final Object indexLock = new Object();
+  @JsonIgnore @Nullable private volatile CachedIndex cachedIndex;
 
   @Override
   public boolean handlesType(String type) {
@@ -49,20 +70,40 @@ public class HelmArtifactCredentials extends BaseHttpArtifactCredentials<HelmArt
   }
 
   public HelmArtifactCredentials(HelmArtifactAccount account, OkHttpClient okHttpClient) {
+    this(account, okHttpClient, DEFAULT_INDEX_CACHE_TTL, Clock.systemUTC());
+  }
+
+  public HelmArtifactCredentials(
+      HelmArtifactAccount account, OkHttpClient okHttpClient, Duration indexCacheTtl) {
+    this(account, okHttpClient, indexCacheTtl, Clock.systemUTC());
+  }
+
+  HelmArtifactCredentials(
+      HelmArtifactAccount account, OkHttpClient okHttpClient, Duration indexCacheTtl, Clock clock) {
     super(okHttpClient, account);
     this.name = account.getName();
     this.indexParser = new IndexParser(account.getRepository());
+    this.indexCacheTtl = indexCacheTtl;
+    this.clock = clock;
   }
 
   @Override
   public InputStream download(Artifact artifact) throws IOException {
-    InputStream index = downloadIndex();
+    CachedIndex index = getIndex(false);
 
     if ("helm/index".equals(artifact.getType())) {
-      return index;
+      return new ByteArrayInputStream(index.contents);
+    }
+
+    List<String> urls;
+    try {
+      urls = indexParser.findUrls(index.config, artifact.getName(), artifact.getVersion());
+    } catch (IllegalArgumentException e) {
+      // the chart may have been published since the index was cached
+      urls =
+          indexParser.findUrls(getIndex(true).config, artifact.getName(), artifact.getVersion());
     }
 
-    List<String> urls = indexParser.findUrls(index, artifact.getName(), artifact.getVersion());
     ResponseBody downloadResponse;
     for (String url : urls) {
       try {
@@ -76,41 +117,103 @@ public class HelmArtifactCredentials extends BaseHttpArtifactCredentials<HelmArt
   }
 
   public List<String> getArtifactNames() {
-    InputStream index;
-    List<String> names;
     try {
-      index = downloadIndex();
-      names = indexParser.findNames(index);
+      return indexParser.findNames(getIndex(false).config);
     } catch (IOException e) {
       throw new NotFoundException("Failed to download chart names for '" + name + "' account");
     }
-    return names;
   }
 
   public List<String> getArtifactVersions(String artifactName) {
-    InputStream index;
-    List<String> versions;
     try {
-      index = downloadIndex();
-      versions = indexParser.findVersions(index, artifactName);
+      return indexParser.findVersions(getIndex(false).config, artifactName);
     } catch (IOException e) {
       throw new NotFoundException("Failed to download chart versions for '" + name + "' account");
     }
-    return versions;
   }
 
-  private InputStream downloadIndex() throws IOException {
+  /**
+   * @param revalidate Whether to revalidate the cached index even if it hasn't expired yet
+   * @return the repository's index
+   */
+  private CachedIndex getIndex(boolean revalidate) throws IOException {
+    CachedIndex index = cachedIndex;
+    if (!revalidate && isFresh(index)) {
+      return index;
+    }
+
+    synchronized (indexLock) {
+      index = cachedIndex;
+      if (!revalidate && isFresh(index)) {
+        // revalidated by another thread in the meantime
+        return index;
+      }
+
+      try {
+        index = downloadIndex(index);
+      } catch (IOException e) {
+        if (index == null) {
+          throw e;
+        }
+        log.warn(
+            "Failed to revalidate index.yaml in '{}' repository, using the cached index",
+            indexParser.getRepository(),
+            e);
+      }
+      cachedIndex = index;
+      return index;
+    }
+  }
+
+  private boolean isFresh(@Nullable CachedIndex index) {
+    return index != null && index.validatedAt.plus(indexCacheTtl).isAfter(clock.instant());
+  }
+
+  private CachedIndex downloadIndex(@Nullable CachedIndex cached) throws IOException {
+    Response response;
     try {
-      ResponseBody indexDownloadResponse = fetchUrl(indexParser.indexPath());
-      return indexDownloadResponse.byteStream();
+      response =
+          fetchUrlIfModified(
+              indexParser.indexPath(),
+              cached == null ? null : cached.etag,
+              cached == null ? null : cached.lastModified);
     } catch (IOException e) {
       throw new FailedDownloadException(
           "Failed to download index.yaml file in '" + indexParser.getRepository() + "' repository");
     }
+
+    if (cached != null && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+      log.debug("index.yaml in '{}' repository is unchanged", indexParser.getRepository());
+      return cached.revalidated(clock.instant());
+    }
+
+    byte[] contents;
+    try (ResponseBody body = response.body()) {
+      contents = body.bytes();
+    }
+    return new CachedIndex(
+        contents,
+        indexParser.buildIndexConfig(new ByteArrayInputStream(contents)),
+        response.header("ETag"),
+        response.header("Last-Modified"),
+        clock.instant());
   }
 
   @Override
   public String getType() {
     return CREDENTIALS_TYPE;
   }
+
+  @RequiredArgsConstructor
+  private static class CachedIndex {
+    private final byte[] contents;
+    private final IndexConfig config;
+    @Nullable private final String etag;
+    @Nullable private final String lastModified;
+    private final Instant validatedAt;
+
+    private CachedIndex revalidated(Instant now) {
+      return new CachedIndex(contents, config, etag, lastModified, now);
+    }
+  }
 }
@@ -18,6 +18,7 @@
 package com.netflix.spinnaker.clouddriver.artifacts.helm;
 
 import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactProvider;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
@@ -28,4 +29,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 final class HelmArtifactProviderProperties implements ArtifactProvider<HelmArtifactAccount> {
   private boolean enabled;
   private List<HelmArtifactAccount> accounts = new ArrayList<>();
+
+  /**
+   * How long the index of a repository is used before it's revalidated; a changed index is only
+   * downloaded after it has expired.
+   */
+  private Duration indexCacheTtl = HelmArtifactCredentials.DEFAULT_INDEX_CACHE_TTL;
 }
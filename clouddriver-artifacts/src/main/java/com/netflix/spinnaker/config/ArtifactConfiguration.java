@@ -16,15 +16,21 @@
 
 package com.netflix.spinnaker.config;
 
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.artifacts.ArtifactCredentialsRepository;
+import com.netflix.spinnaker.clouddriver.artifacts.ArtifactDownloadCache;
+import com.netflix.spinnaker.clouddriver.artifacts.ArtifactDownloadCacheProperties;
 import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactAccount;
 import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactCredentials;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
 import com.netflix.spinnaker.credentials.CredentialsTypeBaseConfiguration;
 import com.netflix.spinnaker.credentials.CredentialsTypeProperties;
 import com.squareup.okhttp.OkHttpClient;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -34,7 +40,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.stereotype.Component;
 
 @Configuration
-@EnableConfigurationProperties
+@EnableConfigurationProperties(ArtifactDownloadCacheProperties.class)
 @EnableScheduling
 @Component
 @ComponentScan("com.netflix.spinnaker.clouddriver.artifacts")
@@ -60,4 +66,15 @@ public class ArtifactConfiguration {
     repositories.addAll(defaultRepositories);
     return new ArtifactCredentialsRepository(repositories);
   }
+
+  @Bean
+  @ConditionalOnProperty("artifacts.download-cache.enabled")
+  public ArtifactDownloadCache artifactDownloadCache(
+      ArtifactDownloadCacheProperties properties, Registry registry) throws IOException {
+    return new ArtifactDownloadCache(
+        Paths.get(properties.getDirectory()),
+        properties.getMaxBytes(),
+        properties.getTypes(),
+        registry);
+  }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Tag;
+import com.netflix.spinnaker.kork.artifacts.model.Artifact;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junitpioneer.jupiter.TempDirectory;
+
+@ExtendWith(TempDirectory.class)
+class ArtifactDownloadCacheTest {
+  private static final String TYPE = "helm/chart";
+
+  private final Registry registry = new DefaultRegistry();
+  private final AtomicInteger downloads = new AtomicInteger();
+  private Path cacheDir;
+
+  @BeforeEach
+  void setUp(@TempDirectory.TempDir Path tempDir) {
+    cacheDir = tempDir.resolve("cache");
+  }
+
+  @Test
+  void onlyCachesVersionedArtifactsOfConfiguredTypes() throws IOException {
+    ArtifactDownloadCache cache =
+        new ArtifactDownloadCache(cacheDir, 1024, List.of(TYPE), registry);
+
+    assertThat(cache.isCacheable(artifact("1.0.0"))).isTrue();
+    assertThat(cache.isCacheable(artifact(null))).isFalse();
+    assertThat(cache.isCacheable(artifact("1.0.0").toBuilder().type("http/file").build()))
+        .isFalse();
+  }
+
+  @Test
+  void servesRepeatedDownloadsFromDisk() throws IOException {
+    ArtifactDownloadCache cache =
+        new ArtifactDownloadCache(cacheDir, 1024, List.of(TYPE), registry);
+
+    assertThat(cache.getIfPresent(artifact("1.0.0"))).isEmpty();
+    assertThat(read(cache.get(artifact("1.0.0"), this::download))).isEqualTo("chart 1.0.0");
+    assertThat(read(cache.get(artifact("1.0.0"), this::download))).isEqualTo("chart 1.0.0");
+    assertThat(read(cache.getIfPresent(artifact("1.0.0")).get())).isEqualTo("chart 1.0.0");
+    assertThat(read(cache.get(artifact("2.0.0"), this::download))).isEqualTo("chart 2.0.0");
+
+    assertThat(downloads.get()).isEqualTo(2);
+    assertThat(count("artifacts.downloadCache.requests", "result", "hit")).isEqualTo(2);
+    assertThat(count("artifacts.downloadCache.requests", "result", "miss")).isEqualTo(2);
+    assertThat(count("artifacts.downloadCache.bytesSaved", "type", TYPE)).isEqualTo(22);
+  }
+
+  @Test
+  void sharesConcurrentDownloadsOfTheSameArtifact() throws Exception {
+    ArtifactDownloadCache cache =
+        new ArtifactDownloadCache(cacheDir, 1024, List.of(TYPE), registry);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> first =
+          executor.submit(
+              () ->
+                  read(
+                      cache.get(
+                          artifact("1.0.0"),
+                          it -> {
+                            started.countDown();
+                            Uninterruptibles.awaitUninterruptibly(release);
+                            return download(it);
+                          })));
+      started.await();
+      Future<String> second =
+          executor.submit(() -> read(cache.get(artifact("1.0.0"), this::download)));
+
+      release.countDown();
+      assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("chart 1.0.0");
+      assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("chart 1.0.0");
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(downloads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void evictsArtifactsOverTheSizeLimit() throws IOException {
+    ArtifactDownloadCache cache = new ArtifactDownloadCache(cacheDir, 15, List.of(TYPE), registry);
+
+    read(cache.get(artifact("1.0.0"), this::download));
+    try (Stream<Path> artifacts = Files.list(cacheDir)) {
+      for (Path artifact : (Iterable<Path>) artifacts::iterator) {
+        Files.setLastModifiedTime(artifact, FileTime.fromMillis(0));
+      }
+    }
+    read(cache.get(artifact("2.0.0"), this::download));
+
+    assertThat(artifactCount()).isEqualTo(1);
+    assertThat(cache.getIfPresent(artifact("1.0.0"))).isEmpty();
+  }
+
+  private ByteArrayInputStream download(Artifact artifact) {
+    downloads.incrementAndGet();
+    return new ByteArrayInputStream(("chart " + artifact.getVersion()).getBytes(UTF_8));
+  }
+
+  private static Artifact artifact(String version) {
+    return Artifact.builder()
+        .type(TYPE)
+        .artifactAccount("helm")
+        .name("chart")
+        .version(version)
+        .build();
+  }
+
+  private static String read(FileChannel channel) throws IOException {
+    try (FileChannel c = channel) {
+      return IOUtils.toString(Channels.newInputStream(c), UTF_8);
+    }
+  }
+
+  private long count(String name, String tagKey, String tagValue) {
+    return registry
+        .counters()
+        .filter(it -> it.id().name().equals(name))
+        .filter(it -> tagValue.equals(tagValue(it.id(), tagKey)))
+        .mapToLong(it -> it.count())
+        .sum();
+  }
+
+  private static String tagValue(Id id, String key) {
+    for (Tag tag : id.tags()) {
+      if (tag.key().equals(key)) {
+        return tag.value();
+      }
+    }
+    return null;
+  }
+
+  private long artifactCount() throws IOException {
+    try (Stream<Path> artifacts = Files.list(cacheDir)) {
+      return artifacts.filter(it -> it.toString().endsWith(".artifact")).count();
+    }
+  }
+}
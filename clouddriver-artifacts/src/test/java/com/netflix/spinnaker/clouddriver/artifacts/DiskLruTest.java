@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junitpioneer.jupiter.TempDirectory;
+
+@ExtendWith(TempDirectory.class)
+class DiskLruTest {
+
+  @Test
+  void evictsLeastRecentlyUsedFilesWithTheSuffixOverTheSizeLimit(
+      @TempDirectory.TempDir Path directory) throws IOException {
+    write(directory.resolve("a.data"), 10, 1);
+    write(directory.resolve("b.data"), 10, 3);
+    write(directory.resolve("c.data"), 10, 2);
+    write(directory.resolve("other.tmp"), 10, 0);
+
+    new DiskLru(directory, ".data", 20).evict();
+
+    assertThat(names(directory)).containsExactly("other.tmp", "c.data", "b.data");
+  }
+
+  @Test
+  void touchedFilesAreUsedMostRecently(@TempDirectory.TempDir Path directory)
+      throws IOException {
+    write(directory.resolve("a.data"), 10, 1);
+    write(directory.resolve("b.data"), 10, 2);
+
+    DiskLru.touch(directory.resolve("a.data"));
+    new DiskLru(directory, ".data", 10).evict();
+
+    assertThat(names(directory)).containsExactly("a.data");
+  }
+
+  private static void write(Path path, int size, long lastModified) throws IOException {
+    Files.write(path, new byte[size]);
+    Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+  }
+
+  private static Iterable<String> names(Path directory) {
+    return DiskLru.leastRecentlyUsed(directory).stream()
+        .map(File::getName)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts.gitRepo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.spinnaker.clouddriver.jobs.local.JobExecutorLocal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junitpioneer.jupiter.TempDirectory;
+
+@ExtendWith(TempDirectory.class)
+class GitRepoMirrorCacheTest {
+  private Path origin;
+  private Path cacheDir;
+  private GitJobExecutor executor;
+
+  @BeforeEach
+  void setUp(@TempDirectory.TempDir Path tempDir) throws Exception {
+    origin = tempDir.resolve("origin");
+    cacheDir = tempDir.resolve("cache");
+    Files.createDirectories(origin);
+    git("init", "--quiet");
+    git("symbolic-ref", "HEAD", "refs/heads/master");
+    commit("README.md", "hello");
+
+    executor =
+        new GitJobExecutor(
+            GitRepoArtifactAccount.builder().name("test").build(), new JobExecutorLocal(1), "git");
+  }
+
+  @Test
+  void reusesArchivesOfUnchangedCommits() throws Exception {
+    GitRepoMirrorCache cache = new GitRepoMirrorCache(cacheDir, 5, Long.MAX_VALUE);
+
+    assertIsArchive(cache.download(executor, origin.toString(), "master", ""));
+    assertIsArchive(cache.download(executor, origin.toString(), "master", ""));
+    assertThat(archiveCount()).isEqualTo(1);
+
+    commit("README.md", "hello again");
+    assertIsArchive(cache.download(executor, origin.toString(), "master", ""));
+    assertThat(archiveCount()).isEqualTo(2);
+  }
+
+  @Test
+  void evictsArchivesOverTheSizeLimit() throws Exception {
+    GitRepoMirrorCache cache = new GitRepoMirrorCache(cacheDir, 5, 1);
+
+    assertIsArchive(cache.download(executor, origin.toString(), "master", ""));
+    commit("README.md", "hello again");
+    assertIsArchive(cache.download(executor, origin.toString(), "master", ""));
+
+    assertThat(archiveCount()).isEqualTo(0);
+  }
+
+  private void assertIsArchive(InputStream archive) throws IOException {
+    try (InputStream in = archive) {
+      // gzip magic number
+      assertThat(in.read()).isEqualTo(0x1f);
+      assertThat(in.read()).isEqualTo(0x8b);
+    }
+  }
+
+  private long archiveCount() throws IOException {
+    try (Stream<Path> archives = Files.list(cacheDir.resolve("archives"))) {
+      return archives.filter(it -> it.toString().endsWith(".tgz")).count();
+    }
+  }
+
+  private void commit(String file, String content) throws Exception {
+    Files.write(origin.resolve(file), content.getBytes());
+    git("add", file);
+    git("-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-qm", content);
+  }
+
+  private void git(String... args) throws Exception {
+    String[] command = new String[args.length + 1];
+    command[0] = "git";
+    System.arraycopy(args, 0, command, 1, args.length);
+    Process process = new ProcessBuilder(command).directory(origin.toFile()).start();
+    assertThat(process.waitFor()).isEqualTo(0);
+  }
+}
@@ -28,6 +28,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.function.Function;
 import org.apache.commons.io.Charsets;
@@ -88,6 +89,59 @@ class HelmArtifactCredentialsTest {
     runTestCase(server, account, m -> m.withHeader("Authorization", absent()));
   }
 
+  @Test
+  void cachesIndexUntilItExpires(@WiremockResolver.Wiremock WireMockServer server)
+      throws IOException {
+    HelmArtifactAccount account =
+        HelmArtifactAccount.builder()
+            .repository(server.baseUrl() + "/" + REPOSITORY)
+            .name("my-helm-account")
+            .build();
+    HelmArtifactCredentials credentials =
+        new HelmArtifactCredentials(account, okHttpClient, Duration.ofHours(1));
+    Artifact artifact =
+        Artifact.builder().name(CHART_NAME).version(CHART_VERSION).type("helm/chart").build();
+    prepareServer(server, m -> m);
+
+    assertThat(credentials.getArtifactNames()).containsExactly(CHART_NAME);
+    assertThat(credentials.getArtifactVersions(CHART_NAME)).containsExactly(CHART_VERSION);
+    assertThat(credentials.download(artifact))
+        .hasSameContentAs(new ByteArrayInputStream(FILE_CONTENTS.getBytes(Charsets.UTF_8)));
+
+    server.verify(1, getRequestedFor(urlPathEqualTo("/" + REPOSITORY + "/index.yaml")));
+  }
+
+  @Test
+  void revalidatesExpiredIndex(@WiremockResolver.Wiremock WireMockServer server)
+      throws IOException {
+    HelmArtifactAccount account =
+        HelmArtifactAccount.builder()
+            .repository(server.baseUrl() + "/" + REPOSITORY)
+            .name("my-helm-account")
+            .build();
+    HelmArtifactCredentials credentials =
+        new HelmArtifactCredentials(account, okHttpClient, Duration.ZERO);
+    final String indexPath = "/" + REPOSITORY + "/index.yaml";
+    server.stubFor(
+        get(urlPathEqualTo(indexPath))
+            .willReturn(
+                aResponse()
+                    .withHeader("ETag", "\"v1\"")
+                    .withBody(objectMapper.writeValueAsString(getIndexConfig(server.baseUrl())))));
+    server.stubFor(
+        get(urlPathEqualTo(indexPath))
+            .withHeader("If-None-Match", equalTo("\"v1\""))
+            .willReturn(aResponse().withStatus(304)));
+
+    assertThat(credentials.getArtifactNames()).containsExactly(CHART_NAME);
+    assertThat(credentials.getArtifactNames()).containsExactly(CHART_NAME);
+
+    server.verify(2, getRequestedFor(urlPathEqualTo(indexPath)));
+    server.verify(
+        1,
+        getRequestedFor(urlPathEqualTo(indexPath)).withHeader("If-None-Match", equalTo("\"v1\"")));
+  }
+
   private void runTestCase(
       WireMockServer server,
       HelmArtifactAccount account,
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.data;
+
+import com.netflix.spinnaker.clouddriver.cache.KeyCodec;
+import com.netflix.spinnaker.clouddriver.cache.ParsedKey;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares parsing keys into maps by splitting them ({@link SplitKeys}, the baseline) and with
+ * {@link Keys#parse} to parsing them into views with {@link Keys#CODEC}, for the patterns used by
+ * search: reading a few fields of a key and matching fields against sets of filter values.
+ *
+ * <p>Run with <code>./gradlew :clouddriver-aws:jmh</code>, adding <code>-prof gc</code> to the jmh
+ * args shows the allocation rate of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeysBenchmark {
+  private static final KeyCodec CODEC = Keys.CODEC;
+
+  @Param({"1000"})
+  public int keyCount;
+
+  private String[] keys;
+  private final Collection<String> accounts = new HashSet<>(Arrays.asList("account-3", "staging"));
+  private final Collection<String> regions = new HashSet<>(Arrays.asList("us-east-1"));
+
+  @Setup
+  public void setUp() {
+    keys = new String[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      String account = "account-" + (i % 10);
+      String region = "us-east-" + (i % 3);
+      keys[i] =
+          i % 2 == 0
+              ? Keys.getInstanceKey("i-" + Integer.toHexString(i), account, region)
+              : Keys.getImageKey("ami-" + Integer.toHexString(i), account, region);
+    }
+  }
+
+  @Benchmark
+  public void parseWithSplit(Blackhole blackhole) {
+    for (String key : keys) {
+      Map<String, String> parsed = SplitKeys.parse(key);
+      blackhole.consume(parsed.get("account"));
+      blackhole.consume(parsed.get("region"));
+    }
+  }
+
+  @Benchmark
+  public void parseWithKeys(Blackhole blackhole) {
+    for (String key : keys) {
+      Map<String, String> parsed = Keys.parse(key);
+      blackhole.consume(parsed.get("account"));
+      blackhole.consume(parsed.get("region"));
+    }
+  }
+
+  @Benchmark
+  public void parseWithCodec(Blackhole blackhole) {
+    for (String key : keys) {
+      ParsedKey parsed = CODEC.parse(key);
+      blackhole.consume(parsed.get("account"));
+      blackhole.consume(parsed.get("region"));
+    }
+  }
+
+  @Benchmark
+  public void extractWithCodec(Blackhole blackhole) {
+    for (String key : keys) {
+      blackhole.consume(CODEC.extract(key, "region"));
+    }
+  }
+
+  @Benchmark
+  public void filterWithSplit(Blackhole blackhole) {
+    for (String key : keys) {
+      Map<String, String> parsed = SplitKeys.parse(key);
+      blackhole.consume(
+          accounts.contains(parsed.get("account")) && regions.contains(parsed.get("region")));
+    }
+  }
+
+  @Benchmark
+  public void filterWithKeys(Blackhole blackhole) {
+    for (String key : keys) {
+      Map<String, String> parsed = Keys.parse(key);
+      blackhole.consume(
+          accounts.contains(parsed.get("account")) && regions.contains(parsed.get("region")));
+    }
+  }
+
+  @Benchmark
+  public void filterWithCodec(Blackhole blackhole) {
+    for (String key : keys) {
+      ParsedKey parsed = CODEC.parse(key);
+      blackhole.consume(
+          parsed.matchesAny("account", accounts) && parsed.matchesAny("region", regions));
+    }
+  }
+}
@@ -20,7 +20,10 @@ import com.amazonaws.services.elasticloadbalancingv2.model.TargetTypeEnum
 import com.google.common.collect.ImmutableMap
 import com.google.common.collect.ImmutableSet
 import com.netflix.frigga.Names
-import com.netflix.spinnaker.clouddriver.cache.KeyParser
+import com.netflix.spinnaker.clouddriver.cache.CodecKeyParser
+import com.netflix.spinnaker.clouddriver.cache.KeyCodec
+import com.netflix.spinnaker.clouddriver.cache.KeySchema
+import com.netflix.spinnaker.clouddriver.cache.ParsedKey
 import com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace
 import groovy.transform.CompileStatic
 import groovy.transform.TypeChecked
@@ -31,7 +34,7 @@ import static com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider.ID
 
 @CompileStatic
 @Component("AmazonKeys")
-class Keys implements KeyParser {
+class Keys implements CodecKeyParser {
 
   private static final Map<String, String> NAMESPACE_MAPPING =
     ImmutableMap.builder()
@@ -44,6 +47,55 @@ class Keys implements KeyParser {
       .put(Namespace.STACKS.ns, "stacks")
       .build()
 
+  /**
+   * Key types with a fixed layout, which callers going through many keys can parse into views
+   * rather than maps. Load balancer and target group keys have optional segments, and cluster,
+   * application and health keys don't map to a schema as is (lower cased or provider fields), so
+   * those are still split.
+   */
+  public static final KeyCodec CODEC = new KeyCodec(
+    KeySchema.builder(ID, Namespace.IMAGES.ns)
+      .internedField("account")
+      .internedField("region")
+      .field("imageId")
+      .build(),
+    KeySchema.builder(ID, Namespace.NAMED_IMAGES.ns)
+      .internedField("account")
+      .field("imageName")
+      .build(),
+    KeySchema.builder(ID, Namespace.SERVER_GROUPS.ns)
+      .internedField("cluster")
+      .internedField("account")
+      .internedField("region")
+      .field("serverGroup")
+      .build(),
+    KeySchema.builder(ID, Namespace.INSTANCES.ns)
+      .internedField("account")
+      .internedField("region")
+      .field("instanceId")
+      .build(),
+    KeySchema.builder(ID, Namespace.LAUNCH_CONFIGS.ns)
+      .internedField("account")
+      .internedField("region")
+      .field("launchConfig")
+      .build(),
+    KeySchema.builder(ID, Namespace.LAUNCH_TEMPLATES.ns)
+      .internedField("account")
+      .internedField("region")
+      .field("launchTemplateName")
+      .build(),
+    KeySchema.builder(ID, Namespace.STACKS.ns)
+      .field("stackId")
+      .internedField("account")
+      .internedField("region")
+      .build(),
+    KeySchema.builder(ID, Namespace.CLUSTER_PROJECTIONS.ns)
+      .internedField("application")
+      .internedField("account")
+      .internedField("region")
+      .build()
+  )
+
   private static final Set<String> PARSEABLE_FIELDS =
     ImmutableSet.builder()
       .addAll(Namespace.SERVER_GROUPS.fields)
@@ -65,6 +117,11 @@ class Keys implements KeyParser {
     return parse(key)
   }
 
+  @Override
+  KeyCodec getKeyCodec() {
+    return CODEC
+  }
+
   @Override
   @TypeChecked(value = TypeCheckingMode.SKIP)
   Boolean canParseType(String type) {
@@ -77,6 +134,12 @@ class Keys implements KeyParser {
   }
 
   static Map<String, String> parse(String key) {
+    KeySchema schema = CODEC.schemaOf(key)
+    if (schema != null) {
+      ParsedKey parsed = schema.parse(key)
+      return parsed == null ? null : parseWithCodec(parsed)
+    }
+
     def parts = key.split(':')
 
     if (parts.length < 2) {
@@ -90,23 +153,6 @@ class Keys implements KeyParser {
     }
 
     switch (result.type) {
-      case Namespace.IMAGES.ns:
-        result << [account: parts[2], region: parts[3], imageId: parts[4]]
-        break
-      case Namespace.NAMED_IMAGES.ns:
-        result << [account: parts[2], imageName: parts[3]]
-        break
-      case Namespace.SERVER_GROUPS.ns:
-        def names = Names.parseName(parts[5])
-        result << [application: names.app.toLowerCase(), cluster: parts[2], account: parts[3], region: parts[4], serverGroup: parts[5], stack: names.stack, detail: names.detail, sequence: names.sequence?.toString()]
-        break
-      case Namespace.INSTANCES.ns:
-        result << [account: parts[2], region: parts[3], instanceId: parts[4]]
-        break
-      case Namespace.LAUNCH_CONFIGS.ns:
-        def names = Names.parseName(parts[4])
-        result << [account: parts[2], region: parts[3], launchConfig: parts[4], application: names.app?.toLowerCase(), stack: names.stack]
-        break
       case Namespace.LOAD_BALANCERS.ns:
         def names = Names.parseName(parts[4])
         String vpcId = parts.length > 5 ? (parts[5] ?: null) : null
@@ -127,20 +173,6 @@ class Keys implements KeyParser {
         break
       case Namespace.HEALTH.ns:
         result << [instanceId: parts[2], account: parts[3], region: parts[4], provider: parts[5]]
-        break
-      case Namespace.STACKS.ns:
-        result << [stackId: parts[2], account: parts[3], region: parts[4]]
-        break
-      case Namespace.LAUNCH_TEMPLATES.ns:
-        def names = Names.parseName(parts[4])
-        result << [
-          account: parts[2],
-          region: parts[ 3],
-          launchTemplateName: parts[4],
-          application: names.app?.toLowerCase(),
-          stack: names.stack
-        ]
-
         break
       default:
         return null
@@ -150,6 +182,35 @@ class Keys implements KeyParser {
     result
   }
 
+  private static Map<String, String> parseWithCodec(ParsedKey parsed) {
+    // not a switch, as Groovy dispatches every case of one dynamically
+    String type = parsed.type
+    Map<String, String> result
+    if (type.equals(Namespace.SERVER_GROUPS.ns)) {
+      result = parsed.toMap(4)
+      def names = Names.parseName(result.serverGroup)
+      result.put("application", names.app.toLowerCase())
+      result.put("stack", names.stack)
+      result.put("detail", names.detail)
+      result.put("sequence", names.sequence?.toString())
+    } else if (type.equals(Namespace.LAUNCH_CONFIGS.ns)) {
+      result = parsed.toMap(2)
+      def names = Names.parseName(result.launchConfig)
+      result.put("application", names.app?.toLowerCase())
+      result.put("stack", names.stack)
+    } else if (type.equals(Namespace.LAUNCH_TEMPLATES.ns)) {
+      result = parsed.toMap(2)
+      def names = Names.parseName(result.launchTemplateName)
+      result.put("application", names.app?.toLowerCase())
+      result.put("stack", names.stack)
+    } else {
+      result = parsed.toMap()
+    }
+
+    result
+  }
+
+
   static String getImageKey(String imageId, String account, String region) {
     "${ID}:${Namespace.IMAGES}:${account}:${region}:${imageId}"
   }
@@ -167,6 +228,10 @@ class Keys implements KeyParser {
     "${ID}:${Namespace.SERVER_GROUPS}:${cluster}:${account}:${region}:${autoScalingGroupName}"
   }
 
+  static String getClusterProjectionKey(String application, String account, String region) {
+    "${ID}:${Namespace.CLUSTER_PROJECTIONS}:${application}:${account}:${region}"
+  }
+
   static String getInstanceKey(String instanceId, String account, String region) {
     "${ID}:${Namespace.INSTANCES}:${account}:${region}:${instanceId}"
   }
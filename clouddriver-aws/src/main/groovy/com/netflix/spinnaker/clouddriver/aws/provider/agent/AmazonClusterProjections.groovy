@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.agent
+
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.CacheFilter
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import com.netflix.spinnaker.clouddriver.aws.provider.view.AmazonClusterProvider
+
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.IMAGES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_CONFIGS
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_TEMPLATES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LOAD_BALANCERS
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.TARGET_GROUPS
+
+/**
+ * Builds the cluster projections of an account and region: one record per application containing
+ * every server group already joined with its launch config (or launch template version), image and
+ * instances (including health), so {@link AmazonClusterProvider} can answer cluster detail requests
+ * with a single read.
+ *
+ * Projections are cached by {@link ClusterCachingAgent} along with the server groups they are built
+ * from, and are joined with the launch configs, launch templates, images, instances and health other
+ * caching agents have written by then. A server group that references any of these before it has
+ * been cached (e.g. an ASG created since those agents last ran) is not projected but listed under
+ * {@code unresolvedServerGroups}, and is joined from the individual cache types when read until a
+ * later cycle can project it. This keeps a projection from serving a new server group without its
+ * launch config or image for a whole caching cycle.
+ */
+class AmazonClusterProjections {
+
+  /**
+   * @param serverGroups every server group of {@code account} and {@code region}, with their
+   * relationships
+   */
+  static Collection<CacheData> project(ProviderCache providerCache,
+                                       String account,
+                                       String region,
+                                       Collection<CacheData> serverGroups) {
+    Map<String, CacheData> launchConfigs = getAllById(
+      providerCache, LAUNCH_CONFIGS.ns, relationshipKeys(serverGroups, LAUNCH_CONFIGS.ns), RelationshipCacheFilter.include(IMAGES.ns)
+    )
+    Map<String, CacheData> launchTemplates = getAllById(
+      providerCache, LAUNCH_TEMPLATES.ns, relationshipKeys(serverGroups, LAUNCH_TEMPLATES.ns), RelationshipCacheFilter.include(IMAGES.ns)
+    )
+    Map<String, CacheData> images = getAllById(
+      providerCache, IMAGES.ns, relationshipKeys(launchConfigs.values() + launchTemplates.values(), IMAGES.ns), RelationshipCacheFilter.none()
+    )
+    Map<String, CacheData> instances = getAllById(
+      providerCache, INSTANCES.ns, relationshipKeys(serverGroups, INSTANCES.ns), RelationshipCacheFilter.include(HEALTH.ns)
+    )
+
+    // only the health of these instances, rather than every health record of the region
+    Map<String, List<Map<String, Object>>> healthByInstance = [:].withDefault { [] }
+    Map<String, String> instanceByHealthKey = [:]
+    instances.values().each { CacheData instance ->
+      (instance.relationships[HEALTH.ns] ?: []).each { String healthKey -> instanceByHealthKey[healthKey] = instance.id }
+    }
+    getAllById(providerCache, HEALTH.ns, instanceByHealthKey.keySet(), RelationshipCacheFilter.none()).values().each {
+      healthByInstance[instanceByHealthKey[it.id]] << it.attributes
+    }
+
+    Map<String, List<Map<String, Object>>> serverGroupsByApplication = [:].withDefault { [] }
+    Map<String, List<String>> unresolvedByApplication = [:].withDefault { [] }
+    serverGroups.each { CacheData serverGroup ->
+      Map<String, String> serverGroupKey = Keys.parse(serverGroup.id)
+      Map<String, Object> projected = projectServerGroup(
+        serverGroup, serverGroupKey.cluster, launchConfigs, launchTemplates, images, instances, healthByInstance
+      )
+      if (projected == null) {
+        unresolvedByApplication[serverGroupKey.application] << serverGroup.id
+      } else {
+        serverGroupsByApplication[serverGroupKey.application] << projected
+      }
+    }
+
+    (serverGroupsByApplication.keySet() + unresolvedByApplication.keySet()).collect { String application ->
+      new DefaultCacheData(
+        Keys.getClusterProjectionKey(application, account, region),
+        [
+          serverGroups          : serverGroupsByApplication.get(application) ?: [],
+          unresolvedServerGroups: unresolvedByApplication.get(application) ?: []
+        ] as Map<String, Object>,
+        [:]
+      ) as CacheData
+    }
+  }
+
+  /**
+   * @return the projected server group, or null if something it references has not been cached yet
+   */
+  private static Map<String, Object> projectServerGroup(CacheData serverGroup,
+                                                        String cluster,
+                                                        Map<String, CacheData> launchConfigs,
+                                                        Map<String, CacheData> launchTemplates,
+                                                        Map<String, CacheData> images,
+                                                        Map<String, CacheData> instances,
+                                                        Map<String, List<Map<String, Object>>> healthByInstance) {
+    Map asg = serverGroup.attributes.asg as Map
+    Map<String, Object> projected = [
+      cluster      : cluster,
+      attributes   : serverGroup.attributes,
+      loadBalancers: serverGroup.relationships[LOAD_BALANCERS.ns] ?: [],
+      targetGroups : serverGroup.relationships[TARGET_GROUPS.ns] ?: []
+    ] as Map<String, Object>
+
+    CacheData launchData = null
+    String launchTemplateKey = serverGroup.relationships[LAUNCH_TEMPLATES.ns]?.find()
+    String launchConfigKey = serverGroup.relationships[LAUNCH_CONFIGS.ns]?.find()
+    if (launchTemplateKey) {
+      launchData = launchTemplates[launchTemplateKey]
+      projected.launchTemplate = AmazonClusterProvider.getLaunchTemplateVersion(
+        launchData, (asg?.launchTemplate as Map)?.version as String
+      )
+      if (projected.launchTemplate == null) {
+        return null
+      }
+    } else if (launchConfigKey) {
+      launchData = launchConfigs[launchConfigKey]
+      if (launchData == null) {
+        return null
+      }
+      projected.launchConfig = launchData.attributes
+    }
+
+    String imageKey = launchData?.relationships?.get(IMAGES.ns)?.find()
+    if (imageKey) {
+      if (!images.containsKey(imageKey)) {
+        return null
+      }
+      projected.image = images[imageKey].attributes
+    }
+
+    // only include instances the ASG still reports, as the view does
+    Map<String, String> serverGroupKey = Keys.parse(serverGroup.id)
+    Set<String> asgInstances = ((asg?.instances ?: []) as List<Map>).collect {
+      Keys.getInstanceKey(it.instanceId as String, serverGroupKey.account, serverGroupKey.region)
+    } as Set<String>
+    if (!instances.keySet().containsAll(asgInstances)) {
+      return null
+    }
+    projected.instances = (serverGroup.relationships[INSTANCES.ns] ?: []).findResults { String instanceKey ->
+      if (!asgInstances.contains(instanceKey)) {
+        return null
+      }
+      [attributes: instances[instanceKey].attributes, health: healthByInstance.get(instanceKey) ?: []]
+    }
+
+    projected
+  }
+
+  private static Set<String> relationshipKeys(Collection<CacheData> sources, String relationship) {
+    // relationships built by the cluster caching agent may hold null (e.g. no launch template)
+    sources.findResults { it.relationships[relationship] }.flatten().findAll() as Set<String>
+  }
+
+  private static Map<String, CacheData> getAllById(ProviderCache providerCache,
+                                                   String type,
+                                                   Collection<String> identifiers,
+                                                   CacheFilter cacheFilter) {
+    if (!identifiers) {
+      return [:]
+    }
+    providerCache.getAll(type, identifiers, cacheFilter).collectEntries { [(it.id): it] }
+  }
+}
@@ -95,6 +95,12 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
 
   final OnDemandMetricsSupport metricsSupport
 
+  /**
+   * Whether to also cache the cluster projections of this account and region, see
+   * {@link AmazonClusterProjections}.
+   */
+  boolean clusterProjectionEnabled
+
   ClusterCachingAgent(AmazonCloudProvider amazonCloudProvider,
                       AmazonClientProvider amazonClientProvider,
                       NetflixAmazonCredentials account,
@@ -136,7 +142,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
 
   @Override
   Collection<AgentDataType> getProvidedDataTypes() {
-    types
+    clusterProjectionEnabled ? types + AUTHORITATIVE.forType(CLUSTER_PROJECTIONS.ns) : types
   }
 
   @Override
@@ -255,6 +261,14 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
       ]
     ]
 
+    if (clusterProjectionEnabled) {
+      // the projection is rebuilt by the next caching cycle, until then the clusters of the
+      // application are joined from the server groups of this account and region
+      evictions[CLUSTER_PROJECTIONS.ns] = [
+        Keys.getClusterProjectionKey(Names.parseName(serverGroupName).app.toLowerCase(), account.name, region)
+      ]
+    }
+
     log.info("onDemand cache refresh (data: ${data}, evictions: ${evictions}, cacheResult: ${cacheResultAsJson})")
     return new OnDemandAgent.OnDemandResult(
       sourceAgentType: getOnDemandAgentType(),
@@ -460,6 +474,11 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     CacheResult result = buildCacheResult(asgs, scalingPolicies, scheduledActions, getSubnetToVpcIdMap(clients), usableOnDemandCacheDatas.collectEntries { [it.id, it] }, evictableOnDemandCacheDatas*.id)
     recordDrift(start)
     def cacheResults = result.cacheResults
+    if (clusterProjectionEnabled) {
+      cacheResults[CLUSTER_PROJECTIONS.ns] = AmazonClusterProjections.project(
+        providerCache, account.name, region, cacheResults[SERVER_GROUPS.ns]
+      )
+    }
     log.debug("Caching ${cacheResults[APPLICATIONS.ns]?.size()} applications in ${agentType}")
     log.debug("Caching ${cacheResults[CLUSTERS.ns]?.size()} clusters in ${agentType}")
     log.debug("Caching ${cacheResults[SERVER_GROUPS.ns]?.size()} server groups in ${agentType}")
@@ -468,6 +487,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     log.debug("Caching ${cacheResults[LAUNCH_CONFIGS.ns]?.size()} launch configs in ${agentType}")
     log.debug("Caching ${cacheResults[INSTANCES.ns]?.size()} instances in ${agentType}")
     log.debug("Caching ${cacheResults[LAUNCH_TEMPLATES.ns]?.size()} launch templates in ${agentType}")
+    log.debug("Caching ${cacheResults[CLUSTER_PROJECTIONS.ns]?.size()} cluster projections in ${agentType}")
     if (evictableOnDemandCacheDatas) {
       log.info("Evicting onDemand cache keys (${evictableOnDemandCacheDatas.collect { "${it.id}/${start - it.attributes.cacheTime}ms" }.join(", ")})")
     }
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.clouddriver.aws.provider.agent
 
 import com.amazonaws.services.ec2.model.DescribeInstancesRequest
+import com.amazonaws.services.ec2.model.Filter
 import com.amazonaws.services.ec2.model.Instance
 import com.amazonaws.services.ec2.model.InstanceState
 import com.amazonaws.services.ec2.model.InstanceStateName
@@ -25,6 +26,7 @@ import com.fasterxml.jackson.core.type.TypeReference
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.SerializationFeature
 import com.google.common.collect.Lists
+import com.netflix.spectator.api.Id
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.AccountAware
 import com.netflix.spinnaker.cats.agent.AgentDataType
@@ -38,9 +40,15 @@ import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
 import com.netflix.spinnaker.clouddriver.model.HealthState
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneOffset
+import java.util.concurrent.TimeUnit
+
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.INFORMATIVE
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
@@ -63,13 +71,44 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
   final String region
   final ObjectMapper objectMapper
   final Registry registry
+  final DynamicConfigService dynamicConfigService
+  private final Id instancesId
+
+  /**
+   * Instance states that are re-described on every incremental cycle, covering instances that are
+   * coming up, going away or sitting stopped.
+   */
+  static final List<String> TRANSITIONAL_STATES = [
+    InstanceStateName.Pending,
+    InstanceStateName.Stopping,
+    InstanceStateName.Stopped,
+    InstanceStateName.ShuttingDown,
+    InstanceStateName.Terminated
+  ]*.toString()
+
+  static final long DEFAULT_FULL_SWEEP_INTERVAL_MS = TimeUnit.MINUTES.toMillis(15)
+  static final long MAX_FULL_SWEEP_INTERVAL_MS = TimeUnit.HOURS.toMillis(12)
+
+  private volatile Long lastFullSweep = null
+
+  /**
+   * The instances cached by the last cycle, carried forward by incremental cycles for instances that
+   * are not re-described. Always set when {@code lastFullSweep} is.
+   */
+  private volatile Map<String, CacheData> lastInstances = [:]
 
   InstanceCachingAgent(AmazonClientProvider amazonClientProvider, NetflixAmazonCredentials account, String region, ObjectMapper objectMapper, Registry registry) {
+    this(amazonClientProvider, account, region, objectMapper, registry, null)
+  }
+
+  InstanceCachingAgent(AmazonClientProvider amazonClientProvider, NetflixAmazonCredentials account, String region, ObjectMapper objectMapper, Registry registry, DynamicConfigService dynamicConfigService) {
     this.amazonClientProvider = amazonClientProvider
     this.account = account
     this.region = region
     this.objectMapper = objectMapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
     this.registry = registry
+    this.dynamicConfigService = dynamicConfigService
+    this.instancesId = registry.createId("aws.instanceCaching.instances", "account", account.name, "region", region)
   }
 
   @Override
@@ -108,21 +147,36 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
 
     def amazonEC2 = amazonClientProvider.getAmazonEC2(account, region)
 
+    long now = System.currentTimeMillis()
+    boolean fullSweep = isFullSweepRequired(now)
+
     Long start = null
-    def request = new DescribeInstancesRequest().withMaxResults(500)
     List<Instance> awsInstances = []
-    while (true) {
-      def resp = amazonEC2.describeInstances(request)
-      if (account.eddaEnabled) {
-        start = amazonClientProvider.lastModified ?: 0
-      }
-      awsInstances.addAll(resp.reservations.collectMany { it.instances })
-      if (resp.nextToken) {
-        request.withNextToken(resp.nextToken)
-      } else {
-        break
+    List<DescribeInstancesRequest> requests = fullSweep ?
+      [new DescribeInstancesRequest()] :
+      [
+        new DescribeInstancesRequest().withFilters(new Filter('instance-state-name', TRANSITIONAL_STATES)),
+        new DescribeInstancesRequest().withFilters(new Filter('launch-time', launchTimeFilterValues(lastFullSweep, now)))
+      ]
+    requests.each { DescribeInstancesRequest request ->
+      request.withMaxResults(500)
+      while (true) {
+        def resp = amazonEC2.describeInstances(request)
+        if (account.eddaEnabled) {
+          start = amazonClientProvider.lastModified ?: 0
+        }
+        awsInstances.addAll(resp.reservations.collectMany { it.instances })
+        if (resp.nextToken) {
+          request.withNextToken(resp.nextToken)
+        } else {
+          break
+        }
       }
     }
+    if (!fullSweep) {
+      // an instance can match both the state and the launch time filter, keep the last one seen
+      awsInstances = awsInstances.collectEntries { [it.instanceId, it] }.values() as List<Instance>
+    }
 
     Closure<Map<String, CacheData>> cache = {
       [:].withDefault { String id -> new MutableCacheData(id) }
@@ -157,6 +211,18 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
       }
     }
 
+    int carriedForward = 0
+    if (fullSweep) {
+      lastFullSweep = now
+    } else {
+      Set<String> describedIds = awsInstances.collect { Keys.getInstanceKey(it.instanceId, account.name, region) } as Set
+      carriedForward = carryForwardUnchanged(describedIds, instances, serverGroups, images)
+      log.info("Re-described ${awsInstances.size()} changed and carried forward ${carriedForward} unchanged instances in ${agentType}")
+    }
+    lastInstances = new HashMap<>(instances)
+    registry.counter(instancesId.withTags("source", "described", "fullSweep", fullSweep.toString())).increment(awsInstances.size())
+    registry.counter(instancesId.withTags("source", "carriedForward", "fullSweep", fullSweep.toString())).increment(carriedForward)
+
     recordDrift(start)
     log.info("Caching ${instances.size()} instances in ${agentType}")
     log.info("Caching ${serverGroups.size()} server groups in ${agentType}")
@@ -171,6 +237,79 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
       (IMAGES.ns): images.values())
   }
 
+  /**
+   * Incremental caching only describes instances matched by the state and launch time filters and
+   * relies on a periodic full sweep to pick up everything else (tag changes, missed transitions).
+   * Edda does not support describe filters, so accounts backed by it always do a full sweep.
+   */
+  private boolean isFullSweepRequired(long now) {
+    if (lastFullSweep == null || account.eddaEnabled || dynamicConfigService == null) {
+      return true
+    }
+    if (!dynamicConfigService.isEnabled("aws.features.incremental-instance-caching", false)) {
+      return true
+    }
+    long interval = Math.min(
+      dynamicConfigService.getConfig(Long, "aws.incremental-instance-caching.full-sweep-interval-ms", DEFAULT_FULL_SWEEP_INTERVAL_MS),
+      MAX_FULL_SWEEP_INTERVAL_MS
+    )
+    return now - lastFullSweep >= interval
+  }
+
+  /**
+   * One wildcard value per UTC day since the last full sweep, matching every instance launched after
+   * it (and some launched shortly before, which is harmless).
+   */
+  static List<String> launchTimeFilterValues(long since, long now) {
+    List<String> values = []
+    LocalDate day = Instant.ofEpochMilli(since).atZone(ZoneOffset.UTC).toLocalDate()
+    LocalDate today = Instant.ofEpochMilli(now).atZone(ZoneOffset.UTC).toLocalDate()
+    while (!day.isAfter(today)) {
+      values.add("${day}*".toString())
+      day = day.plusDays(1)
+    }
+    values
+  }
+
+  /**
+   * Copies the instances of the last cycle that were not re-described into the result, so the
+   * authoritative INSTANCES data stays complete without describing every instance. Instances that
+   * were re-described and found shutting down or terminated are not carried forward and are evicted.
+   *
+   * The result still contains every instance, so unchanged instances are still serialized and handed
+   * to the cache each cycle (the SQL cache skips rewriting rows whose body hash is unchanged). What
+   * incremental cycles save is the DescribeInstances calls for instances that did not change, see the
+   * aws.instanceCaching.instances counter.
+   */
+  private int carryForwardUnchanged(Set<String> describedIds,
+                                    Map<String, CacheData> instances,
+                                    Map<String, CacheData> serverGroups,
+                                    Map<String, CacheData> images) {
+    Collection<CacheData> unchanged = lastInstances.values().findAll { !describedIds.contains(it.id) }
+    unchanged.each { CacheData cached ->
+      Collection<String> imageIds = cached.relationships[IMAGES.ns] ?: []
+      Collection<String> serverGroupIds = cached.relationships[SERVER_GROUPS.ns] ?: []
+      instances[cached.id].with {
+        attributes.putAll(cached.attributes)
+        relationships[IMAGES.ns].addAll(imageIds)
+        relationships[SERVER_GROUPS.ns].addAll(serverGroupIds)
+      }
+      imageIds.each { String imageId ->
+        images[imageId].with {
+          relationships[INSTANCES.ns].add(cached.id)
+          relationships[SERVER_GROUPS.ns].addAll(serverGroupIds)
+        }
+      }
+      serverGroupIds.each { String serverGroupId ->
+        serverGroups[serverGroupId].with {
+          relationships[INSTANCES.ns].add(cached.id)
+          relationships[IMAGES.ns].addAll(imageIds)
+        }
+      }
+    }
+    unchanged.size()
+  }
+
   private void cacheImage(InstanceData data, Map<String, CacheData> images) {
     images[data.imageId].with {
       relationships[INSTANCES.ns].add(data.instanceId)
@@ -120,7 +120,7 @@ public class ProviderHelpers {
     newlyAddedAgents.add(new ClusterCleanupAgent());
     for (NetflixAmazonCredentials.AWSRegion region : credentials.getRegions()) {
       if (!scheduledAccounts.contains(credentials.getName())) {
-        newlyAddedAgents.add(
+        ClusterCachingAgent clusterCachingAgent =
             new ClusterCachingAgent(
                 amazonCloudProvider,
                 amazonClientProvider,
@@ -129,7 +129,10 @@ public class ProviderHelpers {
                 objectMapper,
                 registry,
                 eddaTimeoutConfig,
-                amazonCachingAgentFilter));
+                amazonCachingAgentFilter);
+        clusterCachingAgent.setClusterProjectionEnabled(
+            dynamicConfigService.isEnabled("aws.features.cluster-projection", false));
+        newlyAddedAgents.add(clusterCachingAgent);
         newlyAddedAgents.add(
             new LaunchConfigCachingAgent(
                 amazonClientProvider, credentials, region.getName(), objectMapper, registry));
@@ -161,7 +164,12 @@ public class ProviderHelpers {
 
         newlyAddedAgents.add(
             new InstanceCachingAgent(
-                amazonClientProvider, credentials, region.getName(), objectMapper, registry));
+                amazonClientProvider,
+                credentials,
+                region.getName(),
+                objectMapper,
+                registry,
+                dynamicConfigService));
         newlyAddedAgents.add(
             new AmazonLoadBalancerCachingAgent(
                 amazonCloudProvider,
@@ -28,6 +28,7 @@ import com.netflix.spinnaker.clouddriver.aws.model.*
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider
 import com.netflix.spinnaker.clouddriver.core.provider.agent.ExternalHealthProvider
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider
+import com.netflix.spinnaker.clouddriver.model.FieldProjection
 import com.netflix.spinnaker.clouddriver.model.ServerGroupProvider
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.beans.factory.annotation.Value
@@ -38,6 +39,11 @@ import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.*
 @Component
 class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGroupProvider {
 
+  // server group fields that require joining launch configs/templates, images and instances
+  private static final String[] LAUNCH_SETTINGS_FIELDS = ["launchConfig", "launchTemplate", "securityGroups", "instanceType", "image", "buildInfo"]
+  private static final String[] IMAGE_FIELDS = ["image", "buildInfo"]
+  private static final String[] INSTANCE_FIELDS = ["instances", "instanceCounts"]
+
   private final AmazonCloudProvider amazonCloudProvider
   private final Cache cacheView
   private final AwsProvider awsProvider
@@ -51,6 +57,9 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   @Value('${sql.cache.enabled:false}')
   Boolean sqlEnabled
 
+  @Value('${aws.features.cluster-projection.enabled:false}')
+  boolean clusterProjectionEnabled
+
   @Autowired
   AmazonClusterProvider(AmazonCloudProvider amazonCloudProvider, Cache cacheView, AwsProvider awsProvider) {
     this.amazonCloudProvider = amazonCloudProvider
@@ -75,8 +84,18 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     getClusters0(applicationName, true)
   }
 
+  @Override
+  Map<String, Set<AmazonCluster>> getClusterDetails(String applicationName, FieldProjection fields) {
+    getClusters0(applicationName, true, fields)
+  }
+
   @Override
   AmazonServerGroup getServerGroup(String account, String region, String name, boolean includeDetails) {
+    getServerGroup(account, region, name, includeDetails, FieldProjection.ALL)
+  }
+
+  @Override
+  AmazonServerGroup getServerGroup(String account, String region, String name, boolean includeDetails, FieldProjection fields) {
     String serverGroupKey = Keys.getServerGroupKey(name, account, region)
     CacheData serverGroupData = cacheView.get(SERVER_GROUPS.ns, serverGroupKey)
     if (serverGroupData == null) {
@@ -91,7 +110,9 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
 
     Map<String, Object> launchTemplateSpec = asg["launchTemplate"] as Map
     String launchTemplateName = launchTemplateSpec?.get('launchTemplateName')
-    if (launchTemplateName != null) {
+    if (!fields.includesAny(LAUNCH_SETTINGS_FIELDS)) {
+      imageId = null
+    } else if (launchTemplateName != null) {
       String launchTemplateKey = Keys.getLaunchTemplateKey(launchTemplateName, account, region)
       CacheData launchTemplate = cacheView.get(LAUNCH_TEMPLATES.ns, launchTemplateKey)
       updateServerGroupLaunchSettings(serverGroupById, [launchTemplate])
@@ -104,13 +125,13 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       imageId = launchConfigs?.attributes?.get('imageId')
     }
 
-    CacheData imageConfigs = imageId ? cacheView.get(IMAGES.ns, Keys.getImageKey(imageId, account, region)) : null
+    CacheData imageConfigs = imageId && fields.includesAny(IMAGE_FIELDS) ? cacheView.get(IMAGES.ns, Keys.getImageKey(imageId, account, region)) : null
     serverGroup.image = imageConfigs ? imageConfigs.attributes : null
     serverGroup.buildInfo = imageConfigs ? getBuildInfoFromImage(imageConfigs) : null
 
     serverGroup.accountName = account
 
-    if (includeDetails) {
+    if (includeDetails && fields.includesAny(INSTANCE_FIELDS)) {
       Set<String> asgInstances = getAsgInstanceKeys(asg, account, region)
       Closure<Boolean> instanceFilter = { rel ->
         return (asgInstances == null || asgInstances.contains(rel))
@@ -223,7 +244,9 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     return clusters
   }
 
-  private Collection<AmazonCluster> translateClusters(Collection<CacheData> clusterData, boolean includeDetails) {
+  private Collection<AmazonCluster> translateClusters(Collection<CacheData> clusterData,
+                                                      boolean includeDetails,
+                                                      FieldProjection fields = FieldProjection.ALL) {
 
     Map<String, AmazonLoadBalancer> loadBalancers
     Map<String, AmazonTargetGroup> targetGroups
@@ -237,11 +260,11 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
 
       loadBalancers = translateLoadBalancers(allLoadBalancers)
       targetGroups = translateTargetGroups(allTargetGroups)
-      serverGroups = translateServerGroups(allServerGroups, false)
+      serverGroups = translateServerGroups(allServerGroups, false, fields)
       // instance relationships were expanded so no need to consider partial instances
     } else {
       Collection<CacheData> allServerGroups = resolveRelationshipDataForCollection(clusterData, SERVER_GROUPS.ns, RelationshipCacheFilter.none())
-      serverGroups = translateServerGroups(allServerGroups, true)
+      serverGroups = translateServerGroups(allServerGroups, true, fields)
     }
 
     Collection<AmazonCluster> clusters = clusterData.collect { CacheData clusterDataEntry ->
@@ -271,16 +294,25 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     clusters
   }
 
-  private Map<String, Set<AmazonCluster>> getClusters0(String applicationName, boolean includeDetails) {
+  private Map<String, Set<AmazonCluster>> getClusters0(String applicationName,
+                                                       boolean includeDetails,
+                                                       FieldProjection fields = FieldProjection.ALL) {
 
-    Collection<AmazonCluster> clusters
+    Collection<AmazonCluster> clusters = null
 
-    if (includeDetails && cacheView.supportsGetAllByApplication()) {
-      clusters = allClustersByApplication(applicationName)
-    } else {
-      Collection<String> clusterKeys = cacheView.filterIdentifiers(CLUSTERS.ns, Keys.getClusterKey("*", applicationName, "*"))
-      Collection<CacheData> clusterData = cacheView.getAll(CLUSTERS.ns, clusterKeys)
-      clusters = translateClusters(clusterData, includeDetails)
+    if (includeDetails && clusterProjectionEnabled) {
+      clusters = clustersFromProjections(applicationName)
+    }
+
+    if (clusters == null) {
+      // getAllByApplication always loads every server group field
+      if (includeDetails && fields.includesAll() && cacheView.supportsGetAllByApplication()) {
+        clusters = allClustersByApplication(applicationName)
+      } else {
+        Collection<String> clusterKeys = cacheView.filterIdentifiers(CLUSTERS.ns, Keys.getClusterKey("*", applicationName, "*"))
+        Collection<CacheData> clusterData = cacheView.getAll(CLUSTERS.ns, clusterKeys)
+        clusters = translateClusters(clusterData, includeDetails, fields)
+      }
     }
     if (!clusters) {
       return null
@@ -289,6 +321,120 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     mapResponse(clusters)
   }
 
+  /**
+   * Builds clusters from the per-region projections of {@code application}, or returns null if none
+   * have been cached yet so the caller can fall back to joining the individual cache types.
+   *
+   * Server groups of an account and region without a projection (e.g. one evicted by an on demand
+   * update and not yet rebuilt by the next caching cycle), and server groups a projection could not
+   * resolve yet, are joined from the individual cache types. Load balancers and target groups are
+   * resolved from the cache as they are on the join path.
+   */
+  private Collection<AmazonCluster> clustersFromProjections(String application) {
+    Collection<String> projectionKeys = cacheView.filterIdentifiers(
+      CLUSTER_PROJECTIONS.ns, Keys.getClusterProjectionKey(application, "*", "*")
+    )
+    if (!projectionKeys) {
+      return null
+    }
+
+    // every account and region the application has server groups in should have a projection
+    Map<String, List<String>> serverGroupKeysByProjectionKey = cacheView.filterIdentifiers(
+      SERVER_GROUPS.ns, Keys.getServerGroupKey("${application}*", "*", "*", "*")
+    ).findAll { String serverGroupKey ->
+      Keys.parse(serverGroupKey).application == application.toLowerCase()
+    }.groupBy { String serverGroupKey ->
+      Map<String, String> parts = Keys.parse(serverGroupKey)
+      Keys.getClusterProjectionKey(application, parts.account, parts.region)
+    }
+
+    Collection<String> projected = serverGroupKeysByProjectionKey.keySet().intersect(projectionKeys)
+    Collection<String> unprojectedServerGroupKeys = (serverGroupKeysByProjectionKey.keySet() - projected).collectMany {
+      serverGroupKeysByProjectionKey[it]
+    } as List<String>
+
+    Map<String, AmazonCluster> clusters = [:]
+    Map<String, Set<String>> loadBalancerKeys = [:].withDefault { new HashSet<String>() }
+    Map<String, Set<String>> targetGroupKeys = [:].withDefault { new HashSet<String>() }
+    Closure<AmazonCluster> getOrCreateCluster = { String clusterId, String account, String name ->
+      AmazonCluster cluster = clusters.get(clusterId)
+      if (cluster == null) {
+        cluster = new AmazonCluster(name: name, accountName: account)
+        clusters.put(clusterId, cluster)
+      }
+      cluster
+    }
+
+    if (projected) {
+      cacheView.getAll(CLUSTER_PROJECTIONS.ns, projected, RelationshipCacheFilter.none()).each { CacheData projection ->
+        String account = Keys.parse(projection.id).account
+        unprojectedServerGroupKeys.addAll((projection.attributes.unresolvedServerGroups ?: []) as List<String>)
+        (projection.attributes.serverGroups as List<Map>).each { Map projectedServerGroup ->
+          String clusterId = "${account}:${projectedServerGroup.cluster}".toString()
+          getOrCreateCluster(clusterId, account, projectedServerGroup.cluster as String).serverGroups <<
+            translateProjectedServerGroup(projectedServerGroup)
+          loadBalancerKeys[clusterId].addAll(projectedServerGroup.loadBalancers as Collection<String>)
+          targetGroupKeys[clusterId].addAll(projectedServerGroup.targetGroups as Collection<String>)
+        }
+      }
+    }
+
+    if (unprojectedServerGroupKeys) {
+      Collection<CacheData> serverGroupData = cacheView.getAll(
+        SERVER_GROUPS.ns,
+        unprojectedServerGroupKeys,
+        RelationshipCacheFilter.include(INSTANCES.ns, LAUNCH_CONFIGS.ns, LAUNCH_TEMPLATES.ns, LOAD_BALANCERS.ns, TARGET_GROUPS.ns)
+      )
+      Map<String, AmazonServerGroup> serverGroups = translateServerGroups(serverGroupData, false, FieldProjection.ALL)
+      serverGroupData.each { CacheData serverGroupEntry ->
+        Map<String, String> parts = Keys.parse(serverGroupEntry.id)
+        String clusterId = "${parts.account}:${parts.cluster}".toString()
+        getOrCreateCluster(clusterId, parts.account, parts.cluster).serverGroups << serverGroups[serverGroupEntry.id]
+        loadBalancerKeys[clusterId].addAll(serverGroupEntry.relationships[LOAD_BALANCERS.ns] ?: [])
+        targetGroupKeys[clusterId].addAll(serverGroupEntry.relationships[TARGET_GROUPS.ns] ?: [])
+      }
+    }
+
+    Map<String, AmazonLoadBalancer> loadBalancers = translateLoadBalancers(
+      getAllWithoutRelationships(LOAD_BALANCERS.ns, loadBalancerKeys.values().flatten() as Set<String>)
+    )
+    Map<String, AmazonTargetGroup> targetGroups = translateTargetGroups(
+      getAllWithoutRelationships(TARGET_GROUPS.ns, targetGroupKeys.values().flatten() as Set<String>)
+    )
+    clusters.each { String clusterId, AmazonCluster cluster ->
+      cluster.loadBalancers = loadBalancerKeys[clusterId].findResults { loadBalancers.get(it) } as Set
+      cluster.targetGroups = targetGroupKeys[clusterId].findResults { targetGroups.get(it) } as Set
+    }
+
+    clusters.values()
+  }
+
+  private Collection<CacheData> getAllWithoutRelationships(String type, Collection<String> identifiers) {
+    identifiers ? cacheView.getAll(type, identifiers, RelationshipCacheFilter.none()) : []
+  }
+
+  private AmazonServerGroup translateProjectedServerGroup(Map projected) {
+    AmazonServerGroup serverGroup = new AmazonServerGroup(projected.attributes as Map)
+    serverGroup.launchConfig = projected.launchConfig as Map
+    serverGroup.launchTemplate = projected.launchTemplate as Map
+    if (projected.image) {
+      serverGroup.image = projected.image as Map
+      serverGroup.buildInfo = getBuildInfoFromImage(projected.image as Map)
+    }
+
+    Collection<AmazonInstance> instances = (projected.instances as List<Map>).collect { Map projectedInstance ->
+      Map attributes = projectedInstance.attributes as Map
+      AmazonInstance instance = new AmazonInstance(attributes)
+      instance.name = attributes.instanceId.toString()
+      instance.health.addAll(projectedInstance.health as List<Map>)
+      instance
+    }
+    updateIsHealthy(instances)
+    serverGroup.instances = instances as Set
+
+    serverGroup
+  }
+
   private Map<String, AmazonServerGroup> translateServerGroups(
     Collection<CacheData> serverGroupData,
     Collection<CacheData> instanceData,
@@ -326,8 +472,11 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   }
 
   private Map<String, AmazonServerGroup> translateServerGroups(Collection<CacheData> serverGroupData,
-                                                               boolean includePartialInstances) {
-    Collection<CacheData> allInstances = resolveRelationshipDataForCollection(serverGroupData, INSTANCES.ns, RelationshipCacheFilter.none())
+                                                               boolean includePartialInstances,
+                                                               FieldProjection fields) {
+    Collection<CacheData> allInstances = fields.includesAny(INSTANCE_FIELDS) ?
+      resolveRelationshipDataForCollection(serverGroupData, INSTANCES.ns, RelationshipCacheFilter.none()) :
+      []
 
     Map<String, AmazonInstance> instances = translateInstances(allInstances)
 
@@ -363,6 +512,10 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       [(serverGroupEntry.id): serverGroup]
     }
 
+    if (!fields.includesAny(LAUNCH_SETTINGS_FIELDS)) {
+      return serverGroups
+    }
+
     Map<String, String> launchConfigurations = serverGroupData.findAll {
       it.relationships[LAUNCH_CONFIGS.ns]
     }.collectEntries {
@@ -403,6 +556,10 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       }
     }
 
+    if (!fields.includesAny(IMAGE_FIELDS)) {
+      return serverGroups
+    }
+
     Collection<CacheData> images = cacheView.getAll(IMAGES.ns, allImages.keySet())
     images.each { image ->
       def serverGroupIds = allImages[image.id]
@@ -450,7 +607,11 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       instances[instanceId].health << healthEntry.attributes
     }
 
-    instances.values().each { instance ->
+    updateIsHealthy(instances.values())
+  }
+
+  private static void updateIsHealthy(Collection<AmazonInstance> instances) {
+    instances.each { instance ->
       instance.isHealthy = instance.health.any { it.state == 'Up' } && instance.health.every {
         it.state == 'Up' || it.state == 'Unknown'
       }
@@ -468,9 +629,13 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   }
 
   private Map getBuildInfoFromImage(CacheData image) {
+    getBuildInfoFromImage(image.attributes)
+  }
+
+  private Map getBuildInfoFromImage(Map<String, Object> imageAttributes) {
 
     Map buildInfo = null
-    String appVersionTag = image.attributes.tags?.find { it.key == "appversion" }?.value
+    String appVersionTag = imageAttributes.tags?.find { it.key == "appversion" }?.value
     if (appVersionTag) {
       def appVersion = AppVersion.parseName(appVersionTag)
       if (appVersion) {
@@ -478,11 +643,11 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
         if (appVersion.buildJobName) {
           buildInfo.jenkins = [name: appVersion.buildJobName, number: appVersion.buildNumber]
         }
-        def buildHost = image.attributes.tags.find { it.key == "build_host" }?.value ?: defaultBuildHost
+        def buildHost = imageAttributes.tags.find { it.key == "build_host" }?.value ?: defaultBuildHost
         if (buildHost && buildInfo.containsKey("jenkins")) {
           ((Map) buildInfo.jenkins).host = buildHost
         }
-        def buildInfoUrl = image.attributes.tags?.find { it.key == "build_info_url" }?.value ?: null
+        def buildInfoUrl = imageAttributes.tags?.find { it.key == "build_info_url" }?.value ?: null
         if (buildInfoUrl) {
           buildInfo.buildInfoUrl = buildInfoUrl
         }
@@ -530,7 +695,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   /**
    * Gets a launch template by version
    */
-  private static Map<String, Object> getLaunchTemplateVersion(CacheData launchTemplate, String version) {
+  static Map<String, Object> getLaunchTemplateVersion(CacheData launchTemplate, String version) {
     if (!launchTemplate) {
       return null
     }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.netflix.spectator.api.Clock;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A RateLimiter that adjusts its rate based on throttling responses from AWS.
+ *
+ * <p>The configured rate is treated as a ceiling. Each throttling response halves the current rate
+ * (at most once per {@link #DECREASE_COOLDOWN_MILLIS}, so a burst of throttled in-flight requests
+ * only counts once), and every {@link #INCREASE_INTERVAL_MILLIS} without throttling the rate grows
+ * back by a fixed fraction of the ceiling.
+ *
+ * <p>Requests made while an atomic operation is running take priority over everything else
+ * (caching agents, reads). While operations are active, lower priority requests do not reserve
+ * permits ahead of time: they only take a permit that is free right now and no operation is waiting
+ * for, so a waiting operation is always served first. They must also fit within {@code
+ * cachingRateShare} of the current rate, leaving the remainder for operations.
+ */
+public class AdaptiveRateLimiter {
+  static final long DECREASE_COOLDOWN_MILLIS = TimeUnit.SECONDS.toMillis(1);
+  static final long INCREASE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+  static final long OPERATION_ACTIVE_WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  static final double INCREASE_FRACTION = 0.05d;
+  static final double MIN_RATE_FRACTION = 0.1d;
+  static final long MAX_POLL_MILLIS = 100;
+
+  public enum Priority {
+    OPERATION,
+    CACHING
+  }
+
+  private final double maxRate;
+  private final double minRate;
+  private final double cachingRateShare;
+  private final RateLimiter rateLimiter;
+  private final RateLimiter cachingRateLimiter;
+  private final Clock clock;
+  private final Registry registry;
+  private final Id throttleId;
+  private final AtomicInteger waitingOperations = new AtomicInteger();
+
+  private volatile double currentRate;
+  private volatile long lastAdjustment;
+  private volatile long lastOperationRequest;
+
+  public AdaptiveRateLimiter(
+      double maxRate, double cachingRateShare, Registry registry, Id rateId, Id throttleId) {
+    this.maxRate = maxRate;
+    this.minRate = Math.min(maxRate, Math.max(maxRate * MIN_RATE_FRACTION, 1.0d));
+    this.cachingRateShare = Math.max(0.0d, Math.min(1.0d, cachingRateShare));
+    this.currentRate = maxRate;
+    this.rateLimiter = RateLimiter.create(maxRate);
+    this.cachingRateLimiter = RateLimiter.create(Math.max(maxRate * this.cachingRateShare, 0.1d));
+    this.registry = registry;
+    this.clock = registry.clock();
+    this.throttleId = throttleId;
+    long now = clock.wallTime();
+    this.lastAdjustment = now - DECREASE_COOLDOWN_MILLIS;
+    this.lastOperationRequest = now - OPERATION_ACTIVE_WINDOW_MILLIS;
+    registry.gauge(rateId, this, AdaptiveRateLimiter::getRate);
+  }
+
+  /** @return the number of seconds spent waiting for a permit */
+  public double acquire(Priority priority) {
+    long now = clock.wallTime();
+    if (priority == Priority.OPERATION) {
+      lastOperationRequest = now;
+      waitingOperations.incrementAndGet();
+      try {
+        return rateLimiter.acquire();
+      } finally {
+        waitingOperations.decrementAndGet();
+      }
+    }
+
+    if (!operationsActive(now)) {
+      return rateLimiter.acquire();
+    }
+
+    double waited = cachingRateShare < 1.0d ? cachingRateLimiter.acquire() : 0.0d;
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    while (waitingOperations.get() > 0 || !rateLimiter.tryAcquire()) {
+      Uninterruptibles.sleepUninterruptibly(pollMillis(), TimeUnit.MILLISECONDS);
+    }
+    return waited + stopwatch.elapsed(TimeUnit.NANOSECONDS) / 1_000_000_000.0d;
+  }
+
+  public void onThrottled(String action) {
+    registry.counter(throttleId.withTag("action", action)).increment();
+    long now = clock.wallTime();
+    synchronized (this) {
+      if (now - lastAdjustment < DECREASE_COOLDOWN_MILLIS) {
+        return;
+      }
+      setRate(Math.max(minRate, currentRate / 2));
+      lastAdjustment = now;
+    }
+  }
+
+  public void onSuccess() {
+    long now = clock.wallTime();
+    if (currentRate >= maxRate || now - lastAdjustment < INCREASE_INTERVAL_MILLIS) {
+      return;
+    }
+    synchronized (this) {
+      if (now - lastAdjustment < INCREASE_INTERVAL_MILLIS) {
+        return;
+      }
+      setRate(Math.min(maxRate, currentRate + maxRate * INCREASE_FRACTION));
+      lastAdjustment = now;
+    }
+  }
+
+  public double getRate() {
+    return currentRate;
+  }
+
+  public double getMaxRate() {
+    return maxRate;
+  }
+
+  int getWaitingOperations() {
+    return waitingOperations.get();
+  }
+
+  private long pollMillis() {
+    return Math.max(1L, Math.min(MAX_POLL_MILLIS, (long) (1000 / currentRate)));
+  }
+
+  private boolean operationsActive(long now) {
+    return now - lastOperationRequest < OPERATION_ACTIVE_WINDOW_MILLIS;
+  }
+
+  private void setRate(double rate) {
+    currentRate = rate;
+    rateLimiter.setRate(rate);
+    cachingRateLimiter.setRate(Math.max(rate * cachingRateShare, 0.1d));
+  }
+}
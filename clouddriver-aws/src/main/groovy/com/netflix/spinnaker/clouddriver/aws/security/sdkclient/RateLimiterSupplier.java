@@ -19,28 +19,29 @@ package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import com.google.common.util.concurrent.RateLimiter;
+import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider;
 import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfiguration;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 
-/** Factory for shared RateLimiters by SDK client interface/account/region. */
+/** Factory for shared AdaptiveRateLimiters by SDK client interface/account/region. */
 public class RateLimiterSupplier {
 
-  private final LoadingCache<RateLimitKey, RateLimiter> rateLimiters;
+  private final LoadingCache<RateLimitKey, AdaptiveRateLimiter> rateLimiters;
 
   public RateLimiterSupplier(
       ServiceLimitConfiguration serviceLimitConfiguration, Registry registry) {
     rateLimiters =
         CacheBuilder.newBuilder()
             .recordStats()
-            .build(new RateLimitCacheLoader(serviceLimitConfiguration));
+            .build(new RateLimitCacheLoader(serviceLimitConfiguration, registry));
     LoadingCacheMetrics.instrument("rateLimiterSupplier", registry, rateLimiters);
   }
 
-  public RateLimiter getRateLimiter(Class<?> implementation, String account, String region) {
+  public AdaptiveRateLimiter getRateLimiter(
+      Class<?> implementation, String account, String region) {
     try {
       return rateLimiters.get(new RateLimitKey(implementation, account, region));
     } catch (ExecutionException executionException) {
@@ -51,33 +52,67 @@ public class RateLimiterSupplier {
     }
   }
 
-  private static class RateLimitCacheLoader extends CacheLoader<RateLimitKey, RateLimiter> {
+  private static class RateLimitCacheLoader
+      extends CacheLoader<RateLimitKey, AdaptiveRateLimiter> {
     private static final double DEFAULT_LIMIT = 10.0d;
+    private static final double DEFAULT_CACHING_RATE_SHARE = 0.8d;
 
     private final ServiceLimitConfiguration serviceLimitConfiguration;
+    private final Registry registry;
     private final double defaultLimit;
 
-    public RateLimitCacheLoader(ServiceLimitConfiguration serviceLimitConfiguration) {
-      this(serviceLimitConfiguration, DEFAULT_LIMIT);
+    public RateLimitCacheLoader(
+        ServiceLimitConfiguration serviceLimitConfiguration, Registry registry) {
+      this(serviceLimitConfiguration, registry, DEFAULT_LIMIT);
     }
 
     public RateLimitCacheLoader(
-        ServiceLimitConfiguration serviceLimitConfiguration, double defaultLimit) {
+        ServiceLimitConfiguration serviceLimitConfiguration,
+        Registry registry,
+        double defaultLimit) {
       this.serviceLimitConfiguration = Objects.requireNonNull(serviceLimitConfiguration);
+      this.registry = Objects.requireNonNull(registry);
       this.defaultLimit = defaultLimit;
     }
 
     @Override
-    public RateLimiter load(RateLimitKey key) throws Exception {
+    public AdaptiveRateLimiter load(RateLimitKey key) throws Exception {
+      String clientType = key.implementationClass.getSimpleName();
       double rateLimit =
           serviceLimitConfiguration.getLimit(
               ServiceLimitConfiguration.API_RATE_LIMIT,
-              key.implementationClass.getSimpleName(),
+              clientType,
               key.account,
               AmazonCloudProvider.ID,
               defaultLimit);
-
-      return RateLimiter.create(rateLimit);
+      double cachingRateShare =
+          serviceLimitConfiguration.getLimit(
+              ServiceLimitConfiguration.CACHING_RATE_SHARE,
+              clientType,
+              key.account,
+              AmazonCloudProvider.ID,
+              DEFAULT_CACHING_RATE_SHARE);
+
+      String region = key.region == null ? "UNSPECIFIED" : key.region;
+      Id rateId =
+          registry.createId(
+              "amazonClientProvider.rateLimit",
+              "clientType",
+              clientType,
+              "account",
+              key.account,
+              "region",
+              region);
+      Id throttleId =
+          registry.createId(
+              "amazonClientProvider.throttled",
+              "clientType",
+              clientType,
+              "account",
+              key.account,
+              "region",
+              region);
+      return new AdaptiveRateLimiter(rateLimit, cachingRateShare, registry, rateId, throttleId);
     }
   }
 
@@ -18,30 +18,88 @@ package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
 
 import static java.util.Objects.requireNonNull;
 
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.handlers.HandlerContextKey;
 import com.amazonaws.handlers.RequestHandler2;
-import com.google.common.util.concurrent.RateLimiter;
+import com.amazonaws.retry.RetryUtils;
 import com.netflix.spectator.api.Counter;
+import com.netflix.spinnaker.clouddriver.aws.security.sdkclient.AdaptiveRateLimiter.Priority;
+import com.netflix.spinnaker.clouddriver.data.task.TaskRepository;
 import java.util.Objects;
 
-/** A RequestHandler that will throttle requests via the supplied RateLimiter. */
+/**
+ * A RequestHandler that will throttle requests via the supplied AdaptiveRateLimiter, and feeds
+ * throttling responses back into it.
+ *
+ * <p>Every throttled attempt is reported, including the ones the SDK goes on to retry, and a call
+ * only counts as a success if none of its attempts were throttled.
+ *
+ * <p>Requests issued from a thread running an atomic operation are given priority over requests
+ * made from anywhere else (caching agents, reads).
+ */
 public class RateLimitingRequestHandler extends RequestHandler2 {
+  private static final HandlerContextKey<Boolean> THROTTLED =
+      new HandlerContextKey<>(RateLimitingRequestHandler.class.getSimpleName() + ".throttled");
+
   private final Counter counter;
-  private final RateLimiter rateLimiter;
+  private final AdaptiveRateLimiter rateLimiter;
 
-  public RateLimitingRequestHandler(Counter counter, RateLimiter rateLimiter) {
+  public RateLimitingRequestHandler(Counter counter, AdaptiveRateLimiter rateLimiter) {
     this.counter = requireNonNull(counter);
     this.rateLimiter = requireNonNull(rateLimiter);
   }
 
   @Override
   public void beforeRequest(Request<?> request) {
-    double rateLimitedSeconds = rateLimiter.acquire();
+    Priority priority =
+        TaskRepository.threadLocalTask.get() != null ? Priority.OPERATION : Priority.CACHING;
+    double rateLimitedSeconds = rateLimiter.acquire(priority);
     long rateLimitedMillis = Double.valueOf(rateLimitedSeconds * 1000).longValue();
     counter.increment(rateLimitedMillis);
     super.beforeRequest(request);
   }
 
+  @Override
+  public void afterAttempt(HandlerAfterAttemptContext context) {
+    if (isThrottled(context.getException())) {
+      Request<?> request = context.getRequest();
+      request.addHandlerContext(THROTTLED, Boolean.TRUE);
+      rateLimiter.onThrottled(getAction(request));
+    }
+    super.afterAttempt(context);
+  }
+
+  @Override
+  public void afterResponse(Request<?> request, Response<?> response) {
+    if (!Boolean.TRUE.equals(request.getHandlerContext(THROTTLED))) {
+      rateLimiter.onSuccess();
+    }
+    super.afterResponse(request, response);
+  }
+
+  static boolean isThrottled(Exception e) {
+    if (!(e instanceof AmazonServiceException)) {
+      return false;
+    }
+    AmazonServiceException ase = (AmazonServiceException) e;
+    return RetryUtils.isThrottlingException(ase)
+        || ase.getStatusCode() == 429
+        || ase.getStatusCode() == 503;
+  }
+
+  private static String getAction(Request<?> request) {
+    AmazonWebServiceRequest originalRequest = request.getOriginalRequest();
+    if (originalRequest == null) {
+      return "unknown";
+    }
+    String name = originalRequest.getClass().getSimpleName();
+    return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
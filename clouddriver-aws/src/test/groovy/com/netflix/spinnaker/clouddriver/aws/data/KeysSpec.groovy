@@ -53,6 +53,36 @@ class KeysSpec extends Specification {
     Keys.parse(Keys.getLaunchTemplateKey('kato-main-v056-10062014221307', 'account', 'region')) == [provider: 'aws', type: Namespace.LAUNCH_TEMPLATES.ns, launchTemplateName: 'kato-main-v056-10062014221307', region: 'region', account: 'account', application: 'kato', stack: 'main']
   }
 
+  @Unroll
+  def 'fixed layout key #key is parsed into a view with the same fields'() {
+    when:
+    def parsed = Keys.CODEC.parse(key)
+
+    then:
+    parsed.toMap().every { field, value -> Keys.parse(key)[field] == value }
+    parsed.matches("account", "account")
+    !parsed.matches("account", "other")
+
+    where:
+    key << [
+      Keys.getImageKey('ami-123', 'account', 'region'),
+      Keys.getNamedImageKey('account', 'theImage'),
+      Keys.getServerGroupKey('theAsg-v001', 'account', 'region'),
+      Keys.getInstanceKey('i-123', 'account', 'region'),
+      Keys.getLaunchConfigKey('kato-main-v056-10062014221307', 'account', 'region'),
+      Keys.getLaunchTemplateKey('kato-main-v056-10062014221307', 'account', 'region'),
+      Keys.getClusterProjectionKey('theapp', 'account', 'region')
+    ]
+  }
+
+  def 'fixed layout keys that are missing fields are not parsed'() {
+    expect:
+    Keys.parse('aws:instances:account:region') == null
+    Keys.parse('aws:instances:account:region:') == null
+    Keys.CODEC.parse('aws:instances:account') == null
+    Keys.CODEC.parse(Keys.getLoadBalancerKey('lbname', 'account', 'region', null, null)) == null
+  }
+
   def 'load balancer key backwards compatibility'() {
     expect:
     Keys.getLoadBalancerKey('lbname', 'account', 'region', null, 'classic') == 'aws:loadBalancers:account:region:lbname'
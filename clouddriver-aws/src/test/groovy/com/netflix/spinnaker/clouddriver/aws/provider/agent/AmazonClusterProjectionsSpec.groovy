@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.agent
+
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import spock.lang.Specification
+
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.IMAGES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_CONFIGS
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_TEMPLATES
+
+class AmazonClusterProjectionsSpec extends Specification {
+  static String region = 'us-east-1'
+  static String accountName = 'test'
+
+  def providerCache = Mock(ProviderCache)
+
+  void "should project server groups joined with launch config, image, instances and health"() {
+    given:
+    def serverGroupKey = Keys.getServerGroupKey('app-main-v001', accountName, region)
+    def launchConfigKey = Keys.getLaunchConfigKey('app-main-v001-123', accountName, region)
+    def imageKey = Keys.getImageKey('ami-1', accountName, region)
+    def instanceKey = Keys.getInstanceKey('i-1', accountName, region)
+    def detachedInstanceKey = Keys.getInstanceKey('i-2', accountName, region)
+    def healthKey = Keys.getInstanceHealthKey('i-1', accountName, region, 'discovery')
+
+    def serverGroup = new DefaultCacheData(
+      serverGroupKey,
+      [name: 'app-main-v001', asg: [instances: [[instanceId: 'i-1']]]],
+      [(LAUNCH_CONFIGS.ns): [launchConfigKey], (LAUNCH_TEMPLATES.ns): [null], (INSTANCES.ns): [instanceKey, detachedInstanceKey]]
+    )
+
+    when:
+    def projections = AmazonClusterProjections.project(providerCache, accountName, region, [serverGroup])
+
+    then:
+    1 * providerCache.getAll(LAUNCH_CONFIGS.ns, [launchConfigKey] as Set, _) >> [
+      new DefaultCacheData(launchConfigKey, [imageId: 'ami-1'], [(IMAGES.ns): [imageKey]])
+    ]
+    1 * providerCache.getAll(IMAGES.ns, [imageKey] as Set, _) >> [
+      new DefaultCacheData(imageKey, [imageId: 'ami-1'], [:])
+    ]
+    1 * providerCache.getAll(INSTANCES.ns, [instanceKey, detachedInstanceKey] as Set, _) >> [
+      new DefaultCacheData(instanceKey, [instanceId: 'i-1'], [(HEALTH.ns): [healthKey]]),
+      new DefaultCacheData(detachedInstanceKey, [instanceId: 'i-2'], [:])
+    ]
+    1 * providerCache.getAll(HEALTH.ns, [healthKey] as Set, _) >> [
+      new DefaultCacheData(healthKey, [type: 'Discovery', state: 'Up'], [:])
+    ]
+    0 * providerCache.filterIdentifiers(*_)
+    0 * providerCache.getAll(LAUNCH_TEMPLATES.ns, _, _)
+
+    projections*.id == [Keys.getClusterProjectionKey('app', accountName, region)]
+
+    def projected = (projections[0].attributes.serverGroups as List<Map>)[0]
+    projected.cluster == 'app-main'
+    projected.launchConfig == [imageId: 'ami-1']
+    projected.image == [imageId: 'ami-1']
+    projected.instances == [
+      [attributes: [instanceId: 'i-1'], health: [[type: 'Discovery', state: 'Up']]]
+    ]
+    projections[0].attributes.unresolvedServerGroups == []
+  }
+
+  void "should leave server groups whose launch config, image or instances are not cached yet unresolved"() {
+    given:
+    def launchConfigKey = Keys.getLaunchConfigKey('app-main-v002-123', accountName, region)
+    def cachedServerGroup = new DefaultCacheData(
+      Keys.getServerGroupKey('app-main-v001', accountName, region),
+      [name: 'app-main-v001', asg: [instances: []]],
+      [:]
+    )
+    def newServerGroup = new DefaultCacheData(
+      Keys.getServerGroupKey('app-main-v002', accountName, region),
+      [name: 'app-main-v002', asg: [instances: []]],
+      [(LAUNCH_CONFIGS.ns): [launchConfigKey]]
+    )
+    def newInstanceServerGroup = new DefaultCacheData(
+      Keys.getServerGroupKey('app-main-v003', accountName, region),
+      [name: 'app-main-v003', asg: [instances: [[instanceId: 'i-3']]]],
+      [(INSTANCES.ns): [Keys.getInstanceKey('i-3', accountName, region)]]
+    )
+
+    when:
+    def projections = AmazonClusterProjections.project(
+      providerCache, accountName, region, [cachedServerGroup, newServerGroup, newInstanceServerGroup]
+    )
+
+    then:
+    1 * providerCache.getAll(LAUNCH_CONFIGS.ns, [launchConfigKey] as Set, _) >> []
+    1 * providerCache.getAll(INSTANCES.ns, _, _) >> []
+
+    projections.size() == 1
+    (projections[0].attributes.serverGroups as List<Map>)*.attributes*.name == ['app-main-v001']
+    projections[0].attributes.unresolvedServerGroups == [newServerGroup.id, newInstanceServerGroup.id]
+  }
+
+  void "should not project anything when there are no server groups"() {
+    when:
+    def projections = AmazonClusterProjections.project(providerCache, accountName, region, [])
+
+    then:
+    0 * _
+
+    projections.isEmpty()
+  }
+}
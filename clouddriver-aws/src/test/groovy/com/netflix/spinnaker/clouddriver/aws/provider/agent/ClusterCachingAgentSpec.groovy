@@ -28,6 +28,7 @@ import com.netflix.awsobjectmapper.AmazonObjectMapperConfigurer
 import com.netflix.spectator.api.Spectator
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
+import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
 import com.netflix.spinnaker.clouddriver.aws.security.EddaTimeoutConfig
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
@@ -144,6 +145,24 @@ class ClusterCachingAgentSpec extends Specification {
     result.authoritativeTypes as Set == ["serverGroups"] as Set
   }
 
+  def "on demand update should evict the cluster projection of the application"() {
+    given:
+    def agent = getAgent()
+    agent.clusterProjectionEnabled = true
+    def data = [
+      serverGroupName: "app-main-v001",
+      region: region,
+      account: accountName
+    ]
+
+    when:
+    def result = agent.handle(providerCache, data)
+
+    then:
+    result.evictions["clusterProjections"] == [Keys.getClusterProjectionKey("app", accountName, region)]
+    agent.providedDataTypes*.typeName.contains("clusterProjections")
+  }
+
   void "asg should filter excluded tags"() {
     given:
     def agent = getAgent()
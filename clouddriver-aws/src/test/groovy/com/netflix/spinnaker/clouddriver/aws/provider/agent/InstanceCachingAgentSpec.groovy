@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.agent
+
+import com.amazonaws.services.ec2.AmazonEC2
+import com.amazonaws.services.ec2.model.DescribeInstancesRequest
+import com.amazonaws.services.ec2.model.DescribeInstancesResult
+import com.amazonaws.services.ec2.model.Instance
+import com.amazonaws.services.ec2.model.InstanceState
+import com.amazonaws.services.ec2.model.Reservation
+import com.amazonaws.services.ec2.model.Tag
+import com.netflix.awsobjectmapper.AmazonObjectMapperConfigurer
+import com.netflix.spectator.api.Spectator
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
+import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import spock.lang.Specification
+
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.IMAGES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.SERVER_GROUPS
+
+class InstanceCachingAgentSpec extends Specification {
+  static String region = 'region'
+  static String accountName = 'accountName'
+
+  AmazonEC2 ec2 = Mock(AmazonEC2)
+  ProviderCache providerCache = Mock(ProviderCache)
+
+  String serverGroupKey = Keys.getServerGroupKey('app-v001', accountName, region)
+  String imageKey = Keys.getImageKey('ami-1', accountName, region)
+
+  def getAgent(boolean incremental, boolean eddaEnabled = false) {
+    def creds = Stub(NetflixAmazonCredentials) {
+      getName() >> accountName
+      getEddaEnabled() >> eddaEnabled
+    }
+    def dcs = Stub(DynamicConfigService) {
+      isEnabled("aws.features.incremental-instance-caching", false) >> incremental
+      getConfig(Long, _ as String, _) >> InstanceCachingAgent.DEFAULT_FULL_SWEEP_INTERVAL_MS
+    }
+    def acp = Stub(AmazonClientProvider) {
+      getAmazonEC2(creds, region) >> ec2
+    }
+    new InstanceCachingAgent(acp, creds, region, AmazonObjectMapperConfigurer.createConfigured(), Spectator.globalRegistry(), dcs)
+  }
+
+  static Instance instance(String id, String state) {
+    new Instance()
+      .withInstanceId(id)
+      .withImageId('ami-1')
+      .withState(new InstanceState().withName(state))
+      .withTags(new Tag('aws:autoscaling:groupName', 'app-v001'))
+  }
+
+  static DescribeInstancesResult result(Instance... instances) {
+    new DescribeInstancesResult().withReservations(new Reservation().withInstances(instances))
+  }
+
+  void "should describe every instance when incremental caching is disabled"() {
+    given:
+    def agent = getAgent(false)
+
+    when:
+    agent.loadData(providerCache)
+    def result = agent.loadData(providerCache)
+
+    then:
+    2 * ec2.describeInstances({ DescribeInstancesRequest r -> !r.filters }) >> result(instance('i-1', 'running'))
+    0 * _
+
+    result.cacheResults[INSTANCES.ns]*.id == [Keys.getInstanceKey('i-1', accountName, region)]
+  }
+
+  void "should only describe changed instances between full sweeps and carry forward the rest without reading the cache"() {
+    given:
+    def agent = getAgent(true)
+    def unchangedKey = Keys.getInstanceKey('i-1', accountName, region)
+    def launchedKey = Keys.getInstanceKey('i-3', accountName, region)
+
+    when:
+    agent.loadData(providerCache)
+
+    then:
+    1 * ec2.describeInstances({ DescribeInstancesRequest r -> !r.filters }) >> result(
+      instance('i-1', 'running'), instance('i-2', 'running')
+    )
+    0 * _
+
+    when:
+    def result = agent.loadData(providerCache)
+
+    then:
+    1 * ec2.describeInstances({ DescribeInstancesRequest r -> r.filters*.name == ['instance-state-name'] }) >> result(
+      instance('i-2', 'terminated')
+    )
+    1 * ec2.describeInstances({ DescribeInstancesRequest r -> r.filters*.name == ['launch-time'] }) >> result(
+      instance('i-3', 'running')
+    )
+    0 * _
+
+    result.cacheResults[INSTANCES.ns]*.id.sort() == [unchangedKey, launchedKey]
+    result.cacheResults[INSTANCES.ns].find { it.id == unchangedKey }.attributes.instanceId == 'i-1'
+    result.cacheResults[INSTANCES.ns].find { it.id == unchangedKey }.relationships[SERVER_GROUPS.ns] == [serverGroupKey] as Set
+    result.cacheResults[SERVER_GROUPS.ns].find { it.id == serverGroupKey }.relationships[INSTANCES.ns].sort() == [
+      unchangedKey, launchedKey
+    ]
+    result.cacheResults[IMAGES.ns].find { it.id == imageKey }.relationships[INSTANCES.ns].sort() == [
+      unchangedKey, launchedKey
+    ]
+  }
+
+  void "should always do a full sweep when backed by edda"() {
+    given:
+    def agent = getAgent(true, true)
+
+    when:
+    agent.loadData(providerCache)
+    agent.loadData(providerCache)
+
+    then:
+    2 * ec2.describeInstances({ DescribeInstancesRequest r -> !r.filters }) >> result(instance('i-1', 'running'))
+  }
+
+  void "should generate a launch time filter value for each day since the last full sweep"() {
+    expect:
+    InstanceCachingAgent.launchTimeFilterValues(
+      Date.parse('yyyy-MM-dd HH:mm X', since).time, Date.parse('yyyy-MM-dd HH:mm X', now).time
+    ) == expected
+
+    where:
+    since                | now                  || expected
+    '2020-03-01 10:00 Z' | '2020-03-01 10:15 Z' || ['2020-03-01*']
+    '2020-03-01 23:55 Z' | '2020-03-02 00:10 Z' || ['2020-03-01*', '2020-03-02*']
+  }
+}
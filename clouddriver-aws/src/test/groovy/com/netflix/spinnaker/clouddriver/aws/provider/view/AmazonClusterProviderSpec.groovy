@@ -25,6 +25,7 @@ import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonServerGroup
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider
+import com.netflix.spinnaker.clouddriver.model.FieldProjection
 import org.junit.jupiter.api.BeforeEach
 import spock.lang.Specification
 import spock.lang.Subject
@@ -32,9 +33,11 @@ import spock.lang.Unroll
 
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.APPLICATIONS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.CLUSTERS
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.CLUSTER_PROJECTIONS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.IMAGES
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_CONFIGS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_TEMPLATES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LOAD_BALANCERS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.SERVER_GROUPS
 
 class AmazonClusterProviderSpec extends Specification {
@@ -253,4 +256,137 @@ class AmazonClusterProviderSpec extends Specification {
     '$Default'               | 0
     '$Latest'                | 1
   }
+
+  def "should get cluster details from cluster projection when enabled"() {
+    given:
+    provider.clusterProjectionEnabled = true
+    def projectionKey = Keys.getClusterProjectionKey(app, account, region)
+    def loadBalancerKey = Keys.getLoadBalancerKey("app-main-frontend", account, region, null, null)
+    def projection = new DefaultCacheData(projectionKey, [
+      serverGroups: [
+        [
+          cluster      : clusterName,
+          attributes   : serverGroup + [asg: [launchConfigurationName: launchConfigName]],
+          launchConfig : [launchConfigurationName: launchConfigName],
+          image        : [imageId: "ami-1", tags: [appversion: "app-0.487.0-h514.f4be391/job/514"]],
+          loadBalancers: [loadBalancerKey],
+          targetGroups : [],
+          instances    : [
+            [attributes: [instanceId: "i-1", health: [[type: "Amazon", state: "Unknown"]]], health: [[type: "Discovery", state: "Up"]]]
+          ]
+        ]
+      ]
+    ], [:])
+
+    when:
+    def result = provider.getClusterDetails(app)
+
+    then:
+    1 * cacheView.filterIdentifiers(CLUSTER_PROJECTIONS.ns, Keys.getClusterProjectionKey(app, "*", "*")) >> [projectionKey]
+    1 * cacheView.filterIdentifiers(SERVER_GROUPS.ns, Keys.getServerGroupKey("app*", "*", "*", "*")) >> [
+      serverGroupId, Keys.getServerGroupKey("apple", "apple-v000", account, "us-west-2")
+    ]
+    1 * cacheView.getAll(CLUSTER_PROJECTIONS.ns, [projectionKey] as Set, _ as CacheFilter) >> [projection]
+    1 * cacheView.getAll(LOAD_BALANCERS.ns, [loadBalancerKey] as Set, _ as CacheFilter) >> [
+      new DefaultCacheData(loadBalancerKey, [:], [:])
+    ]
+    0 * cacheView._
+
+    def clusters = result[account]
+    clusters.size() == 1
+    clusters[0].name == clusterName
+    clusters[0].loadBalancers*.name == ["app-main-frontend"]
+
+    def projectedServerGroup = clusters[0].serverGroups[0]
+    projectedServerGroup.launchConfig.launchConfigurationName == launchConfigName
+    projectedServerGroup.buildInfo.package_name == "app"
+    projectedServerGroup.instances*.name == ["i-1"]
+    projectedServerGroup.instances[0].health*.type == ["Amazon", "Discovery"]
+    projectedServerGroup.instances[0].isHealthy
+  }
+
+  def "should only join the server group fields that were requested"() {
+    given:
+    serverGroup.asg = [launchConfigurationName: launchConfigName, minSize: 1, maxSize: 3, desiredCapacity: 2]
+    def serverGroupData = new DefaultCacheData(serverGroupId, serverGroup, [:])
+
+    when:
+    def result = provider.getServerGroup(account, region, serverGroupName, true, FieldProjection.of(["capacity", "disabled"]))
+
+    then:
+    1 * cacheView.get(SERVER_GROUPS.ns, _) >> serverGroupData
+    0 * cacheView._
+
+    result.capacity.desired == 2
+    result.launchConfig == null
+    result.buildInfo == null
+    result.instances.isEmpty()
+  }
+
+  def "should join the server groups of regions without a cluster projection"() {
+    given:
+    provider.clusterProjectionEnabled = true
+    def projectionKey = Keys.getClusterProjectionKey(app, account, region)
+    def otherServerGroupId = Keys.getServerGroupKey(clusterName, "app-main-v001", account, "us-west-2")
+    def projection = new DefaultCacheData(projectionKey, [
+      serverGroups: [
+        [cluster: clusterName, attributes: serverGroup, loadBalancers: [], targetGroups: [], instances: []]
+      ]
+    ], [:])
+
+    when:
+    def result = provider.getClusterDetails(app)
+
+    then:
+    1 * cacheView.filterIdentifiers(CLUSTER_PROJECTIONS.ns, _) >> [projectionKey]
+    1 * cacheView.filterIdentifiers(SERVER_GROUPS.ns, _) >> [serverGroupId, otherServerGroupId]
+    1 * cacheView.getAll(CLUSTER_PROJECTIONS.ns, [projectionKey] as Set, _ as CacheFilter) >> [projection]
+    1 * cacheView.getAll(SERVER_GROUPS.ns, [otherServerGroupId], _ as CacheFilter) >> [
+      new DefaultCacheData(otherServerGroupId, [name: "app-main-v001", instances: [], asg: [:]], [:])
+    ]
+
+    def clusters = result[account]
+    clusters.size() == 1
+    clusters[0].serverGroups*.name.sort() == [serverGroupName, "app-main-v001"]
+  }
+
+  def "should join the server groups a cluster projection could not resolve"() {
+    given:
+    provider.clusterProjectionEnabled = true
+    def projectionKey = Keys.getClusterProjectionKey(app, account, region)
+    def newServerGroupId = Keys.getServerGroupKey(clusterName, "app-main-v001", account, region)
+    def projection = new DefaultCacheData(projectionKey, [
+      serverGroups          : [
+        [cluster: clusterName, attributes: serverGroup, loadBalancers: [], targetGroups: [], instances: []]
+      ],
+      unresolvedServerGroups: [newServerGroupId]
+    ], [:])
+
+    when:
+    def result = provider.getClusterDetails(app)
+
+    then:
+    1 * cacheView.filterIdentifiers(CLUSTER_PROJECTIONS.ns, _) >> [projectionKey]
+    1 * cacheView.filterIdentifiers(SERVER_GROUPS.ns, _) >> [serverGroupId, newServerGroupId]
+    1 * cacheView.getAll(CLUSTER_PROJECTIONS.ns, [projectionKey] as Set, _ as CacheFilter) >> [projection]
+    1 * cacheView.getAll(SERVER_GROUPS.ns, [newServerGroupId], _ as CacheFilter) >> [
+      new DefaultCacheData(newServerGroupId, [name: "app-main-v001", instances: [], asg: [:]], [:])
+    ]
+
+    result[account]*.serverGroups*.name.flatten().sort() == [serverGroupName, "app-main-v001"]
+  }
+
+  def "should fall back to cache joins when no cluster projection is cached"() {
+    given:
+    provider.clusterProjectionEnabled = true
+
+    when:
+    def result = provider.getClusterDetails(app)
+
+    then:
+    1 * cacheView.filterIdentifiers(CLUSTER_PROJECTIONS.ns, _) >> []
+    1 * cacheView.supportsGetAllByApplication() >> false
+    1 * cacheView.filterIdentifiers(CLUSTERS.ns, _) >> []
+    result == null
+  }
 }
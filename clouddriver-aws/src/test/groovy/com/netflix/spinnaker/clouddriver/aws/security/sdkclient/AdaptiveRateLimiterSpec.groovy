@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spectator.api.ManualClock
+import com.netflix.spectator.api.Registry
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentLinkedQueue
+
+import static com.netflix.spinnaker.clouddriver.aws.security.sdkclient.AdaptiveRateLimiter.Priority.CACHING
+import static com.netflix.spinnaker.clouddriver.aws.security.sdkclient.AdaptiveRateLimiter.Priority.OPERATION
+
+class AdaptiveRateLimiterSpec extends Specification {
+
+  ManualClock clock = new ManualClock()
+  Registry registry = new DefaultRegistry(clock)
+
+  @Subject
+  AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(
+    100.0d,
+    0.8d,
+    registry,
+    registry.createId("rate"),
+    registry.createId("throttled")
+  )
+
+  def setup() {
+    clock.setWallTime(10_000)
+  }
+
+  void "should halve the rate on throttling, at most once per cooldown"() {
+    when:
+    rateLimiter.onThrottled("DescribeInstances")
+    rateLimiter.onThrottled("DescribeInstances")
+
+    then:
+    rateLimiter.rate == 50.0d
+    registry.counter(registry.createId("throttled").withTag("action", "DescribeInstances")).count() == 2
+
+    when:
+    clock.setWallTime(clock.wallTime() + AdaptiveRateLimiter.DECREASE_COOLDOWN_MILLIS)
+    rateLimiter.onThrottled("DescribeInstances")
+
+    then:
+    rateLimiter.rate == 25.0d
+  }
+
+  void "should not drop below the minimum rate"() {
+    when:
+    10.times {
+      clock.setWallTime(clock.wallTime() + AdaptiveRateLimiter.DECREASE_COOLDOWN_MILLIS)
+      rateLimiter.onThrottled("DescribeInstances")
+    }
+
+    then:
+    rateLimiter.rate == 10.0d
+  }
+
+  void "should recover additively up to the configured rate"() {
+    given:
+    rateLimiter.onThrottled("DescribeInstances")
+
+    when:
+    rateLimiter.onSuccess()
+
+    then: "no increase before the interval has passed"
+    rateLimiter.rate == 50.0d
+
+    when:
+    clock.setWallTime(clock.wallTime() + AdaptiveRateLimiter.INCREASE_INTERVAL_MILLIS)
+    rateLimiter.onSuccess()
+
+    then:
+    rateLimiter.rate == 55.0d
+
+    when:
+    20.times {
+      clock.setWallTime(clock.wallTime() + AdaptiveRateLimiter.INCREASE_INTERVAL_MILLIS)
+      rateLimiter.onSuccess()
+    }
+
+    then:
+    rateLimiter.rate == rateLimiter.maxRate
+  }
+
+  void "should serve a waiting operation before a caching request that was made earlier"() {
+    given:
+    def limiter = new AdaptiveRateLimiter(2.0d, 1.0d, registry, registry.createId("rate"), registry.createId("throttled"))
+    def served = new ConcurrentLinkedQueue<AdaptiveRateLimiter.Priority>()
+
+    and: "an operation is in flight and has taken the only free permit"
+    limiter.acquire(OPERATION)
+
+    when:
+    def caching = Thread.start { limiter.acquire(CACHING); served << CACHING }
+    sleep(50)
+    def operation = Thread.start { limiter.acquire(OPERATION); served << OPERATION }
+    [caching, operation]*.join(5000)
+
+    then:
+    served as List == [OPERATION, CACHING]
+    limiter.waitingOperations == 0
+  }
+
+  void "should not hold back caching requests when no operations are active"() {
+    given:
+    clock.setWallTime(clock.wallTime() + AdaptiveRateLimiter.OPERATION_ACTIVE_WINDOW_MILLIS)
+
+    expect:
+    rateLimiter.acquire(CACHING) == 0.0d
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient
+
+import com.amazonaws.AmazonServiceException
+import com.amazonaws.DefaultRequest
+import com.amazonaws.Request
+import com.amazonaws.Response
+import com.amazonaws.handlers.HandlerAfterAttemptContext
+import com.amazonaws.services.ec2.model.DescribeInstancesRequest
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spectator.api.ManualClock
+import com.netflix.spectator.api.Registry
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+class RateLimitingRequestHandlerSpec extends Specification {
+
+  ManualClock clock = new ManualClock()
+  Registry registry = new DefaultRegistry(clock)
+
+  AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(
+    100.0d,
+    0.8d,
+    registry,
+    registry.createId("rate"),
+    registry.createId("throttled")
+  )
+
+  @Subject
+  RateLimitingRequestHandler handler = new RateLimitingRequestHandler(registry.counter("rateLimitDelayMillis"), rateLimiter)
+
+  def setup() {
+    clock.setWallTime(10_000)
+  }
+
+  @Unroll
+  void "should lower the rate for every throttled attempt (#errorCode, #statusCode)"() {
+    given:
+    def request = request()
+
+    when: "the first attempt is throttled and retried"
+    handler.afterAttempt(attempt(request, exception(errorCode, statusCode)))
+
+    then:
+    rateLimiter.rate == 50.0d
+    registry.counter(registry.createId("throttled").withTag("action", "DescribeInstances")).count() == 1
+
+    when: "the retry is throttled as well"
+    clock.setWallTime(clock.wallTime() + AdaptiveRateLimiter.DECREASE_COOLDOWN_MILLIS)
+    handler.afterAttempt(attempt(request, exception(errorCode, statusCode)))
+
+    then:
+    rateLimiter.rate == 25.0d
+
+    where:
+    errorCode               | statusCode
+    "Throttling"            | 400
+    "RequestLimitExceeded"  | 400
+    "SlowDown"              | 429
+    "ServiceUnavailable"    | 503
+  }
+
+  void "should ignore attempts that failed for other reasons"() {
+    when:
+    handler.afterAttempt(attempt(request(), exception("InvalidInstanceID.NotFound", 400)))
+    handler.afterAttempt(attempt(request(), new IOException("connection reset")))
+    handler.afterAttempt(attempt(request(), null))
+
+    then:
+    rateLimiter.rate == 100.0d
+  }
+
+  void "should only count calls that were never throttled as successes"() {
+    given:
+    def throttledRequest = request()
+    handler.afterAttempt(attempt(throttledRequest, exception("Throttling", 400)))
+    clock.setWallTime(clock.wallTime() + AdaptiveRateLimiter.INCREASE_INTERVAL_MILLIS)
+
+    when: "the retry of a throttled call succeeds"
+    handler.afterAttempt(attempt(throttledRequest, null))
+    handler.afterResponse(throttledRequest, new Response(null, null))
+
+    then:
+    rateLimiter.rate == 50.0d
+
+    when:
+    handler.afterResponse(request(), new Response(null, null))
+
+    then:
+    rateLimiter.rate == 55.0d
+  }
+
+  private static Request<?> request() {
+    return new DefaultRequest(new DescribeInstancesRequest(), "AmazonEC2")
+  }
+
+  private static HandlerAfterAttemptContext attempt(Request<?> request, Exception exception) {
+    return HandlerAfterAttemptContext.builder()
+      .withRequest(request)
+      .withException(exception)
+      .build()
+  }
+
+  private static AmazonServiceException exception(String errorCode, int statusCode) {
+    def exception = new AmazonServiceException(errorCode)
+    exception.errorCode = errorCode
+    exception.statusCode = statusCode
+    return exception
+  }
+}
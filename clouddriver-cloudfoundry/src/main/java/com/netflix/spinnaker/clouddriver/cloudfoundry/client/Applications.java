@@ -44,6 +44,8 @@ import java.nio.charset.Charset;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -120,78 +122,87 @@ public class Applications {
     String spaceGuidsQ =
         spaceGuids == null || spaceGuids.isEmpty() ? null : String.join(",", spaceGuids);
 
+    long fetchStart = System.currentTimeMillis();
     List<Application> newCloudFoundryAppList =
-        collectPages("applications", page -> api.all(page, resultsPerPage, null, spaceGuidsQ));
+        collectPages(
+            "applications",
+            page -> api.all(page, resultsPerPage, null, spaceGuidsQ),
+            forkJoinPool);
+    long fetchTime = System.currentTimeMillis() - fetchStart;
 
     log.debug(
         "Fetched {} total apps from foundation account {}",
         newCloudFoundryAppList.size(),
         this.account);
 
-    List<String> availableAppIds =
-        newCloudFoundryAppList.stream().map(Application::getGuid).collect(toList());
+    Set<String> availableAppIds =
+        newCloudFoundryAppList.stream().map(Application::getGuid).collect(toSet());
 
-    long invalidatedServerGroups =
-        serverGroupCache.asMap().keySet().parallelStream()
+    List<String> staleAppIds =
+        serverGroupCache.asMap().keySet().stream()
             .filter(appGuid -> !availableAppIds.contains(appGuid))
             .peek(appGuid -> log.trace("Evicting the following SG with id '{}'", appGuid))
-            .peek(serverGroupCache::invalidate)
-            .count();
+            .collect(toList());
+    serverGroupCache.invalidateAll(staleAppIds);
 
     log.debug(
         "Evicted {} serverGroups from the cache that aren't on the '{}' foundation anymore",
-        invalidatedServerGroups,
+        staleAppIds.size(),
         this.account);
 
     // if the update time doesn't match then we need to update the cache
     // if the app is not found in the cache we need to process with `map` and update the cache
+    // otherwise only the health of the instances needs to be refreshed
+    AtomicInteger changedApps = new AtomicInteger();
+    AtomicLong mapTime = new AtomicLong();
+    AtomicLong healthTime = new AtomicLong();
     try {
       forkJoinPool
           .submit(
               () ->
                   newCloudFoundryAppList.parallelStream()
-                      .filter(
+                      .forEach(
                           app -> {
-                            CloudFoundryServerGroup cachedApp = findById(app.getGuid());
-                            if (cachedApp != null) {
-                              if (!cachedApp
-                                  .getUpdatedTime()
-                                  .equals(app.getUpdatedAt().toInstant().toEpochMilli())) {
-                                log.trace(
-                                    "App '{}' cached version is out of date on foundation '{}'",
-                                    app.getName(),
-                                    this.account);
-                                return true;
-                              } else {
-                                return false;
-                              }
-                            } else {
+                            CloudFoundryServerGroup cachedApp =
+                                serverGroupCache.getIfPresent(app.getGuid());
+                            long start = System.currentTimeMillis();
+                            if (cachedApp == null) {
                               log.trace(
                                   "App '{}' not found in cache for foundation '{}'",
                                   app.getName(),
                                   this.account);
-                              return true;
-                            }
-                          })
-                      .map(this::map)
-                      .forEach(sg -> serverGroupCache.put(sg.getId(), sg)))
-          .get();
-
-      forkJoinPool
-          .submit(
-              () ->
-                  // execute health check on instances, set number of available instances and health
-                  // status
-                  newCloudFoundryAppList.parallelStream()
-                      .forEach(
-                          a ->
+                            } else if (!cachedApp
+                                .getUpdatedTime()
+                                .equals(app.getUpdatedAt().toInstant().toEpochMilli())) {
+                              log.trace(
+                                  "App '{}' cached version is out of date on foundation '{}'",
+                                  app.getName(),
+                                  this.account);
+                            } else {
                               serverGroupCache.put(
-                                  a.getGuid(), checkHealthStatus(findById(a.getGuid()), a))))
+                                  app.getGuid(), checkHealthStatus(cachedApp, app));
+                              healthTime.addAndGet(System.currentTimeMillis() - start);
+                              return;
+                            }
+                            // map() also checks the health of the app's instances
+                            serverGroupCache.put(app.getGuid(), map(app));
+                            mapTime.addAndGet(System.currentTimeMillis() - start);
+                            changedApps.incrementAndGet();
+                          }))
           .get();
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
 
+    log.info(
+        "Refreshed {} apps ({} changed) from foundation '{}' (fetch: {}ms, map: {}ms, health: {}ms)",
+        newCloudFoundryAppList.size(),
+        changedApps.get(),
+        this.account,
+        fetchTime,
+        mapTime.get(),
+        healthTime.get());
+
     Map<String, Set<CloudFoundryServerGroup>> serverGroupsByClusters = new HashMap<>();
     Map<String, Set<String>> clustersByApps = new HashMap<>();
 
@@ -20,13 +20,21 @@ import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.ErrorDescript
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Page;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Resource;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Pagination;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import retrofit.RetrofitError;
 
 final class CloudFoundryClientUtils {
+  /** Upper bound on page requests outstanding at once when pages are fetched concurrently. */
+  static final int MAX_PAGES_IN_FLIGHT = 8;
+
   static void safelyCall(RetrofitConsumer r) throws CloudFoundryApiException {
     try {
       r.accept();
@@ -79,6 +87,27 @@ final class CloudFoundryClientUtils {
     return allResources;
   }
 
+  /**
+   * Like {@link #collectPages(String, Function)}, but once the first page has reported the total
+   * number of pages the remaining ones are fetched concurrently on {@code executor}, with at most
+   * {@link #MAX_PAGES_IN_FLIGHT} requests outstanding. Resources are returned in page order.
+   */
+  static <R> List<R> collectPages(
+      String resourceNamePluralized, Function<Integer, Pagination<R>> fetchPage, Executor executor)
+      throws CloudFoundryApiException {
+    Pagination<R> firstPage = fetchSinglePage(resourceNamePluralized, fetchPage, null);
+
+    List<R> allResources = new ArrayList<>(firstPage.getResources());
+    fetchRemainingPages(
+            resourceNamePluralized,
+            firstPage.getPagination().getTotalPages(),
+            fetchPage,
+            executor)
+        .forEach(page -> allResources.addAll(page.getResources()));
+
+    return allResources;
+  }
+
   static <R> List<Resource<R>> collectPageResources(
       String resourceNamePluralized, Function<Integer, Page<R>> fetchPage)
       throws CloudFoundryApiException {
@@ -101,6 +130,66 @@ final class CloudFoundryClientUtils {
     return allResources;
   }
 
+  /**
+   * Like {@link #collectPageResources(String, Function)}, but fetches all pages after the first
+   * concurrently on {@code executor}. See {@link #collectPages(String, Function, Executor)}.
+   */
+  static <R> List<Resource<R>> collectPageResources(
+      String resourceNamePluralized, Function<Integer, Page<R>> fetchPage, Executor executor)
+      throws CloudFoundryApiException {
+    Page<R> firstPage = fetchSinglePage(resourceNamePluralized, fetchPage, null);
+
+    List<Resource<R>> allResources = new ArrayList<>(firstPage.getResources());
+    fetchRemainingPages(resourceNamePluralized, firstPage.getTotalPages(), fetchPage, executor)
+        .forEach(page -> allResources.addAll(page.getResources()));
+
+    return allResources;
+  }
+
+  private static <P> P fetchSinglePage(
+      String resourceNamePluralized, Function<Integer, P> fetchPage, Integer page) {
+    return safelyCall(() -> fetchPage.apply(page))
+        .orElseThrow(
+            () -> new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized));
+  }
+
+  private static <P> List<P> fetchRemainingPages(
+      String resourceNamePluralized,
+      int totalPages,
+      Function<Integer, P> fetchPage,
+      Executor executor) {
+    List<P> pages = new ArrayList<>();
+    Deque<CompletableFuture<P>> inFlight = new ArrayDeque<>();
+    try {
+      for (int page = 2; page <= totalPages; page++) {
+        final int p = page;
+        inFlight.add(
+            CompletableFuture.supplyAsync(
+                () -> fetchSinglePage(resourceNamePluralized, fetchPage, p), executor));
+        if (inFlight.size() >= MAX_PAGES_IN_FLIGHT) {
+          pages.add(join(inFlight.removeFirst()));
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        pages.add(join(inFlight.removeFirst()));
+      }
+    } finally {
+      inFlight.forEach(future -> future.cancel(true));
+    }
+    return pages;
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
   interface RetrofitCallable<T> {
     T call() throws RetrofitError;
   }
@@ -176,7 +176,9 @@ public class Routes {
             .submit(
                 () ->
                     collectPageResources(
-                            "routes", pg -> api.all(pg, resultsPerPage, singletonList(orgFilter)))
+                            "routes",
+                            pg -> api.all(pg, resultsPerPage, singletonList(orgFilter)),
+                            forkJoinPool)
                         .parallelStream()
                         .map(this::map)
                         .filter(lb -> spaceGuids.contains(lb.getSpace().getId()))
@@ -186,7 +188,8 @@ public class Routes {
         return forkJoinPool
             .submit(
                 () ->
-                    collectPageResources("routes", pg -> api.all(pg, resultsPerPage, null))
+                    collectPageResources(
+                            "routes", pg -> api.all(pg, resultsPerPage, null), forkJoinPool)
                         .parallelStream()
                         .map(this::map)
                         .collect(Collectors.toList()))
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.clouddriver.cloudfoundry.client;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -26,9 +27,12 @@ import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Domain;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Page;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Application;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Pagination;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
+import retrofit.RetrofitError;
 
 class CloudFoundryClientUtilsTest {
 
@@ -105,4 +109,49 @@ class CloudFoundryClientUtilsTest {
     assertThat(results)
         .containsExactly(pageOne.getResources().get(0), pageTwo.getResources().get(0));
   }
+
+  @Test
+  void collectPagesFetchesRemainingPagesConcurrentlyInPageOrder() {
+    ApplicationService applicationService = mock(ApplicationService.class);
+    int totalPages = CloudFoundryClientUtils.MAX_PAGES_IN_FLIGHT * 2 + 1;
+    List<Application> expected = new ArrayList<>();
+    for (int page = 1; page <= totalPages; page++) {
+      Application application = new Application().setName("app-name-" + page);
+      expected.add(application);
+      Pagination<Application> pagination = new Pagination<>();
+      pagination.setPagination(new Pagination.Details().setTotalPages(totalPages));
+      pagination.setResources(Collections.singletonList(application));
+      when(applicationService.all(page == 1 ? null : page, null, null, null))
+          .thenReturn(pagination);
+    }
+
+    List<Application> results =
+        CloudFoundryClientUtils.collectPages(
+            "applications",
+            page -> applicationService.all(page, null, null, null),
+            ForkJoinPool.commonPool());
+
+    assertThat(results).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void collectPagesFailsWhenAnyConcurrentPageIsMissing() {
+    ApplicationService applicationService = mock(ApplicationService.class);
+    Pagination<Application> pageOne = new Pagination<>();
+    pageOne.setPagination(new Pagination.Details().setTotalPages(3));
+    pageOne.setResources(Collections.singletonList(new Application().setName("app-name-one")));
+
+    when(applicationService.all(null, null, null, null)).thenReturn(pageOne);
+    when(applicationService.all(2, null, null, null)).thenReturn(pageOne);
+    when(applicationService.all(3, null, null, null))
+        .thenThrow(RetrofitError.unexpectedError("http://capi.io", new RuntimeException()));
+
+    assertThatThrownBy(
+            () ->
+                CloudFoundryClientUtils.collectPages(
+                    "applications",
+                    page -> applicationService.all(page, null, null, null),
+                    ForkJoinPool.commonPool()))
+        .isInstanceOf(CloudFoundryApiException.class);
+  }
 }
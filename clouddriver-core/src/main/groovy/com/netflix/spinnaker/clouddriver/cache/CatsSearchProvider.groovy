@@ -258,21 +258,33 @@ class CatsSearchProvider implements SearchProvider, Runnable {
 
     log.info("Querying ${cachesToQuery} for term: ${q}")
     String normalizedWord = q.toLowerCase()
+    // split once per search rather than once per key and filter
+    Map<String, Set<String>> filterValues = filters?.findAll { it.key != 'cloudProvider' }?.collectEntries { filter ->
+      [(filter.key): filter.value.split(',') as Set<String>]
+    } ?: [:]
+
     List<String> matches = cachesToQuery.collect { String cache ->
+      KeyParser parser = filters ? keyParsers?.find { it.cloudProvider == filters.cloudProvider && it.canParseType(cache) } : null
+      String nameMapping = parser?.getNameMapping(cache)
+      KeySchema schema = parser ? filterSchema(parser, cache, filterValues.keySet(), nameMapping) : null
+
       Closure filtersMatch = { String key ->
         try {
           if (!filters) {
             return true
           }
 
-          KeyParser parser = keyParsers?.find { it.cloudProvider == filters.cloudProvider && it.canParseType(cache) }
-          if (parser) {
+          if (schema) {
+            // every filtered field is part of the key, so match them in place rather than parse a map per key
+            ParsedKey parsed = schema.parse(key)
+            return filterValues.isEmpty() || parsed && filterValues.every { String field, Set<String> vals ->
+              parsed.matchesAny(field, vals) || (nameMapping && parsed.matchesAny(nameMapping, vals))
+            }
+          } else if (parser) {
             Map<String, String> parsed = parser.parseKey(key)
-            return filters.entrySet().every { filter ->
-              String[] vals = filter.value.split(',')
-              filter.key == 'cloudProvider' || parsed &&
-                ((parsed.containsKey(filter.key) && vals.contains(parsed[filter.key])) ||
-                  (parsed.containsKey(parser.getNameMapping(cache)) && vals.contains(parsed[parser.getNameMapping(cache)])))
+            return filterValues.isEmpty() || parsed && filterValues.every { String field, Set<String> vals ->
+              (parsed.containsKey(field) && vals.contains(parsed[field])) ||
+                (parsed.containsKey(nameMapping) && vals.contains(parsed[nameMapping]))
             }
           } else {
             log.debug("No parser found for $cache:$key")
@@ -320,6 +332,23 @@ class CatsSearchProvider implements SearchProvider, Runnable {
     }
   }
 
+  /**
+   * @return the schema of {@code cache}'s keys if {@code parser} has one that contains all of the {@code fields}
+   * filtered on (and the {@code nameMapping}), otherwise <code>null</code> as the keys need to be parsed into maps
+   * with their derived fields
+   */
+  private static KeySchema filterSchema(KeyParser parser, String cache, Set<String> fields, String nameMapping) {
+    if (!(parser instanceof CodecKeyParser)) {
+      return null
+    }
+
+    KeySchema schema = ((CodecKeyParser) parser).keyCodec.getSchema(cache)
+    if (!schema || !schema.fields.containsAll(fields) || (nameMapping && !schema.fields.contains(nameMapping))) {
+      return null
+    }
+    return schema
+  }
+
   private static List<String> paginateResults(List<String> matches, Integer pageSize, Integer pageNumber) {
     log.info("Paginating ${matches.size()} results; page number: ${pageNumber}, items per page: ${pageSize}")
     Integer startingIndex = pageSize * (pageNumber - 1)
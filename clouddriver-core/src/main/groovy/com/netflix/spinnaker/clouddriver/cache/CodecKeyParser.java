@@ -0,0 +1,28 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+/**
+ * A {@link KeyParser} whose fixed layout key types can also be parsed into {@link ParsedKey} views,
+ * so callers going through many keys (e.g. search filtering) can match fields in place instead of
+ * parsing every key into a map.
+ */
+public interface CodecKeyParser extends KeyParser {
+
+  /** @return the codec of the key types this parser can parse without splitting them */
+  KeyCodec getKeyCodec();
+}
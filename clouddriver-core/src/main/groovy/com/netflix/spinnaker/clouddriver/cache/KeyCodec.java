@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Parses the cache keys of a provider, given the {@link KeySchema} of each of its key types.
+ *
+ * <p>e.g.
+ *
+ * <pre>
+ * KeyCodec codec = new KeyCodec(
+ *     KeySchema.builder("dockerRegistry", "taggedImage")
+ *         .internedField("account")
+ *         .field("repository")
+ *         .field("tag")
+ *         .build());
+ *
+ * codec.parse("dockerRegistry:taggedImage:my-account:library/nginx:latest").get("tag");
+ * </pre>
+ */
+public final class KeyCodec {
+  private final KeySchema[] schemas;
+
+  public KeyCodec(KeySchema... schemas) {
+    this.schemas = schemas.clone();
+  }
+
+  public List<KeySchema> getSchemas() {
+    return Arrays.asList(schemas.clone());
+  }
+
+  /** @return the schema of {@code type} keys, or <code>null</code> if there is none */
+  @Nullable
+  public KeySchema getSchema(String type) {
+    for (KeySchema schema : schemas) {
+      if (schema.getType().equals(type)) {
+        return schema;
+      }
+    }
+    return null;
+  }
+
+  /** @return whether {@code key} is of one of the codec's key types */
+  public boolean canParse(String key) {
+    return schemaOf(key) != null;
+  }
+
+  /**
+   * @return the schema of {@code key}'s type, or <code>null</code> if it isn't of one of the
+   *     codec's key types
+   */
+  @Nullable
+  public KeySchema schemaOf(String key) {
+    for (KeySchema schema : schemas) {
+      if (schema.matches(key)) {
+        return schema;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return a view of {@code key}, or <code>null</code> if it isn't of one of the codec's key
+   *     types or is missing fields
+   */
+  @Nullable
+  public ParsedKey parse(String key) {
+    KeySchema schema = schemaOf(key);
+    return schema == null ? null : schema.parse(key);
+  }
+
+  /** @return the value of {@code field} in {@code key}, without parsing its other fields */
+  @Nullable
+  public String extract(String key, String field) {
+    KeySchema schema = schemaOf(key);
+    return schema == null ? null : schema.extract(key, field);
+  }
+
+  /** @return {@code key} as a map, for callers of the map based <code>Keys.parse</code> methods */
+  @Nullable
+  public Map<String, String> parseToMap(String key) {
+    ParsedKey parsed = parse(key);
+    return parsed == null ? null : parsed.toMap();
+  }
+}
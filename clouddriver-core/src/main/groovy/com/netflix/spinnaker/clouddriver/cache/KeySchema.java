@@ -0,0 +1,227 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Describes the layout of one type of cache key, e.g. <code>
+ * dockerRegistry:taggedImage:{account}:{repository}:{tag}</code>.
+ *
+ * <p>Keys are parsed into {@link ParsedKey} views that only record where each field starts and
+ * ends, so reading or matching a field doesn't require splitting the key into a map. Fields that
+ * repeat across many keys (e.g. account and region) can be interned, so the values handed out for
+ * them are shared instead of being copied for every key.
+ */
+public final class KeySchema {
+  private static final char SEPARATOR = ':';
+  private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+  private final String provider;
+  private final String type;
+  private final String prefix;
+  private final String[] fields;
+  private final boolean[] interned;
+
+  private KeySchema(String provider, String type, String[] fields, boolean[] interned) {
+    this.provider = provider;
+    this.type = type;
+    this.prefix = provider + SEPARATOR + type + SEPARATOR;
+    this.fields = fields;
+    this.interned = interned;
+  }
+
+  public static Builder builder(String provider, String type) {
+    return new Builder(provider, type);
+  }
+
+  public String getProvider() {
+    return provider;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public List<String> getFields() {
+    return Collections.unmodifiableList(Arrays.asList(fields));
+  }
+
+  /** @return whether {@code key} starts with this schema's provider and type */
+  public boolean matches(String key) {
+    return key.startsWith(prefix);
+  }
+
+  /**
+   * Parses {@code key} the same way splitting it on ':' would, i.e. each field ends at the next
+   * separator and anything after the last field is ignored.
+   *
+   * @return a view of {@code key}, or <code>null</code> if it isn't of this schema's type or is
+   *     missing fields
+   */
+  @Nullable
+  public ParsedKey parse(String key) {
+    if (!matches(key)) {
+      return null;
+    }
+
+    // offsets[i] is where field i starts, offsets[i + 1] - 1 is where it ends
+    int[] offsets = new int[fields.length + 1];
+    int start = prefix.length();
+    for (int i = 0; i < fields.length; i++) {
+      if (start > key.length()) {
+        return null;
+      }
+      offsets[i] = start;
+      int end = key.indexOf(SEPARATOR, start);
+      start = (end == -1 ? key.length() : end) + 1;
+    }
+    offsets[fields.length] = start;
+
+    if (fields.length > 0 && isTrailingEmptyField(key, offsets)) {
+      return null;
+    }
+    return new ParsedKey(this, key, offsets);
+  }
+
+  /**
+   * Reads a single field of {@code key} without parsing the rest of it.
+   *
+   * @return the value of {@code field}, or <code>null</code> if {@code key} isn't of this schema's
+   *     type or doesn't have the field
+   */
+  @Nullable
+  public String extract(String key, String field) {
+    int index = indexOf(field);
+    if (index == -1 || !matches(key)) {
+      return null;
+    }
+
+    int start = prefix.length();
+    for (int i = 0; i < index; i++) {
+      int end = key.indexOf(SEPARATOR, start);
+      if (end == -1) {
+        return null;
+      }
+      start = end + 1;
+    }
+    int end = key.indexOf(SEPARATOR, start);
+    return value(index, key.substring(start, end == -1 ? key.length() : end));
+  }
+
+  int indexOf(String field) {
+    for (int i = 0; i < fields.length; i++) {
+      if (fields[i].equals(field)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  String field(int index) {
+    return fields[index];
+  }
+
+  int fieldCount() {
+    return fields.length;
+  }
+
+  String value(int index, String value) {
+    return interned[index] ? INTERNER.intern(value) : value;
+  }
+
+  /** String#split drops trailing empty strings, so a key ending in an empty field is incomplete. */
+  private static boolean isTrailingEmptyField(String key, int[] offsets) {
+    int lastStart = offsets[offsets.length - 2];
+    for (int i = lastStart; i < key.length(); i++) {
+      if (key.charAt(i) != SEPARATOR) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    KeySchema that = (KeySchema) o;
+    return prefix.equals(that.prefix)
+        && Arrays.equals(fields, that.fields)
+        && Arrays.equals(interned, that.interned);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(prefix, Arrays.hashCode(fields), Arrays.hashCode(interned));
+  }
+
+  @Override
+  public String toString() {
+    return prefix + String.join(String.valueOf(SEPARATOR), fields);
+  }
+
+  public static final class Builder {
+    private final String provider;
+    private final String type;
+    private final List<String> fields = new ArrayList<>();
+    private final List<Boolean> interned = new ArrayList<>();
+
+    private Builder(String provider, String type) {
+      this.provider = Objects.requireNonNull(provider);
+      this.type = Objects.requireNonNull(type);
+    }
+
+    /** Adds the next field of the key. */
+    public Builder field(String name) {
+      return add(name, false);
+    }
+
+    /** Adds the next field of the key, whose values are shared by many keys. */
+    public Builder internedField(String name) {
+      return add(name, true);
+    }
+
+    private Builder add(String name, boolean intern) {
+      if (name.equals("provider") || name.equals("type") || fields.contains(name)) {
+        throw new IllegalArgumentException("Duplicate key field: " + name);
+      }
+      fields.add(name);
+      interned.add(intern);
+      return this;
+    }
+
+    public KeySchema build() {
+      boolean[] intern = new boolean[interned.size()];
+      for (int i = 0; i < intern.length; i++) {
+        intern[i] = interned.get(i);
+      }
+      return new KeySchema(provider, type, fields.toArray(new String[0]), intern);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A view of a cache key parsed by a {@link KeySchema}.
+ *
+ * <p>Only the offsets of the fields are kept, field values are read from the key when they're
+ * asked for and {@link #matches} compares them in place.
+ */
+public final class ParsedKey {
+  private final KeySchema schema;
+  private final String key;
+  private final int[] offsets;
+
+  ParsedKey(KeySchema schema, String key, int[] offsets) {
+    this.schema = schema;
+    this.key = key;
+    this.offsets = offsets;
+  }
+
+  public KeySchema getSchema() {
+    return schema;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getProvider() {
+    return schema.getProvider();
+  }
+
+  public String getType() {
+    return schema.getType();
+  }
+
+  /** @return the value of {@code field}, or <code>null</code> if the schema has no such field */
+  @Nullable
+  public String get(String field) {
+    if (field.equals("provider")) {
+      return getProvider();
+    }
+    if (field.equals("type")) {
+      return getType();
+    }
+    int index = schema.indexOf(field);
+    return index == -1 ? null : get(index);
+  }
+
+  /** @return whether {@code field} is equal to {@code value}, without copying the field */
+  public boolean matches(String field, String value) {
+    if (field.equals("provider")) {
+      return getProvider().equals(value);
+    }
+    if (field.equals("type")) {
+      return getType().equals(value);
+    }
+    int index = schema.indexOf(field);
+    return index != -1 && matches(index, value);
+  }
+
+  /** @return whether {@code field} is equal to any of {@code values} */
+  public boolean matchesAny(String field, Collection<String> values) {
+    for (String value : values) {
+      if (matches(field, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** @return whether the schema has {@code field} */
+  public boolean has(String field) {
+    return field.equals("provider") || field.equals("type") || schema.indexOf(field) != -1;
+  }
+
+  /**
+   * @return the key as a map of its fields, in the format returned by the providers' <code>
+   *     Keys.parse</code> methods. Values are copied out of the key without being interned, as
+   *     these maps are mostly short-lived.
+   */
+  public Map<String, String> toMap() {
+    return toMap(0);
+  }
+
+  /**
+   * @param extraFields how many fields the caller is going to add to the map, so it is sized for
+   *     them up front
+   */
+  public Map<String, String> toMap(int extraFields) {
+    int size = schema.fieldCount() + 2 + extraFields;
+    Map<String, String> result = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+    result.put("provider", getProvider());
+    result.put("type", getType());
+    for (int i = 0; i < schema.fieldCount(); i++) {
+      result.put(schema.field(i), key.substring(offsets[i], end(i)));
+    }
+    return result;
+  }
+
+  private String get(int index) {
+    return schema.value(index, key.substring(offsets[index], end(index)));
+  }
+
+  private boolean matches(int index, String value) {
+    int start = offsets[index];
+    int length = end(index) - start;
+    return value.length() == length && key.regionMatches(start, value, 0, length);
+  }
+
+  private int end(int index) {
+    return offsets[index + 1] - 1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ParsedKey that = (ParsedKey) o;
+    return schema.equals(that.schema) && key.equals(that.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * schema.hashCode() + key.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return key;
+  }
+}
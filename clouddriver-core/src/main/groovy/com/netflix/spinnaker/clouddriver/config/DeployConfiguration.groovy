@@ -31,6 +31,7 @@ import com.netflix.spinnaker.clouddriver.orchestration.AtomicOperationDescriptio
 import com.netflix.spinnaker.clouddriver.orchestration.AtomicOperationsRegistry
 import com.netflix.spinnaker.clouddriver.orchestration.DefaultOrchestrationProcessor
 import com.netflix.spinnaker.clouddriver.orchestration.ExceptionClassifier
+import com.netflix.spinnaker.clouddriver.orchestration.OrchestrationEngine
 import com.netflix.spinnaker.clouddriver.orchestration.OperationsService
 import com.netflix.spinnaker.clouddriver.orchestration.OrchestrationProcessor
 import com.netflix.spinnaker.clouddriver.orchestration.events.OperationEventHandler
@@ -41,6 +42,7 @@ import com.netflix.spinnaker.kork.web.context.RequestContextProvider
 import com.netflix.spinnaker.kork.web.exceptions.ExceptionMessageDecorator
 import com.netflix.spinnaker.kork.web.exceptions.ExceptionSummaryService
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.ApplicationContext
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.ComponentScan
@@ -48,6 +50,7 @@ import org.springframework.context.annotation.Configuration
 
 @Configuration
 @ComponentScan("com.netflix.spinnaker.clouddriver.orchestration.sagas")
+@EnableConfigurationProperties(OrchestrationEngineProperties)
 class DeployConfiguration {
   @Bean
   @ConditionalOnMissingBean(TaskRepository)
@@ -61,6 +64,11 @@ class DeployConfiguration {
     new DefaultDeployHandlerRegistry(deployHandlers)
   }
 
+  @Bean
+  OrchestrationEngine orchestrationEngine(Registry registry, OrchestrationEngineProperties properties) {
+    new OrchestrationEngine(registry, properties)
+  }
+
   @Bean
   @ConditionalOnMissingBean(OrchestrationProcessor)
   OrchestrationProcessor orchestrationProcessor(
@@ -71,7 +79,8 @@ class DeployConfiguration {
     ObjectMapper objectMapper,
     ExceptionClassifier exceptionClassifier,
     RequestContextProvider contextProvider,
-    ExceptionSummaryService exceptionSummaryService
+    ExceptionSummaryService exceptionSummaryService,
+    OrchestrationEngine orchestrationEngine
   ) {
     new DefaultOrchestrationProcessor(
       taskRepository,
@@ -81,7 +90,8 @@ class DeployConfiguration {
       objectMapper,
       exceptionClassifier,
       contextProvider,
-      exceptionSummaryService
+      exceptionSummaryService,
+      orchestrationEngine
     )
   }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("orchestration.engine")
+@Data
+public class OrchestrationEngineProperties {
+
+  /** The maximum number of orchestrations that run at the same time, across all lanes. */
+  private int maxConcurrentOrchestrations = 100;
+
+  /**
+   * The maximum number of orchestrations of a single lane (a cloud provider and the type of the
+   * first atomic operation, e.g. {@code aws:DeployAtomicOperation}) that run at the same time.
+   */
+  private int maxConcurrentOrchestrationsPerLane = 25;
+
+  /** Per-lane overrides of {@link #maxConcurrentOrchestrationsPerLane}, keyed by lane. */
+  private Map<String, Integer> laneConcurrency = new HashMap<>();
+
+  /** The maximum number of orchestrations waiting to run before new ones are rejected. */
+  private int maxQueuedOrchestrations = 5000;
+
+  /**
+   * Orchestrations containing an atomic operation whose type contains any of these strings are
+   * started ahead of queued orchestrations of other types.
+   */
+  private List<String> highPriorityOperations =
+      new ArrayList<>(Arrays.asList("Rollback", "Disable", "Resize"));
+
+  /**
+   * Run orchestrations on virtual threads rather than platform threads, if the JVM supports them
+   * (falls back to platform threads otherwise).
+   */
+  private boolean virtualThreads = false;
+}
@@ -27,6 +27,9 @@ public class ProjectClustersCachingAgentProperties {
   /** A list of allowed project names that will be cached. */
   List<String> allowList = new ArrayList<>();
 
+  /** How many applications' clusters are retrieved concurrently. */
+  int retrievalThreads = 10;
+
   public List<String> getAllowList() {
     return allowList;
   }
@@ -35,6 +38,14 @@ public class ProjectClustersCachingAgentProperties {
     this.allowList = allowList;
   }
 
+  public int getRetrievalThreads() {
+    return retrievalThreads;
+  }
+
+  public void setRetrievalThreads(int retrievalThreads) {
+    this.retrievalThreads = retrievalThreads;
+  }
+
   public List<String> getNormalizedAllowList() {
     return allowList.stream()
         .filter(p -> !Strings.isNullOrEmpty(p))
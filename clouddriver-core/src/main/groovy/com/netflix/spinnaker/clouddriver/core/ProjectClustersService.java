@@ -25,6 +25,7 @@ import com.netflix.spinnaker.clouddriver.model.ClusterProvider;
 import com.netflix.spinnaker.clouddriver.model.ServerGroup;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.inject.Provider;
@@ -79,6 +80,97 @@ public class ProjectClustersService {
     return projectClusters;
   }
 
+  /**
+   * Loads the definitions of {@code projectNames} from front50. Projects that can't be loaded are
+   * logged and left out.
+   */
+  public List<Project> getProjects(List<String> projectNames) {
+    List<Project> projects = new ArrayList<>();
+
+    for (String projectName : projectNames) {
+      try {
+        Project project =
+            objectMapper.convertValue(front50Service.getProject(projectName), Project.class);
+        if (project == null || project.config == null || project.config.clusters == null) {
+          log.error("Project '{}' does not have a cluster configuration", projectName);
+          continue;
+        }
+        projects.add(project);
+      } catch (IllegalArgumentException e) {
+        log.error("Could not marshal project '{}' to internal model", projectName, e);
+      } catch (Exception e) {
+        log.error("Unable to fetch project '{}'", projectName, e);
+      }
+    }
+
+    return projects;
+  }
+
+  /** @return the applications whose clusters are retrieved for {@code project} */
+  public static List<String> getApplications(Project project) {
+    return Optional.ofNullable(project.config.applications).orElse(Collections.emptyList());
+  }
+
+  /**
+   * Retrieves the clusters of {@code application} that match any of {@code projectClusters}, so
+   * that the clusters of an application that's part of several projects can be retrieved once for
+   * all of them.
+   */
+  public Set<Cluster> retrieveClusters(
+      String application, Collection<ProjectCluster> projectClusters) {
+    Set<Cluster> clusters = new HashSet<>();
+    for (RetrievedClusters retrieved : retrieveClusters(application, projectClusters)) {
+      clusters.addAll(retrieved.clusters);
+    }
+    return clusters;
+  }
+
+  /**
+   * Builds the cluster models of {@code project} from clusters that were retrieved up front.
+   *
+   * @param allClusters clusters by application, which may include applications of other projects
+   */
+  public List<ClusterModel> getProjectClusters(
+      Project project, Map<String, Set<Cluster>> allClusters) {
+    Set<String> applications = new HashSet<>(getApplications(project));
+    return buildClusterModels(
+        project,
+        application -> applications.contains(application) ? allClusters.get(application) : null);
+  }
+
+  /**
+   * @return everything the {@link ClusterModel}s of {@code clusters} are built from, so models only
+   *     need to be rebuilt when it's no longer equal to the fingerprint of the last build. The
+   *     clusters have to be retrieved to compute it, so it saves the rebuild, not the retrieval.
+   */
+  public static Set<List<Object>> fingerprint(Set<Cluster> clusters) {
+    Set<List<Object>> fingerprint = new HashSet<>();
+    for (Cluster cluster : clusters) {
+      if (cluster == null || cluster.getServerGroups() == null) {
+        continue;
+      }
+      for (ServerGroup serverGroup : cluster.getServerGroups()) {
+        if (serverGroup == null) {
+          continue;
+        }
+        ServerGroup.ImagesSummary imagesSummary = serverGroup.getImagesSummary();
+        List<? extends ServerGroup.ImageSummary> imageSummaries =
+            imagesSummary == null ? Collections.emptyList() : imagesSummary.getSummaries();
+        fingerprint.add(
+            Arrays.asList(
+                cluster.getAccountName(),
+                cluster.getName(),
+                serverGroup.getName(),
+                serverGroup.getRegion(),
+                serverGroup.isDisabled(),
+                serverGroup.getCreatedTime(),
+                serverGroup.getInstanceCounts(),
+                imageSummaries.isEmpty() ? null : imageSummaries.get(0).getBuildInfo()));
+      }
+    }
+    return fingerprint;
+  }
+
   public List<ClusterModel> getProjectClusters(String projectName) {
     Map projectData = front50Service.getProject(projectName);
 
@@ -98,10 +190,14 @@ public class ProjectClustersService {
   }
 
   public List<ClusterModel> getProjectClusters(Project project) {
-    List<String> applicationsToRetrieve =
-        Optional.ofNullable(project.config.applications).orElse(Collections.emptyList());
+    List<String> applicationsToRetrieve = getApplications(project);
     Map<String, Set<Cluster>> allClusters = retrieveClusters(applicationsToRetrieve, project);
 
+    return buildClusterModels(project, allClusters::get);
+  }
+
+  private List<ClusterModel> buildClusterModels(
+      Project project, Function<String, Set<Cluster>> clustersForApplication) {
     return project.config.clusters.stream()
         .map(
             projectCluster -> {
@@ -112,7 +208,8 @@ public class ProjectClustersService {
                   applications.stream()
                       .map(
                           application -> {
-                            Set<Cluster> appClusters = allClusters.get(application);
+                            Set<Cluster> appClusters =
+                                clustersForApplication.apply(application);
                             Set<Cluster> clusterMatches =
                                 findClustersForProject(appClusters, projectCluster);
                             return new ApplicationClusterModel(application, clusterMatches);
@@ -132,7 +229,8 @@ public class ProjectClustersService {
     Map<String, Set<Cluster>> allClusters = new HashMap<>();
 
     for (String application : applications) {
-      for (RetrievedClusters clusters : retrieveClusters(application, project)) {
+      for (RetrievedClusters clusters :
+          retrieveClusters(application, project.config.clusters)) {
         allClusters
             .computeIfAbsent(clusters.application, s -> new HashSet<>())
             .addAll(clusters.clusters);
@@ -159,7 +257,8 @@ public class ProjectClustersService {
         .collect(Collectors.toSet());
   }
 
-  private List<RetrievedClusters> retrieveClusters(String application, Project project) {
+  private List<RetrievedClusters> retrieveClusters(
+      String application, Collection<ProjectCluster> projectClusters) {
     return clusterProviders.get().stream()
         .map(
             clusterProvider -> {
@@ -175,7 +274,7 @@ public class ProjectClustersService {
                       .collect(Collectors.toSet());
 
               Set<Cluster> matchingClusterSummaries = new HashSet<>();
-              for (ProjectCluster projectCluster : project.config.clusters) {
+              for (ProjectCluster projectCluster : projectClusters) {
                 matchingClusterSummaries.addAll(
                     findClustersForProject(allClusterSummaries, projectCluster));
               }
@@ -207,11 +306,46 @@ public class ProjectClustersService {
   public static class Project {
     public String name;
     public ProjectConfig config;
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Project project = (Project) o;
+      return Objects.equals(name, project.name) && Objects.equals(config, project.config);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, config);
+    }
   }
 
   public static class ProjectConfig {
     public List<ProjectCluster> clusters;
     public List<String> applications;
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ProjectConfig that = (ProjectConfig) o;
+      return Objects.equals(clusters, that.clusters)
+          && Objects.equals(applications, that.applications);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(clusters, applications);
+    }
   }
 
   public static class ProjectCluster {
@@ -219,6 +353,26 @@ public class ProjectClustersService {
     public String stack;
     public String detail;
     public List<String> applications;
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ProjectCluster that = (ProjectCluster) o;
+      return Objects.equals(account, that.account)
+          && Objects.equals(stack, that.stack)
+          && Objects.equals(detail, that.detail)
+          && Objects.equals(applications, that.applications);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(account, stack, detail, applications);
+    }
   }
 
   static class RetrievedClusters {
@@ -19,6 +19,7 @@ import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITA
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.PROJECT_CLUSTERS;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.cats.agent.AgentDataType;
 import com.netflix.spinnaker.cats.agent.CacheResult;
 import com.netflix.spinnaker.cats.agent.CachingAgent;
@@ -28,15 +29,40 @@ import com.netflix.spinnaker.cats.provider.ProviderCache;
 import com.netflix.spinnaker.clouddriver.cache.CustomScheduledAgent;
 import com.netflix.spinnaker.clouddriver.config.ProjectClustersCachingAgentProperties;
 import com.netflix.spinnaker.clouddriver.core.ProjectClustersService;
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService.ClusterModel;
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService.Project;
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService.ProjectCluster;
 import com.netflix.spinnaker.clouddriver.core.provider.CoreProvider;
+import com.netflix.spinnaker.clouddriver.model.Cluster;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Caches the clusters of all allowed projects.
+ *
+ * <p>The clusters of each application are retrieved once per run, however many projects it's part
+ * of, and concurrently with those of other applications. Every application is still retrieved on
+ * every run: cluster providers don't expose a cheaper way to tell whether instance counts or build
+ * info changed. What's avoided is rebuilding the cluster models of a project whose definition and
+ * applications' clusters are unchanged since the last run; the models of the last run are cached
+ * again instead.
+ */
 public class ProjectClustersCachingAgent implements CachingAgent, CustomScheduledAgent {
 
+  private static final Logger log = LoggerFactory.getLogger(ProjectClustersCachingAgent.class);
+
   private static final long DEFAULT_POLL_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
   private static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
 
@@ -45,12 +71,23 @@ public class ProjectClustersCachingAgent implements CachingAgent, CustomSchedule
 
   private final ProjectClustersService projectClustersService;
   private final ProjectClustersCachingAgentProperties properties;
+  private final ExecutorService retrievalExecutor;
+
+  private Map<String, Set<List<Object>>> applicationFingerprints = Collections.emptyMap();
+  private Map<String, ProjectModels> projectModels = Collections.emptyMap();
 
   public ProjectClustersCachingAgent(
       ProjectClustersService projectClustersService,
       ProjectClustersCachingAgentProperties properties) {
     this.projectClustersService = projectClustersService;
     this.properties = properties;
+    this.retrievalExecutor =
+        Executors.newFixedThreadPool(
+            Math.max(1, properties.getRetrievalThreads()),
+            new ThreadFactoryBuilder()
+                .setNameFormat(ProjectClustersCachingAgent.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build());
   }
 
   @Override
@@ -59,17 +96,116 @@ public class ProjectClustersCachingAgent implements CachingAgent, CustomSchedule
   }
 
   @Override
-  public CacheResult loadData(ProviderCache providerCache) {
+  public synchronized CacheResult loadData(ProviderCache providerCache) {
+    List<Project> projects =
+        projectClustersService.getProjects(properties.getNormalizedAllowList());
+
+    Map<String, Set<ProjectCluster>> projectClustersByApplication = new HashMap<>();
+    for (Project project : projects) {
+      for (String application : ProjectClustersService.getApplications(project)) {
+        projectClustersByApplication
+            .computeIfAbsent(application, a -> new HashSet<>())
+            .addAll(project.config.clusters);
+      }
+    }
+
+    Map<String, Future<Set<Cluster>>> retrievals = new HashMap<>();
+    projectClustersByApplication.forEach(
+        (application, projectClusters) -> {
+          if (!projectClusters.isEmpty()) {
+            retrievals.put(
+                application,
+                retrievalExecutor.submit(
+                    () -> projectClustersService.retrieveClusters(application, projectClusters)));
+          }
+        });
+
+    Map<String, Set<Cluster>> clusters = new HashMap<>();
+    Map<String, Set<List<Object>>> fingerprints = new HashMap<>();
+    Set<String> changedApplications = new HashSet<>();
+    Set<String> failedApplications = new HashSet<>();
+    try {
+      for (Map.Entry<String, Future<Set<Cluster>>> retrieval : retrievals.entrySet()) {
+        String application = retrieval.getKey();
+        try {
+          Set<Cluster> applicationClusters = retrieval.getValue().get();
+          Set<List<Object>> fingerprint = ProjectClustersService.fingerprint(applicationClusters);
+          clusters.put(application, applicationClusters);
+          fingerprints.put(application, fingerprint);
+          if (!fingerprint.equals(applicationFingerprints.get(application))) {
+            changedApplications.add(application);
+          }
+        } catch (ExecutionException e) {
+          log.error("Unable to retrieve clusters for application '{}'", application, e.getCause());
+          failedApplications.add(application);
+        }
+      }
+    } catch (InterruptedException e) {
+      retrievals.values().forEach(retrieval -> retrieval.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while retrieving project clusters", e);
+    }
+
+    Map<String, Object> projectClusters = new HashMap<>();
+    Map<String, ProjectModels> models = new HashMap<>();
+    int rebuilt = 0;
+    for (Project project : projects) {
+      if (project.config.clusters.isEmpty()) {
+        log.debug("Project '{}' does not have any clusters", project.name);
+        projectClusters.put(project.name, Collections.emptyList());
+        continue;
+      }
+
+      List<String> applications = ProjectClustersService.getApplications(project);
+      if (applications.stream().anyMatch(failedApplications::contains)) {
+        log.error("Unable to fetch clusters for project '{}'", project.name);
+        continue;
+      }
+
+      ProjectModels previous = projectModels.get(project.name);
+      List<ClusterModel> clusterModels;
+      if (previous != null
+          && previous.project.equals(project)
+          && applications.stream().noneMatch(changedApplications::contains)) {
+        clusterModels = previous.clusterModels;
+      } else {
+        try {
+          clusterModels = projectClustersService.getProjectClusters(project, clusters);
+          rebuilt++;
+        } catch (Exception e) {
+          log.error("Unable to fetch clusters for project '{}'", project.name, e);
+          continue;
+        }
+      }
+
+      projectClusters.put(project.name, clusterModels);
+      models.put(project.name, new ProjectModels(project, clusterModels));
+    }
+    log.debug(
+        "Rebuilt the clusters of {} of {} projects, {} of {} applications changed",
+        rebuilt,
+        projects.size(),
+        changedApplications.size(),
+        retrievals.size());
+
+    applicationFingerprints = fingerprints;
+    projectModels = models;
+
     return new DefaultCacheResult(
         Collections.singletonMap(
             PROJECT_CLUSTERS.ns,
             Collections.singletonList(
-                new MutableCacheData(
-                    "v1",
-                    new HashMap<>(
-                        projectClustersService.getProjectClusters(
-                            properties.getNormalizedAllowList())),
-                    Collections.emptyMap()))));
+                new MutableCacheData("v1", projectClusters, Collections.emptyMap()))));
+  }
+
+  private static class ProjectModels {
+    private final Project project;
+    private final List<ClusterModel> clusterModels;
+
+    ProjectModels(Project project, List<ClusterModel> clusterModels) {
+      this.project = project;
+      this.clusterModels = clusterModels;
+    }
   }
 
   static class MutableCacheData implements CacheData {
@@ -39,7 +39,8 @@ enum Namespace {
   RESERVED_INSTANCES,
   PROJECT_CLUSTERS,
   STACKS,
-  LAUNCH_TEMPLATES
+  LAUNCH_TEMPLATES,
+  CLUSTER_PROJECTIONS
 
   public final String ns
   final Set<String> fields
@@ -57,6 +57,15 @@ public interface ClusterProvider<T extends Cluster> {
   @Empty
   Map<String, Set<T>> getClusterDetails(String application);
 
+  /**
+   * Similar to {@link #getClusterDetails(java.lang.String)}, but server groups only need to be
+   * populated with the requested {@code fields}.
+   */
+  @Empty
+  default Map<String, Set<T>> getClusterDetails(String application, FieldProjection fields) {
+    return getClusterDetails(application);
+  }
+
   /**
    * Looks up all of the clusters known to this provider to be for a specified application and
    * within a {@link com.netflix.spinnaker.clouddriver.security.AccountCredentials} registered with
@@ -111,6 +120,16 @@ public interface ClusterProvider<T extends Cluster> {
   @Nullable
   ServerGroup getServerGroup(String account, String region, String name);
 
+  /**
+   * Similar to {@link #getServerGroup(String, String, String, boolean)}, but the server group only
+   * needs to be populated with the requested {@code fields}.
+   */
+  @Nullable
+  default ServerGroup getServerGroup(
+      String account, String region, String name, boolean includeDetails, FieldProjection fields) {
+    return getServerGroup(account, region, name, includeDetails);
+  }
+
   /** @return the identifier of the backing cloud provider */
   String getCloudProviderId();
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * The fields of a model object (e.g. a {@link ServerGroup}) that a caller asked for, so that
+ * providers can skip loading the ones that were not requested.
+ *
+ * <p>Field names are the JSON property names of the model object. A nested field (e.g. {@code
+ * capacity.desired}) includes its parent. Fields that are not requested may be left unset, but
+ * providers are free to populate them anyway.
+ */
+public final class FieldProjection {
+  public static final FieldProjection ALL = new FieldProjection(null);
+
+  private final Set<String> fields;
+
+  private FieldProjection(Set<String> fields) {
+    this.fields = fields;
+  }
+
+  /** @return a projection of {@code fields}, or {@link #ALL} if none are given */
+  public static FieldProjection of(@Nullable Collection<String> fields) {
+    if (fields == null) {
+      return ALL;
+    }
+
+    Set<String> requested =
+        fields.stream()
+            .filter(it -> it != null && !it.trim().isEmpty())
+            .map(String::trim)
+            .collect(Collectors.toSet());
+    return requested.isEmpty() ? ALL : new FieldProjection(requested);
+  }
+
+  public boolean includesAll() {
+    return fields == null;
+  }
+
+  public boolean includes(String field) {
+    if (fields == null || fields.contains(field)) {
+      return true;
+    }
+
+    String prefix = field + ".";
+    return fields.stream().anyMatch(it -> it.startsWith(prefix));
+  }
+
+  public boolean includesAny(String... fields) {
+    for (String field : fields) {
+      if (includes(field)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** @return the requested fields, or an empty set if all fields are included */
+  public Set<String> getFields() {
+    return fields == null ? Collections.emptySet() : Collections.unmodifiableSet(fields);
+  }
+
+  @Override
+  public String toString() {
+    return fields == null ? "*" : String.join(",", fields);
+  }
+}
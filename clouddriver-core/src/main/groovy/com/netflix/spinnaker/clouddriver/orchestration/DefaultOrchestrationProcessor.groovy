@@ -17,8 +17,8 @@
 package com.netflix.spinnaker.clouddriver.orchestration
 
 import com.fasterxml.jackson.databind.ObjectMapper
-import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.config.OrchestrationEngineProperties
 import com.netflix.spinnaker.clouddriver.data.task.Task
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
 import com.netflix.spinnaker.clouddriver.event.exceptions.DuplicateEventAggregateException
@@ -34,10 +34,7 @@ import org.springframework.context.ApplicationContext
 
 import javax.annotation.Nonnull
 import javax.annotation.Nullable
-import java.util.concurrent.ExecutorService
-import java.util.concurrent.SynchronousQueue
-import java.util.concurrent.ThreadPoolExecutor
-import java.util.concurrent.TimeUnit
+import java.util.concurrent.RejectedExecutionException
 import java.util.concurrent.TimeoutException
 
 import static com.netflix.spinnaker.security.AuthenticatedRequest.propagate
@@ -46,16 +43,7 @@ import static com.netflix.spinnaker.security.AuthenticatedRequest.propagate
 class DefaultOrchestrationProcessor implements OrchestrationProcessor {
   private static final String TASK_PHASE = "ORCHESTRATION"
 
-  protected ExecutorService executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
-    60L, TimeUnit.SECONDS,
-    new SynchronousQueue<Runnable>(),
-    new ThreadFactoryBuilder().setNameFormat(DefaultOrchestrationProcessor.class.getSimpleName() + "-%d").build()) {
-    @Override
-    protected void afterExecute(Runnable r, Throwable t) {
-      clearRequestContext()
-      super.afterExecute(r, t)
-    }
-  }
+  protected final OrchestrationEngine orchestrationEngine
 
   private final TaskRepository taskRepository
   private final ApplicationContext applicationContext
@@ -75,6 +63,30 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
     ExceptionClassifier exceptionClassifier,
     RequestContextProvider contextProvider,
     ExceptionSummaryService exceptionSummaryService
+  ) {
+    this(
+      taskRepository,
+      applicationContext,
+      registry,
+      operationEventHandlers,
+      objectMapper,
+      exceptionClassifier,
+      contextProvider,
+      exceptionSummaryService,
+      new OrchestrationEngine(registry, new OrchestrationEngineProperties())
+    )
+  }
+
+  DefaultOrchestrationProcessor(
+    TaskRepository taskRepository,
+    ApplicationContext applicationContext,
+    Registry registry,
+    Optional<Collection<OperationEventHandler>> operationEventHandlers,
+    ObjectMapper objectMapper,
+    ExceptionClassifier exceptionClassifier,
+    RequestContextProvider contextProvider,
+    ExceptionSummaryService exceptionSummaryService,
+    OrchestrationEngine orchestrationEngine
   ) {
     this.taskRepository = taskRepository
     this.applicationContext = applicationContext
@@ -84,6 +96,7 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
     this.exceptionClassifier = exceptionClassifier
     this.contextProvider = contextProvider
     this.exceptionSummaryService = exceptionSummaryService
+    this.orchestrationEngine = orchestrationEngine
   }
 
   @Override
@@ -186,7 +199,23 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
     }
 
     def timedCallable = TimedCallable.forCallable(registry, orchestrationsId, propagate(operationClosure, true))
-    executorService.submit(timedCallable)
+    def operationTypes = atomicOperations.collect { it.class.simpleName }
+    def lane = OrchestrationEngine.lane(cloudProvider, operationTypes ? operationTypes.first() : "none")
+    try {
+      orchestrationEngine.submit(lane, orchestrationEngine.priority(operationTypes), orchestrationsId) {
+        try {
+          timedCallable.call()
+        } finally {
+          clearRequestContext()
+        }
+      }
+    } catch (RejectedExecutionException e) {
+      log.warn("Rejected orchestration (lane: ${lane}, clientRequestId: ${clientRequestId})", e)
+      task.updateStatus TASK_PHASE, "Orchestration rejected: ${e.message}"
+      task.addResultObjects([extractExceptionSummary(e, "Orchestration rejected, too many orchestrations are in progress.")])
+      // nothing has been done yet, so the orchestration can be submitted again
+      task.fail(true)
+    }
 
     task
   }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.orchestration;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.clouddriver.config.OrchestrationEngineProperties;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs orchestrations with bounded concurrency.
+ *
+ * <p>Orchestrations are grouped in lanes (a cloud provider and the type of their first atomic
+ * operation), each of which runs a limited number of orchestrations at the same time. Submitted
+ * orchestrations wait in a queue until both their lane and the engine have capacity, high priority
+ * ones (e.g. rollbacks) ahead of the others. Orchestrations are rejected once too many are waiting.
+ */
+public class OrchestrationEngine {
+  private static final Logger log = LoggerFactory.getLogger(OrchestrationEngine.class);
+
+  private static final String THREAD_NAME = DefaultOrchestrationProcessor.class.getSimpleName();
+
+  public enum Priority {
+    HIGH,
+    NORMAL
+  }
+
+  private final Registry registry;
+  private final OrchestrationEngineProperties properties;
+  private final ExecutorService executorService;
+
+  private final TreeSet<Entry> queue =
+      new TreeSet<>(
+          Comparator.comparing((Entry entry) -> entry.priority)
+              .thenComparingLong(entry -> entry.sequence));
+  private final Map<String, Integer> runningByLane = new HashMap<>();
+  private int running;
+  private long sequence;
+  private boolean shutdown;
+
+  public OrchestrationEngine(Registry registry, OrchestrationEngineProperties properties) {
+    this.registry = registry;
+    this.properties = properties;
+    this.executorService = Executors.newCachedThreadPool(threadFactory(properties));
+
+    registry.gauge(registry.createId("orchestrations.queued"), this, e -> e.getQueueDepth());
+    registry.gauge(registry.createId("orchestrations.running"), this, e -> e.getRunning());
+  }
+
+  public static String lane(String cloudProvider, String operationType) {
+    return (cloudProvider == null ? "unknown" : cloudProvider) + ":" + operationType;
+  }
+
+  public Priority priority(Collection<String> operationTypes) {
+    for (String operationType : operationTypes) {
+      for (String highPriorityOperation : properties.getHighPriorityOperations()) {
+        if (operationType.contains(highPriorityOperation)) {
+          return Priority.HIGH;
+        }
+      }
+    }
+    return Priority.NORMAL;
+  }
+
+  /**
+   * Queues {@code orchestration} until it can run.
+   *
+   * <p>The time spent in the queue and rejections are recorded as {@code <name>.queueWait} and
+   * {@code <name>.rejected}, with the name and tags of {@code metricId}.
+   *
+   * @throws RejectedExecutionException if too many orchestrations are waiting already
+   */
+  public void submit(String lane, Priority priority, Id metricId, Runnable orchestration) {
+    synchronized (this) {
+      if (shutdown) {
+        throw new RejectedExecutionException("Orchestration engine has been shut down");
+      }
+      if (queue.size() >= properties.getMaxQueuedOrchestrations()) {
+        registry.counter(metricId(metricId, "rejected", priority)).increment();
+        throw new RejectedExecutionException(
+            "Too many orchestrations are waiting to run (lane: "
+                + lane
+                + ", queued: "
+                + queue.size()
+                + ")");
+      }
+      queue.add(
+          new Entry(
+              lane,
+              priority,
+              metricId,
+              orchestration,
+              sequence++,
+              registry.clock().monotonicTime()));
+    }
+    dispatch();
+  }
+
+  public synchronized int getQueueDepth() {
+    return queue.size();
+  }
+
+  public synchronized int getRunning() {
+    return running;
+  }
+
+  /** Stops accepting orchestrations, already queued ones still run. */
+  public synchronized void shutdown() {
+    shutdown = true;
+    if (queue.isEmpty() && running == 0) {
+      executorService.shutdown();
+    }
+  }
+
+  /** Waits for queued and running orchestrations to complete after a {@link #shutdown()}. */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return executorService.awaitTermination(timeout, unit);
+  }
+
+  private void dispatch() {
+    List<Entry> ready = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Entry> iterator = queue.iterator();
+      while (running < properties.getMaxConcurrentOrchestrations() && iterator.hasNext()) {
+        Entry entry = iterator.next();
+        int runningInLane = runningByLane.getOrDefault(entry.lane, 0);
+        if (runningInLane >= laneConcurrency(entry.lane)) {
+          continue;
+        }
+
+        iterator.remove();
+        running++;
+        runningByLane.put(entry.lane, runningInLane + 1);
+        ready.add(entry);
+      }
+    }
+
+    for (Entry entry : ready) {
+      executorService.execute(() -> run(entry));
+    }
+  }
+
+  private void run(Entry entry) {
+    registry
+        .timer(metricId(entry.metricId, "queueWait", entry.priority))
+        .record(registry.clock().monotonicTime() - entry.queuedAt, TimeUnit.NANOSECONDS);
+    try {
+      entry.orchestration.run();
+    } catch (Throwable t) {
+      log.error("Orchestration failed (lane: {})", entry.lane, t);
+    } finally {
+      synchronized (this) {
+        running--;
+        runningByLane.merge(entry.lane, -1, Integer::sum);
+        if (shutdown && queue.isEmpty() && running == 0) {
+          executorService.shutdown();
+        }
+      }
+      dispatch();
+    }
+  }
+
+  private int laneConcurrency(String lane) {
+    return properties
+        .getLaneConcurrency()
+        .getOrDefault(lane, properties.getMaxConcurrentOrchestrationsPerLane());
+  }
+
+  private Id metricId(Id id, String suffix, Priority priority) {
+    return registry
+        .createId(id.name() + "." + suffix, id.tags())
+        .withTag("priority", priority.name().toLowerCase());
+  }
+
+  private static ThreadFactory threadFactory(OrchestrationEngineProperties properties) {
+    if (properties.isVirtualThreads()) {
+      try {
+        Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder =
+            builderType
+                .getMethod("name", String.class, long.class)
+                .invoke(builder, THREAD_NAME + "-", 0L);
+        return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+      } catch (ReflectiveOperationException e) {
+        log.warn("Virtual threads are not supported by this JVM, using platform threads instead");
+      }
+    }
+    return new ThreadFactoryBuilder().setNameFormat(THREAD_NAME + "-%d").build();
+  }
+
+  private static class Entry {
+    private final String lane;
+    private final Priority priority;
+    private final Id metricId;
+    private final Runnable orchestration;
+    private final long sequence;
+    private final long queuedAt;
+
+    private Entry(
+        String lane,
+        Priority priority,
+        Id metricId,
+        Runnable orchestration,
+        long sequence,
+        long queuedAt) {
+      this.lane = lane;
+      this.priority = priority;
+      this.metricId = metricId;
+      this.orchestration = orchestration;
+      this.sequence = sequence;
+      this.queuedAt = queuedAt;
+    }
+  }
+}
@@ -95,4 +95,39 @@ class CatsSearchProviderSpec extends Specification {
     then:
     catsSearchProvider.cachedIdentifiersByType.get() == [:]
   }
+
+  def "should filter keys in place when all of the filtered fields are part of the key"() {
+    given:
+    def keyParser = Mock(CodecKeyParser) {
+      getCloudProvider() >> "aws"
+      canParseType("instances") >> true
+      getNameMapping("instances") >> "instanceId"
+      getKeyCodec() >> new KeyCodec(
+        KeySchema.builder("aws", "instances").internedField("account").internedField("region").field("instanceId").build()
+      )
+    }
+    def searchProvider = new CatsSearchProvider(
+      catsInMemorySearchProperties, cache, providers, providerRegistry, Optional.empty(), Optional.of([keyParser] as List<KeyParser>)
+    )
+    cache.getIdentifiers("instances") >> [
+      "aws:instances:prod:us-west-2:i-1234",
+      "aws:instances:test:us-west-2:i-5678",
+      "aws:instances:prod:eu-west-1:i-9012"
+    ]
+    searchProvider.run()
+
+    when:
+    def matches = searchProvider.findMatches("i-", ["instances"], [cloudProvider: "aws", account: "prod,staging", region: "us-west-2"])
+
+    then:
+    0 * keyParser.parseKey(_)
+    matches == ["aws:instances:prod:us-west-2:i-1234"]
+
+    when: "a filtered field isn't part of the key"
+    matches = searchProvider.findMatches("i-", ["instances"], [cloudProvider: "aws", application: "app"])
+
+    then:
+    3 * keyParser.parseKey(_) >> { String key -> [application: key.endsWith("5678") ? "app" : "other"] }
+    matches == ["aws:instances:test:us-west-2:i-5678"]
+  }
 }
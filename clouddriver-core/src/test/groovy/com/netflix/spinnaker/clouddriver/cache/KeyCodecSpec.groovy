@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+class KeyCodecSpec extends Specification {
+
+  static final KeySchema INSTANCES = KeySchema.builder("aws", "instances")
+    .internedField("account")
+    .internedField("region")
+    .field("instanceId")
+    .build()
+
+  static final KeySchema APPLICATIONS = KeySchema.builder("aws", "applications")
+    .field("application")
+    .build()
+
+  @Subject
+  KeyCodec codec = new KeyCodec(INSTANCES, APPLICATIONS)
+
+  void "parses keys into views of their fields"() {
+    when:
+    def parsed = codec.parse("aws:instances:test:us-east-1:i-1234")
+
+    then:
+    parsed.schema == INSTANCES
+    parsed.get("provider") == "aws"
+    parsed.get("type") == "instances"
+    parsed.get("account") == "test"
+    parsed.get("region") == "us-east-1"
+    parsed.get("instanceId") == "i-1234"
+    parsed.get("cluster") == null
+
+    parsed.matches("region", "us-east-1")
+    !parsed.matches("region", "us-east")
+    !parsed.matches("region", "us-east-10")
+    parsed.matchesAny("account", ["prod", "test"])
+    parsed.has("instanceId")
+    !parsed.has("cluster")
+
+    parsed.toMap() == [
+      provider: "aws", type: "instances", account: "test", region: "us-east-1", instanceId: "i-1234"
+    ]
+  }
+
+  @Unroll
+  void "parses '#key' like splitting it would"() {
+    expect:
+    codec.parseToMap(key) == expected
+
+    where:
+    key                                        || expected
+    "aws:instances:test:us-east-1:i-1234"      || [provider: "aws", type: "instances", account: "test", region: "us-east-1", instanceId: "i-1234"]
+    "aws:instances:test:us-east-1:i-1234:more" || [provider: "aws", type: "instances", account: "test", region: "us-east-1", instanceId: "i-1234"]
+    "aws:instances:test::i-1234"               || [provider: "aws", type: "instances", account: "test", region: "", instanceId: "i-1234"]
+    "aws:applications:app"                     || [provider: "aws", type: "applications", application: "app"]
+    "aws:instances:test:us-east-1"             || null
+    "aws:instances:test:us-east-1:"            || null
+    "aws:instances:test:us-east-1::"           || null
+    "aws:applications:"                        || null
+    "aws:clusters:app:test:app-main"           || null
+    "gce:instances:test:us-east-1:i-1234"      || null
+    "aws"                                      || null
+  }
+
+  void "extracts single fields without parsing the whole key"() {
+    expect:
+    codec.extract("aws:instances:test:us-east-1:i-1234", "instanceId") == "i-1234"
+    codec.extract("aws:instances:test:us-east-1:i-1234", "account") == "test"
+    codec.extract("aws:instances:test:us-east-1:i-1234", "application") == null
+    codec.extract("aws:instances:test", "instanceId") == null
+    codec.extract("aws:clusters:app:test:app-main", "account") == null
+  }
+
+  void "interns repeated fields"() {
+    when:
+    def first = codec.parse("aws:instances:" + new String("test") + ":us-east-1:i-1")
+    def second = codec.parse("aws:instances:" + new String("test") + ":us-east-1:i-2")
+
+    then:
+    first.get("account").is(second.get("account"))
+    first.get("region").is(second.get("region"))
+    !first.get("instanceId").is(codec.parse(first.key).get("instanceId"))
+  }
+
+  void "fields must be unique"() {
+    when:
+    KeySchema.builder("aws", "instances").field("account").field("account")
+
+    then:
+    thrown(IllegalArgumentException)
+
+    when:
+    KeySchema.builder("aws", "instances").field("type")
+
+    then:
+    thrown(IllegalArgumentException)
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.core.agent
+
+import com.netflix.spinnaker.clouddriver.config.ProjectClustersCachingAgentProperties
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService.ClusterModel
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService.Project
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService.ProjectCluster
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersService.ProjectConfig
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersServiceSpec.TestCluster
+import com.netflix.spinnaker.clouddriver.core.ProjectClustersServiceSpec.TestServerGroup
+import com.netflix.spinnaker.clouddriver.model.Cluster
+import com.netflix.spinnaker.clouddriver.model.ServerGroup
+import spock.lang.Specification
+import spock.lang.Subject
+
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.PROJECT_CLUSTERS
+
+class ProjectClustersCachingAgentSpec extends Specification {
+
+  def projectClustersService = Mock(ProjectClustersService)
+  def properties = new ProjectClustersCachingAgentProperties(allowList: ["orca", "deck"])
+
+  @Subject
+  def agent = new ProjectClustersCachingAgent(projectClustersService, properties)
+
+  def orca = project("orca", ["orca"])
+  def deck = project("deck", ["deck", "orca"])
+
+  void "retrieves the clusters of applications that are part of several projects once"() {
+    when:
+    def result = agent.loadData(null)
+
+    then:
+    1 * projectClustersService.getProjects(["orca", "deck"]) >> [orca, deck]
+    1 * projectClustersService.retrieveClusters("orca", _) >> clusters("orca", 1)
+    1 * projectClustersService.retrieveClusters("deck", _) >> clusters("deck", 1)
+    1 * projectClustersService.getProjectClusters(orca, _) >> [model("orca")]
+    1 * projectClustersService.getProjectClusters(deck, _) >> [model("deck")]
+
+    projectClusters(result).keySet() == ["orca", "deck"] as Set
+  }
+
+  void "only rebuilds the clusters of projects whose applications changed"() {
+    given:
+    projectClustersService.getProjects(_) >> [orca, deck]
+    projectClustersService.retrieveClusters("orca", _) >> clusters("orca", 1)
+    projectClustersService.retrieveClusters("deck", _) >>> [clusters("deck", 1), clusters("deck", 2)]
+
+    when:
+    agent.loadData(null)
+    def result = agent.loadData(null)
+
+    then:
+    1 * projectClustersService.getProjectClusters(orca, _) >> [model("orca")]
+    2 * projectClustersService.getProjectClusters(deck, _) >> [model("deck")]
+
+    projectClusters(result)["orca"]*.account == ["orca"]
+    projectClusters(result)["deck"]*.account == ["deck"]
+  }
+
+  void "rebuilds the clusters of projects whose definition changed"() {
+    given:
+    def changedOrca = project("orca", ["orca"], "test")
+    projectClustersService.getProjects(_) >>> [[orca], [changedOrca]]
+    projectClustersService.retrieveClusters("orca", _) >> clusters("orca", 1)
+
+    when:
+    agent.loadData(null)
+    agent.loadData(null)
+
+    then:
+    1 * projectClustersService.getProjectClusters(orca, _) >> [model("orca")]
+    1 * projectClustersService.getProjectClusters(changedOrca, _) >> [model("orca")]
+  }
+
+  void "leaves out projects whose applications could not be retrieved"() {
+    given:
+    projectClustersService.getProjects(_) >> [orca, deck]
+    projectClustersService.retrieveClusters("orca", _) >> clusters("orca", 1)
+    projectClustersService.retrieveClusters("deck", _) >> { throw new IllegalStateException("boom") }
+    projectClustersService.getProjectClusters(orca, _) >> [model("orca")]
+
+    when:
+    def result = agent.loadData(null)
+
+    then:
+    projectClusters(result).keySet() == ["orca"] as Set
+  }
+
+  private static Project project(String name, List<String> applications, String stack = "main") {
+    new Project(
+      name: name,
+      config: new ProjectConfig(
+        applications: applications,
+        clusters: [new ProjectCluster(account: "prod", stack: stack)]
+      )
+    )
+  }
+
+  private static Set<Cluster> clusters(String application, int instances) {
+    [
+      new TestCluster(
+        name: "${application}-main",
+        accountName: "prod",
+        serverGroups: [
+          new TestServerGroup(
+            name: "${application}-main-v001",
+            region: "us-east-1",
+            createdTime: 1L,
+            instanceCounts: new ServerGroup.InstanceCounts(total: instances, up: instances)
+          )
+        ] as Set
+      )
+    ] as Set
+  }
+
+  private static ClusterModel model(String account) {
+    new ClusterModel(account, "main", null, [])
+  }
+
+  private static Map<String, List<ClusterModel>> projectClusters(result) {
+    result.cacheResults[PROJECT_CLUSTERS.ns][0].attributes as Map<String, List<ClusterModel>>
+  }
+}
@@ -177,8 +177,8 @@ class DefaultOrchestrationProcessorSpec extends Specification {
 
   private void submitAndWait(AtomicOperation atomicOp) {
     processor.process("cloudProvider", [atomicOp], taskKey)
-    processor.executorService.shutdown()
-    processor.executorService.awaitTermination(5, TimeUnit.SECONDS)
+    processor.orchestrationEngine.shutdown()
+    processor.orchestrationEngine.awaitTermination(5, TimeUnit.SECONDS)
   }
 
   private static class NonRetryableException extends RuntimeException {}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.orchestration
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.clouddriver.config.OrchestrationEngineProperties
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+import static com.netflix.spinnaker.clouddriver.orchestration.OrchestrationEngine.Priority.HIGH
+import static com.netflix.spinnaker.clouddriver.orchestration.OrchestrationEngine.Priority.NORMAL
+
+class OrchestrationEngineSpec extends Specification {
+  def registry = new DefaultRegistry()
+  def metricId = registry.createId("orchestrations").withTag("cloudProvider", "aws")
+  def release = new CountDownLatch(1)
+  def completed = new CopyOnWriteArrayList<String>()
+
+  OrchestrationEngine engine
+
+  def cleanup() {
+    release.countDown()
+    engine.shutdown()
+    engine.awaitTermination(5, TimeUnit.SECONDS)
+  }
+
+  def "should limit the number of orchestrations running in a lane"() {
+    given:
+    engine = new OrchestrationEngine(registry, new OrchestrationEngineProperties(maxConcurrentOrchestrationsPerLane: 1))
+
+    when:
+    engine.submit("aws:Deploy", NORMAL, metricId, blocking("first"))
+    engine.submit("aws:Deploy", NORMAL, metricId, blocking("second"))
+    engine.submit("aws:Resize", NORMAL, metricId, blocking("other lane"))
+
+    then:
+    engine.running == 2
+    engine.queueDepth == 1
+
+    when:
+    release.countDown()
+    engine.shutdown()
+    engine.awaitTermination(5, TimeUnit.SECONDS)
+
+    then:
+    completed.sort() == ["first", "other lane", "second"]
+    engine.running == 0
+    registry.timer(registry.createId("orchestrations.queueWait", metricId.tags()).withTag("priority", "normal")).count() == 3
+  }
+
+  def "should start high priority orchestrations first"() {
+    given:
+    engine = new OrchestrationEngine(registry, new OrchestrationEngineProperties(maxConcurrentOrchestrations: 1))
+
+    when:
+    engine.submit("aws:Deploy", NORMAL, metricId, blocking("running"))
+    engine.submit("aws:Deploy", NORMAL, metricId, blocking("deploy"))
+    engine.submit("aws:Rollback", HIGH, metricId, blocking("rollback"))
+    release.countDown()
+    engine.shutdown()
+    engine.awaitTermination(5, TimeUnit.SECONDS)
+
+    then:
+    completed == ["running", "rollback", "deploy"]
+  }
+
+  def "should reject orchestrations once the queue is full"() {
+    given:
+    engine = new OrchestrationEngine(registry, new OrchestrationEngineProperties(
+      maxConcurrentOrchestrations: 1,
+      maxQueuedOrchestrations: 1
+    ))
+
+    when:
+    engine.submit("aws:Deploy", NORMAL, metricId, blocking("running"))
+    engine.submit("aws:Deploy", NORMAL, metricId, blocking("queued"))
+    engine.submit("aws:Deploy", NORMAL, metricId, blocking("rejected"))
+
+    then:
+    thrown(RejectedExecutionException)
+    registry.counter(registry.createId("orchestrations.rejected", metricId.tags()).withTag("priority", "normal")).count() == 1
+  }
+
+  def "should prioritize configured operation types"() {
+    given:
+    engine = new OrchestrationEngine(registry, new OrchestrationEngineProperties())
+
+    expect:
+    engine.priority(operationTypes) == priority
+
+    where:
+    operationTypes                                                  || priority
+    ["DeployAtomicOperation"]                                       || NORMAL
+    ["RollbackServerGroupAtomicOperation"]                          || HIGH
+    ["DeployAtomicOperation", "DisableAsgAtomicOperation"]          || HIGH
+  }
+
+  private Runnable blocking(String name) {
+    return {
+      release.await(5, TimeUnit.SECONDS)
+      completed << name
+    }
+  }
+}
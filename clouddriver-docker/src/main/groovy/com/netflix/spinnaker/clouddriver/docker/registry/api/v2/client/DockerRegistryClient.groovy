@@ -31,6 +31,7 @@ import retrofit.RetrofitError
 import retrofit.client.Response
 import retrofit.converter.GsonConverter
 import retrofit.http.GET
+import retrofit.http.HEAD
 import retrofit.http.Header
 import retrofit.http.Headers
 import retrofit.http.Path
@@ -238,6 +239,12 @@ class DockerRegistryClient {
     ])
     Response getManifest(@Path(value="name", encode=false) String name, @Path(value="reference", encode=false) String reference, @Header("Authorization") String token, @Header("User-Agent") String agent)
 
+    @HEAD("/v2/{name}/manifests/{reference}")
+    @Headers([
+      "Docker-Distribution-API-Version: registry/2.0"
+    ])
+    Response headManifest(@Path(value="name", encode=false) String name, @Path(value="reference", encode=false) String reference, @Header("Authorization") String token, @Header("User-Agent") String agent)
+
     @GET("/v2/_catalog")
     @Headers([
         "Docker-Distribution-API-Version: registry/2.0"
@@ -258,11 +265,34 @@ class DockerRegistryClient {
     Response checkVersion(@Header("Authorization") String token, @Header("User-Agent") String agent)
   }
 
+  // Set once the registry turns out not to support HEAD requests for manifests.
+  private volatile boolean headManifestUnsupported = false
+
   public String getDigest(String name, String tag) {
-    def response = getManifest(name, tag)
-    def headers = response.headers
-    def digest = headers?.find {
-      it.name == "Docker-Content-Digest"
+    // A HEAD request returns the same digest header without the manifest, and most registries don't count it against
+    // their pull rate limits.
+    if (!headManifestUnsupported) {
+      try {
+        def digest = findDigest(headManifest(name, tag))
+        if (digest) {
+          return digest
+        }
+        headManifestUnsupported = true
+      } catch (RetrofitError e) {
+        if (![405, 501].contains(e.response?.status)) {
+          throw e
+        }
+        headManifestUnsupported = true
+      }
+      log.info("Registry $address does not return digests for HEAD manifest requests, falling back to GET")
+    }
+
+    return findDigest(getManifest(name, tag))
+  }
+
+  private static String findDigest(Response response) {
+    def digest = response?.headers?.find {
+      it.name.equalsIgnoreCase("Docker-Content-Digest")
     }
     return digest?.value
   }
@@ -288,6 +318,14 @@ class DockerRegistryClient {
     }, name)
   }
 
+  private Response headManifest(String name, String tag) {
+    request({
+      registryService.headManifest(name, tag, tokenService.basicAuthHeader, userAgent)
+    }, { token ->
+      registryService.headManifest(name, tag, token, userAgent)
+    }, name)
+  }
+
   private static String parseLink(retrofit.client.Header header) {
     if (!header.name.equalsIgnoreCase("link")) {
       return null
@@ -16,6 +16,10 @@
 
 package com.netflix.spinnaker.clouddriver.docker.registry.cache
 
+import com.netflix.spinnaker.clouddriver.cache.KeyCodec
+import com.netflix.spinnaker.clouddriver.cache.KeySchema
+import com.netflix.spinnaker.clouddriver.cache.ParsedKey
+
 class Keys {
   static enum Namespace {
     TAGGED_IMAGE,
@@ -36,35 +40,26 @@ class Keys {
     }
   }
 
-  static Map<String, String> parse(String key) {
-    def parts = key.split(':')
-
-    if (parts.length < 2) {
-      return null
-    }
-
-    def result = [provider: parts[0], type: parts[1]]
+  static final KeyCodec CODEC = new KeyCodec(
+    KeySchema.builder(Namespace.provider, Namespace.TAGGED_IMAGE.ns)
+      .internedField("account")
+      .internedField("repository")
+      .field("tag")
+      .build(),
+    KeySchema.builder(Namespace.provider, Namespace.IMAGE_ID.ns)
+      .field("imageId")
+      .build()
+  )
 
-    if (result.provider != Namespace.provider) {
-      return null
-    }
-
-    switch (result.type) {
-      case Namespace.TAGGED_IMAGE.ns:
-        if (parts.length < 5) {
-          return null
-        }
-        result << [account: parts[2], repository: parts[3], tag: parts[4]]
-        break
-      case Namespace.IMAGE_ID.ns:
-        result << [imageId: parts[2]]
-        break
-      default:
-        return null
-        break
-    }
+  static Map<String, String> parse(String key) {
+    return CODEC.parseToMap(key)
+  }
 
-    result
+  /**
+   * Parses {@code key} without copying its fields into a map, for callers going through many keys.
+   */
+  static ParsedKey parseKey(String key) {
+    return CODEC.parse(key)
   }
 
   static String getTaggedImageKey(String account, String repository, String tag) {
@@ -56,8 +56,7 @@ class DockerRegistryImageLookupController {
         a.id <=> b.id
       }
     }.collect {
-      def parse = Keys.parse(it.id)
-      return (String) parse.tag
+      return Keys.CODEC.extract(it.id, "tag")
     }
   }
 
@@ -135,20 +134,23 @@ class DockerRegistryImageLookupController {
       images = images.take(lookupOptions.count)
     }
     return images.findResults {
-      def parse = Keys.parse(it)
+      def parse = Keys.parseKey(it)
       if (!parse) {
         return null
       }
-      def credentials = (DockerRegistryNamedAccountCredentials) accountCredentialsProvider.getCredentials((String) parse.account)
+      def account = parse.get("account")
+      def credentials = (DockerRegistryNamedAccountCredentials) accountCredentialsProvider.getCredentials(account)
       if (!credentials) {
         return null
       } else {
+        def repository = parse.get("repository")
+        def tag = parse.get("tag")
         return [
-          repository: (String) parse.repository,
-          tag       : (String) parse.tag,
-          account   : (String) parse.account,
+          repository: repository,
+          tag       : tag,
+          account   : account,
           registry  : credentials.registry,
-          artifact  : generateArtifact(credentials.registry, parse.repository, parse.tag)
+          artifact  : generateArtifact(credentials.registry, repository, tag)
         ]
       }
     }
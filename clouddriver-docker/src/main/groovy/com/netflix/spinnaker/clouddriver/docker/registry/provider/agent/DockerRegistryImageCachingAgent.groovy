@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.clouddriver.docker.registry.provider.agent
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spinnaker.cats.agent.*
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.clouddriver.docker.registry.DockerRegistryCloudProvider
@@ -25,10 +26,17 @@ import com.netflix.spinnaker.clouddriver.docker.registry.cache.Keys
 import com.netflix.spinnaker.clouddriver.docker.registry.provider.DockerRegistryProvider
 import com.netflix.spinnaker.clouddriver.docker.registry.provider.DockerRegistryProviderUtils
 import com.netflix.spinnaker.clouddriver.docker.registry.security.DockerRegistryCredentials
+import groovy.transform.Canonical
 import groovy.util.logging.Slf4j
 import retrofit.RetrofitError
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.concurrent.TimeUnit
 
 import static java.util.Collections.unmodifiableSet
@@ -48,6 +56,15 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
   private final long interval
   private String registry
 
+  /**
+   * Requests to a registry are made on a bounded executor shared by all agents of that registry, so that neither the
+   * agents' own threads nor the common fork join pool are tied up by, or decide the concurrency of, slow registries.
+   */
+  private static final int REGISTRY_CONCURRENCY = 10
+  private static final ConcurrentMap<String, ExecutorService> registryExecutors = new ConcurrentHashMap<>()
+
+  private volatile Map<String, TagMetadata> tagMetadata
+
   DockerRegistryImageCachingAgent(DockerRegistryCloudProvider dockerRegistryCloudProvider,
                                   String accountName,
                                   DockerRegistryCredentials credentials,
@@ -71,6 +88,10 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
 
   @Override
   CacheResult loadData(ProviderCache providerCache) {
+    if (tagMetadata == null) {
+      tagMetadata = loadTagMetadata(providerCache)
+    }
+
     Map<String, Set<String>> tags = loadTags()
 
     buildCacheResult(tags)
@@ -87,16 +108,23 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
   }
 
   private Map<String, Set<String>> loadTags() {
-    credentials.repositories.findAll { it ->
+    def repositories = credentials.repositories.findAll { it ->
       threadCount == 1 || (it.hashCode() % threadCount).abs() == index
-    }.collectEntries { repository ->
-      if(credentials.skip?.contains(repository)) {
-          return [:]
-      }
+    }.findAll { repository ->
+      !credentials.skip?.contains(repository)
+    }
+
+    // Tags of all repositories are requested up front, so their (paginated) tag lists are fetched concurrently.
+    Map<String, Future<DockerRegistryTags>> requests = repositories.collectEntries { repository ->
+      [(repository): registryExecutor.submit({ credentials.client.getTags(repository) } as Callable<DockerRegistryTags>)]
+    }
+
+    requests.collectEntries { repository, request ->
       DockerRegistryTags tags = null
       try {
-        tags = credentials.client.getTags(repository)
-      } catch (Exception e) {
+        tags = request.get()
+      } catch (ExecutionException ee) {
+        def e = ee.cause
         if (e instanceof RetrofitError && e.response?.status == 404) {
           log.warn("Could not load tags for ${repository} in ${credentials.client.address}, reason: ${e.message}")
         } else {
@@ -121,6 +149,23 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
     }
   }
 
+  /**
+   * The digests and creation dates of the tags cached by a previous run of this agent (possibly on another instance),
+   * so that they don't need to be fetched again for tags that haven't changed.
+   */
+  private Map<String, TagMetadata> loadTagMetadata(ProviderCache providerCache) {
+    if (!providerCache) {
+      return [:]
+    }
+
+    def identifiers = providerCache.filterIdentifiers(
+      Keys.Namespace.TAGGED_IMAGE.ns, Keys.getTaggedImageKey(accountName, "*", "*")
+    )
+    providerCache.getAll(Keys.Namespace.TAGGED_IMAGE.ns, identifiers).collectEntries { cacheData ->
+      [(cacheData.id): new TagMetadata(cacheData.attributes.digest as String, cacheData.attributes.date)]
+    }
+  }
+
   @Override
   String getAccountName() {
     return accountName
@@ -132,59 +177,19 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
     ConcurrentMap<String, DefaultCacheDataBuilder> cachedTags = DefaultCacheDataBuilder.defaultCacheDataBuilderMap()
     ConcurrentMap<String, DefaultCacheDataBuilder> cachedIds = DefaultCacheDataBuilder.defaultCacheDataBuilderMap()
 
-    tagMap.forEach { repository, tags ->
-      tags.parallelStream().forEach { tag ->
-        if (!tag) {
-          log.warn("Empty tag encountered for $accountName/$repository, not caching")
-          return
-        }
-        def tagKey = Keys.getTaggedImageKey(accountName, repository, tag)
-        def imageIdKey = Keys.getImageIdKey(DockerRegistryProviderUtils.imageId(registry, repository, tag))
-        def digest = null
-        def creationDate = null
-
-        if (credentials.trackDigests) {
-          try {
-            digest = credentials.client.getDigest(repository, tag)
-          } catch (Exception e) {
-            if (e instanceof RetrofitError && ((RetrofitError) e).response?.status == 404) {
-              // Indicates inconsistency in registry, or deletion between call for all tags and manifest retrieval.
-              // In either case, we need to trust that this tag no longer exists.
-              log.warn("Image manifest for $tagKey no longer available; tag will not be cached: $e.message")
-              return
-            } else {
-              // It is safe to not cache the tag here because igor now persists all the tags it has seen.
-              log.warn("Error retrieving manifest for $tagKey; digest and tag will not be cached: $e.message")
-              return
-            }
-          }
-        }
+    Map<String, TagMetadata> previousTagMetadata = tagMetadata ?: [:]
+    ConcurrentMap<String, TagMetadata> currentTagMetadata = new ConcurrentHashMap<>()
 
-        if (credentials.sortTagsByDate) {
-          try {
-            creationDate = credentials.client.getCreationDate(repository, tag)
-          } catch (Exception e) {
-            log.warn("Unable to fetch tag creation date, reason: {} (tag: {}, repository: {})", e.message, tag, repository)
-          }
-        }
-
-        def tagData = new DefaultCacheDataBuilder()
-        tagData.setId(tagKey)
-        tagData.attributes.put("name", "${repository}:${tag}".toString())
-        tagData.attributes.put("account", accountName)
-        tagData.attributes.put("digest", digest)
-        tagData.attributes.put("date", creationDate)
-        cachedTags.put(tagKey, tagData)
-
-        def idData = new DefaultCacheDataBuilder()
-        idData.setId(imageIdKey)
-        idData.attributes.put("tagKey", tagKey)
-        idData.attributes.put("account", accountName)
-        cachedIds.put(imageIdKey, idData)
+    List<Future<?>> requests = []
+    tagMap.forEach { repository, tags ->
+      tags.each { tag ->
+        requests << registryExecutor.submit({
+          cacheTag(repository, tag, previousTagMetadata[Keys.getTaggedImageKey(accountName, repository, tag)], currentTagMetadata, cachedTags, cachedIds)
+        } as Runnable)
       }
-
-      null
     }
+    requests.each { it.get() }
+    tagMetadata = currentTagMetadata
 
     log.info("Caching ${cachedTags.size()} tagged images in ${agentType}")
     log.info("Caching ${cachedIds.size()} image ids in ${agentType}")
@@ -195,8 +200,97 @@ class DockerRegistryImageCachingAgent implements CachingAgent, AccountAware, Age
     ])
   }
 
+  private void cacheTag(String repository,
+                        String tag,
+                        TagMetadata previous,
+                        ConcurrentMap<String, TagMetadata> currentTagMetadata,
+                        ConcurrentMap<String, DefaultCacheDataBuilder> cachedTags,
+                        ConcurrentMap<String, DefaultCacheDataBuilder> cachedIds) {
+    if (!tag) {
+      log.warn("Empty tag encountered for $accountName/$repository, not caching")
+      return
+    }
+    def tagKey = Keys.getTaggedImageKey(accountName, repository, tag)
+    def imageIdKey = Keys.getImageIdKey(DockerRegistryProviderUtils.imageId(registry, repository, tag))
+    def digest = null
+    def creationDate = null
+
+    if (credentials.trackDigests) {
+      try {
+        digest = credentials.client.getDigest(repository, tag)
+      } catch (Exception e) {
+        if (e instanceof RetrofitError && ((RetrofitError) e).response?.status == 404) {
+          // Indicates inconsistency in registry, or deletion between call for all tags and manifest retrieval.
+          // In either case, we need to trust that this tag no longer exists.
+          log.warn("Image manifest for $tagKey no longer available; tag will not be cached: $e.message")
+          return
+        } else {
+          // It is safe to not cache the tag here because igor now persists all the tags it has seen.
+          log.warn("Error retrieving manifest for $tagKey; digest and tag will not be cached: $e.message")
+          return
+        }
+      }
+    }
+
+    if (credentials.sortTagsByDate) {
+      if (isUnchanged(previous, tag, digest)) {
+        creationDate = previous.date
+      } else {
+        try {
+          creationDate = credentials.client.getCreationDate(repository, tag)
+        } catch (Exception e) {
+          log.warn("Unable to fetch tag creation date, reason: {} (tag: {}, repository: {})", e.message, tag, repository)
+        }
+      }
+    }
+    currentTagMetadata.put(tagKey, new TagMetadata(digest, creationDate))
+
+    def tagData = new DefaultCacheDataBuilder()
+    tagData.setId(tagKey)
+    tagData.attributes.put("name", "${repository}:${tag}".toString())
+    tagData.attributes.put("account", accountName)
+    tagData.attributes.put("digest", digest)
+    tagData.attributes.put("date", creationDate)
+    cachedTags.put(tagKey, tagData)
+
+    def idData = new DefaultCacheDataBuilder()
+    idData.setId(imageIdKey)
+    idData.attributes.put("tagKey", tagKey)
+    idData.attributes.put("account", accountName)
+    cachedIds.put(imageIdKey, idData)
+  }
+
+  /**
+   * Whether the creation date of a previous run can be reused. When digests are tracked a tag is unchanged if its
+   * digest is; otherwise only 'latest' is assumed to move, like the client's own creation date cache does.
+   */
+  private boolean isUnchanged(TagMetadata previous, String tag, String digest) {
+    if (previous?.date == null) {
+      return false
+    }
+    if (credentials.trackDigests) {
+      return digest != null && digest == previous.digest
+    }
+    return tag != "latest"
+  }
+
+  private ExecutorService getRegistryExecutor() {
+    registryExecutors.computeIfAbsent(registry) {
+      Executors.newFixedThreadPool(
+        REGISTRY_CONCURRENCY,
+        new ThreadFactoryBuilder().setNameFormat("${DockerRegistryImageCachingAgent.simpleName}-%d").setDaemon(true).build()
+      )
+    }
+  }
+
   @Override
   Long getAgentInterval() {
     return interval
   }
+
+  @Canonical
+  private static class TagMetadata {
+    String digest
+    Object date
+  }
 }
@@ -17,6 +17,8 @@
 package com.netflix.spinnaker.clouddriver.docker.registry.provider.agent
 
 import com.netflix.spinnaker.cats.agent.CacheResult
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.clouddriver.docker.registry.DockerRegistryCloudProvider
 import com.netflix.spinnaker.clouddriver.docker.registry.api.v2.client.DockerRegistryClient
 import com.netflix.spinnaker.clouddriver.docker.registry.api.v2.client.DockerRegistryTags
@@ -267,6 +269,56 @@ class DockerRegistryImageCachingAgentTest extends Specification {
   }
 
 
+  def "creation dates are only fetched again for tags whose digest changed"() {
+    given:
+    credentials.trackDigests >> true
+    credentials.sortTagsByDate >> true
+    credentials.repositories >> ["repo-1"]
+    client.getTags("repo-1") >> new DockerRegistryTags().tap {
+      name="repo-1"
+      tags=["tag-1", "tag-2"]
+    }
+    client.getDigest("repo-1", "tag-1") >> "digest-1"
+    client.getDigest("repo-1", "tag-2") >>> ["digest-2", "digest-3"]
+
+    when:
+    agent.loadData(null)
+    def cacheResult = agent.loadData(null)
+
+    then:
+    1 * client.getCreationDate("repo-1", "tag-1") >> Instant.ofEpochSecond(1)
+    2 * client.getCreationDate("repo-1", "tag-2") >>> [Instant.ofEpochSecond(2), Instant.ofEpochSecond(3)]
+    sortCacheResult(cacheResult)
+    def cacheResultTaggedImages = cacheResult.cacheResults.get(CACHE_GROUP_TAGGED_IMAGE)
+    cacheResultTaggedImages*.attributes*.get("digest") == ["digest-1", "digest-3"]
+    cacheResultTaggedImages*.attributes*.get("date") == [Instant.ofEpochSecond(1), Instant.ofEpochSecond(3)]
+  }
+
+  def "creation dates cached by a previous run are reused"() {
+    given:
+    credentials.trackDigests >> true
+    credentials.sortTagsByDate >> true
+    credentials.repositories >> ["repo-1"]
+    client.getTags("repo-1") >> new DockerRegistryTags().tap {
+      name="repo-1"
+      tags=["tag-1"]
+    }
+    client.getDigest("repo-1", "tag-1") >> "digest-1"
+    def providerCache = Mock(ProviderCache)
+    def tagKey = buildTaggedImageCacheKey("repo-1", "tag-1")
+    providerCache.filterIdentifiers(CACHE_GROUP_TAGGED_IMAGE, _) >> [tagKey]
+    providerCache.getAll(CACHE_GROUP_TAGGED_IMAGE, [tagKey]) >> [
+      new DefaultCacheData(tagKey, [digest: "digest-1", date: Instant.ofEpochSecond(1)], [:])
+    ]
+
+    when:
+    def cacheResult = agent.loadData(providerCache)
+
+    then:
+    0 * client.getCreationDate(_, _)
+    cacheResult.cacheResults.get(CACHE_GROUP_TAGGED_IMAGE)[0].attributes.get("date") == Instant.ofEpochSecond(1)
+  }
+
   private String buildTaggedImageCacheKey(repo, tag) {
     "${KEY_PREFIX}:${CACHE_GROUP_TAGGED_IMAGE}:${ACCOUNT_NAME}:${repo}:${tag}"
   }
@@ -43,11 +43,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 abstract class AbstractEcsCachingAgent<T> implements CachingAgent, AccountAware {
+  static final long CLUSTER_DESCRIBE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   final AmazonClientProvider amazonClientProvider;
@@ -136,6 +140,26 @@ abstract class AbstractEcsCachingAgent<T> implements CachingAgent, AccountAware
     return clusters;
   }
 
+  /**
+   * Runs {@code describe} for each cluster concurrently on the shared {@link EcsDescribePipeline}
+   * and concatenates the results. Fails if any cluster could not be described, so a partial listing
+   * never evicts the items of the clusters that were skipped.
+   *
+   * @param clusters The ECS cluster ARNs to describe.
+   * @param describe Lists and describes the items of a single cluster.
+   * @return The items of all clusters.
+   */
+  <V> List<V> describeClusters(Set<String> clusters, Function<String, List<V>> describe) {
+    return EcsDescribePipeline.describeAll(
+            getAgentType(), clusters, describe, CLUSTER_DESCRIBE_TIMEOUT_MILLIS)
+        .orThrow()
+        .getCompleted()
+        .values()
+        .stream()
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Provides the key namespace that the caching agent is authoritative of. Currently only supports
    * the caching agent being authoritative over one key namespace.
@@ -72,37 +72,36 @@ public class ContainerInstanceCachingAgent extends AbstractEcsOnDemandAgent<Cont
 
   @Override
   protected List<ContainerInstance> getItems(AmazonECS ecs, ProviderCache providerCache) {
-    List<ContainerInstance> containerInstanceList = new LinkedList<>();
     Set<String> clusters = getClusters(ecs, providerCache);
+    return describeClusters(clusters, cluster -> getContainerInstances(ecs, cluster));
+  }
 
-    for (String cluster : clusters) {
-      String nextToken = null;
-      do {
-        ListContainerInstancesRequest listContainerInstancesRequest =
-            new ListContainerInstancesRequest().withCluster(cluster);
-        if (nextToken != null) {
-          listContainerInstancesRequest.setNextToken(nextToken);
-        }
-
-        ListContainerInstancesResult listContainerInstancesResult =
-            ecs.listContainerInstances(listContainerInstancesRequest);
-        List<String> containerInstanceArns =
-            listContainerInstancesResult.getContainerInstanceArns();
-        if (containerInstanceArns.size() == 0) {
-          continue;
-        }
-
-        List<ContainerInstance> containerInstances =
-            ecs.describeContainerInstances(
-                    new DescribeContainerInstancesRequest()
-                        .withCluster(cluster)
-                        .withContainerInstances(containerInstanceArns))
-                .getContainerInstances();
-        containerInstanceList.addAll(containerInstances);
-
-        nextToken = listContainerInstancesResult.getNextToken();
-      } while (nextToken != null && nextToken.length() != 0);
-    }
+  private List<ContainerInstance> getContainerInstances(AmazonECS ecs, String cluster) {
+    List<ContainerInstance> containerInstanceList = new LinkedList<>();
+    String nextToken = null;
+    do {
+      ListContainerInstancesRequest listContainerInstancesRequest =
+          new ListContainerInstancesRequest().withCluster(cluster);
+      if (nextToken != null) {
+        listContainerInstancesRequest.setNextToken(nextToken);
+      }
+
+      ListContainerInstancesResult listContainerInstancesResult =
+          ecs.listContainerInstances(listContainerInstancesRequest);
+      nextToken = listContainerInstancesResult.getNextToken();
+      List<String> containerInstanceArns = listContainerInstancesResult.getContainerInstanceArns();
+      if (containerInstanceArns.size() == 0) {
+        continue;
+      }
+
+      List<ContainerInstance> containerInstances =
+          ecs.describeContainerInstances(
+                  new DescribeContainerInstancesRequest()
+                      .withCluster(cluster)
+                      .withContainerInstances(containerInstanceArns))
+              .getContainerInstances();
+      containerInstanceList.addAll(containerInstances);
+    } while (nextToken != null && nextToken.length() != 0);
     return containerInstanceList;
   }
 
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License
+ * for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.ecs.provider.agent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the ECS and ELBv2 describe calls of the caching agents concurrently on a single bounded
+ * pool shared by every account and region, so the total number of requests in flight (and with it
+ * the API quota used) does not grow with the number of agents.
+ *
+ * <p>Duplicate keys are only described once. Describes that fail or are still running when their
+ * timeout expires are reported separately from the completed ones, so callers can decide whether
+ * partial results are usable. The timeout of a describe starts when it starts running, so time
+ * spent queued behind the describes of other agents doesn't make an agent fail.
+ */
+final class EcsDescribePipeline {
+  static final int MAX_CONCURRENT_DESCRIBES = 8;
+
+  private static final Logger log = LoggerFactory.getLogger(EcsDescribePipeline.class);
+
+  private static final ExecutorService EXECUTOR =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_DESCRIBES,
+          new ThreadFactoryBuilder().setNameFormat("ecs-describe-%d").setDaemon(true).build());
+
+  private EcsDescribePipeline() {}
+
+  /**
+   * Applies {@code describe} to every distinct key, giving each describe at most {@code
+   * timeoutMillis} from the time it starts running to complete. Describes still running after
+   * their timeout are cancelled.
+   */
+  static <K, V> Results<K, V> describeAll(
+      String operation, Collection<K> keys, Function<K, V> describe, long timeoutMillis) {
+    Map<K, Describe<V>> futures = new LinkedHashMap<>();
+    for (K key : new LinkedHashSet<>(keys)) {
+      Describe<V> task = new Describe<>(() -> describe.apply(key));
+      EXECUTOR.execute(task);
+      futures.put(key, task);
+    }
+
+    Results<K, V> results = new Results<>();
+    for (Map.Entry<K, Describe<V>> entry : futures.entrySet()) {
+      K key = entry.getKey();
+      Describe<V> future = entry.getValue();
+      try {
+        results.completed.put(key, future.await(timeoutMillis));
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        results.timedOut.add(key);
+      } catch (ExecutionException e) {
+        results.failed.put(key, e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.values().forEach(f -> f.cancel(true));
+        throw new IllegalStateException("Interrupted while running " + operation, e);
+      }
+    }
+
+    if (!results.timedOut.isEmpty() || !results.failed.isEmpty()) {
+      log.warn(
+          "{}: {} of {} describes completed ({} timed out after {}ms, {} failed)",
+          operation,
+          results.completed.size(),
+          futures.size(),
+          results.timedOut.size(),
+          timeoutMillis,
+          results.failed.size());
+    }
+    return results;
+  }
+
+  /** A describe that knows when it started running. */
+  private static class Describe<V> extends FutureTask<V> {
+    private volatile long startedAt;
+
+    Describe(Callable<V> describe) {
+      super(describe);
+    }
+
+    @Override
+    public void run() {
+      startedAt = System.currentTimeMillis();
+      super.run();
+    }
+
+    /** Waits for the describe, for at most {@code timeoutMillis} after it started running. */
+    V await(long timeoutMillis) throws InterruptedException, ExecutionException, TimeoutException {
+      while (true) {
+        long started = startedAt;
+        long remaining =
+            (started == 0) ? timeoutMillis : started + timeoutMillis - System.currentTimeMillis();
+        try {
+          return get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+          if (started != 0) {
+            throw e;
+          }
+          // still queued when the wait began, its own timeout only starts once it runs
+        }
+      }
+    }
+  }
+
+  static class Results<K, V> {
+    private final Map<K, V> completed = new LinkedHashMap<>();
+    private final Set<K> timedOut = new LinkedHashSet<>();
+    private final Map<K, Throwable> failed = new HashMap<>();
+
+    /** @return the results of the describes that completed, which may include null values */
+    Map<K, V> getCompleted() {
+      return Collections.unmodifiableMap(completed);
+    }
+
+    /** @return the keys that timed out or failed */
+    Set<K> getIncomplete() {
+      Set<K> incomplete = new LinkedHashSet<>(timedOut);
+      incomplete.addAll(failed.keySet());
+      return incomplete;
+    }
+
+    /** Rethrows the first failure, or fails if any describe timed out. */
+    Results<K, V> orThrow() {
+      for (Throwable failure : failed.values()) {
+        if (failure instanceof RuntimeException) {
+          throw (RuntimeException) failure;
+        }
+        throw new IllegalStateException(failure);
+      }
+      if (!timedOut.isEmpty()) {
+        throw new IllegalStateException("Timed out describing " + timedOut);
+      }
+      return this;
+    }
+  }
+}
@@ -141,34 +141,34 @@ public class ServiceCachingAgent extends AbstractEcsOnDemandAgent<Service> {
 
   @Override
   protected List<Service> getItems(AmazonECS ecs, ProviderCache providerCache) {
-    List<Service> serviceList = new LinkedList<>();
     Set<String> clusters = getClusters(ecs, providerCache);
+    return describeClusters(clusters, cluster -> getServices(ecs, cluster));
+  }
 
-    for (String cluster : clusters) {
-      String nextToken = null;
-      do {
-        ListServicesRequest listServicesRequest = new ListServicesRequest().withCluster(cluster);
-        if (nextToken != null) {
-          listServicesRequest.setNextToken(nextToken);
-        }
-        ListServicesResult listServicesResult = ecs.listServices(listServicesRequest);
-        List<String> serviceArns = listServicesResult.getServiceArns();
-        if (serviceArns.size() == 0) {
-          continue;
-        }
-
-        List<Service> services =
-            ecs.describeServices(
-                    new DescribeServicesRequest()
-                        .withCluster(cluster)
-                        .withServices(serviceArns)
-                        .withInclude("TAGS"))
-                .getServices();
-        serviceList.addAll(services);
-
-        nextToken = listServicesResult.getNextToken();
-      } while (nextToken != null && nextToken.length() != 0);
-    }
+  private List<Service> getServices(AmazonECS ecs, String cluster) {
+    List<Service> serviceList = new LinkedList<>();
+    String nextToken = null;
+    do {
+      ListServicesRequest listServicesRequest = new ListServicesRequest().withCluster(cluster);
+      if (nextToken != null) {
+        listServicesRequest.setNextToken(nextToken);
+      }
+      ListServicesResult listServicesResult = ecs.listServices(listServicesRequest);
+      nextToken = listServicesResult.getNextToken();
+      List<String> serviceArns = listServicesResult.getServiceArns();
+      if (serviceArns.size() == 0) {
+        continue;
+      }
+
+      List<Service> services =
+          ecs.describeServices(
+                  new DescribeServicesRequest()
+                      .withCluster(cluster)
+                      .withServices(serviceArns)
+                      .withInclude("TAGS"))
+              .getServices();
+      serviceList.addAll(services);
+    } while (nextToken != null && nextToken.length() != 0);
     return serviceList;
   }
 
@@ -23,7 +23,6 @@ import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.services.ecs.AmazonECS;
 import com.amazonaws.services.elasticloadbalancingv2.AmazonElasticLoadBalancing;
 import com.amazonaws.services.elasticloadbalancingv2.model.DescribeTargetHealthRequest;
-import com.amazonaws.services.elasticloadbalancingv2.model.DescribeTargetHealthResult;
 import com.amazonaws.services.elasticloadbalancingv2.model.TargetGroupNotFoundException;
 import com.amazonaws.services.elasticloadbalancingv2.model.TargetHealthDescription;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,10 +34,12 @@ import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
 import com.netflix.spinnaker.clouddriver.core.provider.agent.HealthProvidingCachingAgent;
 import com.netflix.spinnaker.clouddriver.ecs.cache.Keys;
 import com.netflix.spinnaker.clouddriver.ecs.cache.client.EcsTargetGroupCacheClient;
+import com.netflix.spinnaker.clouddriver.ecs.cache.client.TargetHealthCacheClient;
 import com.netflix.spinnaker.clouddriver.ecs.cache.model.EcsTargetHealth;
 import com.netflix.spinnaker.clouddriver.ecs.model.loadbalancer.EcsTargetGroup;
 import com.netflix.spinnaker.clouddriver.ecs.provider.EcsProvider;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +51,8 @@ public class TargetHealthCachingAgent extends AbstractEcsAwsAwareCachingAgent<Ec
       Collections.unmodifiableCollection(Arrays.asList(AUTHORITATIVE.forType(TARGET_HEALTHS.ns)));
   private static final String HEALTH_ID = "ecs-alb-target-health";
 
+  static final long DESCRIBE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(45);
+
   private final Logger log = LoggerFactory.getLogger(getClass());
   private final ObjectMapper objectMapper;
 
@@ -80,25 +83,38 @@ public class TargetHealthCachingAgent extends AbstractEcsAwsAwareCachingAgent<Ec
     List<EcsTargetHealth> targetHealthList = new LinkedList<>();
 
     if (targetGroups != null) {
-      for (String tgArn : targetGroups) {
-
-        DescribeTargetHealthResult describeTargetHealthResult = new DescribeTargetHealthResult();
-        try {
-          describeTargetHealthResult =
-              amazonLoadBalancing.describeTargetHealth(
-                  new DescribeTargetHealthRequest().withTargetGroupArn(tgArn));
-        } catch (TargetGroupNotFoundException ignore) {
-        }
-
-        List<TargetHealthDescription> healthDescriptions =
-            describeTargetHealthResult.getTargetHealthDescriptions();
-
-        if (healthDescriptions != null && healthDescriptions.size() > 0) {
-          targetHealthList.add(makeEcsTargetHealth(tgArn, healthDescriptions));
-          log.debug(
-              "Cached {} EcsTargetHealths for targetGroup {}", healthDescriptions.size(), tgArn);
-        } else {
-          log.debug("No TargetHealthDescriptions found for target group {}, skipping", tgArn);
+      EcsDescribePipeline.Results<String, List<TargetHealthDescription>> results =
+          EcsDescribePipeline.describeAll(
+              getAgentType(),
+              targetGroups,
+              tgArn -> describeTargetHealth(amazonLoadBalancing, tgArn),
+              DESCRIBE_TIMEOUT_MILLIS);
+
+      results
+          .getCompleted()
+          .forEach(
+              (tgArn, healthDescriptions) -> {
+                if (healthDescriptions != null && healthDescriptions.size() > 0) {
+                  targetHealthList.add(makeEcsTargetHealth(tgArn, healthDescriptions));
+                  log.debug(
+                      "Cached {} EcsTargetHealths for targetGroup {}",
+                      healthDescriptions.size(),
+                      tgArn);
+                } else {
+                  log.debug(
+                      "No TargetHealthDescriptions found for target group {}, skipping", tgArn);
+                }
+              });
+
+      // keep the last known health of target groups that could not be described this time rather
+      // than evicting it
+      TargetHealthCacheClient targetHealthCacheClient =
+          new TargetHealthCacheClient(providerCache, objectMapper);
+      for (String tgArn : results.getIncomplete()) {
+        EcsTargetHealth previous =
+            targetHealthCacheClient.get(Keys.getTargetHealthKey(accountName, region, tgArn));
+        if (previous != null) {
+          targetHealthList.add(previous);
         }
       }
     }
@@ -106,6 +122,17 @@ public class TargetHealthCachingAgent extends AbstractEcsAwsAwareCachingAgent<Ec
     return targetHealthList;
   }
 
+  private List<TargetHealthDescription> describeTargetHealth(
+      AmazonElasticLoadBalancing amazonLoadBalancing, String tgArn) {
+    try {
+      return amazonLoadBalancing
+          .describeTargetHealth(new DescribeTargetHealthRequest().withTargetGroupArn(tgArn))
+          .getTargetHealthDescriptions();
+    } catch (TargetGroupNotFoundException ignore) {
+      return null;
+    }
+  }
+
   protected Set<String> fetchTargetGroups(EcsTargetGroupCacheClient cacheClient) {
     String searchKey =
         com.netflix.spinnaker.clouddriver.aws.data.Keys.getTargetGroupKey(
@@ -79,28 +79,29 @@ public class TaskCachingAgent extends AbstractEcsOnDemandAgent<Task> {
 
   @Override
   protected List<Task> getItems(AmazonECS ecs, ProviderCache providerCache) {
-    List<Task> taskList = new LinkedList<>();
     Set<String> clusters = getClusters(ecs, providerCache);
+    return describeClusters(clusters, cluster -> getTasks(ecs, cluster));
+  }
 
-    for (String cluster : clusters) {
-      String nextToken = null;
-      do {
-        ListTasksRequest listTasksRequest = new ListTasksRequest().withCluster(cluster);
-        if (nextToken != null) {
-          listTasksRequest.setNextToken(nextToken);
-        }
-        ListTasksResult listTasksResult = ecs.listTasks(listTasksRequest);
-        List<String> taskArns = listTasksResult.getTaskArns();
-        if (taskArns.size() == 0) {
-          continue;
-        }
-        List<Task> tasks =
-            ecs.describeTasks(new DescribeTasksRequest().withCluster(cluster).withTasks(taskArns))
-                .getTasks();
-        taskList.addAll(tasks);
-        nextToken = listTasksResult.getNextToken();
-      } while (nextToken != null && nextToken.length() != 0);
-    }
+  private List<Task> getTasks(AmazonECS ecs, String cluster) {
+    List<Task> taskList = new LinkedList<>();
+    String nextToken = null;
+    do {
+      ListTasksRequest listTasksRequest = new ListTasksRequest().withCluster(cluster);
+      if (nextToken != null) {
+        listTasksRequest.setNextToken(nextToken);
+      }
+      ListTasksResult listTasksResult = ecs.listTasks(listTasksRequest);
+      nextToken = listTasksResult.getNextToken();
+      List<String> taskArns = listTasksResult.getTaskArns();
+      if (taskArns.size() == 0) {
+        continue;
+      }
+      List<Task> tasks =
+          ecs.describeTasks(new DescribeTasksRequest().withCluster(cluster).withTasks(taskArns))
+              .getTasks();
+      taskList.addAll(tasks);
+    } while (nextToken != null && nextToken.length() != 0);
     return taskList;
   }
 
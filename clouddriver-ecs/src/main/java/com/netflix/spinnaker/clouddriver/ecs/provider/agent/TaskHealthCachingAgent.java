@@ -49,6 +49,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +96,19 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
 
     TargetHealthCacheClient targetHealthCacheClient =
         new TargetHealthCacheClient(providerCache, objectMapper);
+    // tasks of the same service (and services sharing a target group) look up the same target
+    // health, so read each target group from the cache only once
+    Map<String, Optional<EcsTargetHealth>> targetHealths = new HashMap<>();
+    Function<String, EcsTargetHealth> targetHealthLookup =
+        targetGroupArn ->
+            targetHealths
+                .computeIfAbsent(
+                    targetGroupArn,
+                    arn ->
+                        Optional.ofNullable(
+                            targetHealthCacheClient.get(
+                                Keys.getTargetHealthKey(accountName, region, arn))))
+                .orElse(null);
 
     ContainerInstanceCacheClient containerInstanceCacheClient =
         new ContainerInstanceCacheClient(providerCache);
@@ -145,11 +159,11 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
           // if network interfaces are present, assume awsvpc mode
           taskHealth =
               inferHealthNetworkInterfacedContainer(
-                  targetHealthCacheClient, task, serviceName, service, taskDefinition);
+                  targetHealthLookup, task, serviceName, service, taskDefinition);
         } else {
           taskHealth =
               inferHealthNetworkBindedContainer(
-                  targetHealthCacheClient, task, containerInstance, serviceName, service);
+                  targetHealthLookup, task, containerInstance, serviceName, service);
         }
         log.debug("Task Health contains the following elements: {}", taskHealth);
 
@@ -166,7 +180,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
   }
 
   private TaskHealth inferHealthNetworkInterfacedContainer(
-      TargetHealthCacheClient targetHealthCacheClient,
+      Function<String, EcsTargetHealth> targetHealthLookup,
       Task task,
       String serviceName,
       Service loadBalancerService,
@@ -210,7 +224,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
 
       overallTaskHealth =
           describeTargetHealth(
-              targetHealthCacheClient,
+              targetHealthLookup,
               task,
               serviceName,
               loadBalancer.getTargetGroupArn(),
@@ -243,7 +257,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
   }
 
   private TaskHealth inferHealthNetworkBindedContainer(
-      TargetHealthCacheClient targetHealthCacheClient,
+      Function<String, EcsTargetHealth> targetHealthLookup,
       Task task,
       ContainerInstance containerInstance,
       String serviceName,
@@ -275,7 +289,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
 
       overallTaskHealth =
           describeTargetHealth(
-              targetHealthCacheClient,
+              targetHealthLookup,
               task,
               serviceName,
               loadBalancer.getTargetGroupArn(),
@@ -300,7 +314,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
   }
 
   private TaskHealth describeTargetHealth(
-      TargetHealthCacheClient targetHealthCacheClient,
+      Function<String, EcsTargetHealth> targetHealthLookup,
       Task task,
       String serviceName,
       String targetGroupArn,
@@ -308,8 +322,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
       Integer targetPort,
       TaskHealth overallTaskHealth) {
 
-    String targetHealthKey = Keys.getTargetHealthKey(accountName, region, targetGroupArn);
-    EcsTargetHealth targetHealth = targetHealthCacheClient.get(targetHealthKey);
+    EcsTargetHealth targetHealth = targetHealthLookup.apply(targetGroupArn);
 
     if (targetHealth == null) {
       log.debug("Cached EcsTargetHealth is empty for targetGroup {}", targetGroupArn);
@@ -53,12 +53,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -74,6 +78,15 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
   private final ContainerInformationService containerInformationService;
   private final SubnetSelector subnetSelector;
 
+  private final Map<String, EcsServerClusterSnapshot> snapshots = new ConcurrentHashMap<>();
+
+  /**
+   * How long a snapshot of an account and region is reused before being reloaded from the cache.
+   * The ECS caching agents refresh every 30 seconds or more, so a short TTL adds little staleness.
+   */
+  @Value("${ecs.server-cluster-snapshot-ttl-seconds:10}")
+  private long snapshotTtlSeconds = 10;
+
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   @Autowired
@@ -120,59 +133,23 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
       AmazonCredentials.AWSRegion awsRegion,
       String application) {
 
+    EcsServerClusterSnapshot snapshot = getSnapshot(credentials.getName(), awsRegion.getName());
     Collection<Service> services =
-        serviceCacheClient.getAll(credentials.getName(), awsRegion.getName());
-    Collection<Task> allTasks = taskCacheClient.getAll(credentials.getName(), awsRegion.getName());
+        application != null ? snapshot.getServices(application) : snapshot.getServices();
 
     for (Service service : services) {
       final Moniker moniker = service.getMoniker();
       String applicationName = moniker.getApp();
-      String serviceName = service.getServiceName();
-
-      if (application != null && !applicationName.equals(application)) {
-        continue;
-      }
-
-      Set<LoadBalancer> loadBalancers =
-          new HashSet<>(
-              ecsLoadbalancerCacheClient.find(credentials.getName(), awsRegion.getName()));
-
-      Set<Instance> instances =
-          allTasks.stream()
-              .filter(task -> task.getGroup().equals("service:" + serviceName))
-              .map(
-                  task ->
-                      convertToEcsTask(
-                          credentials.getName(), awsRegion.getName(), serviceName, task))
-              .collect(Collectors.toSet());
-
-      String taskDefinitionKey =
-          Keys.getTaskDefinitionKey(
-              credentials.getName(), awsRegion.getName(), service.getTaskDefinition());
-      com.amazonaws.services.ecs.model.TaskDefinition taskDefinition =
-          taskDefinitionCacheClient.get(taskDefinitionKey);
-      if (taskDefinition == null) {
-        continue;
-      }
 
       EcsServerGroup ecsServerGroup =
-          buildEcsServerGroup(
-              credentials.getName(),
-              awsRegion.getName(),
-              serviceName,
-              moniker,
-              service.getDesiredCount(),
-              instances,
-              service.getCreatedAt(),
-              service.getClusterName(),
-              taskDefinition,
-              service.getSubnets(),
-              service.getSecurityGroups());
+          getServerGroup(snapshot, credentials.getName(), awsRegion.getName(), service);
 
       if (ecsServerGroup == null) {
         continue;
       }
 
+      Set<LoadBalancer> loadBalancers = new HashSet<>(snapshot.getLoadBalancers());
+
       if (clusterMap.containsKey(applicationName)) {
         String ecsServerClusterName = moniker.getCluster();
         boolean found = false;
@@ -201,6 +178,77 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
     return clusterMap;
   }
 
+  /**
+   * Returns the snapshot of cached services and tasks for an account and region, loading a new one
+   * if there is none yet or the current one is older than {@code snapshotTtlSeconds}.
+   *
+   * <p>Snapshots are loaded outside of the map so a slow cache read doesn't block other accounts
+   * and regions. Concurrent requests may each load one, in which case the first one published wins.
+   */
+  private EcsServerClusterSnapshot getSnapshot(String account, String region) {
+    String key = account + Keys.SEPARATOR + region;
+    long now = System.currentTimeMillis();
+    long ttlMillis = TimeUnit.SECONDS.toMillis(snapshotTtlSeconds);
+
+    EcsServerClusterSnapshot current = snapshots.get(key);
+    if (current != null && !current.isExpired(now, ttlMillis)) {
+      return current;
+    }
+
+    EcsServerClusterSnapshot loaded =
+        new EcsServerClusterSnapshot(
+            now,
+            serviceCacheClient.getAll(account, region),
+            taskCacheClient.getAll(account, region),
+            ecsLoadbalancerCacheClient.find(account, region));
+    boolean published =
+        current == null
+            ? snapshots.putIfAbsent(key, loaded) == null
+            : snapshots.replace(key, current, loaded);
+    if (published) {
+      return loaded;
+    }
+
+    // another request published a snapshot in the meantime
+    return snapshots.getOrDefault(key, loaded);
+  }
+
+  private EcsServerGroup getServerGroup(
+      EcsServerClusterSnapshot snapshot, String account, String region, Service service) {
+    String serviceName = service.getServiceName();
+    return snapshot.getServerGroup(
+        service,
+        () -> {
+          List<Task> tasks = snapshot.getTasks(service);
+          Set<Instance> instances =
+              tasks.stream()
+                  .map(task -> convertToEcsTask(account, region, serviceName, task))
+                  .collect(Collectors.toSet());
+
+          String taskDefinitionKey =
+              Keys.getTaskDefinitionKey(account, region, service.getTaskDefinition());
+          com.amazonaws.services.ecs.model.TaskDefinition taskDefinition =
+              taskDefinitionCacheClient.get(taskDefinitionKey);
+          if (taskDefinition == null) {
+            return null;
+          }
+
+          return buildEcsServerGroup(
+              account,
+              region,
+              serviceName,
+              service.getMoniker(),
+              service.getDesiredCount(),
+              instances,
+              tasks,
+              service.getCreatedAt(),
+              service.getClusterName(),
+              taskDefinition,
+              service.getSubnets(),
+              service.getSecurityGroups());
+        });
+  }
+
   private EcsTask convertToEcsTask(String account, String region, String serviceName, Task task) {
     String taskId = task.getTaskId();
     Long launchTime = task.getStartedAt();
@@ -304,6 +352,7 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
       Moniker moniker,
       int desiredCount,
       Set<Instance> instances,
+      List<Task> tasks,
       long creationTime,
       String ecsClusterName,
       com.amazonaws.services.ecs.model.TaskDefinition taskDefinition,
@@ -344,26 +393,20 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
           vpcId = vpcIds.iterator().next();
         }
       } else {
-        for (Instance instance : instances) {
-          String taskId = instance.getName();
-          String taskKey = Keys.getTaskKey(account, region, taskId);
-          Task task = taskCacheClient.get(taskKey);
-
-          if (task != null) {
-            com.amazonaws.services.ec2.model.Instance ec2Instance =
-                containerInformationService.getEc2Instance(account, region, task);
-            if (ec2Instance != null) {
-              if (ec2Instance.getVpcId() != null && !ec2Instance.getVpcId().isEmpty()) {
-                vpcId = ec2Instance.getVpcId();
-              }
-              if (ec2Instance.getSecurityGroups() != null) {
-                securityGroups =
-                    ec2Instance.getSecurityGroups().stream()
-                        .map(GroupIdentifier::getGroupId)
-                        .collect(Collectors.toSet());
-              }
-              break;
+        for (Task task : tasks) {
+          com.amazonaws.services.ec2.model.Instance ec2Instance =
+              containerInformationService.getEc2Instance(account, region, task);
+          if (ec2Instance != null) {
+            if (ec2Instance.getVpcId() != null && !ec2Instance.getVpcId().isEmpty()) {
+              vpcId = ec2Instance.getVpcId();
             }
+            if (ec2Instance.getSecurityGroups() != null) {
+              securityGroups =
+                  ec2Instance.getSecurityGroups().stream()
+                      .map(GroupIdentifier::getGroupId)
+                      .collect(Collectors.toSet());
+            }
+            break;
           }
         }
       }
@@ -530,13 +573,24 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
       throw new Error("Invalid Server Group");
     }
 
-    Map<String, Set<EcsServerCluster>> clusterMap = new HashMap<>();
-
     try {
       AmazonCredentials credentials = getEcsCredentials(account);
       Moniker moniker = MonikerHelper.applicationNameToMoniker(serverGroupName);
       log.debug("App Name is: " + moniker.getApp());
-      clusterMap = findClusters(clusterMap, credentials, moniker.getApp());
+
+      if (credentials.getRegions().stream().anyMatch(r -> region.equals(r.getName()))) {
+        EcsServerClusterSnapshot snapshot = getSnapshot(credentials.getName(), region);
+        ServerGroup serverGroup =
+            snapshot.getServicesNamed(serverGroupName).stream()
+                .filter(service -> moniker.getApp().equals(service.getMoniker().getApp()))
+                .map(service -> getServerGroup(snapshot, credentials.getName(), region, service))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        if (serverGroup != null) {
+          return serverGroup;
+        }
+      }
     } catch (NoSuchElementException exception) {
       /* This is ugly, but not sure how else to do it. If we don't have creds due
        *  to not being an ECS account, there's nothing to do here, and we should
@@ -545,17 +599,6 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
       log.info("No ECS credentials were found for the account " + account);
     }
 
-    for (Map.Entry<String, Set<EcsServerCluster>> entry : clusterMap.entrySet()) {
-      for (EcsServerCluster ecsServerCluster : entry.getValue()) {
-        for (ServerGroup serverGroup : ecsServerCluster.getServerGroups()) {
-          if (region.equals(serverGroup.getRegion())
-              && serverGroupName.equals(serverGroup.getName())) {
-            return serverGroup;
-          }
-        }
-      }
-    }
-
     // I don't think this should throw an error.. other classes (such as the AmazonClusterProvider
     // return null
     // if it isn't found..)
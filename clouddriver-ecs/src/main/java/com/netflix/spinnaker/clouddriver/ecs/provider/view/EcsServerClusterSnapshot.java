@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License
+ * for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.ecs.provider.view;
+
+import com.netflix.spinnaker.clouddriver.ecs.cache.model.Service;
+import com.netflix.spinnaker.clouddriver.ecs.cache.model.Task;
+import com.netflix.spinnaker.clouddriver.ecs.model.EcsServerGroup;
+import com.netflix.spinnaker.clouddriver.model.LoadBalancer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A point-in-time view of the cached ECS services and tasks of one account and region, indexed by
+ * application and by service so cluster and server group lookups don't rescan every service and
+ * task in the region.
+ *
+ * <p>Service names are only unique within an ECS cluster, so services, their tasks and their server
+ * groups are keyed on the cluster ARN and the service name.
+ *
+ * <p>Server groups (which pull in task definitions, scalable targets, alarms and task health) are
+ * built the first time they are requested and reused for the lifetime of the snapshot. Every caller
+ * gets its own copy, so a caller modifying one cannot change what later requests see.
+ */
+class EcsServerClusterSnapshot {
+  private final long createdAt;
+  private final Collection<Service> services;
+  private final Map<String, List<Service>> servicesByApplication;
+  private final Map<String, List<Service>> servicesByName;
+  private final Map<String, List<Task>> tasksByService;
+  private final Set<LoadBalancer> loadBalancers;
+  private final Map<String, Optional<EcsServerGroup>> serverGroups = new ConcurrentHashMap<>();
+
+  EcsServerClusterSnapshot(
+      long createdAt,
+      Collection<Service> services,
+      Collection<Task> tasks,
+      Collection<? extends LoadBalancer> loadBalancers) {
+    this.createdAt = createdAt;
+    this.services = Collections.unmodifiableCollection(services);
+    this.servicesByApplication =
+        services.stream().collect(Collectors.groupingBy(service -> service.getMoniker().getApp()));
+    this.servicesByName = services.stream().collect(Collectors.groupingBy(Service::getServiceName));
+    this.tasksByService =
+        tasks.stream()
+            .collect(Collectors.groupingBy(task -> key(task.getClusterArn(), task.getGroup())));
+    this.loadBalancers = Collections.unmodifiableSet(new HashSet<>(loadBalancers));
+  }
+
+  boolean isExpired(long now, long ttlMillis) {
+    return now - createdAt >= ttlMillis;
+  }
+
+  Collection<Service> getServices() {
+    return services;
+  }
+
+  Collection<Service> getServices(String application) {
+    return servicesByApplication.getOrDefault(application, Collections.emptyList());
+  }
+
+  /** @return the services named {@code serviceName}, one per ECS cluster that has one */
+  List<Service> getServicesNamed(String serviceName) {
+    return servicesByName.getOrDefault(serviceName, Collections.emptyList());
+  }
+
+  List<Task> getTasks(Service service) {
+    return tasksByService.getOrDefault(
+        key(service.getClusterArn(), "service:" + service.getServiceName()),
+        Collections.emptyList());
+  }
+
+  Set<LoadBalancer> getLoadBalancers() {
+    return loadBalancers;
+  }
+
+  /**
+   * Returns a copy of the server group for {@code service}, building it with {@code builder} on
+   * first use. A null result (e.g. the task definition is not cached yet) is remembered as well.
+   */
+  EcsServerGroup getServerGroup(Service service, Supplier<EcsServerGroup> builder) {
+    return serverGroups
+        .computeIfAbsent(
+            key(service.getClusterArn(), service.getServiceName()),
+            key -> Optional.ofNullable(builder.get()))
+        .map(EcsServerClusterSnapshot::copyOf)
+        .orElse(null);
+  }
+
+  private static String key(String clusterArn, String name) {
+    return clusterArn + "/" + name;
+  }
+
+  private static EcsServerGroup copyOf(EcsServerGroup serverGroup) {
+    EcsServerGroup copy = new EcsServerGroup();
+    copy.setName(serverGroup.getName());
+    copy.setType(serverGroup.getType());
+    copy.setCloudProvider(serverGroup.getCloudProvider());
+    copy.setRegion(serverGroup.getRegion());
+    copy.setDisabled(serverGroup.getDisabled());
+    copy.setCreatedTime(serverGroup.getCreatedTime());
+    copy.setZones(copyOf(serverGroup.getZones()));
+    copy.setInstances(copyOf(serverGroup.getInstances()));
+    copy.setLoadBalancers(copyOf(serverGroup.getLoadBalancers()));
+    copy.setSecurityGroups(copyOf(serverGroup.getSecurityGroups()));
+    copy.setLaunchConfig(copyOf(serverGroup.getLaunchConfig()));
+    copy.setImage(serverGroup.getImage());
+    copy.setInstanceCounts(serverGroup.getInstanceCounts());
+    copy.setCapacity(serverGroup.getCapacity());
+    copy.setImagesSummary(serverGroup.getImagesSummary());
+    copy.setImageSummary(serverGroup.getImageSummary());
+    copy.setTags(copyOf(serverGroup.getTags()));
+    copy.setEcsCluster(serverGroup.getEcsCluster());
+    copy.setTaskDefinition(serverGroup.getTaskDefinition());
+    copy.setVpcId(serverGroup.getVpcId());
+    copy.setAsg(serverGroup.getAsg());
+    copy.setMetricAlarms(copyOf(serverGroup.getMetricAlarms()));
+    copy.setMoniker(serverGroup.getMoniker());
+    return copy;
+  }
+
+  private static <T> Set<T> copyOf(Set<T> set) {
+    return set == null ? null : new HashSet<>(set);
+  }
+
+  private static <K, V> Map<K, V> copyOf(Map<K, V> map) {
+    return map == null ? null : new HashMap<>(map);
+  }
+}
@@ -15,6 +15,7 @@
 
 package com.netflix.spinnaker.clouddriver.ecs.provider.agent
 
+import com.amazonaws.AmazonServiceException
 import com.amazonaws.auth.AWSCredentialsProvider
 import com.amazonaws.services.ecs.AmazonECS
 import com.amazonaws.services.elasticloadbalancingv2.AmazonElasticLoadBalancing
@@ -32,6 +33,7 @@ import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
 import com.netflix.spinnaker.clouddriver.ecs.cache.model.EcsTargetHealth
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.TARGET_GROUPS
+import static com.netflix.spinnaker.clouddriver.ecs.cache.Keys.Namespace.TARGET_HEALTHS
 import spock.lang.Specification
 import spock.lang.Subject
 
@@ -120,6 +122,27 @@ class TargetHealthCachingAgentSpec extends Specification {
     }
   }
 
+  def 'should keep the cached target health of target groups that fail to describe'() {
+    given:
+    def providerCache = Mock(ProviderCache)
+    def targetHealthKey = com.netflix.spinnaker.clouddriver.ecs.cache.Keys.getTargetHealthKey(
+      CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, targetGroupArn)
+
+    when:
+    agent.setAwsCache(awsProviderCache)
+    def targetHealthList = agent.getItems(ecs, providerCache)
+
+    then:
+    1 * amazonloadBalancing.describeTargetHealth(_) >> { throw new AmazonServiceException("Rate exceeded") }
+    1 * providerCache.get(TARGET_HEALTHS.ns, targetHealthKey) >> new DefaultCacheData(targetHealthKey, [
+      targetGroupArn: targetGroupArn,
+      targetHealthDescriptions: []
+    ], [:])
+
+    targetHealthList.size() == 1
+    targetHealthList[0].targetGroupArn == targetGroupArn
+  }
+
   def 'should raise exception if getItems() called before awsProviderCache is set'() {
     when:
     agent.getItems(ecs, Mock(ProviderCache))
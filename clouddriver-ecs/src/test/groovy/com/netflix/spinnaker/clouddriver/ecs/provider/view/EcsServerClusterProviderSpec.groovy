@@ -74,6 +74,7 @@ class EcsServerClusterProviderSpec extends Specification {
     ecsCloudWatchAlarmCacheClient)
 
   Service cachedService
+  Map<String, Object> serviceAttributes
   TaskDefinition cachedTaskDefinition
   Instance ec2Instance
   EcsServerCluster expectedCluster
@@ -82,6 +83,7 @@ class EcsServerClusterProviderSpec extends Specification {
   private static final FAMILY_NAME = 'myapp-kcats-liated'
   private static final CREDS_NAME = 'test'
   private static final CREDS_NAME_2 = 'test2'
+  private static final CLUSTER_ARN = 'arn:aws:ecs:us-west-1:123456789012:cluster/mycluster'
 
   def setup() {
     def taskId = 'task-id'
@@ -106,6 +108,7 @@ class EcsServerClusterProviderSpec extends Specification {
 
     cachedService = new Service(
       serviceName: serviceName,
+      clusterArn: CLUSTER_ARN,
       deploymentConfiguration: new DeploymentConfiguration(minimumHealthyPercent: 0, maximumPercent: 100),
       createdAt: startedAt,
       desiredCount: 1
@@ -113,7 +116,7 @@ class EcsServerClusterProviderSpec extends Specification {
 
     def task = new Task(
       taskArn: "task-arn/${taskId}",
-      clusterArn: 'cluster-arn',
+      clusterArn: CLUSTER_ARN,
       containerInstanceArn: 'container-instance-arn',
       group: 'service:' + serviceName,
       lastStatus: 'RUNNING',
@@ -173,7 +176,7 @@ class EcsServerClusterProviderSpec extends Specification {
     expectedCluster2.setServerGroups(new LinkedHashSet([ecsServerGroupEast, ecsServerGroupWest]))
     expectedCluster2.setLoadBalancers(Collections.singleton(loadbalancer))
 
-    def serviceAttributes = TestServiceCachingAgentFactory.create(creds, creds.getRegions()[0].getName()).convertServiceToAttributes(cachedService)
+    serviceAttributes = TestServiceCachingAgentFactory.create(creds, creds.getRegions()[0].getName()).convertServiceToAttributes(cachedService)
     def serviceAttributes2 = TestServiceCachingAgentFactory.create(creds2, creds.getRegions()[0].getName()).convertServiceToAttributes(cachedService)
     def taskAttributes = TaskCachingAgent.convertTaskToAttributes(task)
 
@@ -382,6 +385,58 @@ class EcsServerClusterProviderSpec extends Specification {
     retrievedClusters.sort() == [expectedCluster, expectedCluster2].sort()
   }
 
+  def 'should reuse cached services and tasks across requests for the same account and region'() {
+    when:
+    def first = provider.getClusterDetails("myapp")
+
+    then:
+    first.myapp.sort() == [expectedCluster, expectedCluster2].sort()
+
+    when:
+    def second = provider.getClusterDetails("myapp")
+
+    then:
+    0 * cacheView.getAll(_, _)
+    second == first
+  }
+
+  def 'should keep services with the same name in different ECS clusters apart'() {
+    given:
+    def otherServiceAttributes = serviceAttributes + [
+      clusterArn : 'arn:aws:ecs:us-west-1:123456789012:cluster/other',
+      clusterName: 'other'
+    ]
+
+    when:
+    def cluster = provider.getCluster("myapp", CREDS_NAME, FAMILY_NAME)
+
+    then:
+    _ * cacheView.getAll(Keys.Namespace.SERVICES.ns, _) >> [
+      new DefaultCacheData('', serviceAttributes, [:]),
+      new DefaultCacheData('', otherServiceAttributes, [:])
+    ]
+
+    def serverGroups = cluster.serverGroups.findAll { it.region == 'us-west-1' }.sort { it.ecsCluster }
+    serverGroups*.ecsCluster == ['mycluster', 'other']
+    serverGroups*.instances*.size() == [1, 0]
+  }
+
+  def 'should not share server groups between requests'() {
+    given:
+    def serviceName = cachedService.serviceName
+
+    when:
+    def serverGroup = provider.getServerGroup(CREDS_NAME, 'us-west-1', serviceName) as EcsServerGroup
+    serverGroup.instances.clear()
+    serverGroup.setDisabled(true)
+
+    then:
+    with(provider.getServerGroup(CREDS_NAME, 'us-west-1', serviceName) as EcsServerGroup) {
+      instances.size() == 1
+      !disabled
+    }
+  }
+
   def makeEcsServerGroup(String serviceName, String region, long startTime, String taskId, Map healthStatus, String ip) {
     Names name = Names.parseName(serviceName)
     new EcsServerGroup(
@@ -391,6 +446,7 @@ class EcsServerClusterProviderSpec extends Specification {
       region: region,
       disabled: false,
       createdTime: startTime,
+      ecsCluster: 'mycluster',
       instances: [
         new EcsTask(taskId, startTime, 'RUNNING', 'RUNNING', 'HEALTHY', "us-west-1a", [healthStatus], "${ip}:1337", null, true)
       ],
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License
+ * for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.ecs.provider.agent;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class EcsDescribePipelineTest {
+
+  @Test
+  public void shouldDescribeEachDistinctKeyOnce() {
+    AtomicInteger calls = new AtomicInteger();
+
+    EcsDescribePipeline.Results<String, String> results =
+        EcsDescribePipeline.describeAll(
+            "test",
+            Arrays.asList("a", "b", "a"),
+            key -> {
+              calls.incrementAndGet();
+              return key.toUpperCase();
+            },
+            1000);
+
+    assertEquals(2, calls.get());
+    assertEquals("A", results.getCompleted().get("a"));
+    assertEquals("B", results.getCompleted().get("b"));
+    assertTrue(results.getIncomplete().isEmpty());
+  }
+
+  @Test
+  public void shouldReturnPartialResultsOnTimeout() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+
+    EcsDescribePipeline.Results<String, String> results =
+        EcsDescribePipeline.describeAll(
+            "test",
+            Arrays.asList("fast", "slow"),
+            key -> {
+              if (key.equals("slow")) {
+                try {
+                  release.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+              return key;
+            },
+            100);
+    release.countDown();
+
+    assertEquals(Collections.singletonMap("fast", "fast"), results.getCompleted());
+    assertEquals(Collections.singleton("slow"), results.getIncomplete());
+  }
+
+  @Test
+  public void shouldNotCountQueueTimeAgainstTimeout() {
+    // three times as many describes as threads, each taking well over a third of the timeout
+    List<Integer> keys = new ArrayList<>();
+    for (int i = 0; i < 3 * EcsDescribePipeline.MAX_CONCURRENT_DESCRIBES; i++) {
+      keys.add(i);
+    }
+
+    EcsDescribePipeline.Results<Integer, Integer> results =
+        EcsDescribePipeline.describeAll(
+            "test",
+            keys,
+            key -> {
+              try {
+                Thread.sleep(200);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return key;
+            },
+            500);
+
+    assertEquals(keys.size(), results.getCompleted().size());
+    assertTrue(results.getIncomplete().isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRethrowFailures() {
+    EcsDescribePipeline.describeAll(
+            "test",
+            Arrays.asList("good", "bad"),
+            key -> {
+              if (key.equals("bad")) {
+                throw new IllegalArgumentException(key);
+              }
+              return key;
+            },
+            1000)
+        .orThrow();
+  }
+}
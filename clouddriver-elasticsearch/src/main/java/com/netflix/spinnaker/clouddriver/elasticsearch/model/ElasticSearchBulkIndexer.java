@@ -0,0 +1,253 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.elasticsearch.model;
+
+import static java.lang.String.format;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spinnaker.kork.core.RetrySupport;
+import io.searchbox.action.BulkableAction;
+import io.searchbox.client.JestClient;
+import io.searchbox.core.Bulk;
+import io.searchbox.core.BulkResult;
+import io.searchbox.core.BulkResult.BulkResultItem;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces entity tag writes into Elasticsearch bulk requests.
+ *
+ * <p>Writes are buffered (keyed by document id, so only the most recent write of a document is
+ * sent) and flushed once {@code maxActions} writes are pending or every {@code flushIntervalMs},
+ * whichever comes first. Up to {@code concurrentRequests} bulk requests are in flight at once.
+ *
+ * <p>Each submitted write is acknowledged with a future of its own, according to the result of its
+ * item of the bulk response. Writes that failed transiently (the request as a whole, or the item
+ * being rejected or failing on the Elasticsearch side) are retried, without re-sending the writes
+ * of the same request that already succeeded.
+ */
+class ElasticSearchBulkIndexer {
+  private static final Logger log = LoggerFactory.getLogger(ElasticSearchBulkIndexer.class);
+
+  private static final int MAX_RETRIES = 5;
+  private static final long RETRY_BACKOFF_MS = 1000;
+
+  private final JestClient jestClient;
+  private final RetrySupport retrySupport;
+  private final String defaultIndex;
+  private final int maxActions;
+
+  private final ScheduledExecutorService flushScheduler;
+  private final ExecutorService bulkExecutor;
+
+  // guarded by `this`
+  private Map<String, PendingAction> pendingActions = new LinkedHashMap<>();
+
+  ElasticSearchBulkIndexer(
+      JestClient jestClient,
+      RetrySupport retrySupport,
+      String defaultIndex,
+      int maxActions,
+      long flushIntervalMs,
+      int concurrentRequests) {
+    this.jestClient = jestClient;
+    this.retrySupport = retrySupport;
+    this.defaultIndex = defaultIndex;
+    this.maxActions = Math.max(1, maxActions);
+
+    this.flushScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat(ElasticSearchBulkIndexer.class.getSimpleName() + "-flush")
+                .setDaemon(true)
+                .build());
+    this.bulkExecutor =
+        Executors.newFixedThreadPool(
+            Math.max(1, concurrentRequests),
+            new ThreadFactoryBuilder()
+                .setNameFormat(ElasticSearchBulkIndexer.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build());
+
+    long interval = Math.max(1, flushIntervalMs);
+    flushScheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Buffers {@code action} for document {@code id}, replacing any write of the same document that
+   * has not been sent yet.
+   */
+  CompletableFuture<Void> submit(String id, BulkableAction<?> action) {
+    PendingAction pendingAction = new PendingAction(action);
+
+    List<PendingAction> batch = null;
+    synchronized (this) {
+      PendingAction superseded = pendingActions.put(id, pendingAction);
+      if (superseded != null) {
+        // the superseded write is acknowledged along with the write that replaced it
+        pendingAction.future.whenComplete(
+            (result, e) -> {
+              if (e == null) {
+                superseded.future.complete(null);
+              } else {
+                superseded.future.completeExceptionally(e);
+              }
+            });
+      }
+
+      if (pendingActions.size() >= maxActions) {
+        batch = drain();
+      }
+    }
+
+    if (batch != null) {
+      dispatch(batch);
+    }
+    return pendingAction.future;
+  }
+
+  /** Sends all pending writes, without waiting for them to be acknowledged. */
+  void flush() {
+    List<PendingAction> batch;
+    synchronized (this) {
+      batch = drain();
+    }
+
+    for (int i = 0; i < batch.size(); i += maxActions) {
+      dispatch(batch.subList(i, Math.min(batch.size(), i + maxActions)));
+    }
+  }
+
+  void shutdown() {
+    flushScheduler.shutdown();
+    flush();
+    bulkExecutor.shutdown();
+    try {
+      if (!bulkExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+        log.warn("Timed out waiting for pending entity tag writes to complete");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private List<PendingAction> drain() {
+    List<PendingAction> batch = new ArrayList<>(pendingActions.values());
+    pendingActions = new LinkedHashMap<>();
+    return batch;
+  }
+
+  private void dispatch(List<PendingAction> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    bulkExecutor.submit(() -> execute(batch));
+  }
+
+  private void execute(List<PendingAction> batch) {
+    List<PendingAction> remaining = new ArrayList<>(batch);
+    try {
+      retrySupport.retry(
+          () -> {
+            executeOnce(remaining);
+            return true;
+          },
+          MAX_RETRIES,
+          RETRY_BACKOFF_MS,
+          false);
+    } catch (Exception e) {
+      log.error("Failed to write {} entity tags", remaining.size(), e);
+      remaining.forEach(p -> p.future.completeExceptionally(e));
+    }
+  }
+
+  /**
+   * Sends {@code remaining} as a bulk request and completes the writes whose item succeeded or
+   * failed permanently, leaving only those that should be retried.
+   */
+  private void executeOnce(List<PendingAction> remaining) {
+    Bulk.Builder builder = new Bulk.Builder().defaultIndex(defaultIndex);
+    for (PendingAction pendingAction : remaining) {
+      builder = builder.addAction(pendingAction.action);
+    }
+
+    BulkResult bulkResult;
+    try {
+      bulkResult = jestClient.execute(builder.build());
+    } catch (IOException e) {
+      String message = format("Failed to index bulk entity tags, reason: '%s'", e.getMessage());
+      log.error(message + " ... retrying!");
+      throw new ElasticSearchException(message);
+    }
+
+    // items are listed in the order of the actions of the request
+    List<BulkResultItem> items = bulkResult.getItems();
+    if (items.size() != remaining.size()) {
+      throw new ElasticSearchException(
+          format("Failed to index bulk entity tags, reason: '%s'", bulkResult.getErrorMessage()));
+    }
+
+    List<PendingAction> retryable = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      BulkResultItem item = items.get(i);
+      PendingAction pendingAction = remaining.get(i);
+      if (item.error == null) {
+        pendingAction.future.complete(null);
+      } else if (isRetryable(item.status)) {
+        retryable.add(pendingAction);
+      } else {
+        pendingAction.future.completeExceptionally(
+            new ElasticSearchException(
+                format("Failed to index entity tags %s, reason: '%s'", item.id, item.errorReason)));
+      }
+    }
+
+    remaining.clear();
+    remaining.addAll(retryable);
+    if (!remaining.isEmpty()) {
+      String message =
+          format("Failed to index %d of %d bulk entity tags", remaining.size(), items.size());
+      log.error(message + " ... retrying!");
+      throw new ElasticSearchException(message);
+    }
+  }
+
+  /** Rejections (the bulk queue of a node being full) and server side errors may go away. */
+  private static boolean isRetryable(int status) {
+    return status == 429 || status >= 500;
+  }
+
+  private static class PendingAction {
+    private final BulkableAction<?> action;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private PendingAction(BulkableAction<?> action) {
+      this.action = action;
+    }
+  }
+}
@@ -31,7 +31,6 @@ import com.netflix.spinnaker.kork.core.RetrySupport;
 import com.netflix.spinnaker.security.AuthenticatedRequest;
 import io.searchbox.client.JestClient;
 import io.searchbox.client.JestResult;
-import io.searchbox.core.Bulk;
 import io.searchbox.core.ClearScroll;
 import io.searchbox.core.Delete;
 import io.searchbox.core.Index;
@@ -42,18 +41,28 @@ import io.searchbox.indices.CreateIndex;
 import io.searchbox.indices.DeleteIndex;
 import io.searchbox.params.Parameters;
 import java.io.IOException;
-import java.net.URLEncoder;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 import org.apache.lucene.search.join.ScoreMode;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,8 +73,23 @@ import org.springframework.stereotype.Component;
 public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
   private static final Logger log = LoggerFactory.getLogger(ElasticSearchEntityTagsProvider.class);
 
+  private static final long WRITE_TIMEOUT_MINUTES = 5;
+
+  private static final int SCROLL_SIZE = 5000;
+  private static final String SCROLL_TIME = "2m";
+  private static final int REINDEX_BATCH_SIZE = 10000;
+
+  private static final int FRONT50_BATCH_SIZE = 50;
+  private static final int FRONT50_WRITE_CONCURRENCY = 6;
+  private static final int FRONT50_MAX_PENDING_BATCHES = SCROLL_SIZE / FRONT50_BATCH_SIZE;
+  private static final long FRONT50_SUBMIT_TIMEOUT_MINUTES = 5;
+
+  // A page that is being deleted from may wait for its bulk index and for Front50 to take its
+  // batches before the next page is requested, so its scroll has to be kept alive for as long.
+  private static final String DELETE_SCROLL_TIME =
+      (WRITE_TIMEOUT_MINUTES + FRONT50_SUBMIT_TIMEOUT_MINUTES + 1) + "m";
+
   private final ApplicationContext applicationContext;
-  private final RetrySupport retrySupport;
   private final ObjectMapper objectMapper;
   private final Front50Service front50Service;
   private final JestClient jestClient;
@@ -73,6 +97,20 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
   private final String activeElasticSearchIndex;
 
   private final String mappingTypeName;
+  private final int scrollSlices;
+
+  private final ElasticSearchBulkIndexer bulkIndexer;
+  private final EntityTagsReadCache readCache;
+
+  // Shared by all deletions so that concurrent scroll slices (or requests) can't each write to
+  // Front50 in parallel.
+  private final ExecutorService front50Executor =
+      Executors.newFixedThreadPool(
+          FRONT50_WRITE_CONCURRENCY,
+          new ThreadFactoryBuilder()
+              .setNameFormat(ElasticSearchEntityTagsProvider.class.getSimpleName() + "-front50-%d")
+              .setDaemon(true)
+              .build());
 
   @Autowired
   public ElasticSearchEntityTagsProvider(
@@ -83,12 +121,31 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
       JestClient jestClient,
       ElasticSearchConfigProperties elasticSearchConfigProperties) {
     this.applicationContext = applicationContext;
-    this.retrySupport = retrySupport;
     this.objectMapper = objectMapper;
     this.front50Service = front50Service;
     this.jestClient = jestClient;
     this.activeElasticSearchIndex = elasticSearchConfigProperties.getActiveIndex();
     this.mappingTypeName = elasticSearchConfigProperties.getMappingTypeName();
+    this.scrollSlices = elasticSearchConfigProperties.getScrollSlices();
+
+    this.bulkIndexer =
+        new ElasticSearchBulkIndexer(
+            jestClient,
+            retrySupport,
+            activeElasticSearchIndex,
+            elasticSearchConfigProperties.getBulkActions(),
+            elasticSearchConfigProperties.getBulkFlushIntervalMs(),
+            elasticSearchConfigProperties.getBulkConcurrentRequests());
+    this.readCache =
+        new EntityTagsReadCache(
+            elasticSearchConfigProperties.getReadCacheTtlSeconds(),
+            elasticSearchConfigProperties.getReadCacheMaxEntries());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    bulkIndexer.shutdown();
+    front50Executor.shutdown();
   }
 
   @Override
@@ -162,7 +219,21 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
       queryBuilder = queryBuilder.must(applyTagsToBuilder(namespace, Collections.emptyMap()));
     }
 
-    return search(queryBuilder, maxResults);
+    // searches of a single application (i.e. those made when loading an application's clusters)
+    // are served from the read cache
+    QueryBuilder query = queryBuilder;
+    List<Object> criteria =
+        Arrays.asList(
+            cloudProvider,
+            entityType,
+            (entityIds == null) ? null : new ArrayList<>(entityIds),
+            idPrefix,
+            account,
+            region,
+            namespace,
+            (tags == null) ? null : new HashMap<>(tags),
+            maxResults);
+    return readCache.get(application, criteria, () -> search(query, maxResults));
   }
 
   @Override
@@ -191,122 +262,89 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   @Override
   public void index(EntityTags entityTags) {
+    EntityTags preparedEntityTags = prepareForWrite(objectMapper, entityTags);
+    Index action =
+        new Index.Builder(objectMapper.convertValue(preparedEntityTags, Map.class))
+            .index(activeElasticSearchIndex)
+            .type(mappingTypeName)
+            .id(entityTags.getId())
+            .build();
+
     try {
+      awaitWrites(
+          "index",
+          Collections.singletonMap(
+              entityTags.getId(), bulkIndexer.submit(entityTags.getId(), action)));
+    } finally {
+      readCache.invalidate(getApplication(preparedEntityTags));
+    }
+  }
+
+  @Override
+  public void bulkIndex(Collection<EntityTags> multipleEntityTags) {
+    Map<String, CompletableFuture<Void>> writes = new LinkedHashMap<>();
+    Set<String> applications = new HashSet<>();
+
+    for (EntityTags entityTags : multipleEntityTags) {
+      EntityTags preparedEntityTags = prepareForWrite(objectMapper, entityTags);
+      applications.add(getApplication(preparedEntityTags));
+
       Index action =
-          new Index.Builder(
-                  objectMapper.convertValue(prepareForWrite(objectMapper, entityTags), Map.class))
+          new Index.Builder(objectMapper.convertValue(preparedEntityTags, Map.class))
               .index(activeElasticSearchIndex)
               .type(mappingTypeName)
-              .id(URLEncoder.encode(entityTags.getId(), "UTF-8"))
+              .id(entityTags.getId())
               .build();
-
-      JestResult jestResult = jestClient.execute(action);
-      if (!jestResult.isSucceeded()) {
-        throw new ElasticSearchException(
-            format(
-                "Failed to index %s, reason: '%s'",
-                entityTags.getId(), jestResult.getErrorMessage()));
-      }
-    } catch (IOException e) {
-      throw new ElasticSearchException(
-          format("Failed to index %s, reason: '%s'", entityTags.getId(), e.getMessage()));
+      writes.put(entityTags.getId(), bulkIndexer.submit(entityTags.getId(), action));
     }
-  }
 
-  @Override
-  public void bulkIndex(Collection<EntityTags> multipleEntityTags) {
-    Lists.partition(new ArrayList<>(multipleEntityTags), 1000)
-        .forEach(
-            tags -> {
-              Bulk.Builder builder = new Bulk.Builder().defaultIndex(activeElasticSearchIndex);
-
-              for (EntityTags entityTags : tags) {
-                Map tag =
-                    objectMapper.convertValue(prepareForWrite(objectMapper, entityTags), Map.class);
-                builder =
-                    builder.addAction(
-                        new Index.Builder(tag)
-                            .index(activeElasticSearchIndex)
-                            .type(mappingTypeName)
-                            .id(entityTags.getId())
-                            .build());
-              }
+    // no need to wait for the flush interval when all writes are already known
+    bulkIndexer.flush();
 
-              Bulk bulk = builder.build();
-              retrySupport.retry(
-                  () -> {
-                    try {
-                      JestResult jestResult = jestClient.execute(bulk);
-                      if (!jestResult.isSucceeded()) {
-                        throw new ElasticSearchException(
-                            format(
-                                "Failed to index bulk entity tags, reason: '%s'",
-                                jestResult.getErrorMessage()));
-                      }
-                      return true;
-                    } catch (IOException e) {
-                      String message =
-                          format("Failed to index bulk entity tags, reason: '%s'", e.getMessage());
-                      log.error(message + " ... retrying!");
-                      throw new ElasticSearchException(message);
-                    }
-                  },
-                  5,
-                  1000,
-                  false);
-            });
+    try {
+      awaitWrites("index", writes);
+    } finally {
+      applications.forEach(readCache::invalidate);
+    }
   }
 
   @Override
   public void delete(String id) {
-    try {
-      EntityTags entityTags = get(id).orElse(null);
-      if (entityTags == null) {
-        // EntityTags w/ id = :id does not actually exist
-        return;
-      }
+    EntityTags entityTags = get(id).orElse(null);
+    if (entityTags == null) {
+      // EntityTags w/ id = :id does not actually exist
+      return;
+    }
 
-      Delete action =
-          new Delete.Builder(id).index(activeElasticSearchIndex).type(mappingTypeName).build();
+    Delete action =
+        new Delete.Builder(id).index(activeElasticSearchIndex).type(mappingTypeName).build();
 
-      JestResult jestResult = jestClient.execute(action);
-      if (!jestResult.isSucceeded()) {
-        throw new ElasticSearchException(
-            format("Failed to delete %s, reason: '%s'", id, jestResult.getErrorMessage()));
-      }
-    } catch (IOException e) {
-      throw new ElasticSearchException(
-          format("Failed to delete %s, reason: '%s'", id, e.getMessage()));
+    try {
+      awaitWrites("delete", Collections.singletonMap(id, bulkIndexer.submit(id, action)));
+    } finally {
+      readCache.invalidate(getApplication(entityTags));
     }
   }
 
   @Override
   public void bulkDelete(Collection<EntityTags> multipleEntityTags) {
-    Lists.partition(new ArrayList<>(multipleEntityTags), 1000)
-        .forEach(
-            tags -> {
-              Bulk.Builder builder = new Bulk.Builder().defaultIndex(activeElasticSearchIndex);
+    Map<String, CompletableFuture<Void>> writes = new LinkedHashMap<>();
+    Set<String> applications = new HashSet<>();
 
-              for (EntityTags entityTags : tags) {
-                builder =
-                    builder.addAction(
-                        new Delete.Builder(entityTags.getId()).type(mappingTypeName).build());
-              }
+    for (EntityTags entityTags : multipleEntityTags) {
+      applications.add(getApplication(entityTags));
 
-              Bulk bulk = builder.build();
-              try {
-                JestResult jestResult = jestClient.execute(bulk);
-                if (!jestResult.isSucceeded()) {
-                  throw new ElasticSearchException(
-                      format(
-                          "Failed to bulk delete entity tags, reason: '%s'",
-                          jestResult.getErrorMessage()));
-                }
-              } catch (IOException e) {
-                throw new ElasticSearchException(
-                    format("Failed to bulk delete entity tags, reason: '%s'", e.getMessage()));
-              }
-            });
+      Delete action = new Delete.Builder(entityTags.getId()).type(mappingTypeName).build();
+      writes.put(entityTags.getId(), bulkIndexer.submit(entityTags.getId(), action));
+    }
+
+    bulkIndexer.flush();
+
+    try {
+      awaitWrites("delete", writes);
+    } finally {
+      applications.forEach(readCache::invalidate);
+    }
   }
 
   @Override
@@ -333,16 +371,28 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
         filteredEntityTags.size(),
         entityTags.size() - filteredEntityTags.size());
 
-    bulkIndex(
+    List<EntityTags> indexableEntityTags =
         filteredEntityTags.stream()
             .filter(e -> e.getEntityRef() != null)
-            .collect(Collectors.toList()));
+            .collect(Collectors.toList());
+
+    // index in batches to bound the number of pending writes
+    int countIndexed = 0;
+    for (List<EntityTags> batch : Lists.partition(indexableEntityTags, REINDEX_BATCH_SIZE)) {
+      bulkIndex(batch);
+      countIndexed += batch.size();
+      log.info("Indexed {} out of {} entity tags", countIndexed, indexableEntityTags.size());
+    }
 
     log.info("Indexed {} entity tags", filteredEntityTags.size());
+    readCache.invalidateAll();
   }
 
   @Override
   public Map delta() {
+    // anything cached may predate the divergence being looked into
+    readCache.invalidateAll();
+
     Collection<EntityTags> allEntityTagsFront50 = front50Service.getAllEntityTags(false);
     Map<String, List<EntityTags>> entityTagsByEntityTypeFront50 =
         allEntityTagsFront50.stream()
@@ -355,7 +405,8 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
                                     .getEntityType())
                             .orElse("unknown")));
 
-    Map<String, List<EntityTags>> entityTagsByEntityTypeElasticsearch = new HashMap<>();
+    // only the ids of indexed entity tags are needed for comparison
+    Map<String, Set<String>> entityIdsByEntityTypeElasticsearch = new HashMap<>();
     entityTagsByEntityTypeFront50
         .keySet()
         .forEach(
@@ -364,8 +415,12 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
               queryBuilder =
                   queryBuilder.must(QueryBuilders.termQuery("entityRef.entityType", entityType));
 
-              entityTagsByEntityTypeElasticsearch.put(
-                  entityType, fetchAll(queryBuilder, 5000, "2m"));
+              Set<String> entityIds = ConcurrentHashMap.newKeySet();
+              scroll(
+                  queryBuilder,
+                  SCROLL_TIME,
+                  entityTags -> entityTags.forEach(e -> entityIds.add(e.getId())));
+              entityIdsByEntityTypeElasticsearch.put(entityType, entityIds);
             });
 
     Map<String, Map> metadata = new HashMap<>();
@@ -383,9 +438,7 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
                       .collect(Collectors.toSet());
 
               Set<String> entityIdsElasticsearch =
-                  entityTagsByEntityTypeElasticsearch.get(entityType).stream()
-                      .map(EntityTags::getId)
-                      .collect(Collectors.toSet());
+                  entityIdsByEntityTypeElasticsearch.get(entityType);
 
               entityTypeMetadata.put("front50_count", entityIdsFront50.size());
               entityTypeMetadata.put("elasticsearch_count", entityIdsElasticsearch.size());
@@ -449,6 +502,9 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
                 format(
                     "Failed to index %s, reason: 'no document found with id'", entityTags.getId()));
           }
+
+          // the document is now searchable, drop anything cached before the index was refreshed
+          readCache.invalidate(getApplication(prepareForWrite(objectMapper, entityTags)));
           return true;
         },
         1000,
@@ -457,97 +513,42 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   @Override
   public Map reconcile(String cloudProvider, String account, String region, boolean dryRun) {
-    return getElasticSearchEntityTagsReconciler()
-        .reconcile(this, cloudProvider, account, region, dryRun);
+    try {
+      return getElasticSearchEntityTagsReconciler()
+          .reconcile(this, cloudProvider, account, region, dryRun);
+    } finally {
+      readCache.invalidateAll();
+    }
   }
 
   @Override
   public Map<String, Object> deleteByNamespace(
       String namespace, boolean dryRun, boolean deleteFromSource) {
-    List<EntityTags> entityTagsForNamespace = getAllMatchingEntityTags(namespace, null);
-
-    for (EntityTags entityTags : entityTagsForNamespace) {
-      // ensure that all tags (and their metadata) in the offending namespace are removed
-      entityTags.setTags(
-          entityTags.getTags().stream()
-              .filter(e -> !namespace.equalsIgnoreCase(e.getNamespace()))
-              .collect(Collectors.toList()));
-
-      Set<String> tagNames =
-          entityTags.getTags().stream()
-              .map(e -> e.getName().toLowerCase())
-              .collect(Collectors.toSet());
-
-      entityTags.setTagsMetadata(
-          entityTags.getTagsMetadata().stream()
-              .filter(e -> tagNames.contains(e.getName().toLowerCase()))
-              .collect(Collectors.toList()));
-    }
-
-    Map results =
-        new HashMap() {
-          {
-            put(
-                "affectedIds",
-                entityTagsForNamespace.stream()
-                    .map(EntityTags::getId)
-                    .collect(Collectors.toList()));
-            put("deletedFromSource", false);
-            put("deletedFromElasticsearch", false);
-          }
-        };
+    Front50Updates sourceUpdater = new Front50Updates("in namespace " + namespace);
 
-    if (!dryRun) {
-      bulkIndex(entityTagsForNamespace);
-      results.put("deletedFromElasticsearch", true);
-
-      if (deleteFromSource) {
-        ExecutorService executor =
-            Executors.newFixedThreadPool(
-                6,
-                new ThreadFactoryBuilder()
-                    .setNameFormat(ElasticSearchEntityTagsProvider.class.getSimpleName() + "-%d")
-                    .build());
-
-        AtomicLong countProcessed = new AtomicLong();
-
-        Lists.partition(entityTagsForNamespace, 50)
-            .forEach(
-                entityTags ->
-                    executor.submit(
-                        () -> {
-                          try {
-                            AuthenticatedRequest.allowAnonymous(
-                                () -> front50Service.batchUpdate(entityTags));
-
-                            log.info(
-                                "Deleted {} out of {} tags in namespace {}",
-                                countProcessed.addAndGet(entityTags.size()),
-                                entityTagsForNamespace.size(),
-                                namespace);
-                          } catch (Exception e) {
-                            log.error(
-                                "Failed to delete a batch of tags from front50 in namespace {}",
-                                namespace,
-                                e);
-                          }
-                        }));
+    Map<String, Object> results =
+        deleteMatchingTags(
+            namespace,
+            null,
+            e -> namespace.equalsIgnoreCase(e.getNamespace()),
+            dryRun,
+            deleteFromSource,
+            sourceUpdater);
 
-        try {
-          executor.shutdown();
-          executor.awaitTermination(15, TimeUnit.MINUTES);
-          results.put("deletedFromSource", true);
-        } catch (InterruptedException e) {
-          String error =
-              String.format(
-                  "Failed to bulk remove tags from front50 in namespace %s due to timeout, please try again",
-                  namespace);
-
-          log.error(error, e);
-          results.put("error", error);
-          results.put("exception", e);
-        }
+    try {
+      sourceUpdater.await(15, TimeUnit.MINUTES);
+      if (!dryRun && deleteFromSource) {
+        results.put("deletedFromSource", true);
       }
+    } catch (InterruptedException | TimeoutException e) {
+      String error =
+          String.format(
+              "Failed to bulk remove tags from front50 in namespace %s due to timeout, please try again",
+              namespace);
+
+      log.error(error, e);
+      results.put("error", error);
+      results.put("exception", e);
     }
 
     return results;
@@ -555,54 +556,105 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   @Override
   public Map<String, Object> deleteByTag(String tag, boolean dryRun, boolean deleteFromSource) {
-    List<EntityTags> entityTagsForTag = getAllMatchingEntityTags(null, tag);
+    Front50Updates sourceUpdater = new Front50Updates("named " + tag);
+
+    Map<String, Object> results =
+        deleteMatchingTags(
+            null,
+            tag,
+            e -> tag.equalsIgnoreCase(e.getName()),
+            dryRun,
+            deleteFromSource,
+            sourceUpdater);
+
+    int failures;
+    try {
+      failures = sourceUpdater.await(WRITE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ElasticSearchException(
+          format("Failed to delete tags named %s from front50, reason: 'interrupted'", tag));
+    } catch (TimeoutException e) {
+      throw new ElasticSearchException(
+          format(
+              "Failed to delete tags named %s from front50, reason: 'timed out after %d minutes'",
+              tag, WRITE_TIMEOUT_MINUTES));
+    }
+    if (failures > 0) {
+      throw new ElasticSearchException(
+          format("Failed to delete %d batches of tags named %s from front50", failures, tag));
+    }
 
-    for (EntityTags entityTags : entityTagsForTag) {
-      // ensure that all matching tags (and their metadata) are removed
-      entityTags.setTags(
-          entityTags.getTags().stream()
-              .filter(e -> !tag.equalsIgnoreCase(e.getName()))
-              .collect(Collectors.toList()));
+    if (!dryRun && deleteFromSource) {
+      results.put("deletedFromSource", true);
+    }
+    return results;
+  }
 
-      Set<String> tagNames =
-          entityTags.getTags().stream()
-              .map(e -> e.getName().toLowerCase())
-              .collect(Collectors.toSet());
-
-      entityTags.setTagsMetadata(
-          entityTags.getTagsMetadata().stream()
-              .filter(e -> tagNames.contains(e.getName().toLowerCase()))
-              .collect(Collectors.toList()));
-    }
-
-    Map results =
-        new HashMap() {
-          {
-            put(
-                "affectedIds",
-                entityTagsForTag.stream().map(EntityTags::getId).collect(Collectors.toList()));
-            put("deletedFromSource", false);
-            put("deletedFromElasticsearch", false);
+  /**
+   * Removes all tags (and their metadata) matching {@code shouldDelete} from the entity tags
+   * returned by {@link #forEachMatchingEntityTags}, one batch at a time as they are read.
+   *
+   * <p>Unless this is a dry run, each batch is re-indexed and, if {@code deleteFromSource} is set,
+   * handed to {@code sourceUpdater} to be saved to Front50.
+   */
+  private Map<String, Object> deleteMatchingTags(
+      String namespace,
+      String tag,
+      Predicate<EntityTags.EntityTag> shouldDelete,
+      boolean dryRun,
+      boolean deleteFromSource,
+      Consumer<List<EntityTags>> sourceUpdater) {
+    List<String> affectedIds = Collections.synchronizedList(new ArrayList<>());
+
+    forEachMatchingEntityTags(
+        namespace,
+        tag,
+        batch -> {
+          for (EntityTags entityTags : batch) {
+            entityTags.setTags(
+                entityTags.getTags().stream()
+                    .filter(shouldDelete.negate())
+                    .collect(Collectors.toList()));
+
+            Set<String> tagNames =
+                entityTags.getTags().stream()
+                    .map(e -> e.getName().toLowerCase())
+                    .collect(Collectors.toSet());
+
+            entityTags.setTagsMetadata(
+                entityTags.getTagsMetadata().stream()
+                    .filter(e -> tagNames.contains(e.getName().toLowerCase()))
+                    .collect(Collectors.toList()));
           }
-        };
 
-    if (!dryRun) {
-      bulkIndex(entityTagsForTag);
-      results.put("deletedFromElasticsearch", true);
+          affectedIds.addAll(batch.stream().map(EntityTags::getId).collect(Collectors.toList()));
 
-      if (deleteFromSource) {
-        Lists.partition(entityTagsForTag, 50).forEach(front50Service::batchUpdate);
-        results.put("deletedFromSource", true);
-      }
-    }
+          if (!dryRun) {
+            bulkIndex(batch);
+            if (deleteFromSource) {
+              sourceUpdater.accept(batch);
+            }
+          }
+        });
 
+    Map<String, Object> results = new HashMap<>();
+    results.put("affectedIds", new ArrayList<>(affectedIds));
+    results.put("deletedFromSource", false);
+    results.put("deletedFromElasticsearch", !dryRun);
     return results;
   }
 
-  private List<EntityTags> getAllMatchingEntityTags(String namespace, String tag) {
-    Set<String> entityTagsIdentifiers = new HashSet<>();
+  /**
+   * Hands all entity tags with a tag in {@code namespace} (or named {@code tag}) to {@code
+   * consumer}, first those found in Front50 and then, one scroll page at a time, those only found
+   * in Elasticsearch. Pages are read concurrently so {@code consumer} must be thread-safe.
+   */
+  private void forEachMatchingEntityTags(
+      String namespace, String tag, Consumer<List<EntityTags>> consumer) {
+    Set<String> entityTagsIdentifiers = ConcurrentHashMap.newKeySet();
 
-    List<EntityTags> entityTagsForTag =
+    List<EntityTags> entityTagsFront50 =
         front50Service.getAllEntityTags(false).stream()
             .filter(
                 e ->
@@ -613,39 +665,34 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
                                     || (tag != null && tag.equalsIgnoreCase(t.getName()))))
             .collect(Collectors.toList());
 
-    entityTagsIdentifiers.addAll(
-        entityTagsForTag.stream().map(e -> e.getId().toLowerCase()).collect(Collectors.toSet()));
+    entityTagsFront50.forEach(e -> entityTagsIdentifiers.add(e.getId().toLowerCase()));
+    if (!entityTagsFront50.isEmpty()) {
+      consumer.accept(entityTagsFront50);
+    }
+
+    Consumer<List<EntityTags>> elasticsearchOnlyConsumer =
+        entityTags -> {
+          List<EntityTags> unseenEntityTags =
+              entityTags.stream()
+                  .filter(e -> entityTagsIdentifiers.add(e.getId().toLowerCase()))
+                  .collect(Collectors.toList());
+          if (!unseenEntityTags.isEmpty()) {
+            consumer.accept(unseenEntityTags);
+          }
+        };
 
     if (tag != null) {
       BoolQueryBuilder queryBuilder =
           QueryBuilders.boolQuery()
               .must(applyTagsToBuilder(null, Collections.singletonMap(tag, "*")));
-
-      fetchAll(queryBuilder, 5000, "2m")
-          .forEach(
-              entityTags -> {
-                if (!entityTagsIdentifiers.contains(entityTags.getId())) {
-                  entityTagsForTag.add(entityTags);
-                  entityTagsIdentifiers.add(entityTags.getId().toLowerCase());
-                }
-              });
+      scroll(queryBuilder, DELETE_SCROLL_TIME, elasticsearchOnlyConsumer);
     }
 
     if (namespace != null) {
       BoolQueryBuilder queryBuilder =
           QueryBuilders.boolQuery().must(applyTagsToBuilder(namespace, Collections.emptyMap()));
-
-      fetchAll(queryBuilder, 5000, "2m")
-          .forEach(
-              entityTags -> {
-                if (!entityTagsIdentifiers.contains(entityTags.getId())) {
-                  entityTagsForTag.add(entityTags);
-                  entityTagsIdentifiers.add(entityTags.getId().toLowerCase());
-                }
-              });
+      scroll(queryBuilder, DELETE_SCROLL_TIME, elasticsearchOnlyConsumer);
     }
-
-    return entityTagsForTag;
   }
 
   private QueryBuilder applyTagsToBuilder(String namespace, Map<String, Object> tags) {
@@ -702,35 +749,95 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
     }
   }
 
-  private List<EntityTags> fetchAll(QueryBuilder queryBuilder, int scrollSize, String scrollTime) {
+  /**
+   * Scrolls through all entity tags matching {@code queryBuilder}, handing each page to {@code
+   * consumer} as soon as it has been read.
+   *
+   * <p>The scroll is split into {@code scrollSlices} slices that are read concurrently, so {@code
+   * consumer} must be thread-safe. {@code keepAlive} must cover the time {@code consumer} takes to
+   * handle a page, as the next page is only requested once it returns.
+   */
+  private void scroll(
+      QueryBuilder queryBuilder, String keepAlive, Consumer<List<EntityTags>> consumer) {
+    AtomicLong countScrolled = new AtomicLong();
+
+    if (scrollSlices <= 1) {
+      scrollSlice(queryBuilder, null, keepAlive, consumer, countScrolled);
+      return;
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            scrollSlices,
+            new ThreadFactoryBuilder()
+                .setNameFormat(
+                    ElasticSearchEntityTagsProvider.class.getSimpleName() + "-scroll-%d")
+                .build());
+
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < scrollSlices; i++) {
+        SliceBuilder slice = new SliceBuilder(i, scrollSlices);
+        futures.add(
+            executor.submit(
+                () -> scrollSlice(queryBuilder, slice, keepAlive, consumer, countScrolled)));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    log.info("Scrolled {} entity tags ({} slices)", countScrolled.get(), scrollSlices);
+  }
+
+  private void scrollSlice(
+      QueryBuilder queryBuilder,
+      SliceBuilder slice,
+      String keepAlive,
+      Consumer<List<EntityTags>> consumer,
+      AtomicLong countScrolled) {
     SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
     searchSourceBuilder.query(queryBuilder);
+    if (slice != null) {
+      searchSourceBuilder.slice(slice);
+    }
 
     Search.Builder builder =
         new Search.Builder(searchSourceBuilder.toString()).addIndex(activeElasticSearchIndex);
 
     Search search =
         builder
-            .setParameter(Parameters.SIZE, scrollSize)
-            .setParameter(Parameters.SCROLL, scrollTime)
+            .setParameter(Parameters.SIZE, SCROLL_SIZE)
+            .setParameter(Parameters.SCROLL, keepAlive)
             .build();
 
-    List<EntityTags> allEntityTags = new ArrayList<>();
-
     JestResult result;
     try {
       result = jestClient.execute(search);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
-    Collection<EntityTags> entityTags = result.getSourceAsObjectList(EntityTags.class);
-    allEntityTags.addAll(entityTags);
+    List<EntityTags> entityTags = result.getSourceAsObjectList(EntityTags.class);
 
     String scrollId = result.getJsonObject().get("_scroll_id").getAsString();
 
     try {
       while (entityTags.size() > 0) {
-        SearchScroll scroll = new SearchScroll.Builder(scrollId, scrollTime).build();
+        consumer.accept(entityTags);
+        log.debug("Scrolled {} entity tags", countScrolled.addAndGet(entityTags.size()));
+
+        SearchScroll scroll = new SearchScroll.Builder(scrollId, keepAlive).build();
 
         try {
           result = jestClient.execute(scroll);
@@ -739,12 +846,9 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
         }
 
         entityTags = result.getSourceAsObjectList(EntityTags.class);
-        allEntityTags.addAll(entityTags);
 
         scrollId = result.getJsonObject().getAsJsonPrimitive("_scroll_id").getAsString();
       }
-
-      return allEntityTags;
     } finally {
       try {
         jestClient.execute(new ClearScroll.Builder().addScrollId(scrollId).build());
@@ -754,6 +858,108 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
     }
   }
 
+  /**
+   * Saves entity tags to Front50 in batches on the shared Front50 pool, so that at most {@link
+   * #FRONT50_WRITE_CONCURRENCY} batches are written at a time.
+   *
+   * <p>Batches are handed off without waiting for them to be written, so the page they came from
+   * is released quickly, but at most {@link #FRONT50_MAX_PENDING_BATCHES} are held at a time.
+   */
+  private class Front50Updates implements Consumer<List<EntityTags>> {
+
+    private final String description;
+    private final Semaphore pendingBatches = new Semaphore(FRONT50_MAX_PENDING_BATCHES);
+    private final List<Future<?>> updates = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong countUpdated = new AtomicLong();
+    private final AtomicInteger countFailed = new AtomicInteger();
+
+    private Front50Updates(String description) {
+      this.description = description;
+    }
+
+    @Override
+    public void accept(List<EntityTags> entityTags) {
+      long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(FRONT50_SUBMIT_TIMEOUT_MINUTES);
+      for (List<EntityTags> batch : Lists.partition(entityTags, FRONT50_BATCH_SIZE)) {
+        try {
+          long remaining = deadline - System.nanoTime();
+          if (!pendingBatches.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+            throw new ElasticSearchException(
+                format(
+                    "Failed to delete tags %s from front50, reason: 'timed out after %d minutes'",
+                    description, FRONT50_SUBMIT_TIMEOUT_MINUTES));
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ElasticSearchException(
+              format("Failed to delete tags %s from front50, reason: 'interrupted'", description));
+        }
+
+        updates.add(front50Executor.submit(() -> update(batch)));
+      }
+    }
+
+    private void update(List<EntityTags> batch) {
+      try {
+        AuthenticatedRequest.allowAnonymous(() -> front50Service.batchUpdate(batch));
+
+        log.info("Deleted {} tags {}", countUpdated.addAndGet(batch.size()), description);
+      } catch (Exception e) {
+        countFailed.incrementAndGet();
+        log.error("Failed to delete a batch of tags from front50 {}", description, e);
+      } finally {
+        pendingBatches.release();
+      }
+    }
+
+    /** Waits for every batch to be written, and returns the number of batches that failed. */
+    int await(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      for (Future<?> update : new ArrayList<>(updates)) {
+        try {
+          update.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+          // failures are counted (and logged) by the update itself
+        }
+      }
+      return countFailed.get();
+    }
+  }
+
+  /** Waits for every write, and fails with the reasons of those that did not succeed (if any). */
+  private static void awaitWrites(String operation, Map<String, CompletableFuture<Void>> writes) {
+    Map<String, String> failures = new LinkedHashMap<>();
+    for (Map.Entry<String, CompletableFuture<Void>> write : writes.entrySet()) {
+      try {
+        write.getValue().get(WRITE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+      } catch (ExecutionException e) {
+        failures.put(write.getKey(), e.getCause().getMessage());
+      } catch (TimeoutException e) {
+        failures.put(write.getKey(), format("timed out after %d minutes", WRITE_TIMEOUT_MINUTES));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ElasticSearchException(
+            format("Failed to %s %s, reason: 'interrupted'", operation, write.getKey()));
+      }
+    }
+
+    if (failures.size() == 1) {
+      Map.Entry<String, String> failure = failures.entrySet().iterator().next();
+      throw new ElasticSearchException(
+          format("Failed to %s %s, reason: '%s'", operation, failure.getKey(), failure.getValue()));
+    }
+    if (!failures.isEmpty()) {
+      throw new ElasticSearchException(
+          format(
+              "Failed to %s %d of %d entity tags, reasons: %s",
+              operation, failures.size(), writes.size(), failures));
+    }
+  }
+
+  private static String getApplication(EntityTags entityTags) {
+    return (entityTags.getEntityRef() == null) ? null : entityTags.getEntityRef().getApplication();
+  }
+
   private ElasticSearchEntityTagsReconciler getElasticSearchEntityTagsReconciler() {
     return applicationContext.getBean(ElasticSearchEntityTagsReconciler.class);
   }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.elasticsearch.model;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.spinnaker.clouddriver.model.EntityTags;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches entity tag search results of a single application.
+ *
+ * <p>Entries are dropped when tags of their application are written through this instance, and
+ * otherwise expire after {@code ttlSeconds} (which bounds how stale results can be with respect to
+ * writes made by other instances or directly against Elasticsearch).
+ */
+class EntityTagsReadCache {
+  private final Cache<Key, List<EntityTags>> cache;
+
+  /** Incremented on every invalidation so searches that raced with a write are not cached. */
+  private final AtomicLong generation = new AtomicLong();
+
+  EntityTagsReadCache(long ttlSeconds, long maxEntries) {
+    this.cache =
+        (ttlSeconds > 0 && maxEntries > 0)
+            ? CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxEntries)
+                .build()
+            : null;
+  }
+
+  List<EntityTags> get(
+      String application, List<Object> criteria, Supplier<List<EntityTags>> search) {
+    if (cache == null || application == null) {
+      return search.get();
+    }
+
+    Key key = new Key(application, criteria);
+    List<EntityTags> entityTags = cache.getIfPresent(key);
+    if (entityTags != null) {
+      return entityTags;
+    }
+
+    long searchGeneration = generation.get();
+    entityTags = Collections.unmodifiableList(search.get());
+    if (generation.get() == searchGeneration) {
+      cache.put(key, entityTags);
+    }
+    return entityTags;
+  }
+
+  void invalidate(String application) {
+    if (cache == null) {
+      return;
+    }
+
+    generation.incrementAndGet();
+    if (application == null) {
+      return;
+    }
+    cache.asMap().keySet().removeIf(key -> key.application.equals(application));
+  }
+
+  void invalidateAll() {
+    if (cache == null) {
+      return;
+    }
+
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private static class Key {
+    private final String application;
+    private final List<Object> criteria;
+
+    private Key(String application, List<Object> criteria) {
+      this.application = application;
+      this.criteria = criteria;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return application.equals(key.application) && criteria.equals(key.criteria);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(application, criteria);
+    }
+  }
+}
@@ -36,6 +36,21 @@ public class ElasticSearchConfigProperties {
   // recommended for forward compatibility with Elasticsearch 7.0.
   private String mappingTypeName = "_doc";
 
+  // Entity tag writes are buffered and sent as bulk requests of at most bulkActions documents, at
+  // least every bulkFlushIntervalMs and with at most bulkConcurrentRequests requests in flight.
+  private int bulkActions = 1000;
+  private long bulkFlushIntervalMs = 100;
+  private int bulkConcurrentRequests = 2;
+
+  // Entity tag searches of a single application are cached for readCacheTtlSeconds (0 disables
+  // the cache), and invalidated by writes made through this instance.
+  private long readCacheTtlSeconds = 15;
+  private long readCacheMaxEntries = 1000;
+
+  // Full scans of the index (delta, deleteByNamespace, deleteByTag) are split into scrollSlices
+  // slices that are read concurrently.
+  private int scrollSlices = 4;
+
   public String getActiveIndex() {
     return activeIndex;
   }
@@ -75,4 +90,52 @@ public class ElasticSearchConfigProperties {
   public String getMappingTypeName() {
     return mappingTypeName;
   }
+
+  public int getBulkActions() {
+    return bulkActions;
+  }
+
+  public void setBulkActions(int bulkActions) {
+    this.bulkActions = bulkActions;
+  }
+
+  public long getBulkFlushIntervalMs() {
+    return bulkFlushIntervalMs;
+  }
+
+  public void setBulkFlushIntervalMs(long bulkFlushIntervalMs) {
+    this.bulkFlushIntervalMs = bulkFlushIntervalMs;
+  }
+
+  public int getBulkConcurrentRequests() {
+    return bulkConcurrentRequests;
+  }
+
+  public void setBulkConcurrentRequests(int bulkConcurrentRequests) {
+    this.bulkConcurrentRequests = bulkConcurrentRequests;
+  }
+
+  public long getReadCacheTtlSeconds() {
+    return readCacheTtlSeconds;
+  }
+
+  public void setReadCacheTtlSeconds(long readCacheTtlSeconds) {
+    this.readCacheTtlSeconds = readCacheTtlSeconds;
+  }
+
+  public long getReadCacheMaxEntries() {
+    return readCacheMaxEntries;
+  }
+
+  public void setReadCacheMaxEntries(long readCacheMaxEntries) {
+    this.readCacheMaxEntries = readCacheMaxEntries;
+  }
+
+  public int getScrollSlices() {
+    return scrollSlices;
+  }
+
+  public void setScrollSlices(int scrollSlices) {
+    this.scrollSlices = scrollSlices;
+  }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.elasticsearch.model
+
+import com.google.gson.Gson
+import com.netflix.spinnaker.kork.core.RetrySupport
+import io.searchbox.client.JestClient
+import io.searchbox.core.Bulk
+import io.searchbox.core.BulkResult
+import io.searchbox.core.Index
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+
+import static java.util.concurrent.TimeUnit.SECONDS
+
+class ElasticSearchBulkIndexerSpec extends Specification {
+  def jestClient = Mock(JestClient)
+  def retrySupport = Spy(RetrySupport) {
+    _ * sleep(_) >> { /* do nothing */ }
+  }
+  ElasticSearchBulkIndexer bulkIndexer
+
+  def cleanup() {
+    bulkIndexer?.shutdown()
+  }
+
+  def "should send writes as a single bulk request once enough are pending"() {
+    given:
+    bulkIndexer = new ElasticSearchBulkIndexer(jestClient, retrySupport, "tags_v1", 2, 60000, 1)
+    String data = null
+
+    when:
+    def superseded = bulkIndexer.submit("a", index("a", "first"))
+    def latest = bulkIndexer.submit("a", index("a", "second"))
+    def other = bulkIndexer.submit("b", index("b", "third"))
+    CompletableFuture.allOf(superseded, latest, other).get(10, SECONDS)
+
+    then:
+    1 * jestClient.execute(_ as Bulk) >> { Bulk bulk ->
+      data = bulk.getData(new Gson())
+      return bulkResult(a: 200, b: 201)
+    }
+    0 * jestClient._
+
+    !data.contains("first")
+    data.contains("second")
+    data.contains("third")
+  }
+
+  def "should flush pending writes on an interval"() {
+    given:
+    bulkIndexer = new ElasticSearchBulkIndexer(jestClient, retrySupport, "tags_v1", 100, 10, 1)
+
+    when:
+    bulkIndexer.submit("a", index("a", "first")).get(10, SECONDS)
+
+    then:
+    1 * jestClient.execute(_ as Bulk) >> bulkResult(a: 200)
+  }
+
+  def "should retry failed bulk requests before failing the writes"() {
+    given:
+    bulkIndexer = new ElasticSearchBulkIndexer(jestClient, retrySupport, "tags_v1", 1, 60000, 1)
+
+    when:
+    bulkIndexer.submit("a", index("a", "first")).get(10, SECONDS)
+
+    then:
+    (2.._) * jestClient.execute(_ as Bulk) >> { throw new IOException("unavailable") }
+
+    def e = thrown(ExecutionException)
+    e.cause instanceof ElasticSearchException
+  }
+
+  def "should only retry the writes of a bulk request that failed transiently"() {
+    given:
+    bulkIndexer = new ElasticSearchBulkIndexer(jestClient, retrySupport, "tags_v1", 3, 60000, 1)
+    String retried = null
+
+    when:
+    def written = bulkIndexer.submit("a", index("a", "first"))
+    def rejected = bulkIndexer.submit("b", index("b", "second"))
+    def invalid = bulkIndexer.submit("c", index("c", "third"))
+    written.get(10, SECONDS)
+    rejected.get(10, SECONDS)
+    invalid.get(10, SECONDS)
+
+    then:
+    1 * jestClient.execute(_ as Bulk) >> bulkResult(a: 201, b: 429, c: 400)
+    1 * jestClient.execute(_ as Bulk) >> { Bulk bulk ->
+      retried = bulk.getData(new Gson())
+      return bulkResult(b: 201)
+    }
+    0 * jestClient._
+
+    def e = thrown(ExecutionException)
+    e.cause instanceof ElasticSearchException
+    e.cause.message == "Failed to index entity tags c, reason: 'failed with status 400'"
+
+    written.isDone() && !written.isCompletedExceptionally()
+    rejected.isDone() && !rejected.isCompletedExceptionally()
+    !retried.contains("first")
+    retried.contains("second")
+    !retried.contains("third")
+  }
+
+  private static BulkResult bulkResult(Map<String, Integer> statusById) {
+    def items = statusById.collect { id, status ->
+      def item = [_index: "tags_v1", _type: "_doc", _id: id, status: status]
+      if (status >= 300) {
+        item.error = [type: "error", reason: "failed with status ${status}".toString()]
+      }
+      return [index: item]
+    }
+
+    def gson = new Gson()
+    def result = new BulkResult(gson)
+    result.jsonObject = gson.toJsonTree([errors: statusById.values().any { it >= 300 }, items: items]).asJsonObject
+    result.succeeded = !result.jsonObject.get("errors").asBoolean
+    return result
+  }
+
+  private static Index index(String id, String value) {
+    return new Index.Builder([value: value]).index("tags_v1").type("_doc").id(id).build()
+  }
+}
@@ -25,6 +25,7 @@ import com.netflix.spinnaker.config.ElasticSearchConfigProperties
 import com.netflix.spinnaker.kork.core.RetrySupport
 import io.searchbox.client.JestClient
 import io.searchbox.client.JestResult
+import io.searchbox.core.Index
 import io.searchbox.indices.CreateIndex
 import io.searchbox.indices.DeleteIndex
 import io.searchbox.indices.Refresh
@@ -270,6 +271,46 @@ class ElasticSearchEntityTagsProviderSpec extends Specification {
 
   }
 
+  def "should cache searches of an application until its entity tags are written"() {
+    given:
+    def entityTags = buildEntityTags("aws:cluster:front50-main:myaccount:*", ["tag1": "value1"])
+    entityTagsProvider.index(entityTags)
+    refreshIndices()
+    entityTagsProvider.verifyIndex(entityTags)
+
+    def moreEntityTags = buildEntityTags("aws:cluster:front50-staging:myaccount:*", ["tag2": "value2"])
+
+    expect:
+    entityTagsProvider.getAll(null, "front50", null, null, null, null, null, null, null, 10)*.id == [entityTags.id]
+
+    when: "entity tags are indexed without going through the provider"
+    jestClient.execute(
+      new Index.Builder([id: moreEntityTags.id, entityRef: [application: "front50"], tags: []])
+        .index(elasticSearchConfigProperties.activeIndex)
+        .type(elasticSearchConfigProperties.mappingTypeName)
+        .id(URLEncoder.encode(moreEntityTags.id, "UTF-8"))
+        .build()
+    )
+    refreshIndices()
+
+    then:
+    entityTagsProvider.getAll(null, "front50", null, null, null, null, null, null, null, 10)*.id == [entityTags.id]
+
+    when:
+    entityTagsProvider.index(moreEntityTags)
+    refreshIndices()
+
+    then:
+    entityTagsProvider.getAll(null, "front50", null, null, null, null, null, null, null, 10)*.id.sort() == [entityTags.id, moreEntityTags.id].sort()
+
+    when:
+    entityTagsProvider.delete(moreEntityTags.id)
+    refreshIndices()
+
+    then:
+    entityTagsProvider.getAll(null, "front50", null, null, null, null, null, null, null, 10)*.id == [entityTags.id]
+  }
+
   @Unroll
   def "should flatten a nested map"() {
     expect:
@@ -325,6 +366,28 @@ class ElasticSearchEntityTagsProviderSpec extends Specification {
     verifyNotIndexed(allEntityTags[2])
   }
 
+  def "should compare all indexed entity tags with front50 when computing the delta"() {
+    given:
+    def allEntityTags = (1..10).collect {
+      buildEntityTags("aws:servergroup:clouddriver-main-v00${it}:myaccount:us-west-1", [:])
+    }
+    entityTagsProvider.bulkIndex(allEntityTags)
+    refreshIndices()
+
+    def notIndexedEntityTags = buildEntityTags("aws:servergroup:clouddriver-main-v011:myaccount:us-west-1", [:])
+
+    when:
+    def delta = entityTagsProvider.delta()
+
+    then:
+    1 * front50Service.getAllEntityTags(false) >> { return allEntityTags.drop(1) + notIndexedEntityTags }
+
+    delta.servergroup.front50_count == 10
+    delta.servergroup.elasticsearch_count == 10
+    delta.servergroup.front50_missing == [allEntityTags[0].id] as Set
+    delta.servergroup.elasticsearch_missing == [notIndexedEntityTags.id] as Set
+  }
+
   def "should delete all entity tags in namespace"() {
     given:
     def allEntityTags = [
@@ -392,6 +455,30 @@ class ElasticSearchEntityTagsProviderSpec extends Specification {
     0 * _
   }
 
+  def "should fail to delete a tag if front50 could not be updated"() {
+    given:
+    def allEntityTags = [
+      buildEntityTags("aws:servergroup:clouddriver-main-v001:myaccount:us-west-1", ["a": "1"]),
+      buildEntityTags("aws:servergroup:clouddriver-main-v002:myaccount:us-west-1", ["b": "2"]),
+    ]
+    allEntityTags.each {
+      entityTagsProvider.index(it)
+      refreshIndices()
+      entityTagsProvider.verifyIndex(it)
+    }
+
+    when:
+    entityTagsProvider.deleteByTag("a", false, true)
+
+    then:
+    1 * front50Service.getAllEntityTags(false) >> { return allEntityTags }
+    1 * front50Service.batchUpdate(_) >> { throw new IllegalStateException("front50 is unavailable") }
+    _ * retrySupport.retry(_, _, _, _) >> { Supplier fn, int maxRetries, long retryBackoff, boolean exponential -> fn.get() }
+
+    def e = thrown(ElasticSearchException)
+    e.message == "Failed to delete 1 batches of tags named a from front50"
+  }
+
   boolean verifyNotIndexed(EntityTags entityTags) {
     return !entityTagsProvider.get(entityTags.id).isPresent()
   }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.event
+
+/**
+ * A point-in-time copy of the events of an [Aggregate], stored alongside its event log so that
+ * readers only need to load the events that were saved after it.
+ *
+ * Which events are included is up to the owner of the aggregate; a snapshot does not need to contain
+ * every event of the log, only those needed to rebuild the aggregate's state.
+ *
+ * @param aggregateType The type of aggregate the snapshot is for
+ * @param aggregateId The id of the aggregate the snapshot is for
+ * @param sequence The sequence of the last event covered by the snapshot
+ * @param events The events of the snapshot, oldest to newest, with their [EventMetadata]
+ */
+class AggregateSnapshot(
+  val aggregateType: String,
+  val aggregateId: String,
+  val sequence: Long,
+  val events: List<SpinnakerEvent>
+)
@@ -18,18 +18,26 @@ package com.netflix.spinnaker.clouddriver.google.batch;
 
 import com.google.api.client.googleapis.batch.BatchRequest;
 import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpRequest;
 import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.services.compute.Compute;
 import com.google.api.services.compute.ComputeRequest;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spinnaker.clouddriver.google.compute.AdaptiveBatchSizer;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -38,18 +46,34 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GoogleBatchRequest {
 
-  private static final int MAX_BATCH_SIZE =
-      100; // Platform specified max to not overwhelm batch backends.
+  private static final int MAX_PARALLEL_BATCHES = 40;
   private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(2);
   private static final int DEFAULT_READ_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(2);
 
+  // Shared by every caching agent so that concurrent agents can't each spin up their own pool.
+  private static final ExecutorService BATCH_EXECUTOR =
+      Executors.newFixedThreadPool(
+          MAX_PARALLEL_BATCHES,
+          new ThreadFactoryBuilder()
+              .setNameFormat(GoogleBatchRequest.class.getSimpleName() + "-%d")
+              .setDaemon(true)
+              .build());
+
+  // Callbacks may execute follow-up batches (e.g. the next page); those run inline so a
+  // saturated pool can't deadlock waiting on itself.
+  private static final ThreadLocal<Boolean> ON_BATCH_THREAD =
+      ThreadLocal.withInitial(() -> false);
+
   private List<QueuedRequest> queuedRequests;
   private String clouddriverUserAgentApplicationName;
   private Compute compute;
+  private AdaptiveBatchSizer batchSizer;
 
-  public GoogleBatchRequest(Compute compute, String clouddriverUserAgentApplicationName) {
+  public GoogleBatchRequest(
+      Compute compute, String clouddriverUserAgentApplicationName, String project) {
     this.compute = compute;
     this.clouddriverUserAgentApplicationName = clouddriverUserAgentApplicationName;
+    this.batchSizer = AdaptiveBatchSizer.forProject(project);
     this.queuedRequests = new ArrayList<>();
   }
 
@@ -59,15 +83,16 @@ public class GoogleBatchRequest {
       return;
     }
 
-    List<BatchRequest> queuedBatches = new ArrayList<>();
-    List<List<QueuedRequest>> requestPartitions = Lists.partition(queuedRequests, MAX_BATCH_SIZE);
+    List<TrackedBatch> queuedBatches = new ArrayList<>();
+    List<List<QueuedRequest>> requestPartitions =
+        Lists.partition(queuedRequests, batchSizer.getBatchSize());
     requestPartitions.forEach(
         requestPart -> {
-          BatchRequest newBatch = newBatch();
+          TrackedBatch newBatch = new TrackedBatch();
           requestPart.forEach(
               qr -> {
                 try {
-                  qr.getRequest().queue(newBatch, qr.getCallback());
+                  newBatch.queue(qr);
                 } catch (IOException ioe) {
                   log.error("Queueing request {} in batch failed.", qr);
                   throw new RuntimeException(ioe);
@@ -76,18 +101,37 @@ public class GoogleBatchRequest {
           queuedBatches.add(newBatch);
         });
 
-    ExecutorService threadPool = new ForkJoinPool(10);
     try {
-      threadPool
-          .submit(() -> queuedBatches.stream().parallel().forEach(this::executeInternalBatch))
-          .get();
-    } catch (InterruptedException | ExecutionException e) {
+      if (queuedBatches.size() == 1 || ON_BATCH_THREAD.get()) {
+        queuedBatches.forEach(this::executeInternalBatch);
+        return;
+      }
+
+      List<Future<?>> futures =
+          queuedBatches.stream()
+              .map(batch -> BATCH_EXECUTOR.submit(() -> executeOnBatchThread(batch)))
+              .collect(Collectors.toList());
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
       throw new RuntimeException(e);
     }
-    threadPool.shutdown();
   }
 
-  private void executeInternalBatch(BatchRequest b) {
+  private void executeOnBatchThread(TrackedBatch b) {
+    ON_BATCH_THREAD.set(true);
+    try {
+      executeInternalBatch(b);
+    } finally {
+      ON_BATCH_THREAD.set(false);
+    }
+  }
+
+  private void executeInternalBatch(TrackedBatch b) {
     try {
       b.execute();
     } catch (IOException ioe) {
@@ -116,6 +160,59 @@ public class GoogleBatchRequest {
     return queuedRequests.size();
   }
 
+  /**
+   * A single batch sent to GCE. Each one is recorded with the batch sizer on its own, so the
+   * latency excludes the time spent waiting for the batch pool or for the other batches.
+   */
+  private class TrackedBatch {
+
+    private final BatchRequest request = newBatch();
+    private final AtomicBoolean throttled = new AtomicBoolean(false);
+
+    void queue(QueuedRequest qr) throws IOException {
+      qr.getRequest().queue(request, new ThrottleDetectingCallback(qr.getCallback(), throttled));
+    }
+
+    void execute() throws IOException {
+      long start = System.nanoTime();
+      try {
+        request.execute();
+      } finally {
+        batchSizer.recordBatch(Duration.ofNanos(System.nanoTime() - start), throttled.get());
+      }
+    }
+
+    @Override
+    public String toString() {
+      return request.toString();
+    }
+  }
+
+  /** Notes any quota rejections so the next batch to this project can be made smaller. */
+  private static class ThrottleDetectingCallback extends JsonBatchCallback<Object> {
+
+    private final JsonBatchCallback delegate;
+    private final AtomicBoolean throttled;
+
+    private ThrottleDetectingCallback(JsonBatchCallback delegate, AtomicBoolean throttled) {
+      this.delegate = delegate;
+      this.throttled = throttled;
+    }
+
+    @Override
+    public void onSuccess(Object response, HttpHeaders responseHeaders) throws IOException {
+      delegate.onSuccess(response, responseHeaders);
+    }
+
+    @Override
+    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) throws IOException {
+      if (AdaptiveBatchSizer.isQuotaError(e)) {
+        throttled.set(true);
+      }
+      delegate.onFailure(e, responseHeaders);
+    }
+  }
+
   @Data
   @AllArgsConstructor
   private static class QueuedRequest {
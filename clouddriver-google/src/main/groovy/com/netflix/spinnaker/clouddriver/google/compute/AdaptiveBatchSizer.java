@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.compute;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.spectator.api.Registry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the number of requests that should be sent in a single batch to a given project.
+ *
+ * <p>The size grows additively while batches come back quickly and cleanly, and is halved when a
+ * batch is slow or any request within it is rejected for exceeding quota. The size is shared by
+ * every caching agent and operation talking to the same project, so one agent backing off keeps
+ * the others from immediately using up the same quota.
+ */
+public final class AdaptiveBatchSizer {
+
+  // Platform-specified max to not overwhelm batch backends.
+  public static final int MAX_BATCH_SIZE = 100;
+  @VisibleForTesting static final int MIN_BATCH_SIZE = 10;
+  @VisibleForTesting static final int BATCH_SIZE_INCREMENT = 10;
+  @VisibleForTesting static final Duration TARGET_BATCH_LATENCY = Duration.ofSeconds(20);
+
+  private static final ConcurrentMap<String, AdaptiveBatchSizer> SIZERS =
+      new ConcurrentHashMap<>();
+
+  private final String project;
+  private final AtomicInteger batchSize = new AtomicInteger(MAX_BATCH_SIZE);
+  private final AtomicBoolean monitored = new AtomicBoolean(false);
+
+  @VisibleForTesting
+  AdaptiveBatchSizer(String project) {
+    this.project = project;
+  }
+
+  /** Returns the sizer shared by all batches sent to {@code project}. */
+  public static AdaptiveBatchSizer forProject(String project) {
+    return SIZERS.computeIfAbsent(
+        Optional.ofNullable(project).orElse("unknown"), AdaptiveBatchSizer::new);
+  }
+
+  public int getBatchSize() {
+    return batchSize.get();
+  }
+
+  /** Registers the current batch size as a gauge, once per project. */
+  public AdaptiveBatchSizer monitor(Registry registry) {
+    if (registry != null && monitored.compareAndSet(false, true)) {
+      registry.gauge(
+          registry.createId("google.batchSizeLimit", "project", project),
+          this,
+          AdaptiveBatchSizer::getBatchSize);
+    }
+    return this;
+  }
+
+  /** Records the outcome of a batch that was executed. */
+  public void recordBatch(Duration latency, boolean throttled) {
+    if (throttled || latency.compareTo(TARGET_BATCH_LATENCY) > 0) {
+      batchSize.updateAndGet(size -> Math.max(MIN_BATCH_SIZE, size / 2));
+    } else {
+      batchSize.updateAndGet(size -> Math.min(MAX_BATCH_SIZE, size + BATCH_SIZE_INCREMENT));
+    }
+  }
+
+  /** Returns whether {@code error} indicates the request was rejected due to quota. */
+  public static boolean isQuotaError(GoogleJsonError error) {
+    if (error == null) {
+      return false;
+    }
+    if (error.getCode() == 429) {
+      return true;
+    }
+    List<GoogleJsonError.ErrorInfo> errors = error.getErrors();
+    if (error.getCode() != 403 || errors == null) {
+      return false;
+    }
+    return errors.stream()
+        .map(GoogleJsonError.ErrorInfo::getReason)
+        .anyMatch(
+            reason ->
+                "rateLimitExceeded".equals(reason)
+                    || "userRateLimitExceeded".equals(reason)
+                    || "quotaExceeded".equals(reason));
+  }
+}
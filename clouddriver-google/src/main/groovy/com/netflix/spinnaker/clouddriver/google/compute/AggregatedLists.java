@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Google, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.clouddriver.google.compute;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Helpers for the {@code aggregatedList} APIs, which return a single paginated stream of
+ * resources keyed by scope (e.g. {@code zones/us-central1-a}) instead of requiring one list call
+ * per zone.
+ */
+final class AggregatedLists {
+
+  private static final String ZONES_PREFIX = "zones/";
+
+  private AggregatedLists() {}
+
+  /** Flattens the items of an aggregated response that are scoped to a zone. */
+  static <ScopedListT, ItemT> List<ItemT> zonalItems(
+      @Nullable Map<String, ScopedListT> items,
+      Function<ScopedListT, List<ItemT>> scopedItemsRetriever) {
+    if (items == null) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<ItemT> result = ImmutableList.builder();
+    items.forEach(
+        (scope, scopedList) -> {
+          if (scope.startsWith(ZONES_PREFIX)) {
+            Optional.ofNullable(scopedItemsRetriever.apply(scopedList))
+                .ifPresent(result::addAll);
+          }
+        });
+    return result.build();
+  }
+}
@@ -20,6 +20,8 @@ import static com.google.common.collect.Lists.partition;
 
 import com.google.api.client.googleapis.batch.BatchRequest;
 import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.util.Throwables;
 import com.google.api.services.compute.Compute;
 import com.google.api.services.compute.ComputeRequest;
@@ -41,6 +43,7 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
@@ -50,8 +53,7 @@ import org.apache.http.client.HttpResponseException;
 final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>, ResponseT>
     implements BatchComputeRequest<RequestT, ResponseT> {
 
-  // Platform-specified max to not overwhelm batch backends.
-  @VisibleForTesting static final int MAX_BATCH_SIZE = 100;
+  @VisibleForTesting static final int MAX_BATCH_SIZE = AdaptiveBatchSizer.MAX_BATCH_SIZE;
   private static final Duration CONNECT_TIMEOUT = Duration.ofMinutes(2);
   private static final Duration READ_TIMEOUT = Duration.ofMinutes(2);
 
@@ -59,14 +61,20 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
   private final Registry registry;
   private final String userAgent;
   private final ListeningExecutorService executor;
+  private final AdaptiveBatchSizer batchSizer;
   private final List<QueuedRequest<RequestT, ResponseT>> queuedRequests;
 
   BatchComputeRequestImpl(
-      Compute compute, Registry registry, String userAgent, ListeningExecutorService executor) {
+      Compute compute,
+      Registry registry,
+      String userAgent,
+      ListeningExecutorService executor,
+      AdaptiveBatchSizer batchSizer) {
     this.compute = compute;
     this.registry = registry;
     this.userAgent = userAgent;
     this.executor = executor;
+    this.batchSizer = batchSizer;
     this.queuedRequests = new ArrayList<>();
   }
 
@@ -83,8 +91,8 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     }
 
     List<List<QueuedRequest<RequestT, ResponseT>>> requestPartitions =
-        partition(queuedRequests, MAX_BATCH_SIZE);
-    List<BatchRequest> queuedBatches = createBatchRequests(requestPartitions);
+        partition(queuedRequests, batchSizer.getBatchSize());
+    List<TrackedBatch> queuedBatches = createBatchRequests(requestPartitions);
 
     var statusCode = "500";
     String success = "false";
@@ -114,7 +122,7 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     }
   }
 
-  private void executeBatches(List<BatchRequest> queuedBatches) throws IOException {
+  private void executeBatches(List<TrackedBatch> queuedBatches) throws IOException {
     if (queuedBatches.size() == 1) {
       queuedBatches.get(0).execute();
       return;
@@ -123,11 +131,11 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     List<ListenableFuture<Void>> futures =
         queuedBatches.stream()
             .map(
-                batchRequest ->
+                batch ->
                     executor.submit(
                         (Callable<Void>)
                             () -> {
-                              batchRequest.execute();
+                              batch.execute();
                               return null;
                             }))
             .collect(Collectors.toList());
@@ -143,17 +151,16 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     }
   }
 
-  private List<BatchRequest> createBatchRequests(
+  private List<TrackedBatch> createBatchRequests(
       List<List<QueuedRequest<RequestT, ResponseT>>> requestPartitions) throws IOException {
 
-    List<BatchRequest> queuedBatches = new ArrayList<>();
+    List<TrackedBatch> queuedBatches = new ArrayList<>();
 
     try {
       requestPartitions.forEach(
           partition -> {
-            BatchRequest batch = newBatch();
-            partition.forEach(
-                qr -> wrapIOException(() -> qr.getRequest().queue(batch, qr.getCallback())));
+            TrackedBatch batch = new TrackedBatch();
+            partition.forEach(qr -> wrapIOException(() -> batch.queue(qr)));
             queuedBatches.add(batch);
           });
       return queuedBatches;
@@ -184,6 +191,56 @@ final class BatchComputeRequestImpl<RequestT extends ComputeRequest<ResponseT>,
     }
   }
 
+  /** Notes any quota rejections so the next batch to this project can be made smaller. */
+  private static class ThrottleDetectingCallback<ResponseT> extends JsonBatchCallback<ResponseT> {
+
+    private final JsonBatchCallback<ResponseT> delegate;
+    private final AtomicBoolean throttled;
+
+    private ThrottleDetectingCallback(
+        JsonBatchCallback<ResponseT> delegate, AtomicBoolean throttled) {
+      this.delegate = delegate;
+      this.throttled = throttled;
+    }
+
+    @Override
+    public void onSuccess(ResponseT response, HttpHeaders responseHeaders) throws IOException {
+      delegate.onSuccess(response, responseHeaders);
+    }
+
+    @Override
+    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) throws IOException {
+      if (AdaptiveBatchSizer.isQuotaError(e)) {
+        throttled.set(true);
+      }
+      delegate.onFailure(e, responseHeaders);
+    }
+  }
+
+  /**
+   * A single batch sent to the API. Each one is recorded with the batch sizer on its own, so the
+   * latency excludes the time spent waiting for the executor or for the other batches.
+   */
+  private class TrackedBatch {
+
+    private final BatchRequest request = newBatch();
+    private final AtomicBoolean throttled = new AtomicBoolean(false);
+
+    void queue(QueuedRequest<RequestT, ResponseT> qr) throws IOException {
+      qr.getRequest().queue(request, new ThrottleDetectingCallback<>(qr.getCallback(), throttled));
+    }
+
+    void execute() throws IOException {
+      long start = registry.clock().monotonicTime();
+      try {
+        request.execute();
+      } finally {
+        batchSizer.recordBatch(
+            Duration.ofNanos(registry.clock().monotonicTime() - start), throttled.get());
+      }
+    }
+  }
+
   @Value
   @AllArgsConstructor
   private static class QueuedRequest<RequestT extends ComputeRequest<ResponseT>, ResponseT> {
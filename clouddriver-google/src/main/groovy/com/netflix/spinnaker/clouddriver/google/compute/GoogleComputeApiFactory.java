@@ -90,7 +90,11 @@ public class GoogleComputeApiFactory {
       BatchComputeRequest<RequestT, ResponseT> createBatchRequest(
           GoogleNamedAccountCredentials credentials) {
     return new BatchComputeRequestImpl<>(
-        credentials.getCompute(), registry, clouddriverUserAgentApplicationName, batchExecutor);
+        credentials.getCompute(),
+        registry,
+        clouddriverUserAgentApplicationName,
+        batchExecutor,
+        AdaptiveBatchSizer.forProject(credentials.getProject()).monitor(registry));
   }
 
   public <ComputeRequestT extends ComputeRequest<ResponseT>, ResponseT, ItemT>
@@ -18,7 +18,9 @@ package com.netflix.spinnaker.clouddriver.google.compute;
 
 import com.google.api.services.compute.Compute;
 import com.google.api.services.compute.model.Instance;
+import com.google.api.services.compute.model.InstanceAggregatedList;
 import com.google.api.services.compute.model.InstanceList;
+import com.google.api.services.compute.model.InstancesScopedList;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.google.deploy.GoogleOperationPoller;
 import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials;
@@ -47,4 +49,17 @@ public final class Instances {
         InstanceList::getNextPageToken,
         InstanceList::getItems);
   }
+
+  /** List the instances of every zone with a single, paginated aggregated request. */
+  public PaginatedComputeRequest<Compute.Instances.AggregatedList, Instance> aggregatedList() {
+    return new PaginatedComputeRequestImpl<>(
+        pageToken ->
+            requestFactory.wrapRequest(
+                computeApi.aggregatedList(credentials.getProject()).setPageToken(pageToken),
+                "aggregatedList"),
+        InstanceAggregatedList::getNextPageToken,
+        response ->
+            AggregatedLists.zonalItems(
+                response.getItems(), InstancesScopedList::getInstances));
+  }
 }
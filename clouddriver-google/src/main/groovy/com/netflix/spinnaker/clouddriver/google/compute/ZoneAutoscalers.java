@@ -18,7 +18,9 @@ package com.netflix.spinnaker.clouddriver.google.compute;
 
 import com.google.api.services.compute.Compute;
 import com.google.api.services.compute.model.Autoscaler;
+import com.google.api.services.compute.model.AutoscalerAggregatedList;
 import com.google.api.services.compute.model.AutoscalerList;
+import com.google.api.services.compute.model.AutoscalersScopedList;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.google.deploy.GoogleOperationPoller;
 import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials;
@@ -29,6 +31,7 @@ public final class ZoneAutoscalers {
   private final Compute.Autoscalers computeApi;
   private final GoogleNamedAccountCredentials credentials;
   private final ZonalGoogleComputeRequestFactory requestFactory;
+  private final GlobalGoogleComputeRequestFactory aggregatedRequestFactory;
 
   ZoneAutoscalers(
       GoogleNamedAccountCredentials credentials,
@@ -38,6 +41,9 @@ public final class ZoneAutoscalers {
     this.credentials = credentials;
     this.requestFactory =
         new ZonalGoogleComputeRequestFactory("autoscalers", credentials, operationPoller, registry);
+    this.aggregatedRequestFactory =
+        new GlobalGoogleComputeRequestFactory(
+            "autoscalers", credentials, operationPoller, registry);
   }
 
   public GoogleComputeGetRequest<Compute.Autoscalers.Get, Autoscaler> get(String zone, String name)
@@ -58,4 +64,17 @@ public final class ZoneAutoscalers {
         AutoscalerList::getNextPageToken,
         AutoscalerList::getItems);
   }
+
+  /** List the zonal autoscalers of every zone with a single, paginated aggregated request. */
+  public PaginatedComputeRequest<Compute.Autoscalers.AggregatedList, Autoscaler> aggregatedList() {
+    return new PaginatedComputeRequestImpl<>(
+        pageToken ->
+            aggregatedRequestFactory.wrapRequest(
+                computeApi.aggregatedList(credentials.getProject()).setPageToken(pageToken),
+                "aggregatedList"),
+        AutoscalerAggregatedList::getNextPageToken,
+        response ->
+            AggregatedLists.zonalItems(
+                response.getItems(), AutoscalersScopedList::getAutoscalers));
+  }
 }
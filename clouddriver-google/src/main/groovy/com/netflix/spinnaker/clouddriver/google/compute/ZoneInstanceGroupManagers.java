@@ -19,7 +19,9 @@ package com.netflix.spinnaker.clouddriver.google.compute;
 
 import com.google.api.services.compute.Compute;
 import com.google.api.services.compute.model.InstanceGroupManager;
+import com.google.api.services.compute.model.InstanceGroupManagerAggregatedList;
 import com.google.api.services.compute.model.InstanceGroupManagerList;
+import com.google.api.services.compute.model.InstanceGroupManagersScopedList;
 import com.google.common.collect.ImmutableList;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.google.deploy.GoogleOperationPoller;
@@ -32,6 +34,7 @@ public final class ZoneInstanceGroupManagers {
   private final Compute.InstanceGroupManagers computeApi;
   private final GoogleNamedAccountCredentials credentials;
   private final ZonalGoogleComputeRequestFactory requestFactory;
+  private final GlobalGoogleComputeRequestFactory aggregatedRequestFactory;
 
   ZoneInstanceGroupManagers(
       GoogleNamedAccountCredentials credentials,
@@ -42,6 +45,9 @@ public final class ZoneInstanceGroupManagers {
     this.requestFactory =
         new ZonalGoogleComputeRequestFactory(
             "instanceGroupManagers", credentials, operationPoller, registry);
+    this.aggregatedRequestFactory =
+        new GlobalGoogleComputeRequestFactory(
+            "instanceGroupManagers", credentials, operationPoller, registry);
   }
 
   public GoogleComputeGetRequest<Compute.InstanceGroupManagers.Get, InstanceGroupManager> get(
@@ -61,4 +67,18 @@ public final class ZoneInstanceGroupManagers {
         InstanceGroupManagerList::getNextPageToken,
         response -> Optional.ofNullable(response.getItems()).orElseGet(ImmutableList::of));
   }
+
+  /** List the zonal managers of every zone with a single, paginated aggregated request. */
+  public PaginatedComputeRequest<Compute.InstanceGroupManagers.AggregatedList, InstanceGroupManager>
+      aggregatedList() {
+    return new PaginatedComputeRequestImpl<>(
+        pageToken ->
+            aggregatedRequestFactory.wrapRequest(
+                computeApi.aggregatedList(credentials.getProject()).setPageToken(pageToken),
+                "aggregatedList"),
+        InstanceGroupManagerAggregatedList::getNextPageToken,
+        response ->
+            AggregatedLists.zonalItems(
+                response.getItems(), InstanceGroupManagersScopedList::getInstanceGroupManagers));
+  }
 }
@@ -42,6 +42,13 @@ class GoogleConfigurationProperties {
   int asyncOperationMaxPollingIntervalSeconds = ASYNC_OPERATION_MAX_POLLING_INTERVAL_SECONDS
   List<String> baseImageProjects
   long maxMIGPageSize = 50
+  // When enabled, the server group caching agents fetch instances, zonal managers and zonal
+  // autoscalers with one aggregatedList stream per resource type for all zones of the project,
+  // shared by the agents of every region, instead of one list call per zone.
+  boolean aggregatedListCaching = false
+  // How long an aggregatedList response is shared for; shorter than a caching cycle so every
+  // cycle lists each resource type once.
+  long aggregatedListMaxAgeSeconds = 20
   // Takes a list of regions you want indexed. Will default to indexing all regions if left
   // unspecified. An empty list will index no regions.
   List<String> defaultRegions
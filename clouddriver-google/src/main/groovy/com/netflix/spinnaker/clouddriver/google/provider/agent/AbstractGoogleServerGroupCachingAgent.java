@@ -109,9 +109,11 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -143,6 +145,7 @@ abstract class AbstractGoogleServerGroupCachingAgent
   private final OnDemandMetricsSupport onDemandMetricsSupport;
   private final ObjectMapper objectMapper;
   private final Namer<GoogleLabeledResource> naming;
+  @Nullable private final AggregatedListCache aggregatedLists;
 
   AbstractGoogleServerGroupCachingAgent(
       GoogleNamedAccountCredentials credentials,
@@ -150,7 +153,18 @@ abstract class AbstractGoogleServerGroupCachingAgent
       Registry registry,
       String region,
       ObjectMapper objectMapper) {
+    this(credentials, computeApiFactory, registry, region, objectMapper, null);
+  }
+
+  AbstractGoogleServerGroupCachingAgent(
+      GoogleNamedAccountCredentials credentials,
+      GoogleComputeApiFactory computeApiFactory,
+      Registry registry,
+      String region,
+      ObjectMapper objectMapper,
+      @Nullable AggregatedListCache aggregatedLists) {
     this.credentials = credentials;
+    this.aggregatedLists = aggregatedLists;
     this.computeApiFactory = computeApiFactory;
     this.region = region;
     this.onDemandMetricsSupport = new OnDemandMetricsSupport(registry, this, ON_DEMAND_TYPE);
@@ -563,16 +577,14 @@ abstract class AbstractGoogleServerGroupCachingAgent
             .collect(toImmutableMap(TargetAndScope::forAutoscaler, scaler -> scaler));
     Map<String, InstanceTemplate> instanceTemplatesMap =
         instanceTemplates.stream().collect(toImmutableMap(InstanceTemplate::getName, i -> i));
+    NavigableMap<String, List<GoogleInstance>> instancesByName = indexByName(instances);
     return managers.stream()
         .map(
             manager -> {
               ImmutableSet<GoogleInstance> ownedInstances = ImmutableSet.of();
               if (manager.getBaseInstanceName() != null) {
                 ownedInstances =
-                    instances.stream()
-                        .filter(
-                            instance ->
-                                instance.getName().startsWith(manager.getBaseInstanceName()))
+                    withNamePrefix(instancesByName, manager.getBaseInstanceName())
                         .filter(instance -> instanceScopedToManager(instance, manager))
                         .collect(toImmutableSet());
               }
@@ -586,6 +598,26 @@ abstract class AbstractGoogleServerGroupCachingAgent
         .collect(toImmutableList());
   }
 
+  /**
+   * Index instances by name so that each manager's instances can be found with a range lookup on
+   * its base instance name, rather than scanning every instance in the region per manager.
+   */
+  private static NavigableMap<String, List<GoogleInstance>> indexByName(
+      Collection<GoogleInstance> instances) {
+    NavigableMap<String, List<GoogleInstance>> index = new TreeMap<>();
+    instances.forEach(
+        instance ->
+            index.computeIfAbsent(instance.getName(), name -> new ArrayList<>()).add(instance));
+    return index;
+  }
+
+  private static Stream<GoogleInstance> withNamePrefix(
+      NavigableMap<String, List<GoogleInstance>> instancesByName, String prefix) {
+    return instancesByName.tailMap(prefix, /* inclusive= */ true).entrySet().stream()
+        .takeWhile(entry -> entry.getKey().startsWith(prefix))
+        .flatMap(entry -> entry.getValue().stream());
+  }
+
   private boolean instanceScopedToManager(GoogleInstance instance, InstanceGroupManager manager) {
     if (manager.getZone() == null) {
       // For a regional manager, all zones are in scope. (All zones in the region, anyway, which are
@@ -1025,6 +1057,10 @@ abstract class AbstractGoogleServerGroupCachingAgent
 
   Collection<Instance> retrieveAllInstancesInRegion() throws IOException {
 
+    if (aggregatedLists != null) {
+      return aggregatedLists.getInstances(getZonesForRegion());
+    }
+
     Instances instancesApi = computeApiFactory.createInstances(credentials);
     BatchPaginatedComputeRequest<Compute.Instances.List, Instance> instancesRequest =
         computeApiFactory.createPaginatedBatchRequest(credentials);
@@ -1094,4 +1130,9 @@ abstract class AbstractGoogleServerGroupCachingAgent
   String getRegion() {
     return region;
   }
+
+  @Nullable
+  AggregatedListCache getAggregatedLists() {
+    return aggregatedLists;
+  }
 }
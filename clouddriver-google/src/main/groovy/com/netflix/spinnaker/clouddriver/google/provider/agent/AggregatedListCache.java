@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Google, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.provider.agent;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.api.services.compute.model.Autoscaler;
+import com.google.api.services.compute.model.Instance;
+import com.google.api.services.compute.model.InstanceGroupManager;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.netflix.spinnaker.clouddriver.google.compute.GoogleComputeApiFactory;
+import com.netflix.spinnaker.clouddriver.google.model.callbacks.Utils;
+import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Shares the {@code aggregatedList} responses of an account between the server group caching
+ * agents of all of its regions, so the instances, zonal managers and zonal autoscalers of the
+ * project are fetched once per caching cycle rather than once per region.
+ *
+ * <p>The first agent to ask for a resource type fetches every zone with one paginated request, and
+ * the agents asking within {@code maxAge} read the zones of their region from that response. A
+ * failed fetch isn't kept, so the next agent to ask retries it.
+ */
+@ParametersAreNonnullByDefault
+public final class AggregatedListCache {
+
+  private final Supplier<ImmutableListMultimap<String, Instance>> instances;
+  private final Supplier<ImmutableListMultimap<String, InstanceGroupManager>> managers;
+  private final Supplier<ImmutableListMultimap<String, Autoscaler>> autoscalers;
+
+  public AggregatedListCache(
+      GoogleNamedAccountCredentials credentials,
+      GoogleComputeApiFactory computeApiFactory,
+      Duration maxAge) {
+    this.instances =
+        byZone(
+            () -> computeApiFactory.createInstances(credentials).aggregatedList().execute(),
+            Instance::getZone,
+            maxAge);
+    this.managers =
+        byZone(
+            () ->
+                computeApiFactory
+                    .createZoneInstanceGroupManagers(credentials)
+                    .aggregatedList()
+                    .execute(),
+            InstanceGroupManager::getZone,
+            maxAge);
+    this.autoscalers =
+        byZone(
+            () -> computeApiFactory.createZoneAutoscalers(credentials).aggregatedList().execute(),
+            Autoscaler::getZone,
+            maxAge);
+  }
+
+  ImmutableList<Instance> getInstances(Collection<String> zones) throws IOException {
+    return inZones(instances, zones);
+  }
+
+  ImmutableList<InstanceGroupManager> getInstanceGroupManagers(Collection<String> zones)
+      throws IOException {
+    return inZones(managers, zones);
+  }
+
+  ImmutableList<Autoscaler> getAutoscalers(Collection<String> zones) throws IOException {
+    return inZones(autoscalers, zones);
+  }
+
+  private static <T> Supplier<ImmutableListMultimap<String, T>> byZone(
+      Retriever<T> retriever, Function<T, String> zone, Duration maxAge) {
+    return Suppliers.memoizeWithExpiration(
+        () -> {
+          ImmutableListMultimap.Builder<String, T> result = ImmutableListMultimap.builder();
+          try {
+            for (T item : retriever.retrieve()) {
+              String itemZone = zone.apply(item);
+              if (itemZone != null) {
+                result.put(Utils.getLocalName(itemZone), item);
+              }
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          return result.build();
+        },
+        maxAge.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private static <T> ImmutableList<T> inZones(
+      Supplier<ImmutableListMultimap<String, T>> itemsByZone, Collection<String> zones)
+      throws IOException {
+    if (zones.isEmpty()) {
+      return ImmutableList.of();
+    }
+
+    ImmutableListMultimap<String, T> items;
+    try {
+      items = itemsByZone.get();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return zones.stream().flatMap(zone -> items.get(zone).stream()).collect(toImmutableList());
+  }
+
+  @FunctionalInterface
+  private interface Retriever<T> {
+    Collection<T> retrieve() throws IOException;
+  }
+}
@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import lombok.extern.slf4j.Slf4j;
 
@@ -46,7 +47,17 @@ public final class GoogleRegionalServerGroupCachingAgent
       Registry registry,
       String region,
       ObjectMapper objectMapper) {
-    super(credentials, computeApiFactory, registry, region, objectMapper);
+    this(credentials, computeApiFactory, registry, region, objectMapper, null);
+  }
+
+  public GoogleRegionalServerGroupCachingAgent(
+      GoogleNamedAccountCredentials credentials,
+      GoogleComputeApiFactory computeApiFactory,
+      Registry registry,
+      String region,
+      ObjectMapper objectMapper,
+      @Nullable AggregatedListCache aggregatedLists) {
+    super(credentials, computeApiFactory, registry, region, objectMapper, aggregatedLists);
   }
 
   @Override
@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import lombok.extern.slf4j.Slf4j;
 
@@ -57,7 +58,17 @@ public final class GoogleZonalServerGroupCachingAgent
       Registry registry,
       String region,
       ObjectMapper objectMapper) {
-    super(credentials, computeApiFactory, registry, region, objectMapper);
+    this(credentials, computeApiFactory, registry, region, objectMapper, null);
+  }
+
+  public GoogleZonalServerGroupCachingAgent(
+      GoogleNamedAccountCredentials credentials,
+      GoogleComputeApiFactory computeApiFactory,
+      Registry registry,
+      String region,
+      ObjectMapper objectMapper,
+      @Nullable AggregatedListCache aggregatedLists) {
+    super(credentials, computeApiFactory, registry, region, objectMapper, aggregatedLists);
   }
 
   @Override
@@ -82,6 +93,10 @@ public final class GoogleZonalServerGroupCachingAgent
   @Override
   Collection<InstanceGroupManager> retrieveInstanceGroupManagers() throws IOException {
 
+    if (getAggregatedLists() != null) {
+      return getAggregatedLists().getInstanceGroupManagers(getZonesForRegion());
+    }
+
     ZoneInstanceGroupManagers managersApi =
         getComputeApiFactory().createZoneInstanceGroupManagers(getCredentials());
     BatchPaginatedComputeRequest<InstanceGroupManagers.List, InstanceGroupManager> request =
@@ -95,6 +110,10 @@ public final class GoogleZonalServerGroupCachingAgent
   @Override
   Collection<Autoscaler> retrieveAutoscalers() throws IOException {
 
+    if (getAggregatedLists() != null) {
+      return getAggregatedLists().getAutoscalers(getZonesForRegion());
+    }
+
     ZoneAutoscalers autoscalersApi = getComputeApiFactory().createZoneAutoscalers(getCredentials());
     BatchPaginatedComputeRequest<Compute.Autoscalers.List, Autoscaler> request =
         getComputeApiFactory().createPaginatedBatchRequest(getCredentials());
@@ -32,6 +32,7 @@ import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.*
 
+import java.time.Duration
 import java.util.concurrent.ConcurrentHashMap
 
 @Configuration
@@ -147,6 +148,12 @@ class GoogleInfrastructureProviderConfig {
                                                                    credentials,
                                                                    objectMapper,
                                                                    registry)
+        // shared by the server group caching agents of all regions, so each resource type is listed once per cycle
+        AggregatedListCache aggregatedLists = googleConfigurationProperties.aggregatedListCaching ?
+          new AggregatedListCache(credentials,
+                                  computeApiFactory,
+                                  Duration.ofSeconds(googleConfigurationProperties.aggregatedListMaxAgeSeconds)) :
+          null
         regions.each { String region ->
           newlyAddedAgents << new GoogleInternalLoadBalancerCachingAgent(clouddriverUserAgentApplicationName,
                                                                          credentials,
@@ -167,12 +174,14 @@ class GoogleInfrastructureProviderConfig {
                                                                         computeApiFactory,
                                                                         registry,
                                                                         region,
-                                                                        objectMapper)
+                                                                        objectMapper,
+                                                                        aggregatedLists)
           newlyAddedAgents << new GoogleZonalServerGroupCachingAgent(credentials,
                                                                      computeApiFactory,
                                                                      registry,
                                                                      region,
-                                                                     objectMapper)
+                                                                     objectMapper,
+                                                                     aggregatedLists)
         }
 
         // If there is an agent scheduler, then this provider has been through the AgentController in the past.
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.compute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.common.collect.ImmutableList;
+import java.time.Duration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class AdaptiveBatchSizerTest {
+
+  @Test
+  public void startsAtMaxBatchSize() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer("project");
+
+    assertThat(sizer.getBatchSize()).isEqualTo(AdaptiveBatchSizer.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void halvesOnThrottleAndRecoversAdditively() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer("project");
+
+    sizer.recordBatch(Duration.ofSeconds(1), true);
+    assertThat(sizer.getBatchSize()).isEqualTo(AdaptiveBatchSizer.MAX_BATCH_SIZE / 2);
+
+    sizer.recordBatch(Duration.ofSeconds(1), false);
+    assertThat(sizer.getBatchSize())
+        .isEqualTo(AdaptiveBatchSizer.MAX_BATCH_SIZE / 2 + AdaptiveBatchSizer.BATCH_SIZE_INCREMENT);
+  }
+
+  @Test
+  public void shrinksOnSlowBatches() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer("project");
+
+    sizer.recordBatch(AdaptiveBatchSizer.TARGET_BATCH_LATENCY.plusSeconds(1), false);
+
+    assertThat(sizer.getBatchSize()).isEqualTo(AdaptiveBatchSizer.MAX_BATCH_SIZE / 2);
+  }
+
+  @Test
+  public void neverDropsBelowMinimum() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer("project");
+
+    for (int i = 0; i < 20; ++i) {
+      sizer.recordBatch(Duration.ofSeconds(1), true);
+    }
+
+    assertThat(sizer.getBatchSize()).isEqualTo(AdaptiveBatchSizer.MIN_BATCH_SIZE);
+  }
+
+  @Test
+  public void sharesSizerPerProject() {
+    assertThat(AdaptiveBatchSizer.forProject("a")).isSameAs(AdaptiveBatchSizer.forProject("a"));
+    assertThat(AdaptiveBatchSizer.forProject("a")).isNotSameAs(AdaptiveBatchSizer.forProject("b"));
+  }
+
+  @Test
+  public void recognizesQuotaErrors() {
+    GoogleJsonError tooManyRequests = new GoogleJsonError();
+    tooManyRequests.setCode(429);
+
+    GoogleJsonError.ErrorInfo rateLimited = new GoogleJsonError.ErrorInfo();
+    rateLimited.setReason("rateLimitExceeded");
+    GoogleJsonError forbiddenRateLimited = new GoogleJsonError();
+    forbiddenRateLimited.setCode(403);
+    forbiddenRateLimited.setErrors(ImmutableList.of(rateLimited));
+
+    GoogleJsonError.ErrorInfo denied = new GoogleJsonError.ErrorInfo();
+    denied.setReason("forbidden");
+    GoogleJsonError forbidden = new GoogleJsonError();
+    forbidden.setCode(403);
+    forbidden.setErrors(ImmutableList.of(denied));
+
+    GoogleJsonError notFound = new GoogleJsonError();
+    notFound.setCode(404);
+
+    assertThat(AdaptiveBatchSizer.isQuotaError(tooManyRequests)).isTrue();
+    assertThat(AdaptiveBatchSizer.isQuotaError(forbiddenRateLimited)).isTrue();
+    assertThat(AdaptiveBatchSizer.isQuotaError(forbidden)).isFalse();
+    assertThat(AdaptiveBatchSizer.isQuotaError(notFound)).isFalse();
+    assertThat(AdaptiveBatchSizer.isQuotaError(null)).isFalse();
+  }
+}
@@ -51,6 +51,7 @@ import org.junit.runners.JUnit4;
 public class BatchComputeRequestImplTest {
 
   private static final String USER_AGENT = "spinnaker-test";
+  private static final String PROJECT = "test-project";
   private static final String MIME_BOUNDARY = "batch_foobarbaz";
   private static final String MIME_PART_START = "--batch_foobarbaz\n";
   private static final String MIME_END = "--batch_foobarbaz--\n";
@@ -70,7 +71,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     batchRequest.execute("batchContext");
   }
@@ -82,7 +87,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     batchRequest.queue(request(compute), responses);
@@ -101,7 +110,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     for (int i = 0; i < BatchComputeRequestImpl.MAX_BATCH_SIZE; ++i) {
@@ -125,7 +138,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     for (int i = 0; i < BatchComputeRequestImpl.MAX_BATCH_SIZE * 2 + 37; ++i) {
@@ -153,7 +170,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     for (int i = 0; i < 5; ++i) {
@@ -189,7 +210,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     for (int i = 0; i < BatchComputeRequestImpl.MAX_BATCH_SIZE * 3; ++i) {
@@ -212,7 +237,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     for (int i = 0; i < BatchComputeRequestImpl.MAX_BATCH_SIZE * 2 + 37; ++i) {
@@ -254,7 +283,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     for (int i = 0; i < 55; ++i) {
@@ -296,7 +329,11 @@ public class BatchComputeRequestImplTest {
 
     BatchComputeRequest<Get, Image> batchRequest =
         new BatchComputeRequestImpl<>(
-            compute, registry, USER_AGENT, MoreExecutors.newDirectExecutorService());
+            compute,
+            registry,
+            USER_AGENT,
+            MoreExecutors.newDirectExecutorService(),
+            new AdaptiveBatchSizer(PROJECT));
 
     CountResponses responses = new CountResponses();
     for (int i = 0; i < 55; ++i) {
@@ -57,9 +57,12 @@ import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCrede
 import com.netflix.spinnaker.clouddriver.names.NamingStrategy;
 import com.netflix.spinnaker.moniker.Moniker;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.runner.JUnitPlatform;
@@ -290,6 +293,59 @@ final class GoogleZonalServerGroupCachingAgentTest {
         .containsExactlyInAnyOrder(instanceKey("overwritten-v001-efgh"));
   }
 
+  @Test
+  void loadData_aggregatedListsSharedBetweenRegions() {
+    String otherRegion = "otherregion";
+    String otherZone = otherRegion + "-otherzone";
+    StubComputeFactory computeFactory =
+        new StubComputeFactory()
+            .setInstanceGroupManagers(
+                instanceGroupManager("aggregated-v001"),
+                instanceGroupManager("otherzone-v001").setZone("http://compute/zones/" + otherZone))
+            .setInstances(
+                instance("aggregated-v001-abcd"),
+                instance("aggregated-v001-efgh"),
+                instance("aggregated-v002-abcd"),
+                instance("otherzone-v001-abcd").setZone(otherZone));
+    GoogleNamedAccountCredentials credentials =
+        credentials(
+            computeFactory.create(),
+            ImmutableMap.of(
+                REGION, ImmutableList.of(ZONE), otherRegion, ImmutableList.of(otherZone)));
+    AggregatedListCache aggregatedLists =
+        new AggregatedListCache(credentials, computeApiFactory(), Duration.ofMinutes(1));
+
+    CacheResult cacheResult =
+        createCachingAgent(credentials, REGION, aggregatedLists).loadData(inMemoryProviderCache());
+    int aggregatedListRequests = computeFactory.getAggregatedListRequests();
+    CacheResult otherCacheResult =
+        createCachingAgent(credentials, otherRegion, aggregatedLists)
+            .loadData(inMemoryProviderCache());
+
+    CacheData serverGroup =
+        getOnlyElement(cacheResult.getCacheResults().get(SERVER_GROUPS.getNs()));
+    assertThat(serverGroup.getId()).isEqualTo(serverGroupKey("aggregated-v001"));
+    assertThat(serverGroup.getRelationships().get(INSTANCES.getNs()))
+        .containsExactlyInAnyOrder(
+            instanceKey("aggregated-v001-abcd"), instanceKey("aggregated-v001-efgh"));
+
+    CacheData otherServerGroup =
+        getOnlyElement(otherCacheResult.getCacheResults().get(SERVER_GROUPS.getNs()));
+    assertThat(otherServerGroup.getId())
+        .isEqualTo(
+            Keys.getServerGroupKey(
+                "otherzone-v001",
+                moniker("otherzone-v001").getCluster(),
+                ACCOUNT_NAME,
+                otherRegion,
+                otherZone));
+    assertThat(otherServerGroup.getRelationships().get(INSTANCES.getNs()))
+        .containsExactly(Keys.getInstanceKey(ACCOUNT_NAME, otherRegion, "otherzone-v001-abcd"));
+
+    assertThat(aggregatedListRequests).isPositive();
+    assertThat(computeFactory.getAggregatedListRequests()).isEqualTo(aggregatedListRequests);
+  }
+
   @Test
   void pendingOnDemandRequests() {
     ProviderCache providerCache = inMemoryProviderCache();
@@ -506,21 +562,41 @@ final class GoogleZonalServerGroupCachingAgentTest {
   }
 
   public static GoogleZonalServerGroupCachingAgent createCachingAgent(Compute compute) {
+    return createCachingAgent(
+        credentials(compute, ImmutableMap.of(REGION, ImmutableList.of(ZONE))),
+        REGION,
+        /* aggregatedLists= */ null);
+  }
+
+  private static GoogleZonalServerGroupCachingAgent createCachingAgent(
+      GoogleNamedAccountCredentials credentials,
+      String region,
+      @Nullable AggregatedListCache aggregatedLists) {
     return new GoogleZonalServerGroupCachingAgent(
-        new GoogleNamedAccountCredentials.Builder()
-            .project(PROJECT)
-            .name(ACCOUNT_NAME)
-            .compute(compute)
-            .regionToZonesMap(ImmutableMap.of(REGION, ImmutableList.of(ZONE)))
-            .build(),
-        new GoogleComputeApiFactory(
-            new GoogleOperationPoller(),
-            new DefaultRegistry(),
-            "user-agent",
-            MoreExecutors.listeningDecorator(Executors.newCachedThreadPool())),
+        credentials,
+        computeApiFactory(),
         new DefaultRegistry(),
-        REGION,
-        new ObjectMapper());
+        region,
+        new ObjectMapper(),
+        aggregatedLists);
+  }
+
+  private static GoogleNamedAccountCredentials credentials(
+      Compute compute, Map<String, List<String>> regionToZones) {
+    return new GoogleNamedAccountCredentials.Builder()
+        .project(PROJECT)
+        .name(ACCOUNT_NAME)
+        .compute(compute)
+        .regionToZonesMap(regionToZones)
+        .build();
+  }
+
+  private static GoogleComputeApiFactory computeApiFactory() {
+    return new GoogleComputeApiFactory(
+        new GoogleOperationPoller(),
+        new DefaultRegistry(),
+        "user-agent",
+        MoreExecutors.listeningDecorator(Executors.newCachedThreadPool()));
   }
 
   private static InstanceGroupManager instanceGroupManager(String name) {
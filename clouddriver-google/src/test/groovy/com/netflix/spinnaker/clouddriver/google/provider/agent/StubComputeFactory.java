@@ -39,7 +39,9 @@ import com.google.api.services.compute.model.AutoscalersScopedList;
 import com.google.api.services.compute.model.Instance;
 import com.google.api.services.compute.model.InstanceAggregatedList;
 import com.google.api.services.compute.model.InstanceGroupManager;
+import com.google.api.services.compute.model.InstanceGroupManagerAggregatedList;
 import com.google.api.services.compute.model.InstanceGroupManagerList;
+import com.google.api.services.compute.model.InstanceGroupManagersScopedList;
 import com.google.api.services.compute.model.InstanceList;
 import com.google.api.services.compute.model.InstanceTemplate;
 import com.google.api.services.compute.model.InstanceTemplateList;
@@ -57,6 +59,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -84,6 +87,8 @@ final class StubComputeFactory {
               + "/zones/([-a-z0-9]+)/instanceGroupManagers/([-a-zA-Z0-9]+)");
   private static final Pattern LIST_ZONAL_IGM_PATTERN =
       Pattern.compile(COMPUTE_PROJECT_PATH_PREFIX + "/zones/([-a-z0-9]+)/instanceGroupManagers");
+  private static final Pattern AGGREGATED_IGM_PATTERN =
+      Pattern.compile(COMPUTE_PROJECT_PATH_PREFIX + "/aggregated/instanceGroupManagers");
 
   private static final Pattern GET_REGIONAL_IGM_PATTERN =
       Pattern.compile(
@@ -119,6 +124,7 @@ final class StubComputeFactory {
   private List<InstanceTemplate> instanceTemplates = new ArrayList<>();
   private List<Instance> instances = new ArrayList<>();
   private List<Autoscaler> autoscalers = new ArrayList<>();
+  private final AtomicInteger aggregatedListRequests = new AtomicInteger();
 
   StubComputeFactory setInstanceGroupManagers(InstanceGroupManager... instanceGroupManagers) {
     this.instanceGroupManagers = ImmutableList.copyOf(instanceGroupManagers);
@@ -140,6 +146,11 @@ final class StubComputeFactory {
     return this;
   }
 
+  /** @return how many aggregatedList requests the computes created by this factory served */
+  int getAggregatedListRequests() {
+    return aggregatedListRequests.get();
+  }
+
   Compute create() {
     HttpTransport httpTransport =
         new StubHttpTransport()
@@ -148,6 +159,7 @@ final class StubComputeFactory {
             .addGetResponse(
                 LIST_ZONAL_IGM_PATTERN,
                 new PathBasedJsonResponseGenerator(this::instanceGroupManagerList))
+            .addGetResponse(AGGREGATED_IGM_PATTERN, this::instanceGroupManagerAggregatedList)
             .addGetResponse(GET_REGIONAL_IGM_PATTERN, this::getRegionInstanceGroupManager)
             .addGetResponse(
                 LIST_REGIONAL_IGM_PATTERN,
@@ -195,6 +207,25 @@ final class StubComputeFactory {
                 .collect(toImmutableList()));
   }
 
+  private MockLowLevelHttpResponse instanceGroupManagerAggregatedList(
+      LowLevelHttpRequest request) {
+    aggregatedListRequests.incrementAndGet();
+    ImmutableListMultimap<String, InstanceGroupManager> managersMultimap =
+        aggregate(
+            instanceGroupManagers,
+            InstanceGroupManager::getZone,
+            InstanceGroupManager::getRegion);
+    ImmutableMap<String, InstanceGroupManagersScopedList> managers =
+        managersMultimap.asMap().entrySet().stream()
+            .collect(
+                toImmutableMap(
+                    Map.Entry::getKey,
+                    e ->
+                        new InstanceGroupManagersScopedList()
+                            .setInstanceGroupManagers(ImmutableList.copyOf(e.getValue()))));
+    return jsonResponse(new InstanceGroupManagerAggregatedList().setItems(managers));
+  }
+
   private MockLowLevelHttpResponse getRegionInstanceGroupManager(MockLowLevelHttpRequest request) {
     Matcher matcher = GET_REGIONAL_IGM_PATTERN.matcher(getPath(request));
     checkState(matcher.matches());
@@ -246,6 +277,7 @@ final class StubComputeFactory {
   }
 
   private MockLowLevelHttpResponse instanceAggregatedList(LowLevelHttpRequest request) {
+    aggregatedListRequests.incrementAndGet();
     ImmutableListMultimap<String, Instance> instancesMultimap =
         aggregate(instances, Instance::getZone, /* regionFunction= */ instance -> null);
     ImmutableMap<String, InstancesScopedList> instances =
@@ -309,6 +341,7 @@ final class StubComputeFactory {
   }
 
   private MockLowLevelHttpResponse autoscalerAggregatedList(LowLevelHttpRequest request) {
+    aggregatedListRequests.incrementAndGet();
     ImmutableListMultimap<String, Autoscaler> autoscalersMultimap =
         aggregate(autoscalers, Autoscaler::getZone, Autoscaler::getRegion);
     ImmutableMap<String, AutoscalersScopedList> autoscalers =
@@ -37,8 +37,8 @@ open class SagaAutoConfiguration {
 
   @Bean
   @ConditionalOnMissingBean(SagaRepository::class)
-  open fun sagaRepository(eventRepository: EventRepository): SagaRepository {
-    return DefaultSagaRepository(eventRepository)
+  open fun sagaRepository(eventRepository: EventRepository, sagaProperties: SagaProperties): SagaRepository {
+    return DefaultSagaRepository(eventRepository, sagaProperties.snapshotInterval)
   }
 
   @Bean
@@ -58,4 +58,10 @@ open class SagaAutoConfiguration {
 }
 
 @ConfigurationProperties("spinnaker.clouddriver.sagas")
-open class SagaProperties
+open class SagaProperties {
+  /**
+   * The number of events after which a Saga's state is snapshotted, so loading it doesn't need to replay its
+   * entire event log. Snapshots are disabled if not positive.
+   */
+  var snapshotInterval: Int = DefaultSagaRepository.DEFAULT_SNAPSHOT_INTERVAL
+}
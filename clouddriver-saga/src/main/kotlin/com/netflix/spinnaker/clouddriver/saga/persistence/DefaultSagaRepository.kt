@@ -16,6 +16,7 @@
 package com.netflix.spinnaker.clouddriver.saga.persistence
 
 import com.netflix.spinnaker.clouddriver.event.Aggregate
+import com.netflix.spinnaker.clouddriver.event.AggregateSnapshot
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository.ListAggregatesCriteria
 import com.netflix.spinnaker.clouddriver.saga.SagaEvent
@@ -26,9 +27,13 @@ import org.slf4j.LoggerFactory
 /**
  * The default [SagaRepository] implementation. Since Saga persistence is powered entirely by the
  * eventing lib, this class does not need an explicit persistence backend dependency.
+ *
+ * Every [snapshotInterval] events, a snapshot of the Saga's folded events is saved next to its event
+ * log, so that loading a Saga only replays the events saved since its latest snapshot.
  */
 class DefaultSagaRepository(
-  private val eventRepository: EventRepository
+  private val eventRepository: EventRepository,
+  private val snapshotInterval: Int = DEFAULT_SNAPSHOT_INTERVAL
 ) : SagaRepository {
 
   private val log by lazy { LoggerFactory.getLogger(javaClass) }
@@ -56,7 +61,9 @@ class DefaultSagaRepository(
   }
 
   override fun get(type: String, id: String): Saga? {
-    val events = eventRepository.list(type, id)
+    val events = eventRepository.getSnapshot(type, id)
+      ?.let { snapshot -> snapshot.events + eventRepository.list(type, id, snapshot.sequence) }
+      ?: eventRepository.list(type, id)
     if (events.isEmpty()) {
       return null
     }
@@ -83,5 +90,46 @@ class DefaultSagaRepository(
     }
     events.add(SagaSaved(saga.getSequence()))
     eventRepository.save(saga.name, saga.id, saga.getVersion(), events)
+
+    maybeSaveSnapshot(saga, events)
+  }
+
+  /**
+   * Saves a snapshot whenever the saved [events] cross a [snapshotInterval] boundary.
+   *
+   * The save was accepted against the Saga's version, so its hydrated events plus the saved [events]
+   * are all of the Saga's events.
+   */
+  private fun maybeSaveSnapshot(saga: Saga, events: List<SagaEvent>) {
+    if (snapshotInterval <= 0) {
+      return
+    }
+
+    val previousSequence = saga.getEvents().lastOrNull()?.getMetadata()?.sequence ?: 0
+    val sequence = events.last().getMetadata().sequence
+    if (sequence / snapshotInterval == previousSequence / snapshotInterval) {
+      return
+    }
+
+    try {
+      eventRepository.saveSnapshot(AggregateSnapshot(saga.name, saga.id, sequence, fold(saga.getEvents() + events)))
+    } catch (e: Exception) {
+      // Snapshots only speed up loading the Saga, the event log is still complete without them.
+      log.warn("Failed saving snapshot of ${saga.name}/${saga.id} at sequence $sequence", e)
+    }
+  }
+
+  /**
+   * Folds the [events] of a Saga into the events needed to rebuild it. Every save appends a [SagaSaved], but only
+   * the last one is read when the Saga is loaded, so the rest are dropped; all other events are part of the Saga's
+   * state (its commands, their outcomes and its logs) and are kept.
+   */
+  private fun fold(events: List<SagaEvent>): List<SagaEvent> {
+    val lastSaved = events.lastOrNull { it is SagaSaved }
+    return events.filter { it !is SagaSaved || it === lastSaved }
+  }
+
+  companion object {
+    const val DEFAULT_SNAPSHOT_INTERVAL = 50
   }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.saga.persistence
+
+import com.netflix.spinnaker.clouddriver.event.AggregateSnapshot
+import com.netflix.spinnaker.clouddriver.event.EventMetadata
+import com.netflix.spinnaker.clouddriver.event.SpinnakerEvent
+import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository
+import com.netflix.spinnaker.clouddriver.saga.SagaEvent
+import com.netflix.spinnaker.clouddriver.saga.SagaLogAppended
+import com.netflix.spinnaker.clouddriver.saga.SagaSaved
+import com.netflix.spinnaker.clouddriver.saga.models.Saga
+import dev.minutest.junit.JUnit5Minutests
+import dev.minutest.rootContext
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.slot
+import io.mockk.verify
+import strikt.api.expectThat
+import strikt.assertions.containsExactly
+import strikt.assertions.isEqualTo
+import strikt.assertions.isNotNull
+
+class DefaultSagaRepositoryTest : JUnit5Minutests {
+
+  fun tests() = rootContext<Fixture> {
+    fixture {
+      Fixture()
+    }
+
+    test("loads a saga from its latest snapshot and the events saved after it") {
+      every { eventRepository.getSnapshot("test", "1") } returns AggregateSnapshot(
+        "test",
+        "1",
+        2,
+        listOf(log("one", 1), SagaSaved(0).withSequence(2))
+      )
+      every { eventRepository.list("test", "1", 2) } returns listOf(SagaSaved(1).withSequence(3))
+
+      expectThat(subject.get("test", "1"))
+        .isNotNull()
+        .and {
+          get { getSequence() }.isEqualTo(1)
+          get { getEvents().map { it.getMetadata().sequence } }.containsExactly(1, 2, 3)
+        }
+
+      verify(exactly = 0) { eventRepository.list("test", "1") }
+    }
+
+    test("loads a saga from its event log without a snapshot") {
+      every { eventRepository.getSnapshot("test", "1") } returns null
+      every { eventRepository.list("test", "1") } returns listOf(log("one", 1), SagaSaved(0).withSequence(2))
+
+      expectThat(subject.get("test", "1"))
+        .isNotNull()
+        .get { getEvents().map { it.getMetadata().sequence } }.containsExactly(1, 2)
+    }
+
+    test("saves a snapshot without superseded saves once the snapshot interval is crossed") {
+      val snapshot = slot<AggregateSnapshot>()
+      every { eventRepository.saveSnapshot(capture(snapshot)) } returns Unit
+
+      val saga = Saga("test", "1")
+      saga.log("one")
+      subject.save(saga)
+
+      verify(exactly = 0) { eventRepository.saveSnapshot(any()) }
+
+      saga.addEventForTest(log("one", 1))
+      saga.addEventForTest(SagaSaved(0).withSequence(2))
+      saga.log("two")
+      subject.save(saga)
+
+      expectThat(snapshot.captured) {
+        get { sequence }.isEqualTo(4)
+        get { events.map { it.getMetadata().sequence } }.containsExactly(1, 3, 4)
+      }
+    }
+  }
+
+  private inner class Fixture {
+    val eventRepository: EventRepository = mockk(relaxed = true)
+
+    val subject = DefaultSagaRepository(eventRepository, snapshotInterval = 3)
+
+    init {
+      val events = slot<List<SpinnakerEvent>>()
+      every { eventRepository.save("test", "1", any(), capture(events)) } answers {
+        val lastSequence = if (thirdArg<Long>() == 0L) 0L else 2L
+        events.captured.forEachIndexed { index, event ->
+          event.withSequence(lastSequence + index + 1)
+        }
+      }
+    }
+  }
+
+  private fun log(message: String, sequence: Long): SagaEvent =
+    SagaLogAppended(SagaLogAppended.Message(message, null), null).withSequence(sequence)
+
+  private fun <T : SpinnakerEvent> T.withSequence(sequence: Long): T = apply {
+    setMetadata(
+      EventMetadata(
+        id = "$sequence",
+        aggregateType = "test",
+        aggregateId = "1",
+        sequence = sequence,
+        originatingVersion = sequence / 2
+      )
+    )
+  }
+}
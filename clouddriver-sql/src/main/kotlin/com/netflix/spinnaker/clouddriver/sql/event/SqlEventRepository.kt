@@ -15,9 +15,11 @@
  */
 package com.netflix.spinnaker.clouddriver.sql.event
 
+import com.fasterxml.jackson.core.type.TypeReference
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.clouddriver.event.Aggregate
+import com.netflix.spinnaker.clouddriver.event.AggregateSnapshot
 import com.netflix.spinnaker.clouddriver.event.CompositeSpinnakerEvent
 import com.netflix.spinnaker.clouddriver.event.EventMetadata
 import com.netflix.spinnaker.clouddriver.event.SpinnakerEvent
@@ -27,13 +29,21 @@ import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository.ListAggregatesCriteria
 import com.netflix.spinnaker.clouddriver.sql.transactional
 import com.netflix.spinnaker.config.ConnectionPools
+import com.netflix.spinnaker.config.SqlEventRepositoryConfigProperties
 import com.netflix.spinnaker.kork.sql.routing.withPool
 import com.netflix.spinnaker.kork.version.ServiceVersion
 import de.huxhorn.sulky.ulid.ULID
 import java.sql.SQLIntegrityConstraintViolationException
+import java.util.Collections
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
 import org.jooq.Condition
 import org.jooq.DSLContext
+import org.jooq.SQLDialect
 import org.jooq.impl.DSL.currentTimestamp
 import org.jooq.impl.DSL.field
 import org.jooq.impl.DSL.max
@@ -46,13 +56,44 @@ class SqlEventRepository(
   private val serviceVersion: ServiceVersion,
   private val objectMapper: ObjectMapper,
   private val applicationEventPublisher: ApplicationEventPublisher,
-  private val registry: Registry
+  private val registry: Registry,
+  private val properties: SqlEventRepositoryConfigProperties = SqlEventRepositoryConfigProperties()
 ) : EventRepository {
 
   private val log by lazy { LoggerFactory.getLogger(javaClass) }
 
   private val eventCountId = registry.createId("eventing.events")
   private val eventErrorCountId = registry.createId("eventing.errors")
+  private val aggregateCacheId = registry.createId("eventing.aggregates.cache")
+  private val groupCommitSizeId = registry.createId("eventing.groupCommit.size")
+  private val snapshotCacheId = registry.createId("eventing.snapshots.cache")
+
+  /**
+   * The last known state of recently saved aggregates. Every write of an aggregate increments its version, so a
+   * cached aggregate is only used if its version is still the one a save originates from, and is verified by the
+   * conditional version update of the save itself.
+   */
+  private val aggregateCache: MutableMap<AggregateKey, SqlAggregate> = Collections.synchronizedMap(
+    object : LinkedHashMap<AggregateKey, SqlAggregate>(16, 0.75f, true) {
+      override fun removeEldestEntry(eldest: MutableMap.MutableEntry<AggregateKey, SqlAggregate>): Boolean =
+        size > properties.aggregateCacheSize
+    }
+  )
+
+  /**
+   * The latest snapshots of recently loaded aggregates, already deserialized. A snapshot holds the folded state of
+   * its aggregate, so it's only read from the database when its sequence has changed, leaving a load with only the
+   * events saved since the snapshot to deserialize.
+   */
+  private val snapshotCache: MutableMap<AggregateKey, AggregateSnapshot> = Collections.synchronizedMap(
+    object : LinkedHashMap<AggregateKey, AggregateSnapshot>(16, 0.75f, true) {
+      override fun removeEldestEntry(eldest: MutableMap.MutableEntry<AggregateKey, AggregateSnapshot>): Boolean =
+        size > properties.snapshotCacheSize
+    }
+  )
+
+  private val pendingSaves = ConcurrentLinkedQueue<SaveRequest>()
+  private val groupCommitLock = ReentrantLock()
 
   override fun save(
     aggregateType: String,
@@ -63,94 +104,14 @@ class SqlEventRepository(
     val eventNames = newEvents.joinToString { it.javaClass.simpleName }
     log.debug("Saving $aggregateType/$aggregateId expecting version $originatingVersion with [$eventNames]")
 
-    val aggregateCondition = field("aggregate_type").eq(aggregateType)
-      .and(field("aggregate_id").eq(aggregateId))
-
+    val request = SaveRequest(AggregateKey(aggregateType, aggregateId), originatingVersion, newEvents)
     try {
-      withPool(POOL_NAME) {
-        jooq.transactional { ctx ->
-          // Get or create the aggregate and immediately assert that this save operation is being committed against the
-          // most recent aggregate state.
-          val aggregate = ctx.maybeGetAggregate(aggregateCondition) ?: {
-            if (originatingVersion != 0L) {
-              // The aggregate doesn't exist and we're already expecting a non-zero version.
-              throw AggregateChangeRejectedException(-1, originatingVersion)
-            }
-
-            // The aggregate doesn't exist yet, so we'll go ahead and seed it immediately.
-            val initialAggregate = mapOf(
-              field("aggregate_type") to aggregateType,
-              field("aggregate_id") to aggregateId,
-              field("token") to ulid.nextULID(),
-              field("version") to 0
-            )
-
-            try {
-              ctx.insertInto(AGGREGATES_TABLE)
-                .columns(initialAggregate.keys)
-                .values(initialAggregate.values)
-                .execute()
-            } catch (e: SQLIntegrityConstraintViolationException) {
-              // In the event that two requests are made at the same time to create a new aggregate (via two diff
-              // clouddriver instances), catch the exception and bubble it up as a duplicate exception so that it
-              // may be processed in an idempotent way, rather than causing an error.
-              //
-              // This is preferential to going back to the database to load the existing aggregate record, since we
-              // already know the aggregate version will not match the originating version expected from this process
-              // and would fail just below anyway.
-              throw DuplicateEventAggregateException(e)
-            }
-
-            Aggregate(aggregateType, aggregateId, 0)
-          }()
-
-          if (aggregate.version != originatingVersion) {
-            throw AggregateChangeRejectedException(aggregate.version, originatingVersion)
-          }
-
-          // Events have their own auto-incrementing sequence within an aggregate; so we need to get the last sequence
-          // and generate from there.
-          val lastSequence = ctx.select(max(field("sequence"))).from(EVENTS_TABLE)
-            .where(aggregateCondition)
-            .limit(1)
-            .fetchOne(0, Long::class.java)
-
-          log.debug("Last event sequence number is $lastSequence")
-          var nextSequence = lastSequence
-
-          // Add the new events, doesn't matter what they are: At this point, they're "probably" valid, as the higher
-          // libs should be validating the event payload.
-          ctx.insertInto(EVENTS_TABLE)
-            .columns(
-              field("id"),
-              field("aggregate_type"),
-              field("aggregate_id"),
-              field("sequence"),
-              field("originating_version"),
-              field("timestamp"),
-              field("metadata"),
-              field("data")
-            )
-            .let { insertValuesStep ->
-              var step = insertValuesStep
-              newEvents.forEach {
-                nextSequence = it.initialize(aggregateType, aggregateId, originatingVersion, nextSequence)
-                step = step.values(it.toSqlValues(objectMapper))
-              }
-              step
-            }
-            .execute()
-
-          // Update the aggregates table with a new version
-          ctx.update(AGGREGATES_TABLE)
-            .set(field("version"), field("version", Long::class.java).add(1))
-            .set(field("last_change_timestamp"), currentTimestamp())
-            .where(aggregateCondition)
-            .execute()
-
-          log.debug("Event sequence number is now $nextSequence")
-        }
+      if (properties.groupCommit.enabled) {
+        commitGrouped(request)
+      } else {
+        commit(listOf(request))
       }
+      request.await()
     } catch (e: AggregateChangeRejectedException) {
       registry.counter(
         eventErrorCountId
@@ -174,6 +135,199 @@ class SqlEventRepository(
     newEvents.forEach { applicationEventPublisher.publishEvent(it) }
   }
 
+  /**
+   * Queues [request] to be committed along with the saves of other threads. Whichever thread holds the lock
+   * commits everything that has been queued while the previous transaction was running, so there is no added
+   * latency when saves are not concurrent.
+   */
+  private fun commitGrouped(request: SaveRequest) {
+    pendingSaves.add(request)
+    while (!request.result.isDone) {
+      groupCommitLock.withLock {
+        if (!request.result.isDone) {
+          val batch = mutableListOf<SaveRequest>()
+          while (batch.size < properties.groupCommit.maxBatchSize) {
+            batch.add(pendingSaves.poll() ?: break)
+          }
+          registry.distributionSummary(groupCommitSizeId).record(batch.size.toLong())
+          try {
+            commit(batch)
+          } finally {
+            // Don't leave the threads waiting for this batch hanging if committing it failed unexpectedly.
+            batch.filterNot { it.result.isDone }.forEach {
+              it.result.completeExceptionally(IllegalStateException("Grouped save was not committed"))
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Commits [requests] in a single transaction, completing each of them. A request whose aggregate has changed
+   * since its originating version is rejected on its own; if the transaction fails for any other reason and
+   * contains multiple requests, they are retried one transaction at a time.
+   */
+  private fun commit(requests: List<SaveRequest>) {
+    val committed = mutableMapOf<SaveRequest, SqlAggregate>()
+    try {
+      withPool(POOL_NAME) {
+        jooq.transactional { ctx ->
+          committed.clear()
+          requests.forEach { request ->
+            try {
+              committed[request] = ctx.append(request)
+            } catch (e: AggregateChangeRejectedException) {
+              // Nothing was written for this request, so the other requests of the transaction are unaffected.
+              aggregateCache.remove(request.key)
+              request.result.completeExceptionally(e)
+            }
+          }
+        }
+      }
+    } catch (e: Exception) {
+      requests.forEach { aggregateCache.remove(it.key) }
+      if (requests.size > 1) {
+        log.warn("Failed committing ${requests.size} grouped saves, retrying individually", e)
+        requests.filterNot { it.result.isDone }.forEach { commit(listOf(it)) }
+      } else {
+        requests.forEach { it.result.completeExceptionally(e) }
+      }
+      return
+    }
+
+    committed.forEach { (request, aggregate) ->
+      aggregateCache[request.key] = aggregate
+      request.result.complete(Unit)
+    }
+  }
+
+  /**
+   * Appends the events of [request] to its aggregate.
+   *
+   * @return The new state of the aggregate
+   */
+  private fun DSLContext.append(request: SaveRequest): SqlAggregate {
+    val (aggregateType, aggregateId) = request.key
+    val originatingVersion = request.originatingVersion
+    val aggregateCondition = field("aggregate_type").eq(aggregateType)
+      .and(field("aggregate_id").eq(aggregateId))
+
+    // Get or create the aggregate and immediately assert that this save operation is being committed against the
+    // most recent aggregate state. Recently saved aggregates are served from the cache; whether they're still
+    // current is verified by the version update below.
+    val aggregate = aggregateCache[request.key]
+      ?.takeIf { it.model.version == originatingVersion }
+      ?.also { registry.counter(aggregateCacheId.withTag("result", "hit")).increment() }
+      ?: maybeGetAggregate(aggregateCondition)
+        ?.also { registry.counter(aggregateCacheId.withTag("result", "miss")).increment() }
+      ?: {
+        if (originatingVersion != 0L) {
+          // The aggregate doesn't exist and we're already expecting a non-zero version.
+          throw AggregateChangeRejectedException(-1, originatingVersion)
+        }
+
+        // The aggregate doesn't exist yet, so we'll go ahead and seed it immediately.
+        val token = ulid.nextULID()
+        val initialAggregate = mapOf(
+          field("aggregate_type") to aggregateType,
+          field("aggregate_id") to aggregateId,
+          field("token") to token,
+          field("version") to 0
+        )
+
+        try {
+          insertInto(AGGREGATES_TABLE)
+            .columns(initialAggregate.keys)
+            .values(initialAggregate.values)
+            .execute()
+        } catch (e: SQLIntegrityConstraintViolationException) {
+          // In the event that two requests are made at the same time to create a new aggregate (via two diff
+          // clouddriver instances), catch the exception and bubble it up as a duplicate exception so that it
+          // may be processed in an idempotent way, rather than causing an error.
+          //
+          // This is preferential to going back to the database to load the existing aggregate record, since we
+          // already know the aggregate version will not match the originating version expected from this process
+          // and would fail just below anyway.
+          throw DuplicateEventAggregateException(e)
+        }
+
+        SqlAggregate(Aggregate(aggregateType, aggregateId, 0), token, 0)
+      }()
+
+    if (aggregate.model.version != originatingVersion) {
+      throw AggregateChangeRejectedException(aggregate.model.version, originatingVersion)
+    }
+
+    // Events have their own auto-incrementing sequence within an aggregate, the last of which is tracked on
+    // the aggregate itself so we can generate from there. Instances that predate the tracking don't update it,
+    // so unless they're known to be gone the sequences of the saved events are consulted as well.
+    // TODO: Remove the fallback along with the lastSequenceOnly flag in the release after the one that added it.
+    val lastSequence = if (properties.lastSequenceOnly) {
+      aggregate.lastSequence
+    } else {
+      maxOf(aggregate.lastSequence, maxEventSequence(aggregateCondition))
+    }
+    log.debug("Last event sequence number is $lastSequence")
+    var nextSequence: Long? = lastSequence
+    val eventValues = request.newEvents.map {
+      nextSequence = it.initialize(aggregateType, aggregateId, originatingVersion, nextSequence)
+      it.toSqlValues(objectMapper)
+    }
+
+    // Update the aggregates table with a new version and the last event sequence, as long as nothing else has
+    // changed the aggregate since it was read.
+    val updated = update(AGGREGATES_TABLE)
+      .set(field("version"), field("version", Long::class.java).add(1))
+      .set(field("last_sequence"), nextSequence)
+      .set(field("last_change_timestamp"), currentTimestamp())
+      .where(aggregateCondition.and(field("version").eq(originatingVersion)))
+      .execute()
+
+    if (updated == 0) {
+      throw AggregateChangeRejectedException(
+        maybeGetAggregate(aggregateCondition)?.model?.version ?: -1,
+        originatingVersion
+      )
+    }
+
+    // Add the new events, doesn't matter what they are: At this point, they're "probably" valid, as the higher
+    // libs should be validating the event payload.
+    if (eventValues.isNotEmpty()) {
+      insertInto(EVENTS_TABLE)
+        .columns(
+          field("id"),
+          field("aggregate_type"),
+          field("aggregate_id"),
+          field("sequence"),
+          field("originating_version"),
+          field("timestamp"),
+          field("metadata"),
+          field("data")
+        )
+        .let { insertValuesStep ->
+          var step = insertValuesStep
+          eventValues.forEach { step = step.values(it) }
+          step
+        }
+        .execute()
+    }
+
+    log.debug("Event sequence number is now $nextSequence")
+
+    return SqlAggregate(
+      Aggregate(aggregateType, aggregateId, originatingVersion + 1),
+      aggregate.token,
+      nextSequence ?: lastSequence
+    )
+  }
+
+  private fun DSLContext.maxEventSequence(aggregateCondition: Condition): Long =
+    select(max(field("sequence", Long::class.java)))
+      .from(EVENTS_TABLE)
+      .where(aggregateCondition)
+      .fetchOne(0, Long::class.java) ?: 0
+
   /**
    * Initialize the [SpinnakerEvent] lateinit properties (recursively, if necessary).
    *
@@ -231,6 +385,105 @@ class SqlEventRepository(
     }
   }
 
+  override fun list(aggregateType: String, aggregateId: String, afterSequence: Long): List<SpinnakerEvent> {
+    return withPool(POOL_NAME) {
+      jooq.select().from(EVENTS_TABLE)
+        .where(
+          field("aggregate_type").eq(aggregateType)
+            .and(field("aggregate_id").eq(aggregateId))
+            .and(field("sequence").greaterThan(afterSequence))
+        )
+        .orderBy(field("sequence").asc())
+        .fetchEvents(objectMapper)
+    }
+  }
+
+  override fun saveSnapshot(snapshot: AggregateSnapshot) {
+    val data = objectMapper.writeValueAsString(
+      snapshot.events.map { SqlSnapshotEvent(it.getMetadata(), it) }
+    )
+
+    withPool(POOL_NAME) {
+      val insert = jooq.insertInto(SNAPSHOTS_TABLE)
+        .columns(
+          field("aggregate_type"),
+          field("aggregate_id"),
+          field("sequence"),
+          field("timestamp"),
+          field("data")
+        )
+        .values(snapshot.aggregateType, snapshot.aggregateId, snapshot.sequence, currentTimestamp(), data)
+
+      // jOOQ can't emulate an upsert of a plain SQL table on Postgres, as it doesn't know its primary key
+      val upsert = when (jooq.dialect()) {
+        SQLDialect.POSTGRES -> insert.onConflict(field("aggregate_type"), field("aggregate_id")).doUpdate()
+        else -> insert.onDuplicateKeyUpdate()
+      }
+
+      upsert
+        .set(field("sequence"), snapshot.sequence)
+        .set(field("timestamp"), currentTimestamp())
+        .set(field("data"), data)
+        .execute()
+    }
+
+    snapshotCache[AggregateKey(snapshot.aggregateType, snapshot.aggregateId)] = snapshot
+    log.debug("Saved snapshot of ${snapshot.aggregateType}/${snapshot.aggregateId} at sequence ${snapshot.sequence}")
+  }
+
+  override fun getSnapshot(aggregateType: String, aggregateId: String): AggregateSnapshot? {
+    val key = AggregateKey(aggregateType, aggregateId)
+    val snapshotCondition = field("aggregate_type").eq(aggregateType)
+      .and(field("aggregate_id").eq(aggregateId))
+
+    // Only the sequence of the latest snapshot is read while the cached snapshot is still current.
+    val sequence = withPool(POOL_NAME) {
+      jooq.select(field("sequence"))
+        .from(SNAPSHOTS_TABLE)
+        .where(snapshotCondition)
+        .fetchOne(0, Long::class.java)
+    }
+    if (sequence == null) {
+      snapshotCache.remove(key)
+      return null
+    }
+
+    snapshotCache[key]
+      ?.takeIf { it.sequence == sequence }
+      ?.let {
+        registry.counter(snapshotCacheId.withTag("result", "hit")).increment()
+        return it
+      }
+    registry.counter(snapshotCacheId.withTag("result", "miss")).increment()
+
+    val record = withPool(POOL_NAME) {
+      jooq.select(field("sequence"), field("data"))
+        .from(SNAPSHOTS_TABLE)
+        .where(snapshotCondition)
+        .fetchOne()
+    } ?: return null
+
+    return try {
+      AggregateSnapshot(
+        aggregateType = aggregateType,
+        aggregateId = aggregateId,
+        sequence = record.get(field("sequence"), Long::class.java),
+        events = objectMapper.readValue(record.get(field("data"), String::class.java), SNAPSHOT_EVENTS_TYPE)
+          .map { it.event.withMetadata(it.metadata) }
+      ).also { snapshotCache[key] = it }
+    } catch (e: Exception) {
+      // The snapshot may contain events that can no longer be read (e.g. after an event type was renamed); the
+      // event log is the source of truth, so fall back to it.
+      log.warn("Ignoring unreadable snapshot of $aggregateType/$aggregateId", e)
+      registry.counter(
+        eventErrorCountId
+          .withTags("aggregateType", aggregateType, "exception", e.javaClass.simpleName)
+      )
+        .increment()
+      null
+    }
+  }
+
   override fun listAggregates(criteria: ListAggregatesCriteria): EventRepository.ListAggregatesResult {
     // TODO(rz): validate criteria
 
@@ -259,21 +512,44 @@ class SqlEventRepository(
     }
   }
 
-  private fun DSLContext.maybeGetAggregate(aggregateCondition: Condition): Aggregate? {
+  private fun DSLContext.maybeGetAggregate(aggregateCondition: Condition): SqlAggregate? {
     return select()
       .from(AGGREGATES_TABLE)
       .where(aggregateCondition)
       .limit(1)
       .fetchAggregates()
       .firstOrNull()
-      ?.model
   }
 
   companion object {
     private val POOL_NAME = ConnectionPools.EVENTS.value
     private val AGGREGATES_TABLE = table("event_aggregates")
     private val EVENTS_TABLE = table("events")
+    private val SNAPSHOTS_TABLE = table("event_snapshots")
+
+    private val SNAPSHOT_EVENTS_TYPE = object : TypeReference<List<SqlSnapshotEvent>>() {}
 
     private val ulid = ULID()
   }
+
+  private data class AggregateKey(
+    val type: String,
+    val id: String
+  )
+
+  private class SaveRequest(
+    val key: AggregateKey,
+    val originatingVersion: Long,
+    val newEvents: List<SpinnakerEvent>
+  ) {
+    val result = CompletableFuture<Unit>()
+
+    fun await() {
+      try {
+        result.get()
+      } catch (e: ExecutionException) {
+        throw e.cause ?: e
+      }
+    }
+  }
 }
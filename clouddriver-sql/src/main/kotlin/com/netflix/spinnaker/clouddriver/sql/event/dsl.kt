@@ -42,10 +42,22 @@ internal fun <R : Record> SelectJoinStep<R>.withConditions(conditions: List<Cond
 
 /**
  * Internal model of [Aggregate].
+ *
+ * @param lastSequence The sequence of the last event saved to the aggregate
  */
 internal class SqlAggregate(
   val model: Aggregate,
-  val token: String
+  val token: String,
+  val lastSequence: Long
+)
+
+/**
+ * Serialized form of an event within an [com.netflix.spinnaker.clouddriver.event.AggregateSnapshot]. The
+ * [EventMetadata] of an event is not part of its own serialized form, so it is stored next to it.
+ */
+internal class SqlSnapshotEvent(
+  val metadata: EventMetadata,
+  val event: SpinnakerEvent
 )
 
 /**
@@ -63,7 +75,8 @@ internal fun Select<out Record>.fetchAggregates(): List<SqlAggregate> =
               id = rs.getString("aggregate_id"),
               version = rs.getLong("version")
             ),
-            token = rs.getString("token")
+            token = rs.getString("token"),
+            lastSequence = rs.getLong("last_sequence")
           )
         )
       }
@@ -93,18 +106,26 @@ internal fun Select<out Record>.fetchEvents(objectMapper: ObjectMapper): List<Sp
     mutableListOf<SpinnakerEvent>().apply {
       while (rs.next()) {
         try {
-          val event = objectMapper.readValue(rs.getString("data"), SpinnakerEvent::class.java).apply {
-            setMetadata(objectMapper.readValue(rs.getString("metadata"), EventMetadata::class.java))
-          }
-          if (event is CompositeSpinnakerEvent) {
-            event.getComposedEvents().forEach {
-              it.setMetadata(event.getMetadata().copy(id = "N/A", sequence = -1))
-            }
-          }
-          add(event)
+          add(
+            objectMapper.readValue(rs.getString("data"), SpinnakerEvent::class.java)
+              .withMetadata(objectMapper.readValue(rs.getString("metadata"), EventMetadata::class.java))
+          )
         } catch (e: JsonProcessingException) {
           throw InvalidEventTypeException(e)
         }
       }
     }
   }
+
+/**
+ * Sets the [EventMetadata] of a deserialized [SpinnakerEvent], including that of its composed events.
+ */
+internal fun SpinnakerEvent.withMetadata(metadata: EventMetadata): SpinnakerEvent {
+  setMetadata(metadata)
+  if (this is CompositeSpinnakerEvent) {
+    getComposedEvents().forEach {
+      it.setMetadata(metadata.copy(id = "N/A", sequence = -1))
+    }
+  }
+  return this
+}
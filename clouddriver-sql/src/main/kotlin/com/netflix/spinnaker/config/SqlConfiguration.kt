@@ -45,7 +45,11 @@ import org.springframework.context.annotation.Import
 @Configuration
 @ConditionalOnProperty("sql.enabled")
 @Import(DefaultSqlConfiguration::class)
-@EnableConfigurationProperties(SqlTaskCleanupAgentProperties::class, SqlEventCleanupAgentConfigProperties::class)
+@EnableConfigurationProperties(
+  SqlTaskCleanupAgentProperties::class,
+  SqlEventCleanupAgentConfigProperties::class,
+  SqlEventRepositoryConfigProperties::class
+)
 class SqlConfiguration {
 
   @Bean
@@ -98,7 +102,8 @@ class SqlConfiguration {
     objectMapper: ObjectMapper,
     applicationEventPublisher: ApplicationEventPublisher,
     registry: Registry,
-    subtypeLocators: List<SubtypeLocator>
+    subtypeLocators: List<SubtypeLocator>,
+    properties: SqlEventRepositoryConfigProperties
   ): EventRepository {
     // TODO(rz): ObjectMapperSubtypeConfigurer should become a standard kork feature. This is pretty gross.
     ObjectMapperSubtypeConfigurer(true).registerSubtypes(objectMapper, subtypeLocators)
@@ -107,7 +112,8 @@ class SqlConfiguration {
       serviceVersion,
       objectMapper,
       applicationEventPublisher,
-      registry
+      registry,
+      properties
     ).let {
       InstrumentedProxy.proxy(registry, it, "eventRepository", mapOf("backend" to "sql"))
     }
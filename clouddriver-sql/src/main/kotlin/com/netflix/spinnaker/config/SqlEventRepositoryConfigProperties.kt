@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.config
+
+import javax.validation.constraints.Positive
+import org.springframework.boot.context.properties.ConfigurationProperties
+import org.springframework.validation.annotation.Validated
+
+@Validated
+@ConfigurationProperties("spinnaker.clouddriver.eventing.sql-repository")
+class SqlEventRepositoryConfigProperties {
+  /**
+   * The max number of aggregates whose latest version is kept in memory, saving a lookup when they are next saved
+   * to. Defaults to 10,000.
+   */
+  @Positive
+  var aggregateCacheSize: Int = 10_000
+
+  /**
+   * The max number of aggregates whose latest snapshot is kept in memory, deserialized, so loading them only reads
+   * the snapshot's sequence until a newer snapshot is saved. Defaults to 1,000.
+   */
+  @Positive
+  var snapshotCacheSize: Int = 1_000
+
+  /**
+   * Whether the sequence of new events is allocated from the last sequence tracked on their aggregate alone.
+   * Instances of a version that doesn't track it keep saving events without updating it, so until every instance
+   * has been upgraded the highest sequence of the saved events is looked up as well. Defaults to false.
+   *
+   * This is a rollout flag: enable it once no instance of an older version is running. It will be removed in the
+   * next release, which always allocates from the tracked sequence.
+   */
+  var lastSequenceOnly: Boolean = false
+
+  var groupCommit: GroupCommit = GroupCommit()
+
+  class GroupCommit {
+    /**
+     * Whether saves made concurrently (usually to different aggregates) are committed together in a single
+     * transaction. Defaults to false.
+     */
+    var enabled: Boolean = false
+
+    /**
+     * The max number of saves committed in a single transaction. Defaults to 50.
+     */
+    @Positive
+    var maxBatchSize: Int = 50
+  }
+}
@@ -21,15 +21,20 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule
 import com.fasterxml.jackson.module.kotlin.KotlinModule
 import com.netflix.spectator.api.NoopRegistry
 import com.netflix.spinnaker.clouddriver.event.AbstractSpinnakerEvent
+import com.netflix.spinnaker.clouddriver.event.AggregateSnapshot
 import com.netflix.spinnaker.clouddriver.event.exceptions.AggregateChangeRejectedException
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository.ListAggregatesCriteria
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository.ListAggregatesResult
+import com.netflix.spinnaker.config.SqlEventRepositoryConfigProperties
 import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
 import com.netflix.spinnaker.kork.version.ServiceVersion
 import dev.minutest.junit.JUnit5Minutests
 import dev.minutest.rootContext
 import io.mockk.every
 import io.mockk.mockk
+import java.util.concurrent.Executors
+import org.jooq.impl.DSL.field
+import org.jooq.impl.DSL.table
 import org.springframework.context.ApplicationEventPublisher
 import strikt.api.expect
 import strikt.api.expectThat
@@ -102,6 +107,120 @@ class SqlEventRepositoryTest : JUnit5Minutests {
           .containsExactly(1, 2, 3, 4)
       }
 
+      test("events continue the sequence of events saved without tracking it") {
+        subject.save("agg", "1", 0, listOf(MyEvent("1"), MyEvent("2")))
+
+        // instances of an older version save events without updating the last sequence
+        database.context.update(table("event_aggregates"))
+          .set(field("last_sequence"), 0)
+          .execute()
+
+        newRepository().save("agg", "1", 1, listOf(MyEvent("3")))
+
+        expectThat(subject.list("agg", "1"))
+          .get { map { it.getMetadata().sequence } }
+          .containsExactly(1, 2, 3)
+      }
+
+      test("events saved against an aggregate changed by another instance are rejected") {
+        val otherInstance = newRepository()
+
+        subject.save("agg", "1", 0, listOf(MyEvent("one")))
+        otherInstance.save("agg", "1", 1, listOf(MyEvent("two")))
+
+        expectThrows<AggregateChangeRejectedException> {
+          subject.save("agg", "1", 1, listOf(MyEvent("three")))
+        }
+
+        subject.save("agg", "1", 2, listOf(MyEvent("three")))
+
+        expectThat(subject.list("agg", "1"))
+          .get { map { it.getMetadata().sequence } }
+          .containsExactly(1, 2, 3)
+      }
+
+      test("concurrent saves can be committed together") {
+        val groupCommitSubject = newRepository(
+          SqlEventRepositoryConfigProperties().apply { groupCommit.enabled = true }
+        )
+        val executor = Executors.newFixedThreadPool(8)
+        try {
+          (1..20)
+            .map { id ->
+              executor.submit {
+                groupCommitSubject.save("agg", "$id", 0, listOf(MyEvent("1"), MyEvent("2")))
+                groupCommitSubject.save("agg", "$id", 1, listOf(MyEvent("3")))
+              }
+            }
+            .forEach { it.get() }
+        } finally {
+          executor.shutdown()
+        }
+
+        (1..20).forEach { id ->
+          expectThat(subject.list("agg", "$id"))
+            .get { map { it.getMetadata().sequence } }
+            .containsExactly(1, 2, 3)
+        }
+      }
+
+      test("events can be listed after a sequence") {
+        subject.save("agg", "1", 0, listOf(MyEvent("1"), MyEvent("2")))
+        subject.save("agg", "1", 1, listOf(MyEvent("3"), MyEvent("4")))
+
+        expectThat(subject.list("agg", "1", 2))
+          .get { map { (it as MyEvent).value } }
+          .containsExactly("3", "4")
+      }
+
+      context("snapshots") {
+        test("aggregates without a snapshot") {
+          subject.save("agg", "1", 0, listOf(MyEvent("one")))
+
+          expectThat(subject.getSnapshot("agg", "1")).isNull()
+        }
+
+        test("latest snapshot is returned with its event metadata") {
+          val events = listOf(MyEvent("1"), MyEvent("2"))
+          subject.save("agg", "1", 0, events)
+          subject.saveSnapshot(AggregateSnapshot("agg", "1", 1, events.take(1)))
+          subject.saveSnapshot(AggregateSnapshot("agg", "1", 2, events))
+
+          expectThat(subject.getSnapshot("agg", "1"))
+            .isNotNull()
+            .and {
+              get { sequence }.isEqualTo(2)
+              get { this.events.map { (it as MyEvent).value } }.containsExactly("1", "2")
+              get { this.events.map { it.getMetadata().sequence } }.containsExactly(1, 2)
+            }
+        }
+
+        test("snapshots are served from memory until a newer one is saved") {
+          val events = listOf(MyEvent("1"), MyEvent("2"))
+          subject.save("agg", "1", 0, events)
+          subject.saveSnapshot(AggregateSnapshot("agg", "1", 1, events.take(1)))
+
+          // a snapshot that has been read before isn't deserialized again
+          database.context.update(table("event_snapshots"))
+            .set(field("data"), "[{\"unreadable\": true}]")
+            .execute()
+
+          expectThat(subject.getSnapshot("agg", "1"))
+            .isNotNull()
+            .get { this.events.map { (it as MyEvent).value } }.containsExactly("1")
+          expectThat(newRepository().getSnapshot("agg", "1")).isNull()
+
+          newRepository().saveSnapshot(AggregateSnapshot("agg", "1", 2, events))
+
+          expectThat(subject.getSnapshot("agg", "1"))
+            .isNotNull()
+            .and {
+              get { sequence }.isEqualTo(2)
+              get { this.events.map { (it as MyEvent).value } }.containsExactly("1", "2")
+            }
+        }
+      }
+
       context("listing aggregates") {
         fun Fixture.setupAggregates() {
           subject.save("foo", "1", 0, listOf(MyEvent("hi foo")))
@@ -200,7 +319,11 @@ class SqlEventRepositoryTest : JUnit5Minutests {
     val serviceVersion: ServiceVersion = mockk(relaxed = true)
     val applicationEventPublisher: ApplicationEventPublisher = mockk(relaxed = true)
 
-    val subject = SqlEventRepository(
+    val subject = newRepository()
+
+    fun newRepository(
+      properties: SqlEventRepositoryConfigProperties = SqlEventRepositoryConfigProperties()
+    ) = SqlEventRepository(
       jooq = database.context,
       serviceVersion = serviceVersion,
       objectMapper = ObjectMapper().apply {
@@ -208,7 +331,8 @@ class SqlEventRepositoryTest : JUnit5Minutests {
         registerSubtypes(MyEvent::class.java)
       },
       applicationEventPublisher = applicationEventPublisher,
-      registry = NoopRegistry()
+      registry = NoopRegistry(),
+      properties = properties
     )
 
     init {
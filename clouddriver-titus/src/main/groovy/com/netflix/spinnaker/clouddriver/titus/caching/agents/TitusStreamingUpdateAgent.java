@@ -87,8 +87,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -117,6 +119,10 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
   private final Id metricId;
   private final Provider<AwsLookupUtil> awsLookupUtil;
   private final DynamicConfigService dynamicConfigService;
+  private final AtomicInteger pendingDeltas;
+
+  private static final long BACK_PRESSURE_WAIT_MILLIS = 5;
+  private static final long WRITER_IDLE_MILLIS = 50;
 
   private final Logger log = LoggerFactory.getLogger(TitusStreamingUpdateAgent.class);
 
@@ -195,6 +201,13 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
             .createId("titus.cache.streaming")
             .withTag("account", account.getName())
             .withTag("region", region.getName());
+    this.pendingDeltas =
+        registry.gauge(
+            registry
+                .createId("titus.cache.streaming.pendingChanges")
+                .withTag("account", account.getName())
+                .withTag("region", region.getName()),
+            new AtomicInteger(0));
   }
 
   @Override
@@ -252,15 +265,22 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
      * the last server group in a cluster is deleted, the cluster object must also be deleted, and
      * the application object updated. The later cannot currently be done incrementally in an atomic
      * operation; safely updating an application object requires rebuilding it with full context.
+     * Instances are only rewritten for the jobs that were updated.
+     *
+     * <p>Events are read from the stream on one thread and queued for a second thread that owns
+     * StreamingCacheState and does the cache writes, so slow writes don't stall the stream.
      */
     @Override
     public void executeAgent(Agent agent) {
       Long startTime = System.currentTimeMillis();
 
       StreamingCacheState state = new StreamingCacheState();
+      Queue<StreamingDelta> deltas = new ConcurrentLinkedQueue<>();
+      pendingDeltas.set(0);
 
       ScheduledExecutorService executor =
-          Executors.newSingleThreadScheduledExecutor(
+          Executors.newScheduledThreadPool(
+              2,
               new ThreadFactoryBuilder()
                   .setNameFormat(TitusStreamingUpdateAgent.class.getSimpleName() + "-%d")
                   .build());
@@ -272,48 +292,7 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
                 while (continueStreaming(startTime)) {
                   try {
                     while (notificationIt.hasNext() && continueStreaming(startTime)) {
-                      JobChangeNotification notification = notificationIt.next();
-                      switch (notification.getNotificationCase()) {
-                        case JOBUPDATE:
-                          updateJob(state, notification.getJobUpdate().getJob());
-                          break;
-                        case TASKUPDATE:
-                          if (notification.getTaskUpdate().getMovedFromAnotherJob()) {
-                            Task task = notification.getTaskUpdate().getTask();
-                            String destinationJobId = task.getJobId();
-                            String sourceJobId =
-                                task.getTaskContextOrDefault("task.movedFromJob", null);
-                            log.info(
-                                "{} task moved from job {} to {}",
-                                task.getId(),
-                                sourceJobId,
-                                destinationJobId);
-                            updateMovedTask(state, task, sourceJobId);
-                          }
-                          updateTask(state, notification.getTaskUpdate().getTask());
-                          break;
-                        case SNAPSHOTEND:
-                          state.lastUpdate.set(0);
-                          log.info(
-                              "{} snapshot finished in {}ms",
-                              getAgentType(),
-                              System.currentTimeMillis() - startTime);
-                          state.tasks.keySet().retainAll(state.jobs.keySet());
-                          if (state.snapshotComplete) {
-                            log.error(
-                                "{} received >1 SNAPSHOTEND events, this is unexpected and may be handled incorrectly",
-                                getAgentType());
-                          }
-                          state.snapshotComplete = true;
-                          break;
-                      }
-
-                      if (state.snapshotComplete) {
-                        writeToCache(state);
-                        if (!state.savedSnapshot) {
-                          state.savedSnapshot = true;
-                        }
-                      }
+                      enqueue(deltas, new StreamingDelta(notificationIt.next()));
                     }
                   } catch (io.grpc.StatusRuntimeException e) {
                     Integer backoff =
@@ -335,14 +314,15 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
                     }
 
                     notificationIt = observeJobs();
-                    state.snapshotComplete = false;
-                    state.savedSnapshot = false;
+                    enqueue(deltas, new StreamingDelta(null));
                   } catch (Exception e) {
                     log.error("Exception while streaming {} titus updates", getAgentType(), e);
                   }
                 }
               });
 
+      executor.submit(() -> processDeltas(state, deltas, handler));
+
       executor.schedule(
           () -> {
             handler.cancel(true);
@@ -353,6 +333,115 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
       executor.shutdown();
     }
 
+    /**
+     * Observer stage: queues a change for the writer without blocking on cache writes. If the
+     * writer falls more than titus.streaming.max-pending-changes behind, waits for it to catch up
+     * rather than growing the queue without bound.
+     */
+    private void enqueue(Queue<StreamingDelta> deltas, StreamingDelta delta) {
+      deltas.offer(delta);
+      if (pendingDeltas.incrementAndGet()
+          <= dynamicConfigService.getConfig(
+              Integer.class, "titus.streaming.max-pending-changes", 50000)) {
+        return;
+      }
+
+      long waitStart = System.currentTimeMillis();
+      try {
+        while (pendingDeltas.get()
+            > dynamicConfigService.getConfig(
+                Integer.class, "titus.streaming.max-pending-changes", 50000)) {
+          Thread.sleep(BACK_PRESSURE_WAIT_MILLIS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      PercentileTimer.get(registry, metricId.withTag("operation", "backPressure"))
+          .record(System.currentTimeMillis() - waitStart, MILLISECONDS);
+    }
+
+    /**
+     * Writer stage: applies queued changes to the StreamingCacheState (which only this stage
+     * touches) and writes to the cache once a threshold is reached. Changes that arrive while a
+     * write is in progress queue up and are coalesced per job into the next write.
+     */
+    private void processDeltas(
+        StreamingCacheState state, Queue<StreamingDelta> deltas, Future handler) {
+      PercentileTimer lagTimer =
+          PercentileTimer.get(registry, metricId.withTag("operation", "streamLag"));
+
+      while (!handler.isDone() || !deltas.isEmpty()) {
+        try {
+          StreamingDelta delta = deltas.poll();
+          if (delta == null) {
+            if (state.snapshotComplete) {
+              writeToCache(state);
+            }
+            Thread.sleep(WRITER_IDLE_MILLIS);
+            continue;
+          }
+
+          pendingDeltas.decrementAndGet();
+          applyDelta(state, delta);
+          lagTimer.record(System.currentTimeMillis() - delta.receivedAt, MILLISECONDS);
+
+          if (state.snapshotComplete) {
+            writeToCache(state);
+            if (!state.savedSnapshot) {
+              state.savedSnapshot = true;
+            }
+          }
+        } catch (InterruptedException e) {
+          log.warn(
+              "Interrupted while writing {} updates, bailing on this invocation", getAgentType());
+          break;
+        } catch (Exception e) {
+          log.error("Exception while caching {} titus updates", getAgentType(), e);
+        }
+      }
+    }
+
+    private void applyDelta(StreamingCacheState state, StreamingDelta delta) {
+      JobChangeNotification notification = delta.notification;
+      if (notification == null) {
+        // the stream was reconnected and Titus will send a new snapshot
+        state.snapshotComplete = false;
+        state.savedSnapshot = false;
+        return;
+      }
+
+      switch (notification.getNotificationCase()) {
+        case JOBUPDATE:
+          updateJob(state, notification.getJobUpdate().getJob());
+          break;
+        case TASKUPDATE:
+          if (notification.getTaskUpdate().getMovedFromAnotherJob()) {
+            Task task = notification.getTaskUpdate().getTask();
+            String destinationJobId = task.getJobId();
+            String sourceJobId = task.getTaskContextOrDefault("task.movedFromJob", null);
+            log.info(
+                "{} task moved from job {} to {}", task.getId(), sourceJobId, destinationJobId);
+            updateMovedTask(state, task, sourceJobId);
+          }
+          updateTask(state, notification.getTaskUpdate().getTask());
+          break;
+        case SNAPSHOTEND:
+          state.lastUpdate.set(0);
+          log.info(
+              "{} snapshot finished in {}ms",
+              getAgentType(),
+              System.currentTimeMillis() - state.startTime);
+          state.tasks.keySet().retainAll(state.jobs.keySet());
+          if (state.snapshotComplete) {
+            log.error(
+                "{} received >1 SNAPSHOTEND events, this is unexpected and may be handled incorrectly",
+                getAgentType());
+          }
+          state.snapshotComplete = true;
+          break;
+      }
+    }
+
     private Iterator<JobChangeNotification> observeJobs() {
       return titusClient.observeJobs(
           ObserveJobsQuery.newBuilder()
@@ -619,6 +708,11 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
             cacheImage(data, imageCache);
             addJobIdsByServerGroupKey(data, jobIdsByServerGroupKey);
 
+            // instances of jobs that did not change since the last write are already cached
+            if (state.savedSnapshot && !state.updatedJobs.contains(data.job.getId())) {
+              return;
+            }
+
             for (Task task : (Set<Task>) state.tasks.getOrDefault(data.job.getId(), EMPTY_SET)) {
               InstanceData instanceData =
                   new InstanceData(
@@ -783,7 +877,21 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
       instances.put(data.instanceId, instanceCache);
     }
 
+    /** A change received from the observeJobs stream, queued for the writer. */
+    private class StreamingDelta {
+      /** null if the stream was reconnected */
+      final JobChangeNotification notification;
+
+      final long receivedAt = System.currentTimeMillis();
+
+      StreamingDelta(JobChangeNotification notification) {
+        this.notification = notification;
+      }
+    }
+
     class StreamingCacheState {
+      final long startTime = System.currentTimeMillis();
+
       AtomicInteger changes = new AtomicInteger(0);
       AtomicLong lastUpdate = new AtomicLong(0);
 
@@ -27,6 +27,8 @@ public class RegionScopedTitusAutoscalingClient implements TitusAutoscalingClien
   /** Default connect timeout in milliseconds */
   private static final long DEFAULT_CONNECT_TIMEOUT = 60000;
 
+  private final boolean compressResponses;
+
   private final AutoScalingServiceGrpc.AutoScalingServiceBlockingStub
       autoScalingServiceBlockingStub;
 
@@ -36,6 +38,7 @@ public class RegionScopedTitusAutoscalingClient implements TitusAutoscalingClien
       String environment,
       String eurekaName,
       GrpcChannelFactory channelFactory) {
+    this.compressResponses = channelFactory.isResponseCompressionEnabled(titusRegion);
     this.autoScalingServiceBlockingStub =
         AutoScalingServiceGrpc.newBlockingStub(
             channelFactory.build(
@@ -44,7 +47,8 @@ public class RegionScopedTitusAutoscalingClient implements TitusAutoscalingClien
 
   @Override
   public List<ScalingPolicyResult> getAllScalingPolicies() {
-    return autoScalingServiceBlockingStub
+    return TitusClientCompressionUtil.attachCaller(
+            autoScalingServiceBlockingStub, compressResponses)
         .getAllScalingPolicies(Empty.newBuilder().build())
         .getItemsList();
   }
@@ -100,6 +100,16 @@ public class RegionScopedTitusClient implements TitusClient {
 
   private final RetrySupport retrySupport;
 
+  private final boolean compressResponses;
+
+  /**
+   * The job fields needed to resolve server group names, requested instead of the full job (whose
+   * JobDescriptor is by far the largest part of the response).
+   */
+  private static final List<String> JOB_SUMMARY_FIELDS =
+      Arrays.asList(
+          "id", "status", "jobDescriptor.applicationName", "jobDescriptor.attributes.name");
+
   public RegionScopedTitusClient(
       TitusRegion titusRegion,
       Registry registry,
@@ -138,6 +148,7 @@ public class RegionScopedTitusClient implements TitusClient {
     this.environment = environment;
     this.objectMapper = objectMapper;
     this.retrySupport = retrySupport;
+    this.compressResponses = channelFactory.isResponseCompressionEnabled(titusRegion);
 
     String titusHost = "";
     try {
@@ -171,14 +182,16 @@ public class RegionScopedTitusClient implements TitusClient {
   @Override
   public Job getJobAndAllRunningAndCompletedTasks(String jobId) {
     return new Job(
-        grpcBlockingStub.findJob(JobId.newBuilder().setId(jobId).build()),
+        TitusClientCompressionUtil.attachCaller(grpcBlockingStub, compressResponses)
+            .findJob(JobId.newBuilder().setId(jobId).build()),
         getTasks(Arrays.asList(jobId), true).get(jobId));
   }
 
   @Override
   public Job findJobById(String jobId, boolean includeTasks) {
     return new Job(
-        grpcBlockingStub.findJob(JobId.newBuilder().setId(jobId).build()),
+        TitusClientCompressionUtil.attachCaller(grpcBlockingStub, compressResponses)
+            .findJob(JobId.newBuilder().setId(jobId).build()),
         includeTasks ? getTasks(List.of(jobId), false).get(jobId) : Collections.emptyList());
   }
 
@@ -201,10 +214,18 @@ public class RegionScopedTitusClient implements TitusClient {
 
   @Override
   public List<Job> findJobsByApplication(String application) {
+    return findJobsByApplication(application, false);
+  }
+
+  @Override
+  public List<Job> findJobsByApplication(String application, boolean summaryOnly) {
     JobQuery.Builder jobQuery =
         JobQuery.newBuilder()
             .putFilteringCriteria("appName", application)
             .putFilteringCriteria("jobType", "SERVICE");
+    if (summaryOnly) {
+      jobQuery.addAllFields(JOB_SUMMARY_FIELDS);
+    }
     return getJobs(jobQuery, false);
   }
 
@@ -455,7 +476,8 @@ public class RegionScopedTitusClient implements TitusClient {
 
   @Override
   public Iterator<JobChangeNotification> observeJobs(ObserveJobsQuery observeJobsQuery) {
-    return grpcNoDeadlineStub.observeJobs(observeJobsQuery);
+    return TitusClientCompressionUtil.attachCaller(grpcNoDeadlineStub, compressResponses)
+        .observeJobs(observeJobsQuery);
   }
 
   private Map<String, List<com.netflix.titus.grpc.protogen.Task>> getTasks(
@@ -507,7 +529,8 @@ public class RegionScopedTitusClient implements TitusClient {
 
       JobQuery criteria = jobQueryBuilder.build();
       JobQueryResult resultPage =
-          TitusClientCompressionUtil.attachCaller(grpcBlockingStub).findJobs(criteria);
+          TitusClientCompressionUtil.attachCaller(grpcBlockingStub, compressResponses)
+              .findJobs(criteria);
       grpcJobs.addAll(resultPage.getItemsList());
       cursor = resultPage.getPagination().getCursor();
       hasMore = resultPage.getPagination().getHasMore();
@@ -533,7 +556,8 @@ public class RegionScopedTitusClient implements TitusClient {
       }
       taskResults =
           TitusClientCompressionUtil.attachCaller(
-                  grpcBlockingStub.withDeadlineAfter(FIND_TASKS_DEADLINE, TimeUnit.MILLISECONDS))
+                  grpcBlockingStub.withDeadlineAfter(FIND_TASKS_DEADLINE, TimeUnit.MILLISECONDS),
+                  compressResponses)
               .findTasks(taskQueryBuilder.build());
       grpcTasks.addAll(taskResults.getItemsList());
       cursor = taskResults.getPagination().getCursor();
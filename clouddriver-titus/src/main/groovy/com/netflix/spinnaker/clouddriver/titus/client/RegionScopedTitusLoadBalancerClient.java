@@ -29,6 +29,8 @@ public class RegionScopedTitusLoadBalancerClient implements TitusLoadBalancerCli
   /** Default connect timeout in milliseconds */
   private static final long DEFAULT_CONNECT_TIMEOUT = 60000;
 
+  private final boolean compressResponses;
+
   private final LoadBalancerServiceGrpc.LoadBalancerServiceBlockingStub
       loadBalancerServiceBlockingStub;
 
@@ -38,6 +40,7 @@ public class RegionScopedTitusLoadBalancerClient implements TitusLoadBalancerCli
       String environment,
       String eurekaName,
       GrpcChannelFactory channelFactory) {
+    this.compressResponses = channelFactory.isResponseCompressionEnabled(titusRegion);
     this.loadBalancerServiceBlockingStub =
         LoadBalancerServiceGrpc.newBlockingStub(
             channelFactory.build(
@@ -81,8 +84,10 @@ public class RegionScopedTitusLoadBalancerClient implements TitusLoadBalancerCli
         loadBalancerPage.setCursor(cursor);
       }
       GetAllLoadBalancersResult getAllLoadBalancersResult =
-          loadBalancerServiceBlockingStub.getAllLoadBalancers(
-              GetAllLoadBalancersRequest.newBuilder().setPage(loadBalancerPage).build());
+          TitusClientCompressionUtil.attachCaller(
+                  loadBalancerServiceBlockingStub, compressResponses)
+              .getAllLoadBalancers(
+                  GetAllLoadBalancersRequest.newBuilder().setPage(loadBalancerPage).build());
       for (GetJobLoadBalancersResult result : getAllLoadBalancersResult.getJobLoadBalancersList()) {
         for (LoadBalancerId loadBalancerid : result.getLoadBalancersList()) {
           if (results.get(result.getJobId()) == null) {
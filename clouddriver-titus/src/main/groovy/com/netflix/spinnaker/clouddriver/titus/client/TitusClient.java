@@ -53,6 +53,14 @@ public interface TitusClient {
    */
   public List<Job> findJobsByApplication(String application);
 
+  /**
+   * @param application
+   * @param summaryOnly only fetch the job id, name, application and status, without the job
+   *     descriptor
+   * @return
+   */
+  public List<Job> findJobsByApplication(String application, boolean summaryOnly);
+
   /**
    * @param submitJobRequest
    * @return
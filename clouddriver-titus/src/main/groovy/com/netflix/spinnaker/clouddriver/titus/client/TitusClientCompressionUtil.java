@@ -31,4 +31,9 @@ public class TitusClientCompressionUtil {
     metadata.put(COMPRESSION_KEY, "gzip");
     return serviceStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
   }
+
+  public static <STUB extends AbstractStub<STUB>> STUB attachCaller(
+      STUB serviceStub, boolean compressionEnabled) {
+    return compressionEnabled ? attachCaller(serviceStub) : serviceStub;
+  }
 }
@@ -27,4 +27,12 @@ public interface GrpcChannelFactory {
       String eurekaName,
       long defaultConnectTimeOut,
       Registry registry);
+
+  /**
+   * Whether clients should ask Titus to gzip responses on channels built for this region. Channels
+   * that already compress at the transport level can opt out to avoid compressing twice.
+   */
+  default boolean isResponseCompressionEnabled(TitusRegion titusRegion) {
+    return true;
+  }
 }
@@ -42,7 +42,7 @@ class TitusServerGroupNameResolver extends AbstractServerGroupNameResolver {
   List<AbstractServerGroupNameResolver.TakenSlot> getTakenSlots(String clusterName) {
     def clusterNameParts = Names.parseName(clusterName)
 
-    List<Job> jobs = titusClient.findJobsByApplication(clusterNameParts.app)
+    List<Job> jobs = titusClient.findJobsByApplication(clusterNameParts.app, true)
       .findAll { Names.parseName(it.name).cluster == clusterName  }
 
     return jobs.collect { Job job ->
@@ -51,7 +51,7 @@ class TitusServerGroupNameResolverSpec extends Specification {
           name: serverGroupName
         )
       ]
-    titusClient.findJobsByApplication(application) >> jobs
+    titusClient.findJobsByApplication(application, true) >> jobs
 
     when:
     def result = resolver.resolveNextServerGroupName(application, stack, details, false)
@@ -83,7 +83,7 @@ class TitusServerGroupNameResolverSpec extends Specification {
           name: serverGroupName
         )
       ]
-    titusClient.findJobsByApplication(application) >> jobs
+    titusClient.findJobsByApplication(application, true) >> jobs
 
     when:
     def result = resolver.resolveNextServerGroupName(application, stack, null, false)
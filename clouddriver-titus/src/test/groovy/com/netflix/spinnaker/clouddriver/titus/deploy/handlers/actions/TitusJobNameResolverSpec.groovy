@@ -42,7 +42,7 @@ class TitusJobNameResolverSpec extends Specification {
   def "resolves job names"() {
     given:
     TitusClient titusClient = Mock() {
-      findJobsByApplication(_) >> {
+      findJobsByApplication(_, true) >> {
         [
           new Job(name: "spindemo-v001", submittedAt: new Date()),
           new Job(name: "spindemo-test-v001", submittedAt: new Date()),
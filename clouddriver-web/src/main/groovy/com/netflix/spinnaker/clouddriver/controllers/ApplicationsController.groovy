@@ -50,14 +50,17 @@ class ApplicationsController {
   @Autowired
   RequestQueue requestQueue
 
+  @Autowired
+  ProviderFanOut providerFanOut = ProviderFanOut.sequential()
+
   @PreAuthorize("#restricted ? @fiatPermissionEvaluator.storeWholePermission() : true")
   @PostFilter("#restricted ? hasPermission(filterObject.name, 'APPLICATION', 'READ') : true")
   @RequestMapping(method = RequestMethod.GET)
   List<Application> list(@RequestParam(required = false, value = 'expand', defaultValue = 'true') boolean expand,
                          @RequestParam(required = false, value = 'restricted', defaultValue = 'true') boolean restricted) {
-    def results = requestQueue.execute("applications", {
-      applicationProviders.collectMany { it.getApplications(expand) ?: [] }
-    })
+    List<Application> results = providerFanOut.execute("getApplications", applicationProviders) { ApplicationProvider provider ->
+      requestQueue.execute("applications", { provider.getApplications(expand) ?: [] })
+    }.flatten()
     results.removeAll([null])
     results.sort { a, b -> a?.name?.toLowerCase() <=> b?.name?.toLowerCase() }
   }
@@ -65,15 +68,16 @@ class ApplicationsController {
   @PreAuthorize("hasPermission(#name, 'APPLICATION', 'READ')")
   @RequestMapping(value = "/{name:.+}", method = RequestMethod.GET)
   ApplicationViewModel get(@PathVariable String name) {
+    // a provider failing to look the application up is rethrown rather than reported as not found
+    def apps = providerFanOut.lookup("getApplication", applicationProviders) { ApplicationProvider provider ->
+      requestQueue.execute(name, { provider.getApplication(name) })
+    }
+    if (!apps) {
+      throw new NotFoundException("Application does not exist (name: ${name})")
+    }
+
     try {
-      def apps = requestQueue.execute(name, {
-        applicationProviders.collect { it.getApplication(name) }
-      }) - null
-      if (!apps) {
-        throw new NotFoundException("Application does not exist (name: ${name})")
-      } else {
-        return transform(apps)
-      }
+      return transform(apps)
     } catch (e) {
       throw new NotFoundException("Application does not exist (name: ${name})")
     }
@@ -88,11 +92,11 @@ class ApplicationsController {
       }
       attributes << app.attributes
 
-      clusterProviders.collectMany { provider ->
+      providerFanOut.execute("getClusterSummaries", clusterProviders) { ClusterProvider provider ->
         requestQueue.execute(app.name, {
           provider.getClusterSummaries(app.name)?.values()?.flatten() as Set ?: []
         })
-      }.each { Cluster cluster ->
+      }.flatten().each { Cluster cluster ->
         def account = cluster.accountName
         if (!result.clusters.containsKey(account)) {
           result.clusters[account] = []
@@ -21,12 +21,21 @@ import com.netflix.spinnaker.clouddriver.artifacts.ArtifactCredentialsRepository
 import com.netflix.spinnaker.clouddriver.artifacts.ArtifactDownloader;
 import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactCredentials;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
@@ -56,13 +65,102 @@ public class ArtifactController {
 
   // PUT because we need to send a body, which GET does not allow for spring/retrofit
   @RequestMapping(method = RequestMethod.PUT, value = "/fetch")
-  StreamingResponseBody fetch(@RequestBody Artifact artifact) {
+  ResponseEntity<StreamingResponseBody> fetch(
+      @RequestBody Artifact artifact,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range)
+      throws IOException {
     if (artifactDownloader == null) {
       throw new IllegalStateException(
           "Artifacts have not been enabled. Enable them using 'artifacts.enabled' in clouddriver");
     }
 
-    return outputStream -> IOUtils.copy(artifactDownloader.download(artifact), outputStream);
+    Optional<FileChannel> cached = artifactDownloader.getCached(artifact);
+    if (cached.isPresent()) {
+      return serve(cached.get(), range);
+    }
+
+    return ResponseEntity.ok(
+        outputStream -> {
+          Optional<FileChannel> downloaded = artifactDownloader.downloadCached(artifact);
+          if (downloaded.isPresent()) {
+            try (FileChannel channel = downloaded.get()) {
+              transfer(channel, 0, channel.size(), outputStream);
+            }
+          } else {
+            IOUtils.copy(artifactDownloader.download(artifact), outputStream);
+          }
+        });
+  }
+
+  /** Serves a cached artifact, or a single byte range of it if one was requested. */
+  private static ResponseEntity<StreamingResponseBody> serve(FileChannel channel, String range)
+      throws IOException {
+    long length = channel.size();
+    long start = 0;
+    long end = length - 1;
+    HttpStatus status = HttpStatus.OK;
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    // malformed and multipart ranges are ignored, and the whole artifact is served instead
+    List<HttpRange> ranges = parseRanges(range);
+    if (ranges.size() == 1) {
+      try {
+        start = ranges.get(0).getRangeStart(length);
+        end = ranges.get(0).getRangeEnd(length);
+      } catch (IllegalArgumentException e) {
+        channel.close();
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        return new ResponseEntity<>(headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+      }
+      status = HttpStatus.PARTIAL_CONTENT;
+      headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+    }
+
+    long position = start;
+    long count = end - start + 1;
+    headers.setContentLength(count);
+    return new ResponseEntity<>(
+        outputStream -> {
+          try (FileChannel c = channel) {
+            transfer(c, position, count, outputStream);
+          }
+        },
+        headers,
+        status);
+  }
+
+  private static List<HttpRange> parseRanges(String range) {
+    if (range == null) {
+      return Collections.emptyList();
+    }
+    try {
+      return HttpRange.parseRanges(range);
+    } catch (IllegalArgumentException e) {
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Copies {@code count} bytes of {@code channel} from {@code position} to {@code outputStream}.
+   *
+   * <p>The servlet output stream isn't a channel, so this is a buffered copy through the {@link
+   * Channels#newChannel} wrapper rather than a zero-copy transfer. What it saves is reading the
+   * whole artifact into memory, and reading the bytes before {@code position} for range requests.
+   */
+  private static void transfer(
+      FileChannel channel, long position, long count, OutputStream outputStream)
+      throws IOException {
+    WritableByteChannel target = Channels.newChannel(outputStream);
+    long end = position + count;
+    while (position < end) {
+      long transferred = channel.transferTo(position, end - position, target);
+      if (transferred <= 0) {
+        break;
+      }
+      position += transferred;
+    }
   }
 
   @RequestMapping(method = RequestMethod.GET, value = "/account/{accountName}/names")
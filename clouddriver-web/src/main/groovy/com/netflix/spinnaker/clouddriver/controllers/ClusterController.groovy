@@ -56,6 +56,9 @@ class ClusterController {
   @Autowired
   RequestQueue requestQueue
 
+  @Autowired
+  ProviderFanOut providerFanOut = ProviderFanOut.sequential()
+
   @Autowired
   ServerGroupController serverGroupController
 
@@ -69,9 +72,9 @@ class ClusterController {
   @PostAuthorize("@authorizationSupport.filterForAccounts(returnObject)")
   @RequestMapping(method = RequestMethod.GET)
   Map<String, Set<String>> listByAccount(@PathVariable String application) {
-    def apps = ((List<Application>) applicationProviders.collectMany {
-      [it.getApplication(application)] ?: []
-    }).findAll().sort { a, b -> a.name.toLowerCase() <=> b.name.toLowerCase() }
+    def apps = ((List<Application>) providerFanOut.lookup("getApplication", applicationProviders) { ApplicationProvider provider ->
+      provider.getApplication(application)
+    }).sort { a, b -> a.name.toLowerCase() <=> b.name.toLowerCase() }
     def clusterNames = [:]
     def lastApp = null
     for (app in apps) {
@@ -100,8 +103,8 @@ class ClusterController {
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
   @RequestMapping(value = "/{account:.+}", method = RequestMethod.GET)
   Set<ClusterViewModel> getForAccount(@PathVariable String application, @PathVariable String account) {
-    def clusters = clusterProviders.collect {
-      Set<Cluster> clusters = applyExtensions(clusterExtensions, it.getClusters(application, account, false))
+    def clusters = providerFanOut.execute("getClusters", clusterProviders) { ClusterProvider provider ->
+      Set<Cluster> clusters = applyExtensions(clusterExtensions, provider.getClusters(application, account, false))
       def clusterViews = []
       for (cluster in clusters) {
         clusterViews << new ClusterViewModel(
@@ -130,12 +133,11 @@ class ClusterController {
                                     @PathVariable String account,
                                     @PathVariable String name,
                                     @RequestParam(required = false, value = 'expand', defaultValue = 'true') boolean expand) {
-    def clusters = clusterProviders.collect { provider ->
+    def clusters = providerFanOut.lookup("getCluster", clusterProviders) { ClusterProvider provider ->
         applyExtensionsToObject(clusterExtensions,
           requestQueue.execute(application, { provider.getCluster(application, account, name, expand) }))
     }
 
-    clusters.removeAll([null])
     if (!clusters) {
       throw new NotFoundException("Cluster not found (application: ${application}, account: ${account}, name: ${name})")
     }
@@ -177,7 +179,8 @@ class ClusterController {
                      @PathVariable String clusterName,
                      @PathVariable String type,
                      @PathVariable String serverGroupName,
-                     @RequestParam(value = "region", required = false) String region) {
+                     @RequestParam(value = "region", required = false) String region,
+                     @RequestParam(value = "fields", required = false) List<String> fields) {
     // we can optimize loads iff the cloud provider supports loading minimal clusters (ie. w/o instances)
     def providers = clusterProviders.findAll { it.cloudProviderId == type }
     if (!providers) {
@@ -191,7 +194,7 @@ class ClusterController {
       } ?: []
 
       return shouldExpand ? serverGroups : serverGroups.collect { ServerGroup sg ->
-        return serverGroupController.getServerGroupByApplication(application, account, sg.region, sg.name, "true")
+        return serverGroupController.getServerGroupByApplication(application, account, sg.region, sg.name, "true", fields)
       }
     }.flatten()
 
@@ -216,7 +219,8 @@ class ClusterController {
       @PathVariable String scope,
       @PathVariable String target,
       @RequestParam(value = "onlyEnabled", required = false, defaultValue = "false") String onlyEnabled,
-      @RequestParam(value = "validateOldest", required = false, defaultValue = "true") String validateOldest) {
+      @RequestParam(value = "validateOldest", required = false, defaultValue = "true") String validateOldest,
+      @RequestParam(value = "fields", required = false) List<String> fields) {
     TargetServerGroup tsg
     try {
       tsg = TargetServerGroup.fromString(target)
@@ -264,7 +268,7 @@ class ClusterController {
       }
 
       return serverGroupController.getServerGroupByApplication(
-        application, account, serverGroup.region, serverGroup.name, "true"
+        application, account, serverGroup.region, serverGroup.name, "true", fields
       )
     }
 
@@ -318,7 +322,8 @@ class ClusterController {
         scope,
         target,
         onlyEnabled,
-        "false" /* validateOldest */)
+        "false" /* validateOldest */,
+        null /* fields */)
     try {
       return (Summary) sg.invokeMethod("get${summaryType.capitalize()}Summary".toString(), null /* args */)
     } catch (MissingMethodException e) {
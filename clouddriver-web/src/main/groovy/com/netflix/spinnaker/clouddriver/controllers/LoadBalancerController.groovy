@@ -37,12 +37,15 @@ class LoadBalancerController {
   @Autowired
   List<LoadBalancerProvider> loadBalancerProviders
 
+  @Autowired
+  ProviderFanOut providerFanOut = ProviderFanOut.sequential()
+
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ')")
   @PostAuthorize("@authorizationSupport.filterForAccounts(returnObject)")
   @RequestMapping(value = "/applications/{application}/loadBalancers", method = RequestMethod.GET)
   List<LoadBalancer> list(@PathVariable String application) {
-    loadBalancerProviders.findResults {
-      it.getApplicationLoadBalancers(application)
+    providerFanOut.execute("getApplicationLoadBalancers", loadBalancerProviders) { LoadBalancerProvider provider ->
+      provider.getApplicationLoadBalancers(application)
     }
     .flatten()
     .sort { a, b -> a.name.toLowerCase() <=> b.name.toLowerCase() } as List<LoadBalancer>
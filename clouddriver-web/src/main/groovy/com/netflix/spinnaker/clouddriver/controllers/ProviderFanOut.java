@@ -0,0 +1,281 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException;
+import com.netflix.spinnaker.security.AuthenticatedRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calls every provider (cluster, application, load balancer, etc.) of a request concurrently, so
+ * a request spanning several cloud providers takes as long as the slowest of them rather than the
+ * sum of all of them.
+ *
+ * <p>Calls run on a bounded pool shared by all requests, with the security context of the caller.
+ * A provider that fails or does not respond within {@code provider-fan-out.timeout-millis} is left
+ * out of the results. Lists ({@link #execute}) tolerate such partial results, and only rethrow a
+ * failure if no provider succeeded. Lookups of a single entity ({@link #lookup}) rethrow it unless
+ * another provider found the entity, rather than reporting it as missing.
+ */
+@Component
+public class ProviderFanOut {
+  private static final Logger log = LoggerFactory.getLogger(ProviderFanOut.class);
+
+  private static final long DEFAULT_TIMEOUT_MILLIS = 60000;
+
+  /** Set on pool threads, so fan-outs nested in a provider call don't wait on their own pool. */
+  private static final ThreadLocal<Boolean> IN_FAN_OUT = ThreadLocal.withInitial(() -> false);
+
+  private final Registry registry;
+  private final long timeoutMillis;
+  private final ExecutorService executorService;
+
+  @Autowired
+  public ProviderFanOut(
+      Registry registry,
+      @Value("${provider-fan-out.pool-size:32}") int poolSize,
+      @Value("${provider-fan-out.timeout-millis:60000}") long timeoutMillis) {
+    this.registry = registry;
+    this.timeoutMillis = timeoutMillis;
+
+    if (poolSize > 0) {
+      BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+      registry.gauge("providerFanOut.executorQueue.size", queue, Queue::size);
+
+      this.executorService =
+          new ThreadPoolExecutor(
+              poolSize,
+              poolSize,
+              0,
+              TimeUnit.MILLISECONDS,
+              queue,
+              new ThreadFactoryBuilder()
+                  .setNameFormat(ProviderFanOut.class.getSimpleName() + "-%d")
+                  .setDaemon(true)
+                  .build());
+    } else {
+      this.executorService = null;
+    }
+  }
+
+  /** @return a fan-out that calls providers one after the other on the calling thread */
+  public static ProviderFanOut sequential() {
+    return new ProviderFanOut(new NoopRegistry(), 0, DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executorService != null) {
+      executorService.shutdownNow();
+    }
+  }
+
+  /**
+   * Applies {@code call} to every provider.
+   *
+   * @return the non-null results, in the order of {@code providers}
+   */
+  public <P, T> List<T> execute(String operation, Collection<P> providers, Function<P, T> call) {
+    return execute(operation, providers, call, false);
+  }
+
+  /**
+   * Applies {@code call}, which returns null if a provider does not know the entity, to every
+   * provider.
+   *
+   * <p>A provider failure is rethrown if no provider returned a non-null result, as the entity may
+   * well exist in the provider that failed.
+   *
+   * @return the non-null results, in the order of {@code providers}
+   */
+  public <P, T> List<T> lookup(String operation, Collection<P> providers, Function<P, T> call) {
+    return execute(operation, providers, call, true);
+  }
+
+  private <P, T> List<T> execute(
+      String operation, Collection<P> providers, Function<P, T> call, boolean lookup) {
+    if (providers == null || providers.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    Map<P, Callable<T>> calls = new LinkedHashMap<>();
+    for (P provider : providers) {
+      calls.put(provider, timed(operation, provider, () -> call.apply(provider)));
+    }
+
+    if (executorService == null || providers.size() == 1 || IN_FAN_OUT.get()) {
+      return executeSequentially(operation, calls, new Results<>(lookup));
+    }
+    return executeConcurrently(operation, calls, new Results<>(lookup));
+  }
+
+  private <P, T> List<T> executeSequentially(
+      String operation, Map<P, Callable<T>> calls, Results<T> results) {
+    for (Map.Entry<P, Callable<T>> call : calls.entrySet()) {
+      try {
+        results.add(call.getValue().call());
+      } catch (Exception e) {
+        results.failed(operation, call.getKey(), e);
+      }
+    }
+    return results.get();
+  }
+
+  private <P, T> List<T> executeConcurrently(
+      String operation, Map<P, Callable<T>> calls, Results<T> results) {
+    Map<P, Future<T>> futures = new LinkedHashMap<>();
+    for (Map.Entry<P, Callable<T>> call : calls.entrySet()) {
+      Callable<T> propagated =
+          new DelegatingSecurityContextCallable<>(
+              AuthenticatedRequest.propagate(inFanOut(call.getValue()), true));
+      futures.put(call.getKey(), executorService.submit(propagated));
+    }
+
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    for (Map.Entry<P, Future<T>> entry : futures.entrySet()) {
+      Future<T> future = entry.getValue();
+      try {
+        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+        results.add(future.get(remaining, TimeUnit.MILLISECONDS));
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        registry
+            .counter(
+                "providerFanOut.timeouts", "operation", operation, "provider", name(entry.getKey()))
+            .increment();
+        results.failed(operation, entry.getKey(), e);
+      } catch (ExecutionException e) {
+        results.failed(operation, entry.getKey(), e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.values().forEach(f -> f.cancel(true));
+        throw new IllegalStateException("Interrupted while waiting for " + operation, e);
+      }
+    }
+    return results.get();
+  }
+
+  private <P, T> Callable<T> timed(String operation, P provider, Callable<T> call) {
+    return () -> {
+      long startTime = System.nanoTime();
+      Id id =
+          registry.createId(
+              "providerFanOut.invocations", "operation", operation, "provider", name(provider));
+      try {
+        T result = call.call();
+        id = id.withTag("success", "true");
+        return result;
+      } catch (Exception e) {
+        id = id.withTags("success", "false", "cause", e.getClass().getSimpleName());
+        throw e;
+      } finally {
+        registry.timer(id).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+      }
+    };
+  }
+
+  private static <T> Callable<T> inFanOut(Callable<T> call) {
+    return () -> {
+      IN_FAN_OUT.set(true);
+      try {
+        return call.call();
+      } finally {
+        IN_FAN_OUT.remove();
+      }
+    };
+  }
+
+  private static String name(Object provider) {
+    return provider.getClass().getSimpleName();
+  }
+
+  private static class Results<T> {
+    /** Whether only a non-null result (a found entity) outweighs the failure of other providers. */
+    private final boolean lookup;
+
+    private final List<T> results = new ArrayList<>();
+    private Throwable failure;
+    private boolean succeeded;
+
+    Results(boolean lookup) {
+      this.lookup = lookup;
+    }
+
+    void add(T result) {
+      if (result != null) {
+        results.add(result);
+        succeeded = true;
+      } else if (!lookup) {
+        succeeded = true;
+      }
+    }
+
+    void failed(String operation, Object provider, Throwable e) {
+      if (e instanceof NotFoundException) {
+        // not an error, the provider simply has nothing to contribute
+        if (!lookup) {
+          succeeded = true;
+        }
+        return;
+      }
+
+      log.warn("Failed to {} from {}, omitting its results", operation, name(provider), e);
+      if (failure == null) {
+        failure = e;
+      }
+    }
+
+    List<T> get() {
+      if (!succeeded && failure != null) {
+        if (failure instanceof RuntimeException) {
+          throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+          throw (Error) failure;
+        }
+        throw new IllegalStateException(failure);
+      }
+      return results;
+    }
+  }
+}
@@ -18,29 +18,41 @@ package com.netflix.spinnaker.clouddriver.controllers
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter
 import com.fasterxml.jackson.annotation.JsonIgnore
+import com.fasterxml.jackson.core.JsonGenerator
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.frigga.Names
 import com.netflix.spinnaker.clouddriver.model.Cluster
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider
+import com.netflix.spinnaker.clouddriver.model.FieldProjection
 import com.netflix.spinnaker.clouddriver.model.Instance
 import com.netflix.spinnaker.clouddriver.model.ServerGroup
 import com.netflix.spinnaker.clouddriver.model.ServerGroupManager
 import com.netflix.spinnaker.clouddriver.model.view.ClusterViewModelPostProcessor
 import com.netflix.spinnaker.clouddriver.model.view.ServerGroupViewModelPostProcessor
 import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue
+import com.netflix.spinnaker.fiat.shared.FiatPermissionEvaluator
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
 import com.netflix.spinnaker.moniker.Moniker
 import groovy.util.logging.Slf4j
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.MessageSource
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
 import org.springframework.security.access.prepost.PostAuthorize
 import org.springframework.security.access.prepost.PostFilter
 import org.springframework.security.access.prepost.PreAuthorize
+import org.springframework.security.core.Authentication
+import org.springframework.security.core.context.SecurityContextHolder
 import org.springframework.web.bind.annotation.PathVariable
+import org.springframework.web.bind.annotation.RequestHeader
 import org.springframework.web.bind.annotation.RequestMapping
 import org.springframework.web.bind.annotation.RequestMethod
 import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.bind.annotation.RestController
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
+
+import javax.servlet.http.HttpServletResponse
+import java.util.zip.GZIPOutputStream
 
 import static com.netflix.spinnaker.clouddriver.model.view.ModelObjectViewModelPostProcessor.applyExtensions
 import static com.netflix.spinnaker.clouddriver.model.view.ModelObjectViewModelPostProcessor.applyExtensionsToObject
@@ -51,6 +63,7 @@ class ServerGroupController {
 
   private static final String INSTANCE_LOAD_BALANCER_HEALTH_TYPE = 'LoadBalancer'
   private static final String INSTANCE_TARGET_GROUP_HEALTH_TYPE = 'TargetGroup'
+  private static final int STREAMING_BUFFER_SIZE = 64 * 1024
 
   @Autowired
   List<ClusterProvider> clusterProviders
@@ -64,6 +77,12 @@ class ServerGroupController {
   @Autowired
   RequestQueue requestQueue
 
+  @Autowired
+  FiatPermissionEvaluator permissionEvaluator
+
+  @Autowired
+  ProviderFanOut providerFanOut = ProviderFanOut.sequential()
+
   @Autowired
   Optional<List<ClusterViewModelPostProcessor<? extends Cluster>>> clusterViewModelPostProcessors = Optional.empty()
 
@@ -77,9 +96,10 @@ class ServerGroupController {
                                           @PathVariable String account,
                                           @PathVariable String region,
                                           @PathVariable() String name,
-                                          @RequestParam(required = false, value = 'includeDetails', defaultValue = 'true') String includeDetails
+                                          @RequestParam(required = false, value = 'includeDetails', defaultValue = 'true') String includeDetails,
+                                          @RequestParam(required = false, value = 'fields') List<String> fields
   ) {
-    getServerGroup(account, region, name, includeDetails)
+    getServerGroup(account, region, name, includeDetails, FieldProjection.of(fields))
   }
 
   @PreAuthorize("hasPermission(#account, 'ACCOUNT', 'READ')")
@@ -89,19 +109,24 @@ class ServerGroupController {
   ServerGroup getServerGroupByMoniker(@PathVariable String account,
                                       @PathVariable String region,
                                       @PathVariable String name,
-                                      @RequestParam(required = false, value = 'includeDetails', defaultValue = 'true') String includeDetails) {
-    getServerGroup(account, region, name, includeDetails)
+                                      @RequestParam(required = false, value = 'includeDetails', defaultValue = 'true') String includeDetails,
+                                      @RequestParam(required = false, value = 'fields') List<String> fields) {
+    getServerGroup(account, region, name, includeDetails, FieldProjection.of(fields))
   }
 
+  /**
+   * @param fields the server group fields needed by the caller, other fields may not be populated
+   */
   private ServerGroup getServerGroup(String account,
                          String region,
                          String name,
-                         String includeDetails) {
+                         String includeDetails,
+                         FieldProjection fields = FieldProjection.ALL) {
 
     Boolean shouldIncludeDetails = Boolean.valueOf(includeDetails)
 
-    def matches = (Set<ServerGroup>) clusterProviders.findResults { provider ->
-      requestQueue.execute(name, { provider.getServerGroup(account, region, name, shouldIncludeDetails) })
+    def matches = (Set<ServerGroup>) providerFanOut.lookup("getServerGroup", clusterProviders) { ClusterProvider provider ->
+      requestQueue.execute(name, { provider.getServerGroup(account, region, name, shouldIncludeDetails, fields) })
     }
     if (!matches) {
       throw new NotFoundException("Server group not found (account: ${account}, region: ${region}, name: ${name})")
@@ -109,12 +134,11 @@ class ServerGroupController {
     return applyExtensionsToObject(serverGroupViewModelPostProcessors, matches.first())
   }
 
-  List<Map> expandedList(String application, String cloudProvider) {
-    return clusterProviders
-      .findAll { cloudProvider ? cloudProvider.equalsIgnoreCase(it.cloudProviderId) : true }
-      .findResults { ClusterProvider cp ->
+  List<Map> expandedList(String application, String cloudProvider, FieldProjection fields = FieldProjection.ALL) {
+    def providers = clusterProviders.findAll { cloudProvider ? cloudProvider.equalsIgnoreCase(it.cloudProviderId) : true }
+    return providerFanOut.execute("getClusterDetails", providers) { ClusterProvider cp ->
       requestQueue.execute(application, {
-        cp.getClusterDetails(application)?.values()?.collect { Set<Cluster> clusters ->
+        cp.getClusterDetails(application, fields)?.values()?.collect { Set<Cluster> clusters ->
           applyExtensions(clusterViewModelPostProcessors, clusters)
         }
       })
@@ -139,17 +163,16 @@ class ServerGroupController {
     return sg
   }
 
-  List<ServerGroupViewModel> summaryList(String application, String cloudProvider) {
+  List<ServerGroupViewModel> summaryList(String application, String cloudProvider, FieldProjection fields = FieldProjection.ALL) {
 
     List<ServerGroupViewModel> serverGroupViews = []
 
-    def clusters = (Set<Cluster>) clusterProviders
-      .findAll { cloudProvider ? cloudProvider.equalsIgnoreCase(it.cloudProviderId) : true }
-      .findResults { provider ->
-        requestQueue.execute(application, { provider.getClusterDetails(application)?.values() })?.collect {
-          applyExtensions(clusterViewModelPostProcessors, it)
-        }
-      }.flatten()
+    def providers = clusterProviders.findAll { cloudProvider ? cloudProvider.equalsIgnoreCase(it.cloudProviderId) : true }
+    def clusters = (Set<Cluster>) providerFanOut.execute("getClusterDetails", providers) { ClusterProvider provider ->
+      requestQueue.execute(application, { provider.getClusterDetails(application, fields)?.values() })?.collect {
+        applyExtensions(clusterViewModelPostProcessors, it)
+      }
+    }.flatten()
     clusters.each { Cluster cluster ->
       cluster.serverGroups.each { ServerGroup serverGroup ->
         serverGroupViews << new ServerGroupViewModel(applyExtensionsToObject(serverGroupViewModelPostProcessors, serverGroup), cluster.name, cluster.accountName)
@@ -165,7 +188,8 @@ class ServerGroupController {
   List list(@PathVariable String application,
             @RequestParam(required = false, value = 'expand', defaultValue = 'false') String expand,
             @RequestParam(required = false, value = 'cloudProvider') String cloudProvider,
-            @RequestParam(required = false, value = 'clusters') Collection<String> clusters) {
+            @RequestParam(required = false, value = 'clusters') Collection<String> clusters,
+            @RequestParam(required = false, value = 'fields') List<String> fields) {
 
     Boolean isExpanded = Boolean.valueOf(expand)
     if (clusters) {
@@ -175,9 +199,9 @@ class ServerGroupController {
       return []
     }
     if (isExpanded) {
-      return expandedList(application, cloudProvider)
+      return expandedList(application, cloudProvider, FieldProjection.of(fields))
     }
-    return summaryList(application, cloudProvider)
+    return summaryList(application, cloudProvider, FieldProjection.of(fields))
   }
 
   @PostFilter("hasPermission(filterObject?.application, 'APPLICATION', 'READ')")
@@ -197,6 +221,112 @@ class ServerGroupController {
     }
   }
 
+  /**
+   * Streaming variant of {@link #list}: server groups are serialized as each provider returns them
+   * (gzipped if the client accepts it), so the response is never held in memory as a whole.
+   */
+  @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ')")
+  @RequestMapping(value = "/applications/{application}/serverGroups", method = RequestMethod.GET, params = "stream=true")
+  StreamingResponseBody streamList(@PathVariable String application,
+                                   @RequestParam(required = false, value = 'expand', defaultValue = 'false') String expand,
+                                   @RequestParam(required = false, value = 'cloudProvider') String cloudProvider,
+                                   @RequestParam(required = false, value = 'clusters') Collection<String> clusters,
+                                   @RequestParam(required = false, value = 'fields') List<String> fields,
+                                   @RequestHeader(required = false, value = HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                                   HttpServletResponse response) {
+    Boolean isExpanded = Boolean.valueOf(expand)
+    Authentication auth = SecurityContextHolder.context.authentication
+    Closure<Boolean> include = { view -> canRead(auth, view.account as String, 'ACCOUNT') }
+
+    return streaming(acceptEncoding, response) { JsonGenerator generator ->
+      if (clusters != null) {
+        // only the requested clusters are loaded, so they are small enough to be built up front
+        buildSubsetForClusters(clusters, application, isExpanded).each { view ->
+          if (include(view)) {
+            generator.writeObject(view)
+          }
+        }
+      } else {
+        writeServerGroups(generator, application, cloudProvider, isExpanded, FieldProjection.of(fields), include)
+      }
+    }
+  }
+
+  /**
+   * Streaming variant of {@link #getServerGroups} for the server groups of {@code applications}.
+   */
+  @RequestMapping(value = "/serverGroups", method = RequestMethod.GET, params = "stream=true")
+  StreamingResponseBody streamServerGroups(@RequestParam(value = 'applications') List<String> applications,
+                                           @RequestParam(required = false, value = 'cloudProvider') String cloudProvider,
+                                           @RequestHeader(required = false, value = HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                                           HttpServletResponse response) {
+    Authentication auth = SecurityContextHolder.context.authentication
+
+    return streaming(acceptEncoding, response) { JsonGenerator generator ->
+      applications.each { String application ->
+        writeServerGroups(generator, application, cloudProvider, false, FieldProjection.ALL) { view ->
+          canRead(auth, view.application as String, 'APPLICATION') && canRead(auth, view.account as String, 'ACCOUNT')
+        }
+      }
+    }
+  }
+
+  private StreamingResponseBody streaming(String acceptEncoding, HttpServletResponse response, Closure write) {
+    boolean gzip = acceptEncoding?.toLowerCase()?.contains("gzip")
+    response.contentType = MediaType.APPLICATION_JSON_VALUE
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip")
+    }
+
+    return { OutputStream outputStream ->
+      OutputStream target = gzip ? new GZIPOutputStream(outputStream, STREAMING_BUFFER_SIZE) : outputStream
+      JsonGenerator generator = objectMapper.factory.createGenerator(target)
+      try {
+        generator.writeStartArray()
+        write(generator)
+        generator.writeEndArray()
+      } finally {
+        generator.close()
+      }
+    } as StreamingResponseBody
+  }
+
+  /**
+   * Writes the server groups of {@code application} one at a time, flushing after every cluster.
+   *
+   * Providers are read one after the other so that at most one provider's clusters are in memory.
+   */
+  private void writeServerGroups(JsonGenerator generator,
+                                 String application,
+                                 String cloudProvider,
+                                 boolean isExpanded,
+                                 FieldProjection fields,
+                                 Closure<Boolean> include) {
+    def providers = clusterProviders.findAll { cloudProvider ? cloudProvider.equalsIgnoreCase(it.cloudProviderId) : true }
+    for (ClusterProvider provider : providers) {
+      Collection<Set<Cluster>> clustersByAccount = requestQueue.execute(application, {
+        provider.getClusterDetails(application, fields)?.values()
+      }) ?: []
+
+      for (Set<Cluster> clusters : clustersByAccount) {
+        for (Cluster cluster : applyExtensions(clusterViewModelPostProcessors, clusters)) {
+          for (ServerGroup serverGroup : cluster.serverGroups ?: []) {
+            ServerGroup sg = applyExtensionsToObject(serverGroupViewModelPostProcessors, serverGroup)
+            def view = isExpanded ? expanded(sg, cluster) : new ServerGroupViewModel(sg, cluster.name, cluster.accountName)
+            if (include(view)) {
+              generator.writeObject(view)
+            }
+          }
+          generator.flush()
+        }
+      }
+    }
+  }
+
+  private boolean canRead(Authentication auth, String resource, String resourceType) {
+    return !resource || permissionEvaluator.hasPermission(auth, resource, resourceType, 'READ')
+  }
+
   private List<ServerGroupViewModel> getServerGroupsForApplications(List<String> applications, String cloudProvider) {
     return applications.collectMany { summaryList(it, cloudProvider) }
   }
@@ -226,7 +356,7 @@ class ServerGroupController {
     Collection<Cluster> matches = clusters.findResults { accountAndName ->
       def (account, clusterName) = accountAndName.split(':')
       if (account && clusterName) {
-        return clusterProviders.findResults { clusterProvider ->
+        return providerFanOut.lookup("getCluster", clusterProviders) { ClusterProvider clusterProvider ->
           applyExtensionsToObject(clusterViewModelPostProcessors, requestQueue.execute(application, { clusterProvider.getCluster(application, account, clusterName) }))
         }
       }
@@ -123,6 +123,24 @@ class ApplicationControllerSpec extends Specification {
     e.message == "Application does not exist (name: foo)"
   }
 
+  def "rethrow a provider failure when no other provider finds the app"() {
+    setup:
+    def appProvider1 = Stub(ApplicationProvider) {
+      getApplication("foo") >> { throw new IllegalStateException("unavailable") }
+    }
+    def appProvider2 = Stub(ApplicationProvider) {
+      getApplication("foo") >> null
+    }
+    applicationsController.applicationProviders = [appProvider1, appProvider2]
+
+    when:
+    applicationsController.get("foo")
+
+    then:
+    IllegalStateException e = thrown()
+    e.message == "unavailable"
+  }
+
   @Unroll
   def "provide cloudProviders field correctly based on clusters"() {
     setup:
@@ -59,6 +59,24 @@ class ClusterControllerSpec extends Specification {
       result == [test: ["foo", "bar"] as Set, prod: ["baz"] as Set]
   }
 
+  void "should not drop the cluster names of an application provider that fails to look it up"() {
+    setup:
+      def appProvider1 = Stub(ApplicationProvider) {
+        getApplication("app") >> { throw new IllegalStateException("unavailable") }
+      }
+      def appProvider2 = Stub(ApplicationProvider) {
+        getApplication("app") >> null
+      }
+      clusterController.applicationProviders = [appProvider1, appProvider2]
+
+    when:
+      clusterController.listByAccount("app")
+
+    then:
+      def e = thrown(IllegalStateException)
+      e.message == "unavailable"
+  }
+
   void "should throw exception when looking for specific cluster that doesnt exist"() {
     setup:
       def clusterProvider1 = Mock(ClusterProvider)
@@ -71,6 +89,24 @@ class ClusterControllerSpec extends Specification {
       thrown NotFoundException
   }
 
+  void "should not report a cluster as missing when a provider fails to look it up"() {
+    setup:
+      def clusterProvider1 = Stub(ClusterProvider) {
+        getCluster("app", "test", "cluster", true) >> { throw new IllegalStateException("unavailable") }
+      }
+      def clusterProvider2 = Stub(ClusterProvider) {
+        getCluster("app", "test", "cluster", true) >> null
+      }
+      clusterController.clusterProviders = [clusterProvider1, clusterProvider2]
+
+    when:
+      clusterController.getForAccountAndName("app", "test", "cluster", true)
+
+    then:
+      def e = thrown(IllegalStateException)
+      e.message == "unavailable"
+  }
+
   void "should return specific named serverGroup"() {
     setup:
       def serverGroupController = Mock(ServerGroupController)
@@ -82,7 +118,7 @@ class ClusterControllerSpec extends Specification {
       def serverGroup = [getName: { "clusterName-v001" }, getRegion: { "us-west-2" }] as ServerGroup
 
     when: "region is not supplied"
-      def result = clusterController.getServerGroup("app", "account", "clusterName", "type", "clusterName-v001", null)
+      def result = clusterController.getServerGroup("app", "account", "clusterName", "type", "clusterName-v001", null, null)
 
     then: "expect a collection of server groups to be returned"
       1 * clusterProvider1.getCloudProviderId() >> { return "type" }
@@ -93,14 +129,14 @@ class ClusterControllerSpec extends Specification {
         cluster.getServerGroups() >> [serverGroup]
         cluster
       }
-      1 * serverGroupController.getServerGroupByApplication("app", "account", "us-west-2", "clusterName-v001", "true") >> serverGroup
+      1 * serverGroupController.getServerGroupByApplication("app", "account", "us-west-2", "clusterName-v001", "true", null) >> serverGroup
       0 * _
 
       // all similarly named server groups are returned (ie. one per region) when region not provided
       result == [serverGroup]
 
     when: "region is supplied"
-      result = clusterController.getServerGroup("app", "account", "clusterName", "type", "clusterName-v001", "us-west-2")
+      result = clusterController.getServerGroup("app", "account", "clusterName", "type", "clusterName-v001", "us-west-2", null)
 
     then: "expect a single server group to be returned"
       1 * clusterProvider1.getCloudProviderId() >> { return "type" }
@@ -207,7 +243,7 @@ class ClusterControllerSpec extends Specification {
     when:
       def result = clusterController.getTargetServerGroup(
           "app", "account", "clusterName", "cloudProvider",
-          location, target, onlyEnabled.toString(), validateOldest.toString()
+          location, target, onlyEnabled.toString(), validateOldest.toString(), null /* fields */
       )
 
     then:
@@ -217,7 +253,7 @@ class ClusterControllerSpec extends Specification {
     when:
       clusterController.getTargetServerGroup(
           "app", "account", "clusterName", "cloudProvider",
-          "north", "fail", false.toString() /* onlyEnabled */, true.toString() /* validateOldest */
+          "north", "fail", false.toString() /* onlyEnabled */, true.toString() /* validateOldest */, null /* fields */
       )
 
     then:
@@ -226,7 +262,7 @@ class ClusterControllerSpec extends Specification {
     when:
       clusterController.getTargetServerGroup(
           "app", "account", "clusterName", "cloudProvider",
-          "south", "oldest", true.toString() /* onlyEnabled */, true.toString() /* validateOldest */
+          "south", "oldest", true.toString() /* onlyEnabled */, true.toString() /* validateOldest */, null /* fields */
       )
 
     then:
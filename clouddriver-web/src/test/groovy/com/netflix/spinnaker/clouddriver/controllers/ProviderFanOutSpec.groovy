@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CountDownLatch
+
+import static java.util.concurrent.TimeUnit.SECONDS
+
+class ProviderFanOutSpec extends Specification {
+  def registry = new DefaultRegistry()
+
+  @Subject
+  ProviderFanOut providerFanOut = new ProviderFanOut(registry, 4, 1000)
+
+  def cleanup() {
+    providerFanOut.shutdown()
+  }
+
+  def "should call providers concurrently and return their results in order"() {
+    given:
+    def latch = new CountDownLatch(3)
+
+    when:
+    def results = providerFanOut.execute("test", ["a", "b", "c"]) { String provider ->
+      latch.countDown()
+      // only completes if every provider is called at the same time
+      assert latch.await(5, SECONDS)
+      provider.toUpperCase()
+    }
+
+    then:
+    results == ["A", "B", "C"]
+    registry.timers().count() == 1
+    registry.timer("providerFanOut.invocations", "operation", "test", "provider", "String", "success", "true").count() == 3
+  }
+
+  def "should omit providers that fail or time out"() {
+    when:
+    def results = providerFanOut.execute("test", ["a", "slow", "failing", "missing", "b"]) { String provider ->
+      switch (provider) {
+        case "slow":
+          Thread.sleep(5000)
+          break
+        case "failing":
+          throw new IllegalStateException(provider)
+        case "missing":
+          throw new NotFoundException(provider)
+      }
+      provider
+    }
+
+    then:
+    results == ["a", "b"]
+    registry.counter("providerFanOut.timeouts", "operation", "test", "provider", "String").count() == 1
+  }
+
+  def "should only fail if every provider failed"() {
+    when:
+    providerFanOut.execute("test", ["a", "b"]) { String provider ->
+      throw new IllegalStateException(provider)
+    }
+
+    then:
+    def e = thrown(IllegalStateException)
+    e.message == "a"
+  }
+
+  def "should rethrow a failure of a lookup if no other provider found the entity"() {
+    when:
+    providerFanOut.lookup("test", ["a", "failing", "missing"]) { String provider ->
+      switch (provider) {
+        case "failing":
+          throw new IllegalStateException(provider)
+        case "missing":
+          throw new NotFoundException(provider)
+      }
+      null
+    }
+
+    then:
+    def e = thrown(IllegalStateException)
+    e.message == "failing"
+  }
+
+  def "should omit a failure of a lookup if another provider found the entity"() {
+    when:
+    def results = providerFanOut.lookup("test", ["a", "failing", "b"]) { String provider ->
+      if (provider == "failing") {
+        throw new IllegalStateException(provider)
+      }
+      provider == "b" ? provider : null
+    }
+
+    then:
+    results == ["b"]
+  }
+
+  def "should return nothing from a lookup if no provider found the entity"() {
+    expect:
+    providerFanOut.lookup("test", ["a", "b"]) { String provider -> null } == []
+  }
+
+  def "should call nested fan-outs on the calling thread"() {
+    given:
+    providerFanOut.shutdown()
+    providerFanOut = new ProviderFanOut(registry, 1, 1000)
+
+    when:
+    def results = providerFanOut.execute("outer", ["a", "b"]) { String outer ->
+      providerFanOut.execute("inner", ["1", "2"]) { String inner -> outer + inner }
+    }
+
+    then:
+    results == [["a1", "a2"], ["b1", "b2"]]
+  }
+}
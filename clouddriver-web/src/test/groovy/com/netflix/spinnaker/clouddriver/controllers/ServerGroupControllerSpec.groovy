@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.clouddriver.model.Cluster
+import com.netflix.spinnaker.clouddriver.model.ClusterProvider
+import com.netflix.spinnaker.clouddriver.model.FieldProjection
+import com.netflix.spinnaker.clouddriver.model.ServerGroup
+import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue
+import com.netflix.spinnaker.fiat.shared.FiatPermissionEvaluator
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.zip.GZIPInputStream
+
+class ServerGroupControllerSpec extends Specification {
+
+  def clusterProvider = Mock(ClusterProvider)
+  def permissionEvaluator = Mock(FiatPermissionEvaluator)
+  def objectMapper = new ObjectMapper()
+
+  @Subject
+  def serverGroupController = new ServerGroupController(
+    clusterProviders: [clusterProvider],
+    objectMapper: objectMapper,
+    requestQueue: RequestQueue.noop(),
+    permissionEvaluator: permissionEvaluator
+  )
+
+  def "should stream the server groups of an application the user can read"() {
+    given:
+    def response = new MockHttpServletResponse()
+
+    when:
+    def body = serverGroupController.streamList("app", "false", null, null, ["name"], null, response)
+    def result = write(body)
+
+    then:
+    1 * clusterProvider.getClusterDetails("app", { FieldProjection it -> it.fields == ["name"] as Set }) >> [
+      test: [cluster("test", "app-main-v001")] as Set,
+      prod: [cluster("prod", "app-main-v002")] as Set
+    ]
+    1 * permissionEvaluator.hasPermission(_, "test", "ACCOUNT", "READ") >> true
+    1 * permissionEvaluator.hasPermission(_, "prod", "ACCOUNT", "READ") >> false
+    response.contentType == "application/json"
+    result*.name == ["app-main-v001"]
+  }
+
+  def "should only stream the server groups of the requested clusters"() {
+    given:
+    def response = new MockHttpServletResponse()
+
+    when:
+    def result = write(serverGroupController.streamList("app", "false", null, ["test:app-main"], null, null, response))
+
+    then:
+    1 * clusterProvider.getCluster("app", "test", "app-main") >> cluster("test", "app-main-v001")
+    0 * clusterProvider.getClusterDetails(*_)
+    1 * permissionEvaluator.hasPermission(_, "test", "ACCOUNT", "READ") >> true
+    result*.name == ["app-main-v001"]
+
+    when:
+    result = write(serverGroupController.streamList("app", "false", null, [], null, null, response))
+
+    then:
+    0 * clusterProvider._
+    result == []
+  }
+
+  def "should stream the server groups of several applications, gzipped if accepted"() {
+    given:
+    def response = new MockHttpServletResponse()
+
+    when:
+    def body = serverGroupController.streamServerGroups(["app", "other"], null, "gzip, deflate", response)
+    def result = objectMapper.readValue(new GZIPInputStream(new ByteArrayInputStream(bytes(body))), List)
+
+    then:
+    1 * clusterProvider.getClusterDetails("app", FieldProjection.ALL) >> [test: [cluster("test", "app-main-v001")] as Set]
+    1 * clusterProvider.getClusterDetails("other", FieldProjection.ALL) >> [test: [cluster("test", "other-main-v001")] as Set]
+    1 * permissionEvaluator.hasPermission(_, "app", "APPLICATION", "READ") >> true
+    1 * permissionEvaluator.hasPermission(_, "other", "APPLICATION", "READ") >> false
+    _ * permissionEvaluator.hasPermission(_, "test", "ACCOUNT", "READ") >> true
+    response.getHeader("Content-Encoding") == "gzip"
+    result*.name == ["app-main-v001"]
+  }
+
+  private List<Map> write(StreamingResponseBody body) {
+    return objectMapper.readValue(bytes(body), List)
+  }
+
+  private static byte[] bytes(StreamingResponseBody body) {
+    def outputStream = new ByteArrayOutputStream()
+    body.writeTo(outputStream)
+    return outputStream.toByteArray()
+  }
+
+  private Cluster cluster(String account, String serverGroupName) {
+    def serverGroup = Mock(ServerGroup) {
+      getName() >> serverGroupName
+      getRegion() >> "us-east-1"
+    }
+    return Mock(Cluster) {
+      getName() >> serverGroupName.substring(0, serverGroupName.lastIndexOf("-"))
+      getAccountName() >> account
+      getServerGroups() >> [serverGroup]
+    }
+  }
+}